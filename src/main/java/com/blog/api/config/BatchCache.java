@@ -0,0 +1,40 @@
+package com.blog.api.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache that reads and writes many keys in one round trip. Each decorator translates the
+ * keys and values it owns and hands the whole batch to the cache below it through
+ * {@link BatchCaches}, down to Redis MGET and a pipelined write. It can also rewrite one
+ * entry in place without losing a write made to it meanwhile.
+ */
+public interface BatchCache extends Cache {
+
+    /**
+     * @param keys the keys to look up
+     * @return the entries found, by the keys they were asked for; misses are absent
+     */
+    Map<Object, ValueWrapper> getAll(Collection<?> keys);
+
+    /**
+     * Store every entry, as {@link #put(Object, Object)} would.
+     *
+     * @param entries the values to store by key
+     */
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * Replace the entry with {@code patch} applied to its value, unless another write to it
+     * lands between the read and the write, in which case nothing is written. A missing
+     * entry, or a patch returning the value it was given, is left as it is.
+     *
+     * @param key the key of the entry to rewrite
+     * @param patch the new value for the current one
+     * @return false if a concurrent write got in first and the entry was not rewritten
+     */
+    boolean update(Object key, UnaryOperator<Object> patch);
+}
@@ -0,0 +1,56 @@
+package com.blog.api.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Batch reads and writes against any cache: a {@link BatchCache} does them in one round
+ * trip, any other cache one key at a time. In-place updates need a {@link BatchCache};
+ * any other cache has the entry evicted instead.
+ */
+public final class BatchCaches {
+
+    private BatchCaches() {
+    }
+
+    public static Map<Object, Cache.ValueWrapper> getAll(Cache cache, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        if (cache instanceof BatchCache batchCache) {
+            return batchCache.getAll(keys);
+        }
+        Map<Object, Cache.ValueWrapper> hits = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null) {
+                hits.put(key, wrapper);
+            }
+        }
+        return hits;
+    }
+
+    public static void putAll(Cache cache, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (cache instanceof BatchCache batchCache) {
+            batchCache.putAll(entries);
+            return;
+        }
+        entries.forEach(cache::put);
+    }
+
+    public static boolean update(Cache cache, Object key, UnaryOperator<Object> patch) {
+        if (cache instanceof BatchCache batchCache) {
+            return batchCache.update(key, patch);
+        }
+        // No atomic rewrite here: drop the entry so the next read loads it fresh
+        cache.evict(key);
+        return true;
+    }
+}
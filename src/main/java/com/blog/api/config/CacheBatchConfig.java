@@ -0,0 +1,57 @@
+package com.blog.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Gives the Redis caches batch reads and writes (see {@link RedisBatchCacheManager}).
+ * It wraps the RedisCacheManager itself, below every other decorator, so each of them
+ * can pass a batch down as a batch.
+ */
+@Configuration
+public class CacheBatchConfig {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    @Bean
+    public static BeanPostProcessor redisBatchCacheManagerPostProcessor(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${blog.cache.batch.enabled:false}") boolean enabled) {
+        return new RedisBatchPostProcessor(redisTemplate, meterRegistry, enabled);
+    }
+
+    static class RedisBatchPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<StringRedisTemplate> redisTemplate;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final boolean enabled;
+
+        RedisBatchPostProcessor(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                ObjectProvider<MeterRegistry> meterRegistry, boolean enabled) {
+            this.redisTemplate = redisTemplate;
+            this.meterRegistry = meterRegistry;
+            this.enabled = enabled;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!enabled || !(bean instanceof RedisCacheManager cacheManager)) {
+                return bean;
+            }
+            return new RedisBatchCacheManager(cacheManager, redisTemplate.getObject(), meterRegistry.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
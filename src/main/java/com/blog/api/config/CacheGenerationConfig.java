@@ -0,0 +1,61 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheGenerationService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Set;
+
+/**
+ * Wraps the auto-configured CacheManager so every cache key carries its cache generation
+ * (see {@link GenerationalCacheManager}). Runs right after the near cache tier, below the
+ * tag index, so everything above it works with logical keys. Only the content caches
+ * listed in {@code blog.cache.generations.caches} are wrapped: small security caches such
+ * as the token blacklist evict single keys and must not depend on a generation lookup.
+ */
+@Configuration
+public class CacheGenerationConfig {
+
+    public static final int ORDER = TwoTierCacheConfig.ORDER + 10;
+
+    @Bean
+    public static BeanPostProcessor generationalCacheManagerPostProcessor(
+            ObjectProvider<CacheGenerationService> cacheGenerationService,
+            @Value("${blog.cache.generations.enabled:false}") boolean enabled,
+            @Value("${blog.cache.generations.caches:posts,categories,comments,users}") String[] cacheNames) {
+        return new GenerationalPostProcessor(cacheGenerationService, enabled, Set.of(cacheNames));
+    }
+
+    static class GenerationalPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<CacheGenerationService> cacheGenerationService;
+        private final boolean enabled;
+        private final Set<String> cacheNames;
+
+        GenerationalPostProcessor(ObjectProvider<CacheGenerationService> cacheGenerationService, boolean enabled,
+                                  Set<String> cacheNames) {
+            this.cacheGenerationService = cacheGenerationService;
+            this.enabled = enabled;
+            this.cacheNames = cacheNames;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!enabled || !(bean instanceof CacheManager cacheManager)
+                    || bean instanceof GenerationalCacheManager || bean instanceof TaggingCacheManager) {
+                return bean;
+            }
+            return new GenerationalCacheManager(cacheManager, cacheGenerationService.getObject(), cacheNames);
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
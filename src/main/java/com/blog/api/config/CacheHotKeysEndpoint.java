@@ -0,0 +1,49 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheHotKeyService;
+import com.blog.api.util.SpaceSavingSketch;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Most requested keys per cache on this node, from {@link CacheHotKeyService}.
+ * {@code GET /actuator/cachehotkeys} reports every cache, {@code /actuator/cachehotkeys/{cache}}
+ * one cache; both take an optional {@code limit}.
+ */
+@Endpoint(id = "cachehotkeys")
+public class CacheHotKeysEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final CacheHotKeyService hotKeyService;
+
+    public CacheHotKeysEndpoint(CacheHotKeyService hotKeyService) {
+        this.hotKeyService = hotKeyService;
+    }
+
+    @ReadOperation
+    public HotKeysReport hotKeys(@Nullable Integer limit) {
+        return new HotKeysReport(hotKeyService.getSampleRate(), hotKeyService.report(limitOrDefault(limit)));
+    }
+
+    @ReadOperation
+    public List<SpaceSavingSketch.Estimate> cacheHotKeys(@Selector String cache, @Nullable Integer limit) {
+        return hotKeyService.top(cache, limitOrDefault(limit));
+    }
+
+    private static int limitOrDefault(Integer limit) {
+        return limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+    }
+
+    /**
+     * @param sampleRate share of lookups counted; estimates are already scaled by it
+     * @param caches     hottest keys by cache name
+     */
+    public record HotKeysReport(double sampleRate, Map<String, List<SpaceSavingSketch.Estimate>> caches) {
+    }
+}
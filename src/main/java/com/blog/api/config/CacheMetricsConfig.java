@@ -0,0 +1,63 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheHotKeyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Wraps the auto-configured CacheManager with {@link InstrumentedCacheManager}. It is the
+ * outermost decorator, so it measures caches as {@code @Cacheable} callers see them.
+ * The hottest keys are served by the {@code cachehotkeys} actuator endpoint.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    public static final int ORDER = CacheTagConfig.ORDER + 10;
+
+    @Bean
+    public static BeanPostProcessor instrumentedCacheManagerPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<CacheHotKeyService> hotKeyService,
+            @Value("${blog.cache.metrics.enabled:false}") boolean enabled) {
+        return new InstrumentingPostProcessor(meterRegistry, hotKeyService, enabled);
+    }
+
+    @Bean
+    public CacheHotKeysEndpoint cacheHotKeysEndpoint(CacheHotKeyService hotKeyService) {
+        return new CacheHotKeysEndpoint(hotKeyService);
+    }
+
+    static class InstrumentingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final ObjectProvider<CacheHotKeyService> hotKeyService;
+        private final boolean enabled;
+
+        InstrumentingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                   ObjectProvider<CacheHotKeyService> hotKeyService, boolean enabled) {
+            this.meterRegistry = meterRegistry;
+            this.hotKeyService = hotKeyService;
+            this.enabled = enabled;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!enabled || !(bean instanceof CacheManager cacheManager)
+                    || bean instanceof InstrumentedCacheManager) {
+                return bean;
+            }
+            return new InstrumentedCacheManager(cacheManager, meterRegistry.getObject(), hotKeyService.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheTagService;
+import com.blog.api.util.CacheTags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+
+/**
+ * Wraps the auto-configured CacheManager so the posts and comments caches record
+ * the dependencies of what they store (see {@link CacheTags}). Tags index logical keys,
+ * so this decorator sits outside {@link GenerationalCacheManager}.
+ */
+@Configuration
+public class CacheTagConfig {
+
+    public static final int ORDER = StampedeProtectionConfig.ORDER + 10;
+
+    @Bean
+    public static BeanPostProcessor taggingCacheManagerPostProcessor(
+            ObjectProvider<CacheTagService> cacheTagService,
+            @Value("${blog.cache.tags.enabled:false}") boolean enabled) {
+        return new TaggingPostProcessor(cacheTagService, enabled);
+    }
+
+    static class TaggingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<CacheTagService> cacheTagService;
+        private final boolean enabled;
+
+        TaggingPostProcessor(ObjectProvider<CacheTagService> cacheTagService, boolean enabled) {
+            this.cacheTagService = cacheTagService;
+            this.enabled = enabled;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!enabled || !(bean instanceof CacheManager cacheManager)
+                    || bean instanceof TaggingCacheManager) {
+                return bean;
+            }
+            return new TaggingCacheManager(cacheManager, Map.of(
+                    CacheTags.POSTS_CACHE, CacheTags::forPosts,
+                    CacheTags.COMMENTS_CACHE, CacheTags::forComments
+            ), cacheTagService.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.blog.api.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Applies the scripts in db/migration after Hibernate has updated the schema. Tables still
+ * come from the entities (ddl-auto: update); the scripts add what the mappings cannot:
+ * backfills, triggers, text search configuration and specialised indexes. Flyway's own
+ * initializer runs before JPA, when a fresh database has no tables yet, so it is given a
+ * no-op strategy and migration runs once the EntityManagerFactory exists, still before
+ * the application serves traffic.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.flyway", name = "enabled", matchIfMissing = true)
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> {
+            // Migrated by flywayMigrationAfterHibernate
+        };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean flywayMigrationAfterHibernate(Flyway flyway) {
+        return flyway::migrate;
+    }
+}
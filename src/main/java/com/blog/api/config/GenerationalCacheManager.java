@@ -0,0 +1,165 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheGenerationService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * CacheManager decorator that puts the generation of each cache into its keys
+ * ({@code posts::g42:all:0:20}), turning a whole-cache clear into a single INCR instead
+ * of a SCAN and delete over every entry. Entries of older generations expire by TTL.
+ * Only the named caches are decorated; the others are returned as they are.
+ */
+public class GenerationalCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheGenerationService cacheGenerationService;
+    private final Set<String> cacheNames;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public GenerationalCacheManager(CacheManager delegate, CacheGenerationService cacheGenerationService,
+                                    Set<String> cacheNames) {
+        this.delegate = delegate;
+        this.cacheGenerationService = cacheGenerationService;
+        this.cacheNames = Set.copyOf(cacheNames);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !cacheNames.contains(name)) {
+            return cache;
+        }
+        return decorated.computeIfAbsent(name, n -> new GenerationalCache(cache, cacheGenerationService));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Rewrites every key to its current-generation form. Callers keep using logical keys,
+     * so tag indexes and {@code @CacheEvict} expressions are unaffected.
+     */
+    static class GenerationalCache implements BatchCache {
+
+        private final Cache delegate;
+        private final CacheGenerationService cacheGenerationService;
+
+        GenerationalCache(Cache delegate, CacheGenerationService cacheGenerationService) {
+            this.delegate = delegate;
+            this.cacheGenerationService = cacheGenerationService;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(versioned(key));
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(versioned(key), type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(versioned(key), valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(versioned(key));
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(versioned(key), valueLoader);
+        }
+
+        @Override
+        public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+            Map<Object, Object> logicalKeys = new HashMap<>();
+            for (Object key : keys) {
+                logicalKeys.put(versioned(key), key);
+            }
+            Map<Object, ValueWrapper> hits = new HashMap<>();
+            BatchCaches.getAll(delegate, logicalKeys.keySet())
+                    .forEach((key, wrapper) -> hits.put(logicalKeys.get(key), wrapper));
+            return hits;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(versioned(key), value);
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            Map<Object, Object> versionedEntries = new HashMap<>();
+            entries.forEach((key, value) -> versionedEntries.put(versioned(key), value));
+            BatchCaches.putAll(delegate, versionedEntries);
+        }
+
+        @Override
+        public boolean update(Object key, UnaryOperator<Object> patch) {
+            return BatchCaches.update(delegate, versioned(key), patch);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(versioned(key), value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(versioned(key));
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(versioned(key));
+        }
+
+        @Override
+        public void clear() {
+            if (!cacheGenerationService.advance(getName())) {
+                // Slow, but every node sees it, unlike a generation only this node moved to
+                delegate.clear();
+            }
+        }
+
+        @Override
+        public boolean invalidate() {
+            return cacheGenerationService.advance(getName()) || delegate.invalidate();
+        }
+
+        String versioned(Object key) {
+            return "g" + cacheGenerationService.current(getName()) + ":" + key;
+        }
+    }
+}
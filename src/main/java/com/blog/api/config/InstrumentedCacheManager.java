@@ -0,0 +1,288 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheHotKeyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * CacheManager decorator recording what callers see of every cache: hits, misses, time spent
+ * in the cache stack, time spent loading on a miss and evictions, tagged by cache name.
+ * Lookups are also offered to {@link CacheHotKeyService}. It wraps the whole decorator chain,
+ * so a near-tier hit and a Redis hit both count as hits; the tier split is recorded by
+ * {@link TwoTierCacheManager} and time spent in Redis itself by {@link RedisBatchCacheManager}.
+ */
+public class InstrumentedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry meterRegistry;
+    private final CacheHotKeyService hotKeyService;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public InstrumentedCacheManager(CacheManager delegate, MeterRegistry meterRegistry,
+                                    CacheHotKeyService hotKeyService) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.hotKeyService = hotKeyService;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return decorated.computeIfAbsent(name, n -> new InstrumentedCache(cache,
+                new CacheMeters(meterRegistry, n), hotKeyService));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * A read that runs the value loader on the calling thread is a miss; loads started on other
+     * threads (early refreshes) are timed but not counted as misses. Store time excludes the load.
+     */
+    static class InstrumentedCache implements BatchCache {
+
+        private final Cache delegate;
+        private final CacheMeters meters;
+        private final CacheHotKeyService hotKeyService;
+
+        InstrumentedCache(Cache delegate, CacheMeters meters, CacheHotKeyService hotKeyService) {
+            this.delegate = delegate;
+            this.meters = meters;
+            this.hotKeyService = hotKeyService;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            hotKeyService.record(getName(), key);
+            long start = System.nanoTime();
+            ValueWrapper wrapper = delegate.get(key);
+            meters.recordStore(System.nanoTime() - start);
+            meters.recordLookup(wrapper != null);
+            return wrapper;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            hotKeyService.record(getName(), key);
+            long start = System.nanoTime();
+            T value = delegate.get(key, type);
+            meters.recordStore(System.nanoTime() - start);
+            meters.recordLookup(value != null);
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            hotKeyService.record(getName(), key);
+            Thread caller = Thread.currentThread();
+            AtomicBoolean loaded = new AtomicBoolean();
+            AtomicLong loadNanos = new AtomicLong();
+
+            long start = System.nanoTime();
+            T value = delegate.get(key, () -> {
+                long loadStart = System.nanoTime();
+                try {
+                    return valueLoader.call();
+                } finally {
+                    long elapsed = System.nanoTime() - loadStart;
+                    meters.load.record(elapsed, TimeUnit.NANOSECONDS);
+                    if (Thread.currentThread() == caller) {
+                        loaded.set(true);
+                        loadNanos.set(elapsed);
+                    }
+                }
+            });
+            meters.recordStore(System.nanoTime() - start - loadNanos.get());
+            meters.recordLookup(!loaded.get());
+            return value;
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            hotKeyService.record(getName(), key);
+            return delegate.retrieve(key)
+                    .whenComplete((value, error) -> meters.recordLookup(error == null && value != null));
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            hotKeyService.record(getName(), key);
+            AtomicBoolean loaded = new AtomicBoolean();
+            return delegate.retrieve(key, () -> {
+                loaded.set(true);
+                Timer.Sample sample = Timer.start();
+                return valueLoader.get().whenComplete((value, error) -> sample.stop(meters.load));
+            }).whenComplete((value, error) -> meters.recordLookup(error == null && !loaded.get()));
+        }
+
+        @Override
+        public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+            keys.forEach(key -> hotKeyService.record(getName(), key));
+            long start = System.nanoTime();
+            Map<Object, ValueWrapper> found = BatchCaches.getAll(delegate, keys);
+            meters.recordStore(System.nanoTime() - start);
+            meters.recordLookups(found.size(), keys.size() - found.size());
+            return found;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            long start = System.nanoTime();
+            delegate.put(key, value);
+            meters.recordStore(System.nanoTime() - start);
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            long start = System.nanoTime();
+            BatchCaches.putAll(delegate, entries);
+            meters.recordStore(System.nanoTime() - start);
+        }
+
+        @Override
+        public boolean update(Object key, UnaryOperator<Object> patch) {
+            long start = System.nanoTime();
+            boolean updated = BatchCaches.update(delegate, key, patch);
+            meters.recordStore(System.nanoTime() - start);
+            return updated;
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            long start = System.nanoTime();
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            meters.recordStore(System.nanoTime() - start);
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+            meters.keyEvictions.increment();
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = delegate.evictIfPresent(key);
+            if (evicted) {
+                meters.keyEvictions.increment();
+            }
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+            meters.clears.increment();
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = delegate.invalidate();
+            meters.clears.increment();
+            return invalidated;
+        }
+    }
+
+    /**
+     * Per-cache meters, plus the untagged totals declared in {@link MonitoringConfig}.
+     */
+    static class CacheMeters {
+
+        final Counter hits;
+        final Counter misses;
+        final Counter totalHits;
+        final Counter totalMisses;
+        final Timer store;
+        final Timer load;
+        final Counter keyEvictions;
+        final Counter clears;
+
+        CacheMeters(MeterRegistry meterRegistry, String cacheName) {
+            this.hits = lookups(meterRegistry, cacheName, "hit");
+            this.misses = lookups(meterRegistry, cacheName, "miss");
+            this.totalHits = meterRegistry.counter("blog_api_cache_hits_total");
+            this.totalMisses = meterRegistry.counter("blog_api_cache_misses_total");
+            this.store = Timer.builder("blog_api_cache_operation_duration")
+                    .description("Time spent in the cache stack per operation, loads excluded")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+            this.load = Timer.builder("blog_api_cache_load_duration")
+                    .description("Time spent computing a value on a cache miss")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+            this.keyEvictions = evictions(meterRegistry, cacheName, "key");
+            this.clears = evictions(meterRegistry, cacheName, "all");
+        }
+
+        void recordLookup(boolean hit) {
+            if (hit) {
+                hits.increment();
+                totalHits.increment();
+            } else {
+                misses.increment();
+                totalMisses.increment();
+            }
+        }
+
+        void recordLookups(int hitCount, int missCount) {
+            hits.increment(hitCount);
+            totalHits.increment(hitCount);
+            misses.increment(missCount);
+            totalMisses.increment(missCount);
+        }
+
+        void recordStore(long nanos) {
+            store.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private static Counter lookups(MeterRegistry meterRegistry, String cacheName, String result) {
+            return Counter.builder("blog_api_cache_lookups_total")
+                    .description("Cache lookups as seen by callers")
+                    .tag("cache", cacheName)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        private static Counter evictions(MeterRegistry meterRegistry, String cacheName, String scope) {
+            return Counter.builder("blog_api_cache_evictions_total")
+                    .description("Explicit cache evictions; scope=all counts whole-cache clears")
+                    .tag("cache", cacheName)
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.blog.api.config;
 import com.blog.api.service.CustomUserDetailsService;
 import com.blog.api.service.JwtBlacklistService;
 import com.blog.api.util.JwtUtil;
+import com.blog.api.util.ParsedToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -54,6 +55,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String username = null;
         String jwtToken = null;
         String jti = null;
+        ParsedToken parsedToken = null;
 
         // Extract and validate token format
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
@@ -67,12 +69,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             try {
-                // Extract basic claims first
-                username = jwtUtil.getUsernameFromToken(jwtToken);
-                jti = jwtUtil.getJtiFromToken(jwtToken);
+                // Verify the signature once; every later check reuses the parsed token
+                parsedToken = jwtUtil.parseToken(jwtToken);
+                username = parsedToken.subject();
+                jti = parsedToken.jti();
+                request.setAttribute(ParsedToken.REQUEST_ATTRIBUTE, parsedToken);
                 
-                // Enhanced blacklist check with detailed logging
-                if (jti != null && jwtBlacklistService.isTokenRevoked(jti)) {
+                // Enhanced blacklist check with detailed logging; the per-user epoch is an in-memory lookup
+                if (jwtBlacklistService.isRevokedByUserEpoch(parsedToken)
+                        || (jti != null && jwtBlacklistService.isTokenRevoked(jti))) {
                     logger.warn("Attempted access with revoked token - JTI: {}, Username: {}, IP: {}, URI: {}", 
                                jti, username, request.getRemoteAddr(), requestURI);
                     handleRevokedToken(response, jti);
@@ -101,10 +106,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Proceed with authentication if token is valid
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                // In stateless principal mode the token claims are enough; otherwise load the user
+                UserDetails userDetails = jwtUtil.getStatelessPrincipal(parsedToken);
+                if (userDetails == null) {
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                }
 
-                // The validateToken method in JwtUtil now includes blacklist check
-                if (jwtUtil.validateToken(jwtToken, userDetails)) {
+                // Blacklist was already checked above, so only subject and expiry remain
+                if (jwtUtil.isTokenValidFor(parsedToken, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = 
                         new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
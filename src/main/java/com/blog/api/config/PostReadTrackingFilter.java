@@ -0,0 +1,44 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheWarmupService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Counts reads of single posts for the warm-up ranking. Runs before the response cache,
+ * so reads answered from it are counted too.
+ */
+public class PostReadTrackingFilter extends OncePerRequestFilter {
+
+    private static final Pattern POST_PATH = Pattern.compile("^/api/v1/posts/(\\d{1,18})$");
+
+    private final CacheWarmupService cacheWarmupService;
+
+    public PostReadTrackingFilter(CacheWarmupService cacheWarmupService) {
+        this.cacheWarmupService = cacheWarmupService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+
+        Matcher matcher = POST_PATH.matcher(request.getRequestURI());
+        if (matcher.matches() && response.getStatus() < 400) {
+            cacheWarmupService.recordPostRead(Long.valueOf(matcher.group(1)));
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.blog.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * CacheManager decorator giving every Redis cache batch reads (one MGET), batch writes
+ * (one pipeline of SETs) and in-place updates (WATCH, GET, MULTI/SET/EXEC), with the same
+ * keys, value format and TTL RedisCache uses. Everything else goes to RedisCache unchanged.
+ * Being the last decorator before Redis, it also times every call into
+ * {@code blog_api_redis_operation_duration}; near-tier hits never reach it.
+ */
+public class RedisBatchCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Timer redisTimer;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public RedisBatchCacheManager(CacheManager delegate, StringRedisTemplate redisTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.redisTimer = meterRegistry.timer("blog_api_redis_operation_duration");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (!(cache instanceof RedisCache redisCache)) {
+            return cache;
+        }
+        return decorated.computeIfAbsent(name, n -> new RedisBatchCache(redisCache, redisTemplate, redisTimer));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * A Redis failure during a batch is logged and treated as misses (reads) or skipped
+     * (writes): the caller loads from the database, as it would after an eviction.
+     * Redis time excludes value loaders run on a miss.
+     */
+    static class RedisBatchCache implements BatchCache {
+
+        private static final Logger logger = LoggerFactory.getLogger(RedisBatchCache.class);
+
+        private final RedisCache delegate;
+        private final RedisCacheConfiguration configuration;
+        private final StringRedisTemplate redisTemplate;
+        private final Timer redisTimer;
+
+        RedisBatchCache(RedisCache delegate, StringRedisTemplate redisTemplate, Timer redisTimer) {
+            this.delegate = delegate;
+            this.configuration = delegate.getCacheConfiguration();
+            this.redisTemplate = redisTemplate;
+            this.redisTimer = redisTimer;
+        }
+
+        @Override
+        public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+            List<Object> keyList = new ArrayList<>(keys);
+            byte[][] redisKeys = new byte[keyList.size()][];
+            for (int i = 0; i < keyList.size(); i++) {
+                redisKeys[i] = redisKey(keyList.get(i));
+            }
+
+            List<byte[]> stored;
+            try {
+                stored = redisTimer.record(() -> redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                        connection.stringCommands().mGet(redisKeys)));
+            } catch (Exception e) {
+                logger.warn("Failed to read {} keys from cache {}", keyList.size(), getName(), e);
+                return Map.of();
+            }
+
+            Map<Object, ValueWrapper> hits = new HashMap<>();
+            for (int i = 0; stored != null && i < keyList.size(); i++) {
+                byte[] bytes = stored.get(i);
+                if (bytes != null) {
+                    Object value = configuration.getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+                    hits.put(keyList.get(i), new SimpleValueWrapper(value instanceof NullValue ? null : value));
+                }
+            }
+            return hits;
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            List<PendingWrite> writes = new ArrayList<>(entries.size());
+            entries.forEach((key, value) -> {
+                if (value == null && !configuration.getAllowCacheNullValues()) {
+                    return;
+                }
+                Object storeValue = value != null ? value : NullValue.INSTANCE;
+                writes.add(new PendingWrite(redisKey(key),
+                        ByteUtils.getBytes(configuration.getValueSerializationPair().write(storeValue)),
+                        expiration(configuration.getTtlFunction().getTimeToLive(key, value))));
+            });
+
+            try {
+                redisTimer.record(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (PendingWrite write : writes) {
+                        connection.stringCommands().set(write.key(), write.value(), write.expiration(),
+                                RedisStringCommands.SetOption.upsert());
+                    }
+                    return null;
+                }));
+            } catch (Exception e) {
+                // The entries are loaded again on their next read
+                logger.warn("Failed to write {} keys to cache {}", writes.size(), getName(), e);
+            }
+        }
+
+        /**
+         * Optimistic: the key is watched before it is read, so any write to it before EXEC
+         * (a {@code put}, an eviction, another update) aborts the SET. The entry keeps its
+         * remaining TTL.
+         */
+        @Override
+        public boolean update(Object key, UnaryOperator<Object> patch) {
+            byte[] redisKey = redisKey(key);
+            try {
+                Boolean updated = redisTimer.record(() -> redisTemplate.execute((RedisCallback<Boolean>) connection -> {
+                    connection.watch(redisKey);
+                    byte[] bytes = connection.stringCommands().get(redisKey);
+                    if (bytes == null) {
+                        connection.unwatch();
+                        return true;
+                    }
+                    Object stored = configuration.getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+                    Object value = stored instanceof NullValue ? null : stored;
+                    Object patched = patch.apply(value);
+                    if (patched == value) {
+                        connection.unwatch();
+                        return true;
+                    }
+                    Object storeValue = patched != null ? patched : NullValue.INSTANCE;
+                    connection.multi();
+                    connection.stringCommands().set(redisKey,
+                            ByteUtils.getBytes(configuration.getValueSerializationPair().write(storeValue)),
+                            Expiration.keepTtl(), RedisStringCommands.SetOption.upsert());
+                    List<Object> results = connection.exec();
+                    // EXEC answers nothing when a watched key changed
+                    return results != null && !results.isEmpty();
+                }));
+                return Boolean.TRUE.equals(updated);
+            } catch (Exception e) {
+                logger.warn("Failed to update key {} in cache {}", key, getName(), e);
+                return false;
+            }
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return redisTimer.record(() -> delegate.get(key));
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return redisTimer.record(() -> delegate.get(key, type));
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            AtomicLong loadNanos = new AtomicLong();
+            long start = System.nanoTime();
+            try {
+                return delegate.get(key, () -> {
+                    long loadStart = System.nanoTime();
+                    try {
+                        return valueLoader.call();
+                    } finally {
+                        loadNanos.set(System.nanoTime() - loadStart);
+                    }
+                });
+            } finally {
+                redisTimer.record(System.nanoTime() - start - loadNanos.get(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            Timer.Sample sample = Timer.start();
+            return delegate.retrieve(key).whenComplete((value, error) -> sample.stop(redisTimer));
+        }
+
+        /**
+         * Times the read only: the sample stops when the loader is called, so neither the load
+         * nor the write of its result is recorded.
+         */
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            Timer.Sample sample = Timer.start();
+            AtomicBoolean stopped = new AtomicBoolean();
+            Runnable stop = () -> {
+                if (stopped.compareAndSet(false, true)) {
+                    sample.stop(redisTimer);
+                }
+            };
+            return delegate.retrieve(key, () -> {
+                stop.run();
+                return valueLoader.get();
+            }).whenComplete((value, error) -> stop.run());
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            redisTimer.record(() -> delegate.put(key, value));
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return redisTimer.record(() -> delegate.putIfAbsent(key, value));
+        }
+
+        @Override
+        public void evict(Object key) {
+            redisTimer.record(() -> delegate.evict(key));
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return redisTimer.record(() -> delegate.evictIfPresent(key));
+        }
+
+        @Override
+        public void clear() {
+            redisTimer.record(() -> delegate.clear());
+        }
+
+        @Override
+        public boolean invalidate() {
+            return redisTimer.record(() -> delegate.invalidate());
+        }
+
+        // Same key RedisCache builds: cache prefix plus the key's string form
+        private byte[] redisKey(Object key) {
+            String cacheKey = String.valueOf(key);
+            if (configuration.usePrefix()) {
+                cacheKey = configuration.getKeyPrefixFor(getName()) + cacheKey;
+            }
+            return ByteUtils.getBytes(configuration.getKeySerializationPair().write(cacheKey));
+        }
+
+        private record PendingWrite(byte[] key, byte[] value, Expiration expiration) {
+        }
+
+        private static Expiration expiration(Duration ttl) {
+            return ttl == null || ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+        }
+    }
+}
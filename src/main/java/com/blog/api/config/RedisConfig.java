@@ -1,22 +1,61 @@
 package com.blog.api.config;
 
+import com.blog.api.util.CompactCacheSerializer;
+import com.blog.api.util.SizeRecordingRedisSerializer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(10);
+
+    public static final Map<String, Duration> CACHE_TTLS = Map.of(
+            "posts", Duration.ofMinutes(15),
+            "categories", Duration.ofMinutes(30),
+            "users", Duration.ofMinutes(20),
+            "comments", Duration.ofMinutes(5)
+    );
+
+    /**
+     * Caches that would otherwise get the JSON {@link #cacheConfiguration()} defaults. They keep
+     * that format but get a configuration of their own, so their value sizes can be recorded.
+     */
+    private static final Map<String, CacheValueFormat> DEFAULT_FORMATS = Map.of(
+            "terms_status", CacheValueFormat.JSON,
+            "blacklisted_tokens", CacheValueFormat.JSON
+    );
+
+    public static Duration cacheTtl(String cacheName) {
+        return CACHE_TTLS.getOrDefault(cacheName, DEFAULT_CACHE_TTL);
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -31,30 +70,97 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Shared pub/sub container. Features that need cross-node notifications register
+     * their own listeners; with no listeners registered it never opens a connection.
+     * Redis being down at startup must not stop the application, like every other
+     * Redis-backed feature here: the subscription failure is logged and the nodes
+     * simply miss notifications until restarted with Redis available.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public void start() {
+                try {
+                    super.start();
+                } catch (RuntimeException e) {
+                    logger.warn("Redis pub/sub unavailable, cross-node notifications are disabled: " + e.getMessage());
+                }
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     @Bean
     public RedisCacheConfiguration cacheConfiguration() {
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(DEFAULT_CACHE_TTL)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new GenericJackson2JsonRedisSerializer()));
     }
 
+    /**
+     * Caches that still clear all entries (allEntries = true) delete by SCAN in batches
+     * instead of the default blocking KEYS.
+     * Each cache's value format comes from {@code blog.cache.serialization.formats}; caches not
+     * listed keep JDK serialization. With {@code blog.cache.metrics.enabled} the size of every
+     * value written is recorded per cache.
+     */
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
-        return (builder) -> builder
-                .withCacheConfiguration("posts",
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(15)))
-                .withCacheConfiguration("categories",
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(30)))
-                .withCacheConfiguration("users",
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(20)))
-                .withCacheConfiguration("comments",
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(5)));
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(
+            RedisConnectionFactory connectionFactory,
+            Environment environment,
+            @Value("${blog.cache.serialization.compression.enabled:false}") boolean compressionEnabled,
+            @Value("${blog.cache.serialization.compression.threshold:1024}") int compressionThreshold,
+            @Value("${blog.cache.metrics.enabled:false}") boolean metricsEnabled,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, CacheValueFormat> formats = new HashMap<>(DEFAULT_FORMATS);
+        formats.putAll(Binder.get(environment)
+                .bind("blog.cache.serialization.formats", Bindable.mapOf(String.class, CacheValueFormat.class))
+                .orElse(Map.of()));
+        CompactCacheSerializer compactSerializer = new CompactCacheSerializer(compressionEnabled, compressionThreshold);
+
+        Set<String> cacheNames = new HashSet<>(CACHE_TTLS.keySet());
+        cacheNames.addAll(formats.keySet());
+
+        return (builder) -> {
+            builder.cacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)));
+            for (String cacheName : cacheNames) {
+                RedisSerializer<Object> valueSerializer = formats.getOrDefault(cacheName, CacheValueFormat.JDK)
+                        .serializer(compactSerializer);
+                if (metricsEnabled) {
+                    valueSerializer = new SizeRecordingRedisSerializer(valueSerializer,
+                            DistributionSummary.builder("blog_api_cache_value_size_bytes")
+                                    .description("Size of the values written to a cache, as stored in Redis")
+                                    .baseUnit("bytes")
+                                    .tag("cache", cacheName)
+                                    .register(meterRegistry.getObject()));
+                }
+                builder.withCacheConfiguration(cacheName, RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(cacheTtl(cacheName))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer)));
+            }
+        };
+    }
+
+    /**
+     * Value formats a cache can be stored in.
+     */
+    public enum CacheValueFormat {
+        JDK,
+        JSON,
+        SMILE;
+
+        RedisSerializer<Object> serializer(CompactCacheSerializer compactSerializer) {
+            return switch (this) {
+                case JDK -> RedisSerializer.java();
+                case JSON -> new GenericJackson2JsonRedisSerializer();
+                case SMILE -> compactSerializer;
+            };
+        }
     }
 }
\ No newline at end of file
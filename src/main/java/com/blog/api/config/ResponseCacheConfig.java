@@ -0,0 +1,36 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheWarmupService;
+import com.blog.api.service.ResponseCacheService;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the response cache behind Spring Security, so access rules are applied before
+ * a cached body is served, and the post read counter in front of it.
+ */
+@Configuration
+public class ResponseCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCacheService responseCacheService) {
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(responseCacheService));
+        registration.addUrlPatterns("/api/v1/posts", "/api/v1/posts/*",
+                "/api/v1/categories", "/api/v1/categories/*",
+                "/api/v1/comments/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PostReadTrackingFilter> postReadTrackingFilter(CacheWarmupService cacheWarmupService) {
+        FilterRegistrationBean<PostReadTrackingFilter> registration =
+                new FilterRegistrationBean<>(new PostReadTrackingFilter(cacheWarmupService));
+        registration.addUrlPatterns("/api/v1/posts/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,232 @@
+package com.blog.api.config;
+
+import com.blog.api.service.ResponseCacheService;
+import com.blog.api.service.ResponseCacheService.CachedResponse;
+import com.blog.api.service.ResponseCacheService.Validators;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serves anonymous GETs of public resources from {@link ResponseCacheService}. A hit is the
+ * stored bytes, gzipped if the client accepts it, written without reaching a controller;
+ * a successful JSON miss is captured on the way out and stored for the next request.
+ * Requests carrying credentials always get their body from the application, which is
+ * neither served from nor stored in the cache.
+ *
+ * Responses carry ETag and Last-Modified, with or without credentials: the filter runs
+ * behind Spring Security, and these GETs render the same body for every caller. A matching
+ * If-None-Match or If-Modified-Since is answered with 304 from the stored validators,
+ * without reaching a controller or touching the body.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private final ResponseCacheService responseCacheService;
+
+    public ResponseCacheFilter(ResponseCacheService responseCacheService) {
+        this.responseCacheService = responseCacheService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !responseCacheService.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || responseCacheService.namespaceFor(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String namespace = responseCacheService.namespaceFor(request.getRequestURI());
+        String cacheKey = cacheKey(request);
+        boolean acceptsGzip = acceptsGzip(request);
+        boolean anonymous = request.getHeader(HttpHeaders.AUTHORIZATION) == null;
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // Revalidation needs the validators only, never the body
+        if (isConditional(request)) {
+            Validators validators = responseCacheService.getValidators(namespace, cacheKey);
+            if (validators != null && isNotModified(request, validators)) {
+                writeNotModified(response, validators, acceptsGzip && responseCacheService.isGzipEnabled());
+                return;
+            }
+        }
+
+        if (!anonymous) {
+            renderWithValidators(request, response, filterChain, namespace, cacheKey);
+            return;
+        }
+
+        CachedResponse cached = responseCacheService.get(namespace, cacheKey, acceptsGzip);
+        if (cached == null && acceptsGzip) {
+            cached = responseCacheService.get(namespace, cacheKey, false);
+        }
+        if (cached != null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            if (cached.gzipped()) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            writeValidators(response, cached.validators(), cached.gzipped());
+            response.setHeader(CACHE_STATUS_HEADER, "HIT");
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        response.setHeader(CACHE_STATUS_HEADER, "MISS");
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean notModified = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isCacheable(wrapper)) {
+                Validators validators = responseCacheService.put(namespace, cacheKey, wrapper.getContentAsByteArray());
+                if (validators != null) {
+                    // The body is sent identity-encoded on a miss
+                    writeValidators(wrapper, validators, false);
+                    notModified = isConditional(request) && isNotModified(request, validators);
+                }
+            }
+        } finally {
+            if (notModified) {
+                // Same content as the client already has, e.g. re-rendered after the entry expired
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            } else {
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * A caller with credentials gets the application's body, tagged with the same validators
+     * an anonymous caller would get for it.
+     */
+    private void renderWithValidators(HttpServletRequest request, HttpServletResponse response,
+                                      FilterChain filterChain, String namespace, String cacheKey)
+            throws ServletException, IOException {
+        response.setHeader(CACHE_STATUS_HEADER, "BYPASS");
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean notModified = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isCacheable(wrapper)) {
+                Validators validators = responseCacheService.validatorsFor(namespace, cacheKey,
+                        wrapper.getContentAsByteArray());
+                writeValidators(wrapper, validators, false);
+                notModified = isConditional(request) && isNotModified(request, validators);
+            }
+        } finally {
+            if (notModified) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            } else {
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * If-None-Match wins over If-Modified-Since when both are sent. Tags are compared weakly,
+     * as GET allows, and the gzip variant's tag matches its identity tag.
+     */
+    static boolean isNotModified(HttpServletRequest request, Validators validators) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String etag = opaqueTag(validators.etag());
+            return Arrays.stream(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .anyMatch(tag -> tag.equals("*") || opaqueTag(tag).equals(etag));
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && validators.lastModified() <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            // Unparseable date: the header is ignored
+            return false;
+        }
+    }
+
+    private static void writeNotModified(HttpServletResponse response, Validators validators, boolean gzipped) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        writeValidators(response, validators, gzipped);
+        response.setHeader(CACHE_STATUS_HEADER, "REVALIDATED");
+    }
+
+    private static void writeValidators(HttpServletResponse response, Validators validators, boolean gzipped) {
+        String etag = validators.etag();
+        if (gzipped) {
+            // Each content coding is its own representation and needs its own strong tag
+            etag = etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, validators.lastModified());
+        // Replaces Spring Security's no-store, so clients keep the body and revalidate it
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    }
+
+    private static String opaqueTag(String etag) {
+        String tag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        if (tag.endsWith(GZIP_ETAG_SUFFIX + "\"")) {
+            tag = tag.substring(0, tag.length() - GZIP_ETAG_SUFFIX.length() - 1) + "\"";
+        }
+        return tag;
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                && response.getHeader(HttpHeaders.SET_COOKIE) == null
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    /**
+     * Path plus query parameters in a fixed order, so ?page=1&size=10 and ?size=10&page=1
+     * share one entry.
+     */
+    static String cacheKey(HttpServletRequest request) {
+        String query = request.getParameterMap().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> Arrays.stream(entry.getValue())
+                        .map(value -> entry.getKey() + "=" + value)
+                        .collect(Collectors.joining("&")))
+                .collect(Collectors.joining("&"));
+        return query.isEmpty() ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // gzip;q=0 means the client refuses it
+            return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+}
@@ -70,6 +70,7 @@ public class SecurityConfig {
                 .requestMatchers("/v3/api-docs/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
                 .requestMatchers("/api-docs/**").permitAll()
+                .requestMatchers("/actuator/cachehotkeys/**").hasRole("ADMIN")
                 .requestMatchers("/actuator/**").permitAll()
                 
                 // Posts - public read access, AUTHOR/ADMIN for write operations
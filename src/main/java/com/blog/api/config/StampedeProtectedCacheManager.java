@@ -0,0 +1,315 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheStampedeService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * CacheManager decorator that keeps a key from being loaded by many callers at once.
+ * Applies to {@code @Cacheable(sync = true)} methods of the configured caches, which load
+ * through {@link Cache#get(Object, Callable)}; other caches are returned unchanged.
+ */
+public class StampedeProtectedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Set<String> cacheNames;
+    private final CacheStampedeService cacheStampedeService;
+    private final Function<String, Duration> ttlResolver;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public StampedeProtectedCacheManager(CacheManager delegate, Set<String> cacheNames,
+                                         CacheStampedeService cacheStampedeService,
+                                         Function<String, Duration> ttlResolver) {
+        this.delegate = delegate;
+        this.cacheNames = Set.copyOf(cacheNames);
+        this.cacheStampedeService = cacheStampedeService;
+        this.ttlResolver = ttlResolver;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !cacheNames.contains(name)) {
+            return cache;
+        }
+        return decorated.computeIfAbsent(name,
+                n -> new StampedeProtectedCache(cache, cacheStampedeService, ttlResolver.apply(n)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Stored form of a cached value: how long it took to compute and when it expires,
+     * which is what the early refresh decision needs.
+     */
+    public record Envelope(Object value, long computeMillis, long expiresAt) implements Serializable {
+    }
+
+    /**
+     * A miss is loaded once per node (callers for the same key share one future) and,
+     * across nodes, by whoever holds the Redis load lock; the others poll the cache for
+     * the result and only load themselves if it does not show up within lock-wait.
+     */
+    static class StampedeProtectedCache implements BatchCache {
+
+        private final Cache delegate;
+        private final CacheStampedeService cacheStampedeService;
+        private final Duration ttl;
+        private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+        private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+        StampedeProtectedCache(Cache delegate, CacheStampedeService cacheStampedeService, Duration ttl) {
+            this.delegate = delegate;
+            this.cacheStampedeService = cacheStampedeService;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper wrapper = delegate.get(key);
+            return wrapper != null ? new SimpleValueWrapper(unwrap(wrapper.get())) : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper wrapper = get(key);
+            Object value = wrapper != null ? wrapper.get() : null;
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new IllegalStateException(
+                        "Cached value is not of required type [" + type.getName() + "]: " + value);
+            }
+            return (T) value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                if (wrapper.get() instanceof Envelope envelope
+                        && cacheStampedeService.shouldRefreshEarly(envelope.computeMillis(), envelope.expiresAt())) {
+                    refreshEarly(key, valueLoader);
+                }
+                return (T) unwrap(wrapper.get());
+            }
+            return (T) loadOnce(key, valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            CompletableFuture<?> future = delegate.retrieve(key);
+            return future != null ? future.thenApply(StampedeProtectedCache::unwrap) : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            CompletableFuture<Object> future = delegate.retrieve(key,
+                    () -> valueLoader.get().thenApply(value -> (Object) envelope(value, 0)));
+            return (CompletableFuture<T>) future.thenApply(StampedeProtectedCache::unwrap);
+        }
+
+        @Override
+        public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+            Map<Object, ValueWrapper> hits = new HashMap<>();
+            BatchCaches.getAll(delegate, keys)
+                    .forEach((key, wrapper) -> hits.put(key, new SimpleValueWrapper(unwrap(wrapper.get()))));
+            return hits;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, envelope(value, 0));
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            Map<Object, Object> envelopes = new HashMap<>();
+            entries.forEach((key, value) -> envelopes.put(key, envelope(value, 0)));
+            BatchCaches.putAll(delegate, envelopes);
+        }
+
+        @Override
+        public boolean update(Object key, UnaryOperator<Object> patch) {
+            // Patches the value inside the envelope; its compute time and expiry are kept
+            return BatchCaches.update(delegate, key, stored -> {
+                Object value = unwrap(stored);
+                Object patched = patch.apply(value);
+                if (patched == value) {
+                    return stored;
+                }
+                return stored instanceof Envelope envelope
+                        ? new Envelope(patched, envelope.computeMillis(), envelope.expiresAt())
+                        : patched;
+            });
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = delegate.putIfAbsent(key, envelope(value, 0));
+            return existing != null ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+
+        private Object loadOnce(Object key, Callable<?> valueLoader) {
+            String flightKey = String.valueOf(key);
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, mine);
+            if (leader != null) {
+                try {
+                    return leader.join();
+                } catch (CompletionException e) {
+                    throw new ValueRetrievalException(key, valueLoader, e.getCause());
+                }
+            }
+
+            try {
+                Object value = loadAcrossNodes(key, valueLoader);
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e instanceof ValueRetrievalException ? e.getCause() : e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, mine);
+            }
+        }
+
+        private Object loadAcrossNodes(Object key, Callable<?> valueLoader) {
+            String token = cacheStampedeService.tryLock(getName(), key);
+            if (token == null) {
+                ValueWrapper loaded = awaitOtherNode(key);
+                if (loaded != null) {
+                    return unwrap(loaded.get());
+                }
+                // The other node is slow or gone; load anyway rather than fail the request
+            }
+
+            try {
+                if (token != null) {
+                    // Another node may have finished loading while we were taking the lock
+                    ValueWrapper loaded = delegate.get(key);
+                    if (loaded != null) {
+                        return unwrap(loaded.get());
+                    }
+                }
+                return load(key, valueLoader);
+            } finally {
+                cacheStampedeService.unlock(getName(), key, token);
+            }
+        }
+
+        private Object load(Object key, Callable<?> valueLoader) {
+            long start = System.currentTimeMillis();
+            Object value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            delegate.put(key, envelope(value, System.currentTimeMillis() - start));
+            return value;
+        }
+
+        private ValueWrapper awaitOtherNode(Object key) {
+            long deadline = System.nanoTime() + cacheStampedeService.getLockWait().toNanos();
+            long pollNanos = cacheStampedeService.getPollInterval().toNanos();
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(pollNanos);
+                ValueWrapper loaded = delegate.get(key);
+                if (loaded != null) {
+                    return loaded;
+                }
+            }
+            return null;
+        }
+
+        private void refreshEarly(Object key, Callable<?> valueLoader) {
+            String refreshKey = String.valueOf(key);
+            if (!refreshing.add(refreshKey)) {
+                return;
+            }
+            String token = cacheStampedeService.tryLock(getName(), key);
+            if (token == null) {
+                // Another node is already refreshing this key
+                refreshing.remove(refreshKey);
+                return;
+            }
+
+            boolean scheduled = cacheStampedeService.refreshInBackground(() -> {
+                try {
+                    return load(key, valueLoader);
+                } finally {
+                    refreshing.remove(refreshKey);
+                    cacheStampedeService.unlock(getName(), key, token);
+                }
+            });
+            if (!scheduled) {
+                refreshing.remove(refreshKey);
+                cacheStampedeService.unlock(getName(), key, token);
+            }
+        }
+
+        private Envelope envelope(Object value, long computeMillis) {
+            return new Envelope(value, computeMillis, System.currentTimeMillis() + ttl.toMillis());
+        }
+
+        // Entries written before this decorator was enabled are stored bare
+        private static Object unwrap(Object stored) {
+            return stored instanceof Envelope envelope ? envelope.value() : stored;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheStampedeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Set;
+
+/**
+ * Protects the caches listed in {@code blog.cache.stampede.caches} against concurrent
+ * reloads (see {@link StampedeProtectedCacheManager}). Sits below the tag index, so tags
+ * are resolved from plain values rather than stored envelopes.
+ */
+@Configuration
+public class StampedeProtectionConfig {
+
+    public static final int ORDER = CacheGenerationConfig.ORDER + 10;
+
+    @Bean
+    public static BeanPostProcessor stampedeProtectedCacheManagerPostProcessor(
+            ObjectProvider<CacheStampedeService> cacheStampedeService,
+            @Value("${blog.cache.stampede.enabled:false}") boolean enabled,
+            @Value("${blog.cache.stampede.caches:posts,categories,comments}") Set<String> cacheNames) {
+        return new StampedePostProcessor(cacheStampedeService, enabled, cacheNames);
+    }
+
+    static class StampedePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<CacheStampedeService> cacheStampedeService;
+        private final boolean enabled;
+        private final Set<String> cacheNames;
+
+        StampedePostProcessor(ObjectProvider<CacheStampedeService> cacheStampedeService,
+                              boolean enabled, Set<String> cacheNames) {
+            this.cacheStampedeService = cacheStampedeService;
+            this.enabled = enabled;
+            this.cacheNames = cacheNames;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!enabled || !(bean instanceof CacheManager cacheManager)
+                    || bean instanceof StampedeProtectedCacheManager || bean instanceof TaggingCacheManager) {
+                return bean;
+            }
+            return new StampedeProtectedCacheManager(cacheManager, cacheNames,
+                    cacheStampedeService.getObject(), RedisConfig::cacheTtl);
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheTagService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * CacheManager decorator that records the dependencies of every value stored in a tagged
+ * cache, so writes can evict by tag. Caches without a tag resolver are returned unchanged.
+ */
+public class TaggingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, BiFunction<Object, Object, Set<String>>> resolvers;
+    private final CacheTagService cacheTagService;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public TaggingCacheManager(CacheManager delegate,
+                               Map<String, BiFunction<Object, Object, Set<String>>> resolvers,
+                               CacheTagService cacheTagService) {
+        this.delegate = delegate;
+        this.resolvers = Map.copyOf(resolvers);
+        this.cacheTagService = cacheTagService;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        BiFunction<Object, Object, Set<String>> resolver = resolvers.get(name);
+        if (cache == null || resolver == null) {
+            return cache;
+        }
+        return decorated.computeIfAbsent(name, n -> new TaggedCache(cache, resolver, cacheTagService));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Tags each value as it is stored. The tags are written after the value, so an entry
+     * can never be indexed without existing; the reverse window only leaves an entry
+     * untagged until its TTL.
+     */
+    static class TaggedCache implements BatchCache {
+
+        private final Cache delegate;
+        private final BiFunction<Object, Object, Set<String>> resolver;
+        private final CacheTagService cacheTagService;
+
+        TaggedCache(Cache delegate, BiFunction<Object, Object, Set<String>> resolver,
+                    CacheTagService cacheTagService) {
+            this.delegate = delegate;
+            this.resolver = resolver;
+            this.cacheTagService = cacheTagService;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, () -> {
+                T value = valueLoader.call();
+                tag(key, value);
+                return value;
+            });
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+            return BatchCaches.getAll(delegate, keys);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+            tag(key, value);
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            BatchCaches.putAll(delegate, entries);
+            Map<Object, Collection<String>> tags = new HashMap<>();
+            entries.forEach((key, value) -> tags.put(key, resolver.apply(key, value)));
+            cacheTagService.registerAll(getName(), tags);
+        }
+
+        @Override
+        public boolean update(Object key, UnaryOperator<Object> patch) {
+            // A patch rewrites what is shown, not what the entry depends on: its tags stand
+            return BatchCaches.update(delegate, key, patch);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            if (existing == null) {
+                tag(key, value);
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+
+        private void tag(Object key, Object value) {
+            cacheTagService.register(getName(), key, resolver.apply(key, value));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.blog.api.config;
 
+import com.blog.api.dto.CurrentUser;
 import com.blog.api.dto.TermsComplianceResponse;
 import com.blog.api.dto.TermsInfoDTO;
 import com.blog.api.dto.UserDTO;
@@ -99,12 +100,24 @@ public class TermsComplianceFilter extends OncePerRequestFilter {
         }
 
         try {
-            // Get current user
-            UserDTO user = userService.getUserByUsername(authentication.getName());
+            // The authentication filter already resolved the user; reuse it instead of querying again
+            CurrentUser currentUser = CurrentUser.from(authentication);
+            Long userId;
+            if (currentUser.isResolved()) {
+                if (currentUser.hasAcceptedTermsVersion(termsService.getCurrentTermsVersion())) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                userId = currentUser.id();
+            } else {
+                // Get current user
+                UserDTO user = userService.getUserByUsername(authentication.getName());
+                userId = user.id();
+            }
             
             // Check if user needs to accept terms
-            if (termsService.userNeedsToAcceptTerms(user.id())) {
-                logger.info("Blocking request for user {} - terms acceptance required", user.username());
+            if (termsService.userNeedsToAcceptTerms(userId)) {
+                logger.info("Blocking request for user {} - terms acceptance required", authentication.getName());
                 
                 // Create terms info response
                 String currentVersion = termsService.getCurrentTermsVersion();
@@ -0,0 +1,67 @@
+package com.blog.api.config;
+
+import com.blog.api.service.NearCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Set;
+
+/**
+ * Puts a per-node Caffeine tier in front of the Redis caches listed in
+ * {@code blog.cache.near.caches} (see {@link TwoTierCacheManager}). It sits right above
+ * Redis, so it stores generation-qualified keys and a generation bump needs no
+ * local invalidation.
+ */
+@Configuration
+public class TwoTierCacheConfig {
+
+    public static final int ORDER = CacheBatchConfig.ORDER + 10;
+
+    @Bean
+    public static BeanPostProcessor twoTierCacheManagerPostProcessor(
+            ObjectProvider<NearCacheService> nearCacheService,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${blog.cache.near.enabled:false}") boolean enabled,
+            @Value("${blog.cache.near.caches:posts,categories,comments}") Set<String> cacheNames) {
+        return new TwoTierPostProcessor(nearCacheService, meterRegistry, enabled, cacheNames);
+    }
+
+    static class TwoTierPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<NearCacheService> nearCacheService;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final boolean enabled;
+        private final Set<String> cacheNames;
+
+        TwoTierPostProcessor(ObjectProvider<NearCacheService> nearCacheService,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             boolean enabled, Set<String> cacheNames) {
+            this.nearCacheService = nearCacheService;
+            this.meterRegistry = meterRegistry;
+            this.enabled = enabled;
+            this.cacheNames = cacheNames;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!enabled || !(bean instanceof CacheManager cacheManager)
+                    || bean instanceof TwoTierCacheManager || bean instanceof GenerationalCacheManager
+                    || bean instanceof TaggingCacheManager) {
+                return bean;
+            }
+            return new TwoTierCacheManager(cacheManager, cacheNames,
+                    nearCacheService.getObject(), meterRegistry.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.blog.api.config;
+
+import com.blog.api.service.NearCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * CacheManager decorator that serves the configured caches from a per-node Caffeine tier
+ * before going to Redis. Other caches are returned unchanged.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Set<String> cacheNames;
+    private final NearCacheService nearCacheService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager delegate, Set<String> cacheNames,
+                               NearCacheService nearCacheService, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cacheNames = Set.copyOf(cacheNames);
+        this.nearCacheService = nearCacheService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !cacheNames.contains(name)) {
+            return cache;
+        }
+        return decorated.computeIfAbsent(name, n -> new TwoTierCache(cache,
+                nearCacheService.localCache(n), nearCacheService, new TierCounters(meterRegistry, n)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Reads go local first, then Redis, filling the local tier on the way back.
+     * Writes go to Redis first and then replace the local copy here and drop it on every
+     * other node, so a node never keeps a value older than what Redis holds for longer
+     * than one broadcast (or the local TTL if the broadcast is lost).
+     */
+    static class TwoTierCache implements BatchCache {
+
+        private final Cache delegate;
+        private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+        private final NearCacheService nearCacheService;
+        private final TierCounters counters;
+
+        TwoTierCache(Cache delegate, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                     NearCacheService nearCacheService, TierCounters counters) {
+            this.delegate = delegate;
+            this.local = local;
+            this.nearCacheService = nearCacheService;
+            this.counters = counters;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            String localKey = localKey(key);
+            Object cached = local.getIfPresent(localKey);
+            if (cached != null) {
+                counters.localHit.increment();
+                return new SimpleValueWrapper(fromStore(cached));
+            }
+            counters.localMiss.increment();
+
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper == null) {
+                counters.redisMiss.increment();
+                return null;
+            }
+            counters.redisHit.increment();
+            local.put(localKey, toStore(wrapper.get()));
+            return wrapper;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper wrapper = get(key);
+            Object value = wrapper != null ? wrapper.get() : null;
+            if (value != null && type != null && !type.isInstance(value)) {
+                throw new IllegalStateException(
+                        "Cached value is not of required type [" + type.getName() + "]: " + value);
+            }
+            return (T) value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            ValueWrapper wrapper = get(key);
+            if (wrapper != null) {
+                return (T) wrapper.get();
+            }
+            T value = delegate.get(key, valueLoader);
+            local.put(localKey(key), toStore(value));
+            return value;
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            Object cached = local.getIfPresent(localKey(key));
+            if (cached != null) {
+                counters.localHit.increment();
+                return CompletableFuture.completedFuture(fromStore(cached));
+            }
+            counters.localMiss.increment();
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            Object cached = local.getIfPresent(localKey(key));
+            if (cached != null) {
+                counters.localHit.increment();
+                return CompletableFuture.completedFuture((T) fromStore(cached));
+            }
+            counters.localMiss.increment();
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+            Map<Object, ValueWrapper> hits = new HashMap<>();
+            List<Object> misses = new ArrayList<>();
+            for (Object key : keys) {
+                Object cached = local.getIfPresent(localKey(key));
+                if (cached != null) {
+                    counters.localHit.increment();
+                    hits.put(key, new SimpleValueWrapper(fromStore(cached)));
+                } else {
+                    counters.localMiss.increment();
+                    misses.add(key);
+                }
+            }
+
+            Map<Object, ValueWrapper> loaded = BatchCaches.getAll(delegate, misses);
+            counters.redisHit.increment(loaded.size());
+            counters.redisMiss.increment(misses.size() - loaded.size());
+            loaded.forEach((key, wrapper) -> local.put(localKey(key), toStore(wrapper.get())));
+            hits.putAll(loaded);
+            return hits;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+            String localKey = localKey(key);
+            local.put(localKey, toStore(value));
+            nearCacheService.publishEvict(getName(), localKey);
+        }
+
+        @Override
+        public void putAll(Map<?, ?> entries) {
+            BatchCaches.putAll(delegate, entries);
+            List<String> localKeys = new ArrayList<>(entries.size());
+            entries.forEach((key, value) -> {
+                String localKey = localKey(key);
+                local.put(localKey, toStore(value));
+                localKeys.add(localKey);
+            });
+            nearCacheService.publishEvictAll(getName(), localKeys);
+        }
+
+        @Override
+        public boolean update(Object key, UnaryOperator<Object> patch) {
+            boolean updated = BatchCaches.update(delegate, key, patch);
+            // Patching the local copy too could resurrect a value Redis has since replaced;
+            // every node reads the rewritten entry back from Redis instead
+            dropLocal(key);
+            return updated;
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            String localKey = localKey(key);
+            if (existing == null) {
+                local.put(localKey, toStore(value));
+                nearCacheService.publishEvict(getName(), localKey);
+            } else {
+                local.put(localKey, toStore(existing.get()));
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+            dropLocal(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = delegate.evictIfPresent(key);
+            dropLocal(key);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+            local.invalidateAll();
+            nearCacheService.publishClear(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = delegate.invalidate();
+            local.invalidateAll();
+            nearCacheService.publishClear(getName());
+            return invalidated;
+        }
+
+        private void dropLocal(Object key) {
+            String localKey = localKey(key);
+            local.invalidate(localKey);
+            nearCacheService.publishEvict(getName(), localKey);
+        }
+
+        // Same string form RedisCache uses, so a key means the same entry on every node
+        private static String localKey(Object key) {
+            return String.valueOf(key);
+        }
+
+        private static Object toStore(Object value) {
+            return value != null ? value : NullValue.INSTANCE;
+        }
+
+        private static Object fromStore(Object stored) {
+            return stored == NullValue.INSTANCE ? null : stored;
+        }
+    }
+
+    static class TierCounters {
+
+        final Counter localHit;
+        final Counter localMiss;
+        final Counter redisHit;
+        final Counter redisMiss;
+
+        TierCounters(MeterRegistry meterRegistry, String cacheName) {
+            this.localHit = counter(meterRegistry, cacheName, "local", "hit");
+            this.localMiss = counter(meterRegistry, cacheName, "local", "miss");
+            this.redisHit = counter(meterRegistry, cacheName, "redis", "hit");
+            this.redisMiss = counter(meterRegistry, cacheName, "redis", "miss");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String cacheName, String tier, String result) {
+            return Counter.builder("blog_api_cache_tier_lookups_total")
+                    .description("Cache lookups per tier")
+                    .tag("cache", cacheName)
+                    .tag("tier", tier)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.blog.api.service.AuditLogService;
 import com.blog.api.service.JwtBlacklistService;
 import com.blog.api.service.RefreshTokenService;
 import com.blog.api.util.JwtUtil;
+import com.blog.api.util.ParsedToken;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -261,8 +262,9 @@ public class AuthController {
 
             try {
                 // Extract token information
-                String jti = jwtUtil.getJtiFromToken(token);
-                String username = jwtUtil.getUsernameFromToken(token);
+                ParsedToken parsedToken = jwtUtil.parseToken(token);
+                String jti = parsedToken.jti();
+                String username = parsedToken.subject();
                 
                 // Find user to get user ID
                 Optional<User> userOpt = userRepository.findByUsername(username);
@@ -416,7 +418,7 @@ public class AuthController {
     }
 
     @PostMapping("/logout-all-devices")
-    @Operation(summary = "Logout from all devices by revoking all refresh tokens")
+    @Operation(summary = "Logout from all devices by revoking all refresh and access tokens")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Logged out from all devices"),
         @ApiResponse(responseCode = "401", description = "Authentication required"),
@@ -434,7 +436,8 @@ public class AuthController {
             }
 
             String token = authHeader.substring(7);
-            String username = jwtUtil.getUsernameFromToken(token);
+            ParsedToken parsedToken = jwtUtil.parseToken(token);
+            String username = parsedToken.subject();
             
             Optional<User> userOpt = userRepository.findByUsername(username);
             if (userOpt.isEmpty()) {
@@ -447,8 +450,11 @@ public class AuthController {
             // Revoke all refresh tokens for the user
             int revokedCount = refreshTokenService.revokeAllUserTokens(user.getId());
             
-            // Also revoke current access token
-            String jti = jwtUtil.getJtiFromToken(token);
+            // Invalidate every access token issued so far with a single epoch write
+            jwtBlacklistService.revokeAllUserAccessTokens(username, user.getId(), RevokedToken.RevokeReason.LOGOUT);
+
+            // Also revoke current access token (covers tokens minted in the epoch's own second)
+            String jti = parsedToken.jti();
             jwtBlacklistService.revokeToken(jti, user.getId(), RevokedToken.RevokeReason.LOGOUT);
 
             // Log logout from all devices
@@ -1,10 +1,15 @@
 package com.blog.api.controller;
 
 import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CommentThreadDTO;
+import com.blog.api.dto.CurrentUser;
+import com.blog.api.dto.CursorPage;
+import com.blog.api.service.CommentIngestionService;
 import com.blog.api.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -14,6 +19,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/comments")
@@ -22,6 +28,10 @@ public class CommentController {
 
     private final CommentService commentService;
 
+    // Present when blog.comments.ingestion.enabled; new comments are then queued and written in batches
+    @Autowired(required = false)
+    private CommentIngestionService commentIngestionService;
+
     public CommentController(CommentService commentService) {
         this.commentService = commentService;
     }
@@ -30,6 +40,9 @@ public class CommentController {
     @Operation(summary = "Get comments by post")
     public ResponseEntity<Page<CommentDTO>> getCommentsByPost(@PathVariable Long postId, Pageable pageable) {
         Page<CommentDTO> comments = commentService.getCommentsByPost(postId, pageable);
+        if (commentIngestionService != null) {
+            comments = commentIngestionService.withPending(postId, currentUsername(), comments);
+        }
         return ResponseEntity.ok(comments);
     }
 
@@ -37,22 +50,64 @@ public class CommentController {
     @Operation(summary = "Get comments by post (simple list)")
     public ResponseEntity<List<CommentDTO>> getCommentsByPostSimple(@PathVariable Long postId) {
         List<CommentDTO> comments = commentService.getCommentsByPostSimple(postId);
+        if (commentIngestionService != null) {
+            comments = commentIngestionService.withPending(postId, currentUsername(), comments);
+        }
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/post/{postId}/thread")
+    @Operation(summary = "Get a post's comment thread with cursor pagination",
+               description = "Top-level comments with up to 'replies' replies each, down to 'depth' levels. " +
+                             "Pass nextCursor as 'after' for more top-level comments, and a comment's " +
+                             "moreReplies to /comments/{id}/replies for the rest of its subtree.")
+    public ResponseEntity<CursorPage<CommentThreadDTO>> getThread(@PathVariable Long postId,
+                                                                  @RequestParam(required = false) String after,
+                                                                  @RequestParam(defaultValue = "20") int limit,
+                                                                  @RequestParam(defaultValue = "2") int depth,
+                                                                  @RequestParam(defaultValue = "5") int replies) {
+        CursorPage<CommentThreadDTO> thread = commentService.getThread(postId, after, limit, depth, replies);
+        return ResponseEntity.ok(thread);
+    }
+
+    @GetMapping("/{id}/replies")
+    @Operation(summary = "Get replies to a comment with cursor pagination",
+               description = "Depth-first slice of the comment's subtree. Replies whose parent was in an " +
+                             "earlier slice are returned at the top level with their parentId.")
+    public ResponseEntity<CursorPage<CommentThreadDTO>> getReplies(@PathVariable Long id,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "20") int limit,
+                                                                   @RequestParam(defaultValue = "2") int depth) {
+        CursorPage<CommentThreadDTO> replies = commentService.getReplies(id, after, limit, depth);
+        return ResponseEntity.ok(replies);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get comment by ID")
     public ResponseEntity<CommentDTO> getCommentById(@PathVariable Long id) {
+        if (commentIngestionService != null) {
+            Optional<CommentDTO> pending = commentIngestionService.findPending(id, currentUsername());
+            if (pending.isPresent()) {
+                return ResponseEntity.ok(pending.get());
+            }
+        }
         CommentDTO comment = commentService.getCommentById(id);
         return ResponseEntity.ok(comment);
     }
 
     @PostMapping
-    @Operation(summary = "Create new comment")
+    @Operation(summary = "Create new comment",
+               description = "With asynchronous ingestion enabled the comment is queued and 202 is returned " +
+                             "with its ID; until it is written only its author sees it. 503 with Retry-After " +
+                             "when the queue is full.")
     public ResponseEntity<CommentDTO> createComment(@Valid @RequestBody CommentDTO commentDTO) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication != null ? authentication.getName() : "anonymous";
-        CommentDTO comment = commentService.createComment(commentDTO, username);
+        CurrentUser currentUser = CurrentUser.from(authentication);
+        if (commentIngestionService != null) {
+            CommentDTO accepted = commentIngestionService.accept(commentDTO, currentUser);
+            return new ResponseEntity<>(accepted, HttpStatus.ACCEPTED);
+        }
+        CommentDTO comment = commentService.createComment(commentDTO, currentUser);
         return new ResponseEntity<>(comment, HttpStatus.CREATED);
     }
 
@@ -61,8 +116,8 @@ public class CommentController {
     public ResponseEntity<CommentDTO> updateComment(@PathVariable Long id, 
                                                     @Valid @RequestBody CommentDTO commentDTO) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication != null ? authentication.getName() : "anonymous";
-        CommentDTO comment = commentService.updateComment(id, commentDTO, username);
+        CurrentUser currentUser = CurrentUser.from(authentication);
+        CommentDTO comment = commentService.updateComment(id, commentDTO, currentUser);
         return ResponseEntity.ok(comment);
     }
 
@@ -70,8 +125,12 @@ public class CommentController {
     @Operation(summary = "Delete comment")
     public ResponseEntity<Void> deleteComment(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication != null ? authentication.getName() : "anonymous";
-        commentService.deleteComment(id, username);
+        CurrentUser currentUser = CurrentUser.from(authentication);
+        commentService.deleteComment(id, currentUser);
         return ResponseEntity.noContent().build();
     }
+
+    private static String currentUsername() {
+        return CurrentUser.from(SecurityContextHolder.getContext().getAuthentication()).username();
+    }
 }
\ No newline at end of file
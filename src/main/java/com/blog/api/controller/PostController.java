@@ -1,7 +1,10 @@
 package com.blog.api.controller;
 
 import com.blog.api.dto.CreatePostDTO;
+import com.blog.api.dto.CurrentUser;
+import com.blog.api.dto.CursorPage;
 import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
 import com.blog.api.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +18,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/posts")
 @Tag(name = "Posts", description = "Post management operations")
@@ -25,29 +30,64 @@ public class PostController {
 
     @GetMapping
     @Operation(summary = "Get all published posts")
-    public ResponseEntity<Page<PostDTO>> getAllPublishedPosts(Pageable pageable) {
-        Page<PostDTO> posts = postService.getAllPublishedPosts(pageable);
+    public ResponseEntity<Page<PostSummaryDTO>> getAllPublishedPosts(Pageable pageable) {
+        Page<PostSummaryDTO> posts = postService.getAllPublishedPosts(pageable);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get published posts with cursor pagination",
+               description = "Pass the nextCursor of the previous slice as 'after'. No total count is computed.")
+    public ResponseEntity<CursorPage<PostSummaryDTO>> getPublishedPostsAfter(@RequestParam(required = false) String after,
+                                                                                 @RequestParam int limit) {
+        CursorPage<PostSummaryDTO> posts = postService.getPublishedPostsAfter(after, limit);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several posts by ID",
+               description = "Comma-separated IDs, at most " + PostService.MAX_BATCH_IDS + ". Unknown IDs are left out.")
+    public ResponseEntity<List<PostDTO>> getPostsByIds(@RequestParam List<Long> ids) {
+        List<PostDTO> posts = postService.getPostsByIds(ids);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search posts by keyword")
-    public ResponseEntity<Page<PostDTO>> searchPosts(@RequestParam String keyword, Pageable pageable) {
-        Page<PostDTO> posts = postService.searchPosts(keyword, pageable);
+    public ResponseEntity<Page<PostSummaryDTO>> searchPosts(@RequestParam String keyword, Pageable pageable) {
+        Page<PostSummaryDTO> posts = postService.searchPosts(keyword, pageable);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get posts by category")
-    public ResponseEntity<Page<PostDTO>> getPostsByCategory(@PathVariable Long categoryId, Pageable pageable) {
-        Page<PostDTO> posts = postService.getPostsByCategory(categoryId, pageable);
+    public ResponseEntity<Page<PostSummaryDTO>> getPostsByCategory(@PathVariable Long categoryId, Pageable pageable) {
+        Page<PostSummaryDTO> posts = postService.getPostsByCategory(categoryId, pageable);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping(value = "/category/{categoryId}", params = "limit")
+    @Operation(summary = "Get posts by category with cursor pagination")
+    public ResponseEntity<CursorPage<PostSummaryDTO>> getPostsByCategoryAfter(@PathVariable Long categoryId,
+                                                                                  @RequestParam(required = false) String after,
+                                                                                  @RequestParam int limit) {
+        CursorPage<PostSummaryDTO> posts = postService.getPostsByCategoryAfter(categoryId, after, limit);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get posts by user")
-    public ResponseEntity<Page<PostDTO>> getPostsByUser(@PathVariable Long userId, Pageable pageable) {
-        Page<PostDTO> posts = postService.getPostsByUser(userId, pageable);
+    public ResponseEntity<Page<PostSummaryDTO>> getPostsByUser(@PathVariable Long userId, Pageable pageable) {
+        Page<PostSummaryDTO> posts = postService.getPostsByUser(userId, pageable);
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "limit")
+    @Operation(summary = "Get posts by user with cursor pagination")
+    public ResponseEntity<CursorPage<PostSummaryDTO>> getPostsByUserAfter(@PathVariable Long userId,
+                                                                              @RequestParam(required = false) String after,
+                                                                              @RequestParam int limit) {
+        CursorPage<PostSummaryDTO> posts = postService.getPostsByUserAfter(userId, after, limit);
         return ResponseEntity.ok(posts);
     }
 
@@ -62,8 +102,8 @@ public class PostController {
     @Operation(summary = "Create new post")
     public ResponseEntity<PostDTO> createPost(@Valid @RequestBody CreatePostDTO createPostDTO) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication != null ? authentication.getName() : "anonymous";
-        PostDTO post = postService.createPost(createPostDTO, username);
+        CurrentUser currentUser = CurrentUser.from(authentication);
+        PostDTO post = postService.createPost(createPostDTO, currentUser);
         return new ResponseEntity<>(post, HttpStatus.CREATED);
     }
 
@@ -72,8 +112,8 @@ public class PostController {
     public ResponseEntity<PostDTO> updatePost(@PathVariable Long id, 
                                               @Valid @RequestBody CreatePostDTO createPostDTO) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication != null ? authentication.getName() : "anonymous";
-        PostDTO post = postService.updatePost(id, createPostDTO, username);
+        CurrentUser currentUser = CurrentUser.from(authentication);
+        PostDTO post = postService.updatePost(id, createPostDTO, currentUser);
         return ResponseEntity.ok(post);
     }
 
@@ -81,8 +121,8 @@ public class PostController {
     @Operation(summary = "Delete post")
     public ResponseEntity<Void> deletePost(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication != null ? authentication.getName() : "anonymous";
-        postService.deletePost(id, username);
+        CurrentUser currentUser = CurrentUser.from(authentication);
+        postService.deletePost(id, currentUser);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -23,19 +23,11 @@ public record CategoryDTO(
     public static CategoryDTO fromEntity(Category category) {
 
         try {
-            int postCount = 0;
-            try {
-                postCount = category.getPosts() != null ? category.getPosts().size() : 0;
-            } catch (Exception e) {
-                // Handle lazy loading exception by setting post count to 0
-                postCount = 0;
-            }
-            
             return new CategoryDTO(
                 category.getId(),
                 category.getName(),
                 category.getDescription(),
-                postCount
+                category.getPostCount()
             );
 
         } catch (Exception e) {
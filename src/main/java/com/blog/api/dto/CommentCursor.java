@@ -0,0 +1,42 @@
+package com.blog.api.dto;
+
+import com.blog.api.entity.Comment;
+import com.blog.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a comment thread walked in materialized-path order: the path of the last
+ * comment returned. Clients only see the opaque encoded form.
+ */
+public record CommentCursor(String path) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(String path) {
+        return new CommentCursor(path).encode();
+    }
+
+    /**
+     * Decode a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor
+     * @return the thread position
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static CommentCursor decode(String cursor) {
+        try {
+            String path = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (path.isEmpty() || path.length() % Comment.PATH_SEGMENT_LENGTH != 0
+                    || !path.chars().allMatch(ch -> (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'f'))) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new CommentCursor(path);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
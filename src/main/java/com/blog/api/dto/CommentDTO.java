@@ -23,6 +23,16 @@ public record CommentDTO(
     Long parentId,
     List<CommentDTO> replies
 ) implements Serializable {
+
+    /**
+     * Constructor used by the JPQL projections in CommentRepository; replies are linked
+     * afterwards in memory (see {@link com.blog.api.util.CommentThreads}).
+     */
+    public CommentDTO(Long id, String content, LocalDateTime createdAt, String authorUsername,
+                      Long postId, Long parentId) {
+        this(id, content, createdAt, authorUsername, postId, parentId, new ArrayList<>());
+    }
+
     public static CommentDTO fromEntity(Comment comment) {
         try {
             List<CommentDTO> replies = new ArrayList<>();
@@ -0,0 +1,38 @@
+package com.blog.api.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comment in a depth-limited thread view. {@code replies} holds only what fitted in the
+ * response; when more of this comment's subtree exists, {@code moreReplies} is the cursor to
+ * pass to {@code GET /api/v1/comments/{id}/replies} to continue it, otherwise it is null.
+ */
+public record CommentThreadDTO(
+    Long id,
+    String content,
+    LocalDateTime createdAt,
+    String authorUsername,
+    Long postId,
+    Long parentId,
+    int depth,
+    List<CommentThreadDTO> replies,
+    String moreReplies
+) implements Serializable {
+
+    public static CommentThreadDTO fromRow(CommentThreadRow row, String moreReplies) {
+        return new CommentThreadDTO(
+            row.getId(),
+            row.getContent(),
+            row.getCreatedAt(),
+            row.getAuthorUsername(),
+            row.getPostId(),
+            row.getParentId(),
+            row.getDepth(),
+            new ArrayList<>(),
+            moreReplies
+        );
+    }
+}
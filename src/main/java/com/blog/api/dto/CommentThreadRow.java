@@ -0,0 +1,30 @@
+package com.blog.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the materialized-path thread queries in CommentRepository. The native queries cannot
+ * build a record directly, so they are read through this projection and turned into
+ * {@link CommentThreadDTO}s before they leave the service.
+ */
+public interface CommentThreadRow {
+
+    Long getId();
+
+    String getContent();
+
+    LocalDateTime getCreatedAt();
+
+    String getAuthorUsername();
+
+    Long getPostId();
+
+    Long getParentId();
+
+    /** Ancestor IDs and the comment's own, as fixed-width hex segments. */
+    String getPath();
+
+    int getDepth();
+
+    boolean getHasReplies();
+}
@@ -0,0 +1,68 @@
+package com.blog.api.dto;
+
+import com.blog.api.entity.User;
+import com.blog.api.util.AuthenticatedUserDetails;
+import com.blog.api.util.JwtPrincipal;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The user behind the current request, resolved once by the authentication filter.
+ * Services take it instead of a username so they can check ownership and link new
+ * entities by ID without loading the user again. An unresolved instance only carries
+ * the username (e.g. anonymous or test principals) and is looked up by the service.
+ */
+public record CurrentUser(
+    Long id,
+    String username,
+    User.Role role,
+    String termsAcceptedVersion
+) implements Serializable {
+
+    public static final String ANONYMOUS = "anonymous";
+
+    public static CurrentUser fromEntity(User user) {
+        return new CurrentUser(user.getId(), user.getUsername(), user.getRole(), user.getTermsAcceptedVersion());
+    }
+
+    public static CurrentUser unresolved(String username) {
+        return new CurrentUser(null, username, null, null);
+    }
+
+    /**
+     * Build the current user from the principal established by the authentication filter.
+     *
+     * @param authentication the current authentication, possibly null
+     * @return the current user; unresolved when the principal carries no user ID
+     */
+    public static CurrentUser from(Authentication authentication) {
+        if (authentication == null) {
+            return unresolved(ANONYMOUS);
+        }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return new CurrentUser(jwtPrincipal.getUserId(), jwtPrincipal.getUsername(),
+                                   jwtPrincipal.getRole(), jwtPrincipal.getTermsAcceptedVersion());
+        }
+        if (principal instanceof AuthenticatedUserDetails userDetails && userDetails.getUserId() != null) {
+            return new CurrentUser(userDetails.getUserId(), userDetails.getUsername(),
+                                   userDetails.getRole(), userDetails.getTermsAcceptedVersion());
+        }
+        return unresolved(authentication.getName());
+    }
+
+    public boolean isResolved() {
+        return id != null && role != null;
+    }
+
+    public boolean isAdmin() {
+        return role == User.Role.ADMIN;
+    }
+
+    public boolean hasAcceptedTermsVersion(String version) {
+        return Objects.equals(termsAcceptedVersion, version);
+    }
+}
@@ -0,0 +1,16 @@
+package com.blog.api.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing.
+ * Unlike {@code Page} there is no total count; {@code nextCursor} is null on the last slice.
+ */
+public record CursorPage<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) implements Serializable {
+}
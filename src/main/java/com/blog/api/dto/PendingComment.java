@@ -0,0 +1,25 @@
+package com.blog.api.dto;
+
+/**
+ * A comment accepted by {@link com.blog.api.service.CommentIngestionService} and not yet
+ * written. The ID is already allocated from the comments sequence, so the author can be
+ * answered, and can reply to it, before the insert.
+ *
+ * @param comment the comment as its author will see it
+ * @param userId  the author
+ * @param depth   nesting level, known from the parent at acceptance
+ */
+public record PendingComment(
+    CommentDTO comment,
+    Long userId,
+    int depth
+) {
+
+    public Long id() {
+        return comment.id();
+    }
+
+    public Long postId() {
+        return comment.postId();
+    }
+}
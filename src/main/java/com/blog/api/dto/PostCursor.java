@@ -0,0 +1,64 @@
+package com.blog.api.dto;
+
+import com.blog.api.entity.Post;
+import com.blog.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a post listing ordered by (createdAt DESC, id DESC).
+ * Clients only see the opaque encoded form; the id breaks ties between posts
+ * created in the same instant so no row is skipped or repeated.
+ */
+public record PostCursor(LocalDateTime createdAt, Long id) {
+
+    public static PostCursor of(Post post) {
+        return new PostCursor(post.getCreatedAt(), post.getId());
+    }
+
+    public static PostCursor of(PostSummaryDTO post) {
+        return new PostCursor(post.createdAt(), post.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The canonical spelling of a cursor: decoded and encoded again, so every spelling of one
+     * position (padding bits, {@code 10:00} for {@code 10:00:00}, {@code 007} for {@code 7})
+     * shares one cache entry, and a malformed cursor is rejected before it is used as a key.
+     *
+     * @param cursor the opaque cursor
+     * @return the cursor as {@link #encode()} writes it
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static String normalize(String cursor) {
+        return decode(cursor).encode();
+    }
+
+    /**
+     * Decode a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor
+     * @return the keyset position
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(',');
+            if (separator <= 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new PostCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                  Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
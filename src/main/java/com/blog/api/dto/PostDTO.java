@@ -18,15 +18,15 @@ public record PostDTO(
 ) implements Serializable {
     
     public static PostDTO fromEntity(Post post) {
+        return fromEntity(post, post.getCommentCount());
+    }
+
+    /**
+     * Build the DTO with a comment count read elsewhere, for an entity whose counter
+     * column was not loaded from the database (e.g. one rebuilt before saving).
+     */
+    public static PostDTO fromEntity(Post post, int commentCount) {
         try {
-            int commentCount = 0;
-            try {
-                commentCount = post.getComments() != null ? post.getComments().size() : 0;
-            } catch (Exception e) {
-                // Handle lazy loading exception by setting comment count to 0
-                commentCount = 0;
-            }
-            
             return new PostDTO(
                 post.getId(),
                 post.getTitle(),
@@ -44,4 +44,9 @@ public record PostDTO(
             throw e;
         }
     }
+
+    public PostDTO withCommentCount(int commentCount) {
+        return new PostDTO(id, title, content, published, createdAt, updatedAt,
+                           authorUsername, categoryName, commentCount);
+    }
 }
\ No newline at end of file
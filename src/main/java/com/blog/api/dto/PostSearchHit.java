@@ -0,0 +1,34 @@
+package com.blog.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the full-text search query in PostRepository. The native query cannot build
+ * a record directly, so it is read through this projection and turned into a
+ * {@link PostSummaryDTO} before it leaves the service.
+ */
+public interface PostSearchHit {
+
+    Long getId();
+
+    String getTitle();
+
+    /** Fragments of the content around the matched terms, wrapped in {@code <mark>}. */
+    String getSnippet();
+
+    int getReadingTimeMinutes();
+
+    boolean isPublished();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getAuthorUsername();
+
+    String getCategoryName();
+
+    int getCommentCount();
+
+    float getRank();
+}
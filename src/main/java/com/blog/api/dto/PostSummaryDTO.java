@@ -0,0 +1,62 @@
+package com.blog.api.dto;
+
+import com.blog.api.entity.Post;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Post as shown in listings: the stored excerpt and reading time instead of the full content,
+ * which only {@code GET /api/v1/posts/{id}} returns.
+ */
+public record PostSummaryDTO(
+    Long id,
+    String title,
+    String excerpt,
+    int readingTimeMinutes,
+    boolean published,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    String authorUsername,
+    String categoryName,
+    int commentCount
+) implements Serializable {
+
+    public static PostSummaryDTO fromEntity(Post post, int commentCount) {
+        return new PostSummaryDTO(
+            post.getId(),
+            post.getTitle(),
+            post.getExcerpt(),
+            post.getReadingTimeMinutes(),
+            post.isPublished(),
+            post.getCreatedAt(),
+            post.getUpdatedAt(),
+            post.getUser().getUsername(),
+            post.getCategory() != null ? post.getCategory().getName() : null,
+            commentCount
+        );
+    }
+
+    /**
+     * Search results show the highlighted snippet in place of the stored excerpt.
+     */
+    public static PostSummaryDTO fromSearchHit(PostSearchHit hit) {
+        return new PostSummaryDTO(
+            hit.getId(),
+            hit.getTitle(),
+            hit.getSnippet(),
+            hit.getReadingTimeMinutes(),
+            hit.isPublished(),
+            hit.getCreatedAt(),
+            hit.getUpdatedAt(),
+            hit.getAuthorUsername(),
+            hit.getCategoryName(),
+            hit.getCommentCount()
+        );
+    }
+
+    public PostSummaryDTO withCommentCount(int commentCount) {
+        return new PostSummaryDTO(id, title, excerpt, readingTimeMinutes, published, createdAt, updatedAt,
+                                  authorUsername, categoryName, commentCount);
+    }
+}
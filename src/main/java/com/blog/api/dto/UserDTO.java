@@ -15,7 +15,8 @@ public record UserDTO(
     LocalDateTime emailVerifiedAt,
     LocalDateTime lastLogin,
     String termsAcceptedVersion,
-    Boolean hasAcceptedTerms
+    Boolean hasAcceptedTerms,
+    int postCount
 ) implements Serializable {
     public static UserDTO fromEntity(User user) {
         return new UserDTO(
@@ -28,7 +29,8 @@ public record UserDTO(
             user.getEmailVerifiedAt(),
             user.getLastLogin(),
             user.getTermsAcceptedVersion(),
-            user.hasAcceptedTerms()
+            user.hasAcceptedTerms(),
+            user.getPostCount()
         );
     }
 }
\ No newline at end of file
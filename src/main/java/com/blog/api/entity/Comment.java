@@ -15,6 +15,13 @@ import java.util.Objects;
 @Table(name = "comments")
 @EntityListeners(AuditingEntityListener.class)
 public class Comment {
+
+    /** Deepest reply allowed; keeps the materialized path within its column and index limits. */
+    public static final int MAX_DEPTH = 63;
+
+    /** Characters per level of {@link #getPath()}: the comment ID in zero-padded hex. */
+    public static final int PATH_SEGMENT_LENGTH = 12;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -43,6 +50,13 @@ public class Comment {
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Comment> replies = new ArrayList<>();
 
+    // Materialized path and depth are filled in by a database trigger on insert and never change
+    @Column(length = 780, insertable = false, updatable = false)
+    private String path;
+
+    @Column(insertable = false, updatable = false)
+    private Integer depth;
+
     // JPA required constructor
     public Comment() {}
 
@@ -83,6 +97,12 @@ public class Comment {
     public List<Comment> getReplies() { return replies; }
     public void setReplies(List<Comment> replies) { this.replies = replies; }
 
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public Integer getDepth() { return depth; }
+    public void setDepth(Integer depth) { this.depth = depth; }
+
     // Builder Pattern Implementation
     public static class Builder {
         private String content;
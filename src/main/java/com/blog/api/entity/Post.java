@@ -3,6 +3,7 @@ package com.blog.api.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,7 +14,11 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_published_created_id", columnList = "published, created_at DESC, id DESC"),
+    @Index(name = "idx_posts_category_created_id", columnList = "category_id, created_at DESC, id DESC"),
+    @Index(name = "idx_posts_user_created_id", columnList = "user_id, created_at DESC, id DESC")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Post {
     @Id
@@ -29,8 +34,25 @@ public class Post {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // The search_vector column used by full-text search is maintained by a database
+    // trigger from title and content, and is deliberately not mapped here
+
+    // Listing fields derived from content on write, so list queries skip the TEXT column
+    @Column(length = 300)
+    private String excerpt;
+
+    // Default lets ddl-auto add the column to a populated table; V13 backfills the real values
+    @ColumnDefault("0")
+    @Column(name = "reading_time_minutes", nullable = false)
+    private int readingTimeMinutes;
+
     private boolean published = false;
 
+    // Maintained by a database trigger as comments are added and removed; read-only here
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private int commentCount;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -78,6 +100,12 @@ public class Post {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
+    public String getExcerpt() { return excerpt; }
+    public void setExcerpt(String excerpt) { this.excerpt = excerpt; }
+
+    public int getReadingTimeMinutes() { return readingTimeMinutes; }
+    public void setReadingTimeMinutes(int readingTimeMinutes) { this.readingTimeMinutes = readingTimeMinutes; }
+
     public boolean isPublished() { return published; }
     public void setPublished(boolean published) { this.published = published; }
 
@@ -93,6 +121,9 @@ public class Post {
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
 
+    public int getCommentCount() { return commentCount; }
+    public void setCommentCount(int commentCount) { this.commentCount = commentCount; }
+
     public List<Comment> getComments() { return comments; }
     public void setComments(List<Comment> comments) { this.comments = comments; }
 
@@ -0,0 +1,18 @@
+package com.blog.api.exception;
+
+/**
+ * The request cannot be taken right now, e.g. because a queue is full; the client should
+ * retry after {@link #getRetryAfterSeconds()}.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -2,12 +2,33 @@ package com.blog.api.repository;
 
 import com.blog.api.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     boolean existsByName(String name);
+
+    // Counter reconciliation, one ID range per transaction; see PostRepository
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Category c")
+    long findMaxId();
+
+    @Query(value = "SELECT id FROM categories WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "UPDATE categories SET post_count = " +
+           "(SELECT COUNT(*) FROM posts p WHERE p.category_id = categories.id) " +
+           "WHERE id BETWEEN :fromId AND :toId " +
+           "AND post_count <> (SELECT COUNT(*) FROM posts p WHERE p.category_id = categories.id)",
+           nativeQuery = true)
+    int reconcilePostCounts(@Param("fromId") long fromId, @Param("toId") long toId);
 }
\ No newline at end of file
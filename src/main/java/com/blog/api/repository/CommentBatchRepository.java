@@ -0,0 +1,69 @@
+package com.blog.api.repository;
+
+import com.blog.api.dto.PendingComment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Plain JDBC writes for {@link com.blog.api.service.CommentIngestionService}: IDs are taken
+ * from the comments sequence ahead of the insert, and comments are inserted as one JDBC
+ * batch. Path, depth and the post's comment count are filled in by the V15 and V16 triggers,
+ * as for comments saved through JPA. PostgreSQL only: the ID query relies on
+ * {@code pg_get_serial_sequence} and {@code generate_series}.
+ */
+@Repository
+public class CommentBatchRepository {
+
+    private static final String NEXT_IDS =
+            "SELECT nextval(pg_get_serial_sequence('comments', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT =
+            "INSERT INTO comments (id, content, created_at, post_id, user_id, parent_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param count how many IDs to allocate
+     * @return fresh comment IDs, ascending
+     */
+    public List<Long> nextIds(int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS, Long.class, count);
+    }
+
+    /**
+     * Insert the comments in one transaction, in list order, so a reply may follow its
+     * parent in the same batch.
+     */
+    @Transactional
+    public void insertAll(List<PendingComment> comments) {
+        jdbcTemplate.batchUpdate(INSERT, comments, comments.size(), this::bind);
+    }
+
+    public void insert(PendingComment comment) {
+        jdbcTemplate.update(INSERT, ps -> bind(ps, comment));
+    }
+
+    private void bind(PreparedStatement ps, PendingComment pending) throws SQLException {
+        ps.setLong(1, pending.id());
+        ps.setString(2, pending.comment().content());
+        ps.setTimestamp(3, Timestamp.valueOf(pending.comment().createdAt()));
+        ps.setLong(4, pending.postId());
+        ps.setLong(5, pending.userId());
+        if (pending.comment().parentId() != null) {
+            ps.setLong(6, pending.comment().parentId());
+        } else {
+            ps.setNull(6, Types.BIGINT);
+        }
+    }
+}
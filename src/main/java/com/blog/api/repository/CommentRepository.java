@@ -1,16 +1,107 @@
 package com.blog.api.repository;
 
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CommentThreadRow;
 import com.blog.api.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    String THREAD_SELECT = "SELECT new com.blog.api.dto.CommentDTO(c.id, c.content, c.createdAt, " +
+            "u.username, c.post.id, parent.id) FROM Comment c JOIN c.user u LEFT JOIN c.parent parent ";
+
     Page<Comment> findByPostIdAndParentIsNull(Long postId, Pageable pageable);
     List<Comment> findByPostIdAndParentIsNullOrderByCreatedAtDesc(Long postId);
     List<Comment> findByParentIdOrderByCreatedAtAsc(Long parentId);
+
+    @Query(value = THREAD_SELECT + "WHERE c.post.id = :postId AND c.parent IS NULL",
+           countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.parent IS NULL")
+    Page<CommentDTO> findTopLevelByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    /**
+     * Every comment of a post, replies at any depth included, with author usernames, in one
+     * query. Each DTO has an empty reply list for {@link com.blog.api.util.CommentThreads} to fill.
+     */
+    @Query(THREAD_SELECT + "WHERE c.post.id = :postId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentDTO> findThreadByPostId(@Param("postId") Long postId);
+
+    // Materialized-path thread views. Ordering by path walks a thread depth-first in creation
+    // order, and a subtree is the path range (prefix, prefix || 'g'). The top-level slice is an
+    // index range scan cut off by LIMIT. The subtree queries walk the path index one probe per
+    // comment and jump from a comment at the depth limit straight past its subtree, so replies
+    // below the limit are never read: cost follows the response size, not the thread size.
+
+    String THREAD_ROW_COLUMNS = "c.id AS \"id\", c.content AS \"content\", c.created_at AS \"createdAt\", " +
+            "u.username AS \"authorUsername\", c.post_id AS \"postId\", c.parent_id AS \"parentId\", " +
+            "c.path AS \"path\", c.depth AS \"depth\", " +
+            "EXISTS (SELECT 1 FROM comments r WHERE r.parent_id = c.id) AS \"hasReplies\" ";
+
+    /**
+     * Top-level comments of a post after a path, oldest first. Pass an empty string for the first slice.
+     */
+    @Query(value = "SELECT " + THREAD_ROW_COLUMNS +
+           "FROM comments c JOIN users u ON u.id = c.user_id " +
+           "WHERE c.post_id = :postId AND c.depth = 0 AND c.path > :after " +
+           "ORDER BY c.path LIMIT :limit",
+           nativeQuery = true)
+    List<CommentThreadRow> findTopLevelThreadSlice(@Param("postId") Long postId, @Param("after") String after,
+                                                   @Param("limit") int limit);
+
+    /**
+     * The first {@code limit} descendants of each given comment, depth-first, down to
+     * {@code depth} levels below it. One index walk per comment, in a single query.
+     */
+    @Query(value = "WITH RECURSIVE walk (root_id, upper, max_depth, id, path, depth, kept) AS (" +
+           "SELECT root.id, root.path || 'g', root.depth + :depth, root.id, root.path, root.depth, 0 " +
+           "FROM comments root WHERE root.id IN (:rootIds) " +
+           "UNION ALL " +
+           "SELECT w.root_id, w.upper, w.max_depth, n.id, n.path, n.depth, w.kept + 1 " +
+           "FROM walk w CROSS JOIN LATERAL (" +
+           "SELECT d.id, d.path, d.depth FROM comments d " +
+           "WHERE d.path > CASE WHEN w.depth >= w.max_depth THEN w.path || 'g' ELSE w.path END " +
+           "AND d.path < w.upper " +
+           "ORDER BY d.path LIMIT 1) n " +
+           "WHERE w.kept < :limit) " +
+           "SELECT " + THREAD_ROW_COLUMNS +
+           "FROM walk w JOIN comments c ON c.id = w.id JOIN users u ON u.id = c.user_id " +
+           "WHERE w.kept > 0 " +
+           "ORDER BY c.path",
+           nativeQuery = true)
+    List<CommentThreadRow> findSubtreeSlices(@Param("rootIds") Collection<Long> rootIds, @Param("depth") int depth,
+                                             @Param("limit") int limit);
+
+    /**
+     * Comments after {@code after} within the path range ending before {@code upper}, depth-first,
+     * down to an absolute {@code maxDepth}. The walk starts at the comment whose path is
+     * {@code after}; should it be gone, rows below the limit are skipped one subtree at a time.
+     */
+    @Query(value = "WITH RECURSIVE walk (id, path, depth, kept) AS (" +
+           "SELECT CAST(NULL AS BIGINT), CAST(:after AS VARCHAR(780)) COLLATE \"C\", " +
+           "COALESCE((SELECT a.depth FROM comments a WHERE a.path = :after), -1), 0 " +
+           "UNION ALL " +
+           "SELECT n.id, n.path, n.depth, w.kept + CASE WHEN n.depth <= :maxDepth THEN 1 ELSE 0 END " +
+           "FROM walk w CROSS JOIN LATERAL (" +
+           "SELECT d.id, d.path, d.depth FROM comments d " +
+           "WHERE d.path > CASE WHEN w.depth >= :maxDepth THEN w.path || 'g' ELSE w.path END " +
+           "AND d.path < :upper " +
+           "ORDER BY d.path LIMIT 1) n " +
+           "WHERE w.kept < :limit) " +
+           "SELECT " + THREAD_ROW_COLUMNS +
+           "FROM walk w JOIN comments c ON c.id = w.id JOIN users u ON u.id = c.user_id " +
+           "WHERE c.depth <= :maxDepth " +
+           "ORDER BY c.path",
+           nativeQuery = true)
+    List<CommentThreadRow> findSubtreeAfter(@Param("after") String after, @Param("upper") String upper,
+                                            @Param("maxDepth") int maxDepth, @Param("limit") int limit);
+
+    long countByPostId(Long postId);
 }
\ No newline at end of file
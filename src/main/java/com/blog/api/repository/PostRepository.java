@@ -1,25 +1,125 @@
 package com.blog.api.repository;
 
+import com.blog.api.dto.PostSearchHit;
+import com.blog.api.dto.PostSummaryDTO;
 import com.blog.api.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    Page<Post> findByPublishedTrue(Pageable pageable);
-    Page<Post> findByUserId(Long userId, Pageable pageable);
-    Page<Post> findByCategoryId(Long categoryId, Pageable pageable);
+
+    // List queries project straight into PostSummaryDTO: author and category come from joins
+    // in the same SELECT, the comment count from the counter column, and the TEXT content
+    // column is never read.
+
+    String SUMMARY_SELECT = "SELECT new com.blog.api.dto.PostSummaryDTO(p.id, p.title, p.excerpt, " +
+            "p.readingTimeMinutes, p.published, p.createdAt, p.updatedAt, u.username, c.name, p.commentCount) " +
+            "FROM Post p JOIN p.user u LEFT JOIN p.category c ";
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.published = true",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.published = true")
+    Page<PostSummaryDTO> findByPublishedTrue(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.user.id = :userId",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
+    Page<PostSummaryDTO> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.category.id = :categoryId",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.category.id = :categoryId")
+    Page<PostSummaryDTO> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.published = true AND " +
-           "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Post> findPublishedPostsByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    // Full-text search over the weighted search_vector column (title A, content B), kept current
+    // by a trigger and served by a GIN index, so the match cost does not grow with the corpus.
+    // websearch_to_tsquery accepts free user input (quotes, "or", "-") without syntax errors.
+    // Postgres evaluates ts_headline after ORDER BY/LIMIT, so only the returned page is highlighted.
+
+    @Query(value = "SELECT p.id AS \"id\", p.title AS \"title\", " +
+           "ts_headline('pt_unaccent', regexp_replace(p.content, '<[^>]*>', ' ', 'g'), q.query, " +
+           "'StartSel=<mark>, StopSel=</mark>, MinWords=15, MaxWords=35, MaxFragments=2, FragmentDelimiter=\" ... \"') " +
+           "AS \"snippet\", " +
+           "p.reading_time_minutes AS \"readingTimeMinutes\", p.published AS \"published\", " +
+           "p.created_at AS \"createdAt\", p.updated_at AS \"updatedAt\", " +
+           "u.username AS \"authorUsername\", c.name AS \"categoryName\", " +
+           "p.comment_count AS \"commentCount\", " +
+           "ts_rank(p.search_vector, q.query) AS \"rank\" " +
+           "FROM posts p CROSS JOIN websearch_to_tsquery('pt_unaccent', :keyword) AS q(query) " +
+           "JOIN users u ON u.id = p.user_id LEFT JOIN categories c ON c.id = p.category_id " +
+           "WHERE p.published = true AND p.search_vector @@ q.query " +
+           "ORDER BY \"rank\" DESC, p.created_at DESC, p.id DESC",
+           countQuery = "SELECT COUNT(*) FROM posts p " +
+           "WHERE p.published = true AND p.search_vector @@ websearch_to_tsquery('pt_unaccent', :keyword)",
+           nativeQuery = true)
+    Page<PostSearchHit> searchPublished(@Param("keyword") String keyword, Pageable pageable);
     
     List<Post> findByUserIdAndPublishedTrue(Long userId);
+
+    // Several posts with author and category in one SELECT, for multi-get
+    @Query("SELECT p FROM Post p JOIN FETCH p.user LEFT JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Post> findAllWithAuthorAndCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pagination: ordered by (createdAt DESC, id DESC) and served from the matching
+    // composite indexes, so every slice costs the same however deep it is and no COUNT runs.
+    // The redundant "createdAt <=" bound gives the planner an index range to scan.
+
+    @Query(SUMMARY_SELECT + "WHERE p.published = true ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummaryDTO> findPublishedFirstSlice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummaryDTO> findPublishedSliceAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.category.id = :categoryId ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummaryDTO> findByCategoryFirstSlice(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.category.id = :categoryId AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummaryDTO> findByCategorySliceAfter(@Param("categoryId") Long categoryId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.user.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummaryDTO> findByUserFirstSlice(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.user.id = :userId AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostSummaryDTO> findByUserSliceAfter(@Param("userId") Long userId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id, Pageable pageable);
+
+    // Read from the row rather than a managed entity, so it reflects trigger updates
+    // made earlier in the same transaction
+    @Query("SELECT p.commentCount FROM Post p WHERE p.id = :id")
+    Optional<Integer> findCommentCountById(@Param("id") Long id);
+
+    // Counter reconciliation, one ID range per transaction. Locking the range first makes
+    // writers that already moved a counter commit before the recount reads, and makes new
+    // ones wait for it, so the recount never overwrites a concurrent increment.
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    @Query(value = "SELECT id FROM posts WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "UPDATE posts SET comment_count = " +
+           "(SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id) " +
+           "WHERE id BETWEEN :fromId AND :toId " +
+           "AND comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id)",
+           nativeQuery = true)
+    int reconcileCommentCounts(@Param("fromId") long fromId, @Param("toId") long toId);
 }
\ No newline at end of file
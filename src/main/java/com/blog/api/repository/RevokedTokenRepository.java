@@ -88,6 +88,26 @@ public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long
     @Query("SELECT COUNT(r) FROM RevokedToken r WHERE r.expiresAt > :now")
     long countActiveRevokedTokens(@Param("now") LocalDateTime now);
 
+    /**
+     * List the JTIs of all currently active (non-expired) revoked tokens.
+     * Used to fill the in-memory revoked token filter at startup.
+     * 
+     * @param now current timestamp
+     * @return JTIs of active revoked tokens
+     */
+    @Query("SELECT r.tokenJti FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveTokenJtis(@Param("now") LocalDateTime now);
+
+    /**
+     * List the JTIs revoked after a point in time.
+     * Used by every node to catch up on revocations made elsewhere; served by idx_revoked_tokens_revoked_at.
+     * 
+     * @param since lower bound (exclusive) on revoked_at
+     * @return JTIs revoked since the given time
+     */
+    @Query("SELECT r.tokenJti FROM RevokedToken r WHERE r.revokedAt > :since")
+    List<String> findJtisRevokedSince(@Param("since") LocalDateTime since);
+
     /**
      * Find revoked tokens by reason within a time period.
      * Used for security analytics and threat detection.
@@ -2,8 +2,12 @@ package com.blog.api.repository;
 
 import com.blog.api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Counter reconciliation, one ID range per transaction; see PostRepository
+
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
+
+    @Query(value = "SELECT id FROM users WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "UPDATE users SET post_count = " +
+           "(SELECT COUNT(*) FROM posts p WHERE p.user_id = users.id) " +
+           "WHERE id BETWEEN :fromId AND :toId " +
+           "AND post_count <> (SELECT COUNT(*) FROM posts p WHERE p.user_id = users.id)",
+           nativeQuery = true)
+    int reconcilePostCounts(@Param("fromId") long fromId, @Param("toId") long toId);
 }
\ No newline at end of file
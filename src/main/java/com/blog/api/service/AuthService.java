@@ -146,7 +146,7 @@ public class AuthService {
             }
 
             UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.username());
-            String token = jwtUtil.generateToken(userDetails);
+            String token = jwtUtil.generateToken(userDetails, user);
 
             // Create refresh token for the user
             com.blog.api.entity.RefreshToken refreshTokenEntity = refreshTokenService.createRefreshToken(user.getId(), deviceInfo, ipAddress);
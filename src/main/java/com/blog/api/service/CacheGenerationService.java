@@ -0,0 +1,188 @@
+package com.blog.api.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-cache generation numbers. Every cache key carries the generation of its cache, so
+ * clearing a cache is one INCR: entries of older generations are never read again and
+ * expire by their TTL. Generations live in Redis and are mirrored locally on every node,
+ * so building a key is a map lookup; nodes learn about new generations over pub/sub.
+ *
+ * <p>Redis is the source of truth: whatever INCR or GET returns replaces the local copy,
+ * even when it is lower. If Redis lost a key (flush, restart without persistence), the
+ * first advance or resync that finds it missing seeds it back with SET NX from this
+ * node's generation, so the counter carries on above what running nodes already use.
+ */
+@Service
+public class CacheGenerationService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheGenerationService.class);
+
+    public static final String GENERATION_KEY_PREFIX = "blog-api:cache-generation:";
+    public static final String GENERATION_CHANNEL = "blog-api:cache-generation";
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    @Value("${blog.cache.generations.enabled:false}")
+    private boolean enabled;
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    public CacheGenerationService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.listenerContainerProvider = listenerContainerProvider;
+    }
+
+    /**
+     * Subscribe to generations advanced on other nodes.
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (!enabled) {
+            return;
+        }
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new ChannelTopic(GENERATION_CHANNEL));
+        }
+    }
+
+    /**
+     * Current generation of a cache, loaded from Redis the first time it is needed.
+     *
+     * @param cacheName the cache name
+     * @return the generation to put into keys of this cache
+     */
+    public long current(String cacheName) {
+        Long generation = generations.get(cacheName);
+        if (generation != null) {
+            return generation;
+        }
+        long loaded = load(cacheName);
+        Long raced = generations.putIfAbsent(cacheName, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    /**
+     * Move a cache to a new generation, which invalidates every entry it holds.
+     * Costs one INCR regardless of the number of entries. Without Redis the generation is
+     * node-local anyway and moves locally. If the INCR fails, nothing moves: bumping only
+     * this node would leave it on a generation the others never see, so the caller has
+     * to invalidate some other way.
+     *
+     * @param cacheName the cache name
+     * @return false if the generation could not be advanced
+     */
+    public boolean advance(String cacheName) {
+        StringRedisTemplate redisTemplate = enabled ? redisTemplateProvider.getIfAvailable() : null;
+        if (redisTemplate == null) {
+            generations.merge(cacheName, 1L, Long::sum);
+            return true;
+        }
+
+        try {
+            String key = GENERATION_KEY_PREFIX + cacheName;
+            // No-op unless the key was lost; otherwise INCR would restart at 1, below this node
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(current(cacheName)));
+            Long generation = redisTemplate.opsForValue().increment(key);
+            long next = generation != null ? generation : current(cacheName) + 1;
+            generations.put(cacheName, next);
+            redisTemplate.convertAndSend(GENERATION_CHANNEL, next + ":" + cacheName);
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to advance generation of cache {}", cacheName, e);
+            return false;
+        }
+    }
+
+    /**
+     * Re-read the generations of every cache seen so far, repairing any broadcast this node
+     * missed and following Redis down if its keys were reset. Missing keys are seeded back
+     * from this node's generation.
+     */
+    @Scheduled(fixedDelayString = "${blog.cache.generations.resync-interval-ms:60000}",
+               initialDelayString = "${blog.cache.generations.resync-interval-ms:60000}")
+    public void resync() {
+        if (!enabled || generations.isEmpty()) {
+            return;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+
+        try {
+            List<String> names = new ArrayList<>(generations.keySet());
+            List<String> stored = redisTemplate.opsForValue()
+                    .multiGet(names.stream().map(name -> GENERATION_KEY_PREFIX + name).toList());
+            if (stored == null) {
+                return;
+            }
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                if (stored.get(i) != null) {
+                    generations.put(name, Long.parseLong(stored.get(i)));
+                } else {
+                    // Key lost in Redis: seed it back so the next INCR continues above this node
+                    redisTemplate.opsForValue().setIfAbsent(GENERATION_KEY_PREFIX + name, String.valueOf(current(name)));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to resync cache generations from Redis", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator <= 0) {
+            logger.warn("Ignoring malformed cache generation message");
+            return;
+        }
+        try {
+            applyGeneration(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed cache generation message");
+        }
+    }
+
+    private long load(String cacheName) {
+        StringRedisTemplate redisTemplate = enabled ? redisTemplateProvider.getIfAvailable() : null;
+        if (redisTemplate == null) {
+            return 0L;
+        }
+        try {
+            String stored = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + cacheName);
+            return stored != null ? Long.parseLong(stored) : 0L;
+        } catch (Exception e) {
+            logger.error("Failed to load generation of cache {}", cacheName, e);
+            return 0L;
+        }
+    }
+
+    private void applyGeneration(String cacheName, long generation) {
+        // Broadcasts of concurrent advances can arrive out of order, so they only move the
+        // generation forward; a reset Redis is followed by the next advance or resync
+        generations.merge(cacheName, generation, Math::max);
+    }
+}
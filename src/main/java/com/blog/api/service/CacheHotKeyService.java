@@ -0,0 +1,76 @@
+package com.blog.api.service;
+
+import com.blog.api.util.SpaceSavingSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Most requested keys per cache, kept in a {@link SpaceSavingSketch} per cache on each node.
+ * Only a sample of lookups is offered to the sketches, so tracking costs one random draw on
+ * most lookups; reported counts are scaled back up by the sample rate.
+ */
+@Service
+public class CacheHotKeyService {
+
+    @Value("${blog.cache.metrics.hot-keys.capacity:100}")
+    private int capacity;
+
+    @Value("${blog.cache.metrics.hot-keys.sample-rate:0.1}")
+    private double sampleRate;
+
+    private final Map<String, SpaceSavingSketch> sketches = new ConcurrentHashMap<>();
+
+    /**
+     * Count one lookup of a key, subject to sampling.
+     *
+     * @param cacheName the cache looked up
+     * @param key       the key looked up
+     */
+    public void record(String cacheName, Object key) {
+        if (sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        sketches.computeIfAbsent(cacheName, name -> new SpaceSavingSketch(capacity))
+                .offer(String.valueOf(key));
+    }
+
+    /**
+     * @param cacheName the cache name
+     * @param limit     how many keys to return
+     * @return estimated lookups of the hottest keys of one cache since startup, hottest first
+     */
+    public List<SpaceSavingSketch.Estimate> top(String cacheName, int limit) {
+        SpaceSavingSketch sketch = sketches.get(cacheName);
+        if (sketch == null) {
+            return List.of();
+        }
+        return sketch.top(limit).stream()
+                .map(estimate -> new SpaceSavingSketch.Estimate(estimate.key(),
+                        scale(estimate.count()), scale(estimate.error())))
+                .toList();
+    }
+
+    /**
+     * @param limit how many keys to return per cache
+     * @return the hottest keys of every cache seen so far, by cache name
+     */
+    public Map<String, List<SpaceSavingSketch.Estimate>> report(int limit) {
+        Map<String, List<SpaceSavingSketch.Estimate>> report = new TreeMap<>();
+        sketches.keySet().forEach(cacheName -> report.put(cacheName, top(cacheName, limit)));
+        return report;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    private long scale(long sampled) {
+        return sampleRate >= 1 ? sampled : Math.round(sampled / sampleRate);
+    }
+}
@@ -0,0 +1,184 @@
+package com.blog.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cross-node coordination for cache loads. A key that misses on several nodes at once is
+ * loaded by the node holding a short Redis lock while the others wait for its result, and
+ * hot keys can be recomputed in the background shortly before they expire (XFetch), so a
+ * TTL running out no longer sends every concurrent request to the database.
+ */
+@Service
+public class CacheStampedeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStampedeService.class);
+
+    public static final String LOCK_KEY_PREFIX = "blog-api:cache-load-lock:";
+
+    /**
+     * Returned by {@link #tryLock} when there is no Redis to coordinate with; the caller
+     * loads on its own and there is nothing to release.
+     */
+    public static final String LOCAL_LOCK = "local";
+
+    // Release only if we still own the lock, so an expired lock taken over by another node is kept
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+    private final Executor refreshExecutor;
+
+    @Value("${blog.cache.stampede.lock-ttl:10s}")
+    private Duration lockTtl;
+
+    @Value("${blog.cache.stampede.lock-wait:3s}")
+    private Duration lockWait;
+
+    @Value("${blog.cache.stampede.poll-interval:50ms}")
+    private Duration pollInterval;
+
+    @Value("${blog.cache.stampede.early-refresh.enabled:false}")
+    private boolean earlyRefreshEnabled;
+
+    // XFetch beta: above 1 refreshes earlier, below 1 later
+    @Value("${blog.cache.stampede.early-refresh.beta:1.0}")
+    private double beta;
+
+    public CacheStampedeService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                ObjectProvider<PlatformTransactionManager> transactionManagerProvider,
+                                @Qualifier("cacheRefreshExecutor") Executor refreshExecutor) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.transactionManagerProvider = transactionManagerProvider;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Try to become the node that loads a key.
+     *
+     * @param cacheName the cache name
+     * @param key the logical cache key
+     * @return the lock token, {@link #LOCAL_LOCK} without Redis, or null if another node is loading
+     */
+    public String tryLock(String cacheName, Object key) {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return LOCAL_LOCK;
+        }
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, lockTtl);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            // Fall back to per-node single-flight only
+            logger.warn("Failed to take cache load lock for {}::{}", cacheName, key, e);
+            return LOCAL_LOCK;
+        }
+    }
+
+    /**
+     * Release a lock taken with {@link #tryLock}.
+     */
+    public void unlock(String cacheName, Object key, String token) {
+        if (token == null || LOCAL_LOCK.equals(token)) {
+            return;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_LOCK, List.of(lockKey(cacheName, key)), token);
+        } catch (Exception e) {
+            // The lock expires on its own after lock-ttl
+            logger.warn("Failed to release cache load lock for {}::{}", cacheName, key, e);
+        }
+    }
+
+    /**
+     * XFetch test: refresh early with a probability that rises as expiry approaches and
+     * with how long the value took to compute.
+     *
+     * @param computeMillis how long the last load took
+     * @param expiresAt when the entry expires, in epoch millis
+     * @return true if this read should trigger a background refresh
+     */
+    public boolean shouldRefreshEarly(long computeMillis, long expiresAt) {
+        if (!earlyRefreshEnabled || computeMillis <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        return System.currentTimeMillis() - computeMillis * beta * Math.log(random) >= expiresAt;
+    }
+
+    /**
+     * Run a refresh off the request thread, inside a read-only transaction so the loader
+     * sees the same persistence context behaviour as a request would.
+     *
+     * @param refresh the refresh to run
+     * @return false if the executor is saturated and the refresh was skipped
+     */
+    public boolean refreshInBackground(Callable<?> refresh) {
+        try {
+            refreshExecutor.execute(() -> runRefresh(refresh));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // The entry simply expires and is reloaded on demand
+            logger.debug("Cache refresh executor saturated; skipping early refresh");
+            return false;
+        }
+    }
+
+    private void runRefresh(Callable<?> refresh) {
+        try {
+            PlatformTransactionManager transactionManager = transactionManagerProvider.getIfAvailable();
+            if (transactionManager == null) {
+                refresh.call();
+                return;
+            }
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.execute(status -> {
+                try {
+                    return refresh.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (Exception e) {
+            // The current value keeps serving until it expires
+            logger.warn("Background cache refresh failed", e);
+        }
+    }
+
+    public Duration getLockWait() {
+        return lockWait;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    private static String lockKey(String cacheName, Object key) {
+        return LOCK_KEY_PREFIX + cacheName + ":" + key;
+    }
+}
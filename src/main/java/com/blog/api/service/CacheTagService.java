@@ -0,0 +1,264 @@
+package com.blog.api.service;
+
+import com.blog.api.config.BatchCache;
+import com.blog.api.config.BatchCaches;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Tag index for cache entries. Every cached value records the tags it depends on
+ * (see {@link com.blog.api.util.CacheTags}) in one Redis set per tag, and a write evicts
+ * the keys of the tags it touched. Nothing is ever scanned: eviction reads the tag sets
+ * and deletes those keys only, so unrelated entries keep serving hits.
+ * When tagging is disabled, eviction falls back to clearing the cache.
+ */
+@Service
+public class CacheTagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheTagService.class);
+
+    public static final String TAG_KEY_PREFIX = "blog-api:cache-tags:";
+
+    // Read and delete a tag set in one step, so a key tagged concurrently is not dropped unseen
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POP_MEMBERS = new DefaultRedisScript<>(
+            "local members = redis.call('SMEMBERS', KEYS[1]) redis.call('DEL', KEYS[1]) return members",
+            List.class);
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+    private final ObjectProvider<ResponseCacheService> responseCacheServiceProvider;
+
+    @Value("${blog.cache.tags.enabled:false}")
+    private boolean enabled;
+
+    // Outlives the longest cache TTL so a tag set never expires before its entries
+    @Value("${blog.cache.tags.ttl:30m}")
+    private Duration ttl;
+
+    public CacheTagService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                           ObjectProvider<CacheManager> cacheManagerProvider,
+                           ObjectProvider<ResponseCacheService> responseCacheServiceProvider) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.responseCacheServiceProvider = responseCacheServiceProvider;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record that a cached entry depends on the given tags.
+     *
+     * @param cacheName the cache holding the entry
+     * @param key the cache key
+     * @param tags the tags the entry depends on
+     */
+    public void register(String cacheName, Object key, Collection<String> tags) {
+        registerAll(cacheName, Map.of(key, tags));
+    }
+
+    /**
+     * Record the tags of many cached entries in one pipeline.
+     *
+     * @param cacheName the cache holding the entries
+     * @param tagsByKey the tags each cache key depends on
+     */
+    public void registerAll(String cacheName, Map<?, ? extends Collection<String>> tagsByKey) {
+        if (!enabled || tagsByKey.values().stream().allMatch(Collection::isEmpty)) {
+            return;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                tagsByKey.forEach((key, tags) -> {
+                    byte[] memberBytes = String.valueOf(key).getBytes(StandardCharsets.UTF_8);
+                    for (String tag : tags) {
+                        byte[] tagKey = tagKey(cacheName, tag).getBytes(StandardCharsets.UTF_8);
+                        connection.setCommands().sAdd(tagKey, memberBytes);
+                        connection.keyCommands().expire(tagKey, ttl.getSeconds());
+                    }
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            // The entries stay cached untagged; their TTL bounds how long they can be stale
+            logger.warn("Failed to tag cache entries {}::{}", cacheName, tagsByKey.keySet(), e);
+        }
+    }
+
+    /**
+     * Evict every entry of the cache that depends on any of the tags.
+     * Runs after the surrounding transaction commits, so a concurrent reader cannot
+     * re-cache the old state between the eviction and the commit. Cached HTTP responses
+     * built from this cache are dropped as well.
+     *
+     * @param cacheName the cache to evict from
+     * @param tags the tags changed by the write
+     */
+    public void evict(String cacheName, Collection<String> tags) {
+        evict(cacheName, tags, Set.of());
+    }
+
+    public void evict(String cacheName, String... tags) {
+        evict(cacheName, List.of(tags));
+    }
+
+    /**
+     * Like {@link #evict(String, Collection)}, but leaves the given keys cached and tagged.
+     * For a write that also puts its own result into the cache ({@code @CachePut}): the put
+     * happens before the after-commit eviction, which would otherwise delete the fresh entry.
+     *
+     * @param cacheName the cache to evict from
+     * @param tags the tags changed by the write
+     * @param keptKeys cache keys already holding the new state
+     */
+    public void evict(String cacheName, Collection<String> tags, Set<?> keptKeys) {
+        ResponseCacheService responseCacheService = responseCacheServiceProvider.getIfAvailable();
+        if (responseCacheService != null) {
+            responseCacheService.invalidateFor(cacheName, tags);
+        }
+        afterCommit(() -> evictNow(cacheName, tags, keptKeys));
+    }
+
+    /**
+     * Rewrite every entry of the cache that depends on the tag, instead of evicting it. For
+     * writes that change a value derived from other data, such as a comment count, where the
+     * entries are otherwise still current. Runs after commit like eviction. Each entry is
+     * rewritten only if nothing else wrote it since it was read (see {@link BatchCache#update});
+     * an entry that lost that race, or that lives in a cache unable to rewrite atomically, is
+     * evicted instead, so a concurrent {@code @CachePut} or eviction is never overwritten with
+     * older content. Cached HTTP responses showing the entries are dropped, as their bodies
+     * cannot be patched (see {@link ResponseCacheService#invalidatePatched}). Without the tag
+     * index the entries are evicted.
+     *
+     * @param cacheName the cache to update
+     * @param tag the tag of the entries to rewrite
+     * @param patch returns the new value, or the same instance to leave the entry as is
+     */
+    public void update(String cacheName, String tag, UnaryOperator<Object> patch) {
+        afterCommit(() -> updateNow(cacheName, tag, patch));
+        // Registered second, so it runs after the rewrite: a response rebuilt in between
+        // would otherwise be cached from the entries' previous values
+        ResponseCacheService responseCacheService = responseCacheServiceProvider.getIfAvailable();
+        if (responseCacheService != null) {
+            responseCacheService.invalidatePatched(cacheName, tag);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void updateNow(String cacheName, String tag, UnaryOperator<Object> patch) {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        Cache cache = cacheManager != null ? cacheManager.getCache(cacheName) : null;
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (cache == null || !enabled || redisTemplate == null) {
+            evictNow(cacheName, List.of(tag), Set.of());
+            return;
+        }
+
+        try {
+            Set<String> keys = redisTemplate.opsForSet().members(tagKey(cacheName, tag));
+            if (keys == null) {
+                return;
+            }
+            int lost = 0;
+            for (String key : keys) {
+                if (!BatchCaches.update(cache, key, value -> value != null ? patch.apply(value) : null)) {
+                    cache.evict(key);
+                    lost++;
+                }
+            }
+            logger.debug("Updated {} entries of cache {} for tag {}, evicted {} written meanwhile",
+                    keys.size() - lost, cacheName, tag, lost);
+
+        } catch (Exception e) {
+            logger.error("Failed to update cache {} by tag {}; evicting it", cacheName, tag, e);
+            evictNow(cacheName, List.of(tag), Set.of());
+        }
+    }
+
+    private void evictNow(String cacheName, Collection<String> tags, Set<?> keptKeys) {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        Cache cache = cacheManager != null ? cacheManager.getCache(cacheName) : null;
+        if (cache == null) {
+            return;
+        }
+
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (!enabled || redisTemplate == null) {
+            cache.clear();
+            return;
+        }
+
+        try {
+            int evicted = 0;
+            Set<String> kept = keptKeys.stream().map(String::valueOf).collect(Collectors.toSet());
+            Map<String, List<String>> retagged = new HashMap<>();
+            for (String tag : Set.copyOf(tags)) {
+                List<?> keys = redisTemplate.execute(POP_MEMBERS, List.of(tagKey(cacheName, tag)));
+                if (keys == null) {
+                    continue;
+                }
+                for (Object key : keys) {
+                    if (kept.contains(String.valueOf(key))) {
+                        // Popping the tag set dropped it too; put it back so later writes still find it
+                        retagged.computeIfAbsent(String.valueOf(key), k -> new ArrayList<>()).add(tag);
+                        continue;
+                    }
+                    cache.evict(key);
+                    evicted++;
+                }
+            }
+            registerAll(cacheName, retagged);
+            logger.debug("Evicted {} entries from cache {} for tags {}", evicted, cacheName, tags);
+
+        } catch (Exception e) {
+            // Without the tag index the only safe eviction is the whole cache
+            logger.error("Failed to evict cache {} by tags {}; clearing it", cacheName, tags, e);
+            cache.clear();
+        }
+    }
+
+    private static String tagKey(String cacheName, String tag) {
+        return TAG_KEY_PREFIX + cacheName + ":" + tag;
+    }
+}
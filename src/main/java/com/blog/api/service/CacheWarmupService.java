@@ -0,0 +1,258 @@
+package com.blog.api.service;
+
+import com.blog.api.dto.CategoryDTO;
+import com.blog.api.dto.PostSummaryDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads the hottest cache entries before the node reports ready: the first pages of the
+ * published feed, every category and the most read posts with their first comment page.
+ * Readiness only switches to ACCEPTING_TRAFFIC after ApplicationReadyEvent listeners return,
+ * so a new node joins the load balancer with warm caches.
+ *
+ * Post reads are counted per node and flushed into hourly Redis sorted sets; the warm-up
+ * ranks posts over the last {@code blog.cache.warmup.window} of those buckets.
+ */
+@Service
+public class CacheWarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    public static final String POST_READS_KEY_PREFIX = "blog-api:post-reads:";
+
+    // Categories are few; this only bounds a runaway loop
+    private static final int MAX_CATEGORY_PAGES = 50;
+
+    private final PostService postService;
+    private final CategoryService categoryService;
+    private final CommentService commentService;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Value("${blog.cache.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${blog.cache.warmup.feed-pages:3}")
+    private int feedPages;
+
+    @Value("${blog.cache.warmup.page-size:20}")
+    private int pageSize;
+
+    @Value("${blog.cache.warmup.top-posts:50}")
+    private int topPosts;
+
+    @Value("${blog.cache.warmup.window:24h}")
+    private Duration window;
+
+    @Value("${blog.cache.warmup.timeout:30s}")
+    private Duration timeout;
+
+    private final Map<Long, LongAdder> pendingReads = new ConcurrentHashMap<>();
+
+    public CacheWarmupService(PostService postService, CategoryService categoryService,
+                              CommentService commentService,
+                              ObjectProvider<StringRedisTemplate> redisTemplateProvider) {
+        this.postService = postService;
+        this.categoryService = categoryService;
+        this.commentService = commentService;
+        this.redisTemplateProvider = redisTemplateProvider;
+    }
+
+    /**
+     * Count one read of a post towards the traffic ranking. Only touches a local counter.
+     *
+     * @param postId the post read
+     */
+    public void recordPostRead(Long postId) {
+        if (enabled) {
+            pendingReads.computeIfAbsent(postId, id -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Add the reads counted since the last flush to the current hour's bucket, in one pipeline.
+     */
+    @Scheduled(fixedDelayString = "${blog.cache.warmup.flush-interval-ms:60000}",
+               initialDelayString = "${blog.cache.warmup.flush-interval-ms:60000}")
+    public void flushPostReads() {
+        if (!enabled || pendingReads.isEmpty()) {
+            return;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+
+        Map<Long, Long> reads = new HashMap<>();
+        pendingReads.forEach((id, counter) -> {
+            long count = counter.sumThenReset();
+            if (count > 0) {
+                reads.put(id, count);
+            }
+        });
+        pendingReads.entrySet().removeIf(entry -> entry.getValue().sum() == 0);
+        if (reads.isEmpty()) {
+            return;
+        }
+
+        byte[] bucket = bucketKey(currentHour()).getBytes(StandardCharsets.UTF_8);
+        long ttlSeconds = window.plusHours(1).toSeconds();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                reads.forEach((id, count) -> connection.zSetCommands()
+                        .zIncrBy(bucket, count, String.valueOf(id).getBytes(StandardCharsets.UTF_8)));
+                connection.keyCommands().expire(bucket, ttlSeconds);
+                return null;
+            });
+        } catch (Exception e) {
+            // Losing a minute of counts only makes the ranking slightly less precise
+            logger.warn("Failed to flush {} post read counts", reads.size(), e);
+        }
+    }
+
+    /**
+     * Most read posts over the ranking window.
+     *
+     * @param limit how many posts to return
+     * @return post IDs, most read first
+     */
+    public List<Long> hotPostIds(int limit) {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null || limit <= 0) {
+            return List.of();
+        }
+
+        long hour = currentHour();
+        List<String> buckets = new ArrayList<>();
+        for (long h = hour - Math.max(1, window.toHours()) + 1; h <= hour; h++) {
+            buckets.add(bucketKey(h));
+        }
+        try {
+            Set<ZSetOperations.TypedTuple<String>> ranked = redisTemplate.opsForZSet()
+                    .unionWithScores(buckets.get(buckets.size() - 1), buckets.subList(0, buckets.size() - 1));
+            if (ranked == null) {
+                return List.of();
+            }
+            return ranked.stream()
+                    .filter(tuple -> tuple.getValue() != null && tuple.getScore() != null)
+                    .sorted(Comparator.comparing(ZSetOperations.TypedTuple<String>::getScore).reversed())
+                    .limit(limit)
+                    .map(tuple -> Long.valueOf(tuple.getValue()))
+                    .toList();
+        } catch (Exception e) {
+            logger.warn("Failed to rank posts by recent reads", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Warm the caches before readiness reports UP. Each step is best effort and the whole
+     * run is bounded by {@code blog.cache.warmup.timeout}; a cold cache is never a reason
+     * to keep a node out of rotation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        int feed = step("feed", deadline, this::warmFeed);
+        int categories = step("categories", deadline, this::warmCategories);
+        int posts = step("hot posts", deadline, this::warmHotPosts);
+
+        logger.info("Cache warm-up loaded {} feed pages, {} category pages and {} hot posts in {} ms",
+                feed, categories, posts, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private int warmFeed(long deadline) {
+        int loaded = 0;
+        for (int page = 0; page < feedPages && System.nanoTime() < deadline; page++) {
+            Page<PostSummaryDTO> posts = postService.getAllPublishedPosts(PageRequest.of(page, pageSize));
+            loaded++;
+            if (!posts.hasNext()) {
+                break;
+            }
+        }
+        postService.getPublishedPostsAfter(null, pageSize);
+        return loaded;
+    }
+
+    private int warmCategories(long deadline) {
+        int loaded = 0;
+        for (int page = 0; page < MAX_CATEGORY_PAGES && System.nanoTime() < deadline; page++) {
+            List<CategoryDTO> categories = categoryService.getAllCategoriesList(PageRequest.of(page, pageSize));
+            loaded++;
+            if (categories.size() < pageSize) {
+                break;
+            }
+        }
+        return loaded;
+    }
+
+    private int warmHotPosts(long deadline) {
+        List<Long> ids = hotPostIds(topPosts);
+        int loaded = 0;
+        for (int from = 0; from < ids.size() && System.nanoTime() < deadline; from += PostService.MAX_BATCH_IDS) {
+            List<Long> batch = ids.subList(from, Math.min(from + PostService.MAX_BATCH_IDS, ids.size()));
+            loaded += postService.getPostsByIds(batch).size();
+        }
+        for (Long id : ids) {
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            commentService.getCommentsByPost(id, PageRequest.of(0, pageSize));
+        }
+        return loaded;
+    }
+
+    private int step(String name, long deadline, WarmupStep step) {
+        if (System.nanoTime() >= deadline) {
+            logger.warn("Cache warm-up timed out before {}", name);
+            return 0;
+        }
+        try {
+            return step.run(deadline);
+        } catch (Exception e) {
+            logger.warn("Cache warm-up of {} failed", name, e);
+            return 0;
+        }
+    }
+
+    private static long currentHour() {
+        return TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis());
+    }
+
+    private static String bucketKey(long hour) {
+        return POST_READS_KEY_PREFIX + hour;
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        int run(long deadline);
+    }
+}
@@ -19,9 +19,11 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     public final CategoryRepository categoryRepository;
+    private final ResponseCacheService responseCacheService;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ResponseCacheService responseCacheService) {
         this.categoryRepository = categoryRepository;
+        this.responseCacheService = responseCacheService;
     }
 
     public Page<CategoryDTO> getAllCategories(Pageable pageable) {
@@ -39,14 +41,14 @@ public class CategoryService {
         );
     }
     
-    @Cacheable(value = "categories", key = "'all:' + #pageable.pageNumber + ':' + #pageable.pageSize")
+    @Cacheable(value = "categories", key = "'all:' + #pageable.pageNumber + ':' + #pageable.pageSize", sync = true)
     public List<CategoryDTO> getAllCategoriesList(Pageable pageable) {
         return categoryRepository.findAll(pageable).getContent().stream()
                 .map(CategoryDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = "categories", key = "'single:' + #id")
+    @Cacheable(value = "categories", key = "'single:' + #id", sync = true)
     public CategoryDTO getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
@@ -63,6 +65,7 @@ public class CategoryService {
                 .build();
 
         Category savedCategory = categoryRepository.save(category);
+        responseCacheService.invalidateFor("categories");
         return CategoryDTO.fromEntity(savedCategory);
     }
 
@@ -87,6 +90,7 @@ public class CategoryService {
         category = updatedCategory;
 
         Category savedCategory = categoryRepository.save(category);
+        responseCacheService.invalidateFor("categories");
         return CategoryDTO.fromEntity(savedCategory);
     }
 
@@ -98,5 +102,6 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
         categoryRepository.delete(category);
+        responseCacheService.invalidateFor("categories");
     }
 }
\ No newline at end of file
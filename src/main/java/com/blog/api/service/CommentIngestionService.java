@@ -0,0 +1,416 @@
+package com.blog.api.service;
+
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CurrentUser;
+import com.blog.api.dto.PendingComment;
+import com.blog.api.entity.Comment;
+import com.blog.api.entity.User;
+import com.blog.api.exception.BadRequestException;
+import com.blog.api.exception.ResourceNotFoundException;
+import com.blog.api.exception.ServiceUnavailableException;
+import com.blog.api.repository.CommentBatchRepository;
+import com.blog.api.repository.CommentRepository;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.repository.UserRepository;
+import com.blog.api.util.CommentThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous comment creation for bursts of writes. A comment is validated, given an ID
+ * from the comments sequence and put on a bounded queue; the request returns 202 without
+ * inserting anything. One writer thread drains the queue in JDBC batches and maintains
+ * the caches once per batch.
+ *
+ * <p>Until its batch is written, a comment is only visible to its author, and only on the
+ * node that accepted it: {@link #withPending} adds it to the author's reads. Authenticated
+ * reads bypass the HTTP response cache, so nothing else has to change for that.
+ *
+ * <p>When the queue stays full for the offer timeout the comment is rejected with 503 and
+ * {@code Retry-After}. On shutdown, after the web server has stopped taking requests,
+ * the queue is drained for up to the shutdown timeout; anything left is logged as lost.
+ *
+ * <p>PostgreSQL only: IDs come from the comments sequence and path and depth from the V15
+ * trigger, so the mode must stay disabled on H2 or any database without db/migration.
+ */
+@Service
+@ConditionalOnProperty(value = "blog.comments.ingestion.enabled", havingValue = "true")
+public class CommentIngestionService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentIngestionService.class);
+
+    // Stop after the web server (DEFAULT_PHASE - 2048), so no comment arrives once draining starts
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 1000;
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final CommentBatchRepository commentBatchRepository;
+    private final CommentService commentService;
+    private final Counter commentCreationCounter;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<PendingComment> queue;
+    private final int batchSize;
+    private final int idBlockSize;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+
+    // Accepted comments until their batch is written, by ID and by author
+    private final Map<Long, PendingComment> pending = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Long>> pendingByAuthor = new ConcurrentHashMap<>();
+
+    private final Deque<Long> idBlock = new ArrayDeque<>();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public CommentIngestionService(CommentRepository commentRepository,
+                                   PostRepository postRepository,
+                                   UserRepository userRepository,
+                                   CommentBatchRepository commentBatchRepository,
+                                   CommentService commentService,
+                                   @Qualifier("commentCreationCounter") Counter commentCreationCounter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${blog.comments.ingestion.capacity:10000}") int capacity,
+                                   @Value("${blog.comments.ingestion.batch-size:200}") int batchSize,
+                                   @Value("${blog.comments.ingestion.id-block-size:20}") int idBlockSize,
+                                   @Value("${blog.comments.ingestion.offer-timeout:50ms}") Duration offerTimeout,
+                                   @Value("${blog.comments.ingestion.shutdown-timeout:20s}") Duration shutdownTimeout) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.commentBatchRepository = commentBatchRepository;
+        this.commentService = commentService;
+        this.commentCreationCounter = commentCreationCounter;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.idBlockSize = idBlockSize;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("blog_api_comment_ingestion_queue_size", queue, BlockingQueue::size)
+                .description("Comments accepted and waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validate a new comment and queue it for writing. Replies may answer comments still on
+     * the queue; they take the parent's post, as in {@link CommentService#createComment}.
+     *
+     * @return the comment as it will be stored, with its ID
+     * @throws ServiceUnavailableException when the queue stays full or the service is stopping
+     */
+    public CommentDTO accept(CommentDTO commentDTO, CurrentUser currentUser) {
+        if (!running) {
+            throw rejected("Comment ingestion is stopped");
+        }
+        User user = null;
+        Long userId = currentUser.id();
+        if (!currentUser.isResolved()) {
+            user = userRepository.findByUsername(currentUser.username())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "username", currentUser.username()));
+            userId = user.getId();
+        }
+        String username = user != null ? user.getUsername() : currentUser.username();
+
+        if (!postRepository.existsById(commentDTO.postId())) {
+            throw new ResourceNotFoundException("Post", "id", commentDTO.postId());
+        }
+
+        Long postId = commentDTO.postId();
+        int depth = 0;
+        if (commentDTO.parentId() != null) {
+            PendingComment pendingParent = pending.get(commentDTO.parentId());
+            int parentDepth;
+            if (pendingParent != null) {
+                postId = pendingParent.postId();
+                parentDepth = pendingParent.depth();
+            } else {
+                Comment parent = commentRepository.findById(commentDTO.parentId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", commentDTO.parentId()));
+                postId = parent.getPost().getId();
+                if (parent.getDepth() == null) {
+                    // Without the V15 trigger every depth would read as 0 and nesting would be unbounded
+                    throw new IllegalStateException("Comment " + parent.getId()
+                            + " has no depth; the comment path trigger (V15) is missing");
+                }
+                parentDepth = parent.getDepth();
+            }
+            if (parentDepth >= Comment.MAX_DEPTH) {
+                throw new BadRequestException("Replies cannot be nested more than " + Comment.MAX_DEPTH + " levels deep");
+            }
+            depth = parentDepth + 1;
+        }
+
+        CommentDTO comment = new CommentDTO(nextId(), commentDTO.content().trim(), LocalDateTime.now(),
+                username, postId, commentDTO.parentId(), List.of());
+        PendingComment accepted = new PendingComment(comment, userId, depth);
+
+        // Indexed before the offer, so the writer never removes an entry that was not yet added
+        index(accepted);
+        boolean queued;
+        try {
+            queued = queue.offer(accepted, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            unindex(accepted);
+            throw rejected("Too many comments are waiting to be written");
+        }
+        count("accepted", 1);
+        return comment;
+    }
+
+    /**
+     * @return the comment if it is still pending and was written by {@code username}
+     */
+    public Optional<CommentDTO> findPending(Long id, String username) {
+        return Optional.ofNullable(pending.get(id))
+                .map(PendingComment::comment)
+                .filter(comment -> comment.authorUsername().equals(username));
+    }
+
+    /**
+     * The author's pending comments on a post, oldest first.
+     */
+    public List<CommentDTO> findPendingByPost(Long postId, String username) {
+        NavigableSet<Long> ids = pendingByAuthor.get(username);
+        if (ids == null) {
+            return List.of();
+        }
+        List<CommentDTO> comments = new ArrayList<>();
+        for (Long id : ids) {
+            PendingComment comment = pending.get(id);
+            if (comment != null && comment.postId().equals(postId)) {
+                comments.add(comment.comment());
+            }
+        }
+        return comments;
+    }
+
+    /**
+     * A page of a post's comments with the reader's pending comments added: replies wherever
+     * their parent is on the page, top-level comments on the last page.
+     */
+    public Page<CommentDTO> withPending(Long postId, String username, Page<CommentDTO> page) {
+        List<CommentDTO> content = page.getContent();
+        List<CommentDTO> merged = CommentThreads.merge(content, findPendingByPost(postId, username), page.isLast(), false);
+        if (merged == content) {
+            return page;
+        }
+        long addedTopLevel = merged.size() - page.getNumberOfElements();
+        return new PageImpl<>(merged, page.getPageable(), page.getTotalElements() + addedTopLevel);
+    }
+
+    /**
+     * A post's comments, newest first, with the reader's pending comments added.
+     */
+    public List<CommentDTO> withPending(Long postId, String username, List<CommentDTO> comments) {
+        return CommentThreads.merge(comments, findPendingByPost(postId, username), true, true);
+    }
+
+    /**
+     * Write the next batch, waiting up to {@code timeoutMillis} for its first comment.
+     *
+     * @return the number of comments taken off the queue
+     */
+    int writeNextBatch(long timeoutMillis) throws InterruptedException {
+        PendingComment first = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<PendingComment> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        try {
+            write(batch);
+        } finally {
+            batch.forEach(this::unindex);
+        }
+        return batch.size();
+    }
+
+    private void write(List<PendingComment> batch) throws InterruptedException {
+        List<PendingComment> written = insert(batch);
+        if (!written.isEmpty()) {
+            Set<Long> postIds = new LinkedHashSet<>();
+            written.forEach(comment -> postIds.add(comment.postId()));
+            try {
+                commentService.evictThreads(postIds);
+            } catch (RuntimeException e) {
+                // The comments are stored; cached threads catch up when their entries expire
+                logger.warn("Failed to evict cached threads of posts {}", postIds, e);
+            }
+            commentCreationCounter.increment(written.size());
+        }
+        count("written", written.size());
+        count("dropped", batch.size() - written.size());
+    }
+
+    /**
+     * Insert the batch in one transaction. When a row breaks a constraint (its post or parent
+     * was deleted meanwhile) the batch is inserted row by row and those rows are dropped; other
+     * failures, such as a lost connection, are retried a few times before the batch is dropped.
+     *
+     * @return the comments stored
+     */
+    private List<PendingComment> insert(List<PendingComment> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                commentBatchRepository.insertAll(batch);
+                return batch;
+            } catch (DataIntegrityViolationException e) {
+                return insertOneByOne(batch);
+            } catch (RuntimeException e) {
+                if (attempt >= WRITE_ATTEMPTS) {
+                    logger.error("Dropped {} comments after {} failed attempts", batch.size(), attempt, e);
+                    return List.of();
+                }
+                logger.warn("Failed to write {} comments, retrying", batch.size(), e);
+                Thread.sleep(RETRY_BACKOFF_MS * attempt);
+            }
+        }
+    }
+
+    private List<PendingComment> insertOneByOne(List<PendingComment> batch) {
+        List<PendingComment> written = new ArrayList<>(batch.size());
+        for (PendingComment comment : batch) {
+            try {
+                commentBatchRepository.insert(comment);
+                written.add(comment);
+            } catch (RuntimeException e) {
+                logger.warn("Dropped comment {} on post {}: {}", comment.id(), comment.postId(), e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    private synchronized Long nextId() {
+        if (idBlock.isEmpty()) {
+            idBlock.addAll(commentBatchRepository.nextIds(idBlockSize));
+        }
+        return idBlock.poll();
+    }
+
+    private void index(PendingComment comment) {
+        pending.put(comment.id(), comment);
+        pendingByAuthor.compute(comment.comment().authorUsername(), (author, ids) -> {
+            NavigableSet<Long> authorIds = ids != null ? ids : new ConcurrentSkipListSet<>();
+            authorIds.add(comment.id());
+            return authorIds;
+        });
+    }
+
+    private void unindex(PendingComment comment) {
+        pendingByAuthor.computeIfPresent(comment.comment().authorUsername(), (author, ids) -> {
+            ids.remove(comment.id());
+            return ids.isEmpty() ? null : ids;
+        });
+        pending.remove(comment.id());
+    }
+
+    private ServiceUnavailableException rejected(String reason) {
+        count("rejected", 1);
+        return new ServiceUnavailableException(reason, 1);
+    }
+
+    private void count(String result, int amount) {
+        if (amount == 0) {
+            return;
+        }
+        Counter.builder("blog_api_comment_ingestion_total")
+                .description("Comments by ingestion outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            try {
+                writeNextBatch(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Comment writer failed", e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "CommentWriter");
+        writer.start();
+        logger.info("Comment ingestion started");
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        logger.info("Draining {} queued comments", queue.size());
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            logger.error("Comment writer did not finish within {}; {} queued comments were not written",
+                    shutdownTimeout, queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
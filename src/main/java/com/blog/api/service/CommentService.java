@@ -1,29 +1,42 @@
 package com.blog.api.service;
 
+import com.blog.api.dto.CommentCursor;
 import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CommentThreadDTO;
+import com.blog.api.dto.CommentThreadRow;
+import com.blog.api.dto.CurrentUser;
+import com.blog.api.dto.CursorPage;
 import com.blog.api.entity.Comment;
 import com.blog.api.entity.Post;
 import com.blog.api.entity.User;
+import com.blog.api.exception.BadRequestException;
 import com.blog.api.exception.ResourceNotFoundException;
 import com.blog.api.repository.CommentRepository;
 import com.blog.api.repository.PostRepository;
 import com.blog.api.repository.UserRepository;
+import com.blog.api.util.CacheTags;
+import com.blog.api.util.CommentThreads;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Counter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 public class CommentService {
 
+    public static final int MAX_THREAD_LIMIT = 50;
+    public static final int MAX_THREAD_DEPTH = 5;
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -36,33 +49,126 @@ public class CommentService {
     @Autowired
     private Counter commentCreationCounter;
 
-    @Cacheable(value = "comments", key = "'post:' + #postId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize")
+    @Autowired
+    private CacheTagService cacheTagService;
+
+    /**
+     * A page of top-level comments with their replies. The page and the whole thread are one
+     * query each, however deep the replies go.
+     */
+    @Cacheable(value = "comments", key = "'post:' + #postId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize", sync = true)
     public Page<CommentDTO> getCommentsByPost(Long postId, Pageable pageable) {
-        return commentRepository.findByPostIdAndParentIsNull(postId, pageable)
-                .map(CommentDTO::fromEntity);
+        Page<CommentDTO> topLevel = commentRepository.findTopLevelByPostId(postId, pageable);
+        if (topLevel.isEmpty()) {
+            return topLevel;
+        }
+        Map<Long, CommentDTO> thread = CommentThreads.link(commentRepository.findThreadByPostId(postId));
+        return topLevel.map(comment -> thread.getOrDefault(comment.id(), comment));
     }
 
-    @Cacheable(value = "comments", key = "'simple:' + #postId")
+    @Cacheable(value = "comments", key = "'simple:' + #postId", sync = true)
     public List<CommentDTO> getCommentsByPostSimple(Long postId) {
-        return commentRepository.findByPostIdAndParentIsNullOrderByCreatedAtDesc(postId)
-                .stream()
-                .map(CommentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return CommentThreads.topLevel(CommentThreads.link(commentRepository.findThreadByPostId(postId)), true);
     }
 
-    @Cacheable(value = "comments", key = "'single:' + #id")
+    @Cacheable(value = "comments", key = "'single:' + #id", sync = true)
     public CommentDTO getCommentById(Long id) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
-        return CommentDTO.fromEntity(comment);
+        CommentDTO linked = CommentThreads.link(commentRepository.findThreadByPostId(comment.getPost().getId())).get(id);
+        return linked != null ? linked : CommentDTO.fromEntity(comment);
+    }
+
+    /**
+     * A slice of the top-level comments of a post, each with the first {@code replies} comments
+     * of its subtree down to {@code depth} levels. Subtrees that do not fit carry a cursor for
+     * {@link #getReplies}. Two queries whatever the size of the discussion.
+     *
+     * @param postId  the post
+     * @param after   cursor of the previous slice, or null for the first
+     * @param limit   top-level comments per slice
+     * @param depth   reply levels to include below each top-level comment
+     * @param replies most replies to include per top-level comment
+     */
+    public CursorPage<CommentThreadDTO> getThread(Long postId, String after, int limit, int depth, int replies) {
+        checkRange("Limit", limit, 1, MAX_THREAD_LIMIT);
+        checkRange("Depth", depth, 0, MAX_THREAD_DEPTH);
+        checkRange("Replies", replies, 0, MAX_THREAD_LIMIT);
+        String afterPath = after != null ? CommentCursor.decode(after).path() : "";
+
+        List<CommentThreadRow> topLevel = commentRepository.findTopLevelThreadSlice(postId, afterPath, limit + 1);
+        boolean hasNext = topLevel.size() > limit;
+        if (hasNext) {
+            topLevel = topLevel.subList(0, limit);
+        }
+        if (topLevel.isEmpty()) {
+            return new CursorPage<>(List.of(), 0, false, null);
+        }
+
+        Map<Long, List<CommentThreadRow>> subtrees = new HashMap<>();
+        if (depth > 0 && replies > 0) {
+            List<Long> ids = topLevel.stream().map(CommentThreadRow::getId).toList();
+            for (CommentThreadRow row : commentRepository.findSubtreeSlices(ids, depth, replies + 1)) {
+                subtrees.computeIfAbsent(rootId(row), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<CommentThreadDTO> slice = new ArrayList<>();
+        for (CommentThreadRow root : topLevel) {
+            List<CommentThreadRow> subtree = subtrees.getOrDefault(root.getId(), List.of());
+            String moreReplies = null;
+            if (subtree.size() > replies) {
+                subtree = subtree.subList(0, replies);
+                moreReplies = CommentCursor.encode(subtree.get(subtree.size() - 1).getPath());
+            } else if (depth == 0 || replies == 0) {
+                moreReplies = root.getHasReplies() ? CommentCursor.encode(root.getPath()) : null;
+            }
+            slice.add(CommentThreadDTO.fromRow(root, moreReplies));
+            subtree.forEach(row -> slice.add(toThreadNode(row, root.getDepth() + depth)));
+        }
+
+        String nextCursor = hasNext ? CommentCursor.encode(topLevel.get(topLevel.size() - 1).getPath()) : null;
+        return new CursorPage<>(CommentThreads.nest(slice), topLevel.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * The next comments of one comment's subtree, depth-first, down to {@code depth} levels below
+     * it. Comments whose parent was in an earlier slice are returned at the top level with their
+     * {@code parentId}. One query whatever the size of the subtree.
+     *
+     * @param id    the comment whose replies to load
+     * @param after a {@code moreReplies} or {@code nextCursor} value, or null to start at the first reply
+     * @param limit most comments to return
+     * @param depth reply levels to include below the comment
+     */
+    public CursorPage<CommentThreadDTO> getReplies(Long id, String after, int limit, int depth) {
+        checkRange("Limit", limit, 1, MAX_THREAD_LIMIT);
+        checkRange("Depth", depth, 1, MAX_THREAD_DEPTH);
+        Comment comment = commentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
+
+        String prefix = comment.getPath();
+        String afterPath = after != null ? CommentCursor.decode(after).path() : prefix;
+        if (!afterPath.startsWith(prefix)) {
+            throw new BadRequestException("Cursor does not belong to comment " + id);
+        }
+        int maxDepth = comment.getDepth() + depth;
+
+        List<CommentThreadRow> rows = commentRepository.findSubtreeAfter(afterPath, prefix + "g", maxDepth, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<CommentThreadDTO> slice = rows.stream().map(row -> toThreadNode(row, maxDepth)).toList();
+        String nextCursor = hasNext ? CommentCursor.encode(rows.get(rows.size() - 1).getPath()) : null;
+        return new CursorPage<>(CommentThreads.nest(slice), rows.size(), hasNext, nextCursor);
     }
 
-    @CacheEvict(value = "comments", allEntries = true)
     @Timed(value = "blog_api_comments_create", description = "Time taken to create a comment")
-    public CommentDTO createComment(CommentDTO commentDTO, String username) {
+    public CommentDTO createComment(CommentDTO commentDTO, CurrentUser currentUser) {
         commentCreationCounter.increment();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        User user = getUserReference(currentUser);
 
         Post post = postRepository.findById(commentDTO.postId())
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", commentDTO.postId()));
@@ -71,6 +177,9 @@ public class CommentService {
         if (commentDTO.parentId() != null) {
             parent = commentRepository.findById(commentDTO.parentId())
                     .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", commentDTO.parentId()));
+            if (parent.getDepth() != null && parent.getDepth() >= Comment.MAX_DEPTH) {
+                throw new BadRequestException("Replies cannot be nested more than " + Comment.MAX_DEPTH + " levels deep");
+            }
         }
 
         Comment comment;
@@ -83,21 +192,18 @@ public class CommentService {
         }
 
         Comment savedComment = commentRepository.save(comment);
+        evictThread(post.getId(), true);
         return CommentDTO.fromEntity(savedComment);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "comments", key = "'single:' + #id"),
-            @CacheEvict(value = "comments", allEntries = true)
-    })
-    public CommentDTO updateComment(Long id, CommentDTO commentDTO, String username) {
+    @CacheEvict(value = "comments", key = "'single:' + #id")
+    public CommentDTO updateComment(Long id, CommentDTO commentDTO, CurrentUser currentUser) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        CurrentUser user = resolve(currentUser);
 
-        if (!comment.getUser().getId().equals(user.getId())) {
+        if (!comment.getUser().getId().equals(user.id())) {
             throw new RuntimeException("You can only update your own comments");
         }
 
@@ -109,24 +215,103 @@ public class CommentService {
         comment = updatedComment;
 
         Comment savedComment = commentRepository.save(comment);
+        evictThread(savedComment.getPost().getId(), false);
         return CommentDTO.fromEntity(savedComment);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "comments", key = "'single:' + #id"),
-            @CacheEvict(value = "comments", allEntries = true)
-    })
-    public void deleteComment(Long id, String username) {
+    @CacheEvict(value = "comments", key = "'single:' + #id")
+    public void deleteComment(Long id, CurrentUser currentUser) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        CurrentUser user = resolve(currentUser);
 
-        if (!comment.getUser().getId().equals(user.getId()) && !user.getRole().equals(User.Role.ADMIN)) {
+        if (!comment.getUser().getId().equals(user.id()) && !user.isAdmin()) {
             throw new RuntimeException("You can only delete your own comments");
         }
 
         commentRepository.delete(comment);
+        evictThread(comment.getPost().getId(), true);
+    }
+
+    /**
+     * Evict the cached comments of one post only. Adding or removing a comment also changes
+     * the post's comment count, which is rewritten in place in every cached entry showing
+     * the post rather than evicting them.
+     */
+    private void evictThread(Long postId, boolean countChanged) {
+        cacheTagService.evict(CacheTags.COMMENTS_CACHE, CacheTags.thread(postId));
+        if (countChanged) {
+            updateCommentCount(postId);
+        }
+    }
+
+    /**
+     * Cache maintenance for comments added without going through {@link #createComment}, such
+     * as a batch written by {@link CommentIngestionService}: one eviction for the threads of
+     * all the posts, then each post's comment count rewritten in place.
+     */
+    public void evictThreads(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        cacheTagService.evict(CacheTags.COMMENTS_CACHE, postIds.stream().map(CacheTags::thread).toList());
+        postIds.forEach(this::updateCommentCount);
+    }
+
+    private void updateCommentCount(Long postId) {
+        int commentCount = postRepository.findCommentCountById(postId).orElse(0);
+        cacheTagService.update(CacheTags.POSTS_CACHE, CacheTags.post(postId),
+                value -> CacheTags.withCommentCount(value, postId, commentCount));
+    }
+
+    /**
+     * A comment at the depth limit whose replies were left out gets a cursor to load them.
+     */
+    private CommentThreadDTO toThreadNode(CommentThreadRow row, int maxDepth) {
+        String moreReplies = row.getDepth() >= maxDepth && row.getHasReplies()
+                ? CommentCursor.encode(row.getPath())
+                : null;
+        return CommentThreadDTO.fromRow(row, moreReplies);
+    }
+
+    private static Long rootId(CommentThreadRow row) {
+        return Long.parseLong(row.getPath().substring(0, Comment.PATH_SEGMENT_LENGTH), 16);
+    }
+
+    private static void checkRange(String name, int value, int min, int max) {
+        if (value < min || value > max) {
+            throw new BadRequestException(name + " must be between " + min + " and " + max);
+        }
+    }
+
+    /**
+     * Ownership checks only need the ID and role, which a resolved principal already has.
+     */
+    private CurrentUser resolve(CurrentUser currentUser) {
+        if (currentUser.isResolved()) {
+            return currentUser;
+        }
+        return CurrentUser.fromEntity(findUserByUsername(currentUser.username()));
+    }
+
+    /**
+     * Reference to link as author; for a resolved principal this is a proxy, so only an
+     * existence check runs instead of loading the user. A token can outlive its user,
+     * which must be a 404 rather than a foreign key violation on insert.
+     */
+    private User getUserReference(CurrentUser currentUser) {
+        if (currentUser.isResolved()) {
+            if (!userRepository.existsById(currentUser.id())) {
+                throw new ResourceNotFoundException("User", "id", currentUser.id());
+            }
+            return userRepository.getReferenceById(currentUser.id());
+        }
+        return findUserByUsername(currentUser.username());
+    }
+
+    private User findUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.blog.api.service;
+
+import com.blog.api.repository.CategoryRepository;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recounts the denormalized counters (posts.comment_count, categories.post_count,
+ * users.post_count) over one ID range at a time, rewriting only the rows that drifted.
+ * Each range is its own short transaction that locks its rows before recounting, so
+ * writers are held back for one batch at most. Driven by
+ * {@link com.blog.api.scheduler.CounterReconciliationScheduler}.
+ */
+@Service
+public class CounterReconciliationService {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public long maxPostId() {
+        return postRepository.findMaxId();
+    }
+
+    public long maxCategoryId() {
+        return categoryRepository.findMaxId();
+    }
+
+    public long maxUserId() {
+        return userRepository.findMaxId();
+    }
+
+    /**
+     * @return the number of posts whose comment count was repaired
+     */
+    @Transactional
+    public int reconcileCommentCounts(long fromId, long toId) {
+        postRepository.lockIdRange(fromId, toId);
+        return postRepository.reconcileCommentCounts(fromId, toId);
+    }
+
+    /**
+     * @return the number of categories whose post count was repaired
+     */
+    @Transactional
+    public int reconcileCategoryPostCounts(long fromId, long toId) {
+        categoryRepository.lockIdRange(fromId, toId);
+        return categoryRepository.reconcilePostCounts(fromId, toId);
+    }
+
+    /**
+     * @return the number of users whose post count was repaired
+     */
+    @Transactional
+    public int reconcileUserPostCounts(long fromId, long toId) {
+        userRepository.lockIdRange(fromId, toId);
+        return userRepository.reconcilePostCounts(fromId, toId);
+    }
+}
@@ -2,17 +2,13 @@ package com.blog.api.service;
 
 import com.blog.api.entity.User;
 import com.blog.api.repository.UserRepository;
+import com.blog.api.util.AuthenticatedUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Collections;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
@@ -25,14 +21,7 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .or(() -> userRepository.findByEmail(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                mapRolesToAuthorities(user.getRole())
-        );
-    }
-
-    private Collection<? extends GrantedAuthority> mapRolesToAuthorities(User.Role role) {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        // Keeps id, role and terms version so the rest of the request needs no further lookup
+        return new AuthenticatedUserDetails(user);
     }
 }
\ No newline at end of file
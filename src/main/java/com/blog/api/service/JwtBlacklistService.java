@@ -3,6 +3,7 @@ package com.blog.api.service;
 import com.blog.api.entity.RevokedToken;
 import com.blog.api.repository.RevokedTokenRepository;
 import com.blog.api.util.JwtUtil;
+import com.blog.api.util.ParsedToken;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +36,12 @@ public class JwtBlacklistService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Autowired
+    private TokenEpochService tokenEpochService;
+
     // Configuration properties
     @Value("${jwt.blacklist.rate-limit.max-per-user-per-hour:10}")
     private int maxRevocationsPerUserPerHour;
@@ -55,12 +62,20 @@ public class JwtBlacklistService {
     /**
      * Check if a token is revoked with Redis caching for high performance.
      * This is the most critical method as it's called on every authenticated request.
+     * The in-memory revoked token filter answers the common "not revoked" case first,
+     * so only possible hits reach the cache and the database.
      * 
      * @param jti the JWT ID to check
      * @return true if token is revoked, false otherwise
      */
-    @Cacheable(value = "blacklisted_tokens", key = "#jti", unless = "#result == false")
+    @Cacheable(value = "blacklisted_tokens", key = "#jti", unless = "#result == false",
+               condition = "@revokedTokenRegistry.mightBeRevoked(#jti)")
     public boolean isTokenRevoked(String jti) {
+        // The cache condition already counted this lookup; it skips only the cache, not this method
+        if (revokedTokenRegistry != null && revokedTokenRegistry.isDefinitelyNotRevoked(jti)) {
+            return false;
+        }
+
         try {
             boolean isRevoked = revokedTokenRepository.existsByTokenJti(jti);
             
@@ -119,6 +134,11 @@ public class JwtBlacklistService {
                     .build();
 
             revokedTokenRepository.save(revokedToken);
+
+            // Make the revocation visible to the in-memory filter on this and other nodes
+            if (revokedTokenRegistry != null) {
+                revokedTokenRegistry.registerRevocation(jti);
+            }
             
             // Update metrics (simplified)
             if (meterRegistry != null) {
@@ -151,10 +171,46 @@ public class JwtBlacklistService {
         }
     }
 
+    /**
+     * Check if a token was invalidated by a "log out everywhere" for its user.
+     * Compares the token's iat with the user's epoch held in memory; no database access.
+     * 
+     * @param parsedToken the verified token
+     * @return true if the token was issued before the user's current epoch
+     */
+    public boolean isRevokedByUserEpoch(ParsedToken parsedToken) {
+        if (tokenEpochService == null || parsedToken == null) {
+            return false;
+        }
+        return tokenEpochService.isIssuedBeforeEpoch(parsedToken.subject(), parsedToken.issuedAt());
+    }
+
+    /**
+     * Revoke every access token of a user issued up to now with a single epoch write,
+     * regardless of how many sessions the user has.
+     * 
+     * @param username the username (token subject)
+     * @param userId the user ID, used for metrics and auditing
+     * @param reason the reason for revocation
+     */
+    public void revokeAllUserAccessTokens(String username, Long userId, RevokedToken.RevokeReason reason) {
+        validateUserId(userId);
+        if (reason == null) {
+            throw new IllegalArgumentException("Revocation reason cannot be null");
+        }
+
+        tokenEpochService.revokeTokensIssuedBefore(username);
+
+        if (meterRegistry != null) {
+            meterRegistry.counter("jwt_user_epoch_revocations_total", "reason", reason.name()).increment();
+        }
+        logger.info("Revoked all access tokens for user: {} (id: {}), reason: {}", username, userId, reason);
+    }
+
     /**
      * Revoke all tokens for a user (used for password changes or account suspension).
-     * Note: This is a simplified implementation. In a production system with many active tokens,
-     * you might want to track active tokens differently.
+     * Note: This only removes the user's blacklist rows; it does not invalidate live access tokens.
+     * Use {@link #revokeAllUserAccessTokens(String, Long, RevokedToken.RevokeReason)} for that.
      * 
      * @param userId the user ID
      * @param reason the reason for revocation
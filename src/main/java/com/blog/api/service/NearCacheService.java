@@ -0,0 +1,187 @@
+package com.blog.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-heap first tier in front of the Redis caches. Each node keeps a small Caffeine cache
+ * (W-TinyLFU admission) per cache name; writes and evictions on any node are broadcast
+ * over pub/sub so the other nodes drop their copy. A missed broadcast is bounded by the
+ * local TTL, which is kept much shorter than the Redis one.
+ */
+@Service
+public class NearCacheService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCacheService.class);
+
+    public static final String INVALIDATION_CHANNEL = "blog-api:near-cache:invalidate";
+
+    private static final String OP_EVICT = "evict";
+    private static final String OP_CLEAR = "clear";
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${blog.cache.near.enabled:false}")
+    private boolean enabled;
+
+    @Value("${blog.cache.near.max-size:10000}")
+    private long maxSize;
+
+    @Value("${blog.cache.near.ttl:60s}")
+    private Duration ttl;
+
+    // Lets a node ignore its own broadcasts
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Cache<String, Object>> localCaches = new ConcurrentHashMap<>();
+
+    public NearCacheService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                            ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                            MeterRegistry meterRegistry) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.listenerContainerProvider = listenerContainerProvider;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Subscribe to invalidations made on other nodes.
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (!enabled) {
+            return;
+        }
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        } else {
+            logger.warn("No Redis listener container available; near caches will only expire by TTL");
+        }
+    }
+
+    /**
+     * The local tier of a cache, created on first use.
+     *
+     * @param cacheName the cache name
+     * @return the Caffeine cache holding this node's copies
+     */
+    public Cache<String, Object> localCache(String cacheName) {
+        return localCaches.computeIfAbsent(cacheName, name -> {
+            Cache<String, Object> cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            if (meterRegistry != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry, cache, "near_" + name);
+            }
+            return cache;
+        });
+    }
+
+    /**
+     * Tell the other nodes to drop their copy of a key.
+     *
+     * @param cacheName the cache name
+     * @param key       the key as stored in the local tier
+     */
+    public void publishEvict(String cacheName, String key) {
+        publish(OP_EVICT, cacheName, key);
+    }
+
+    /**
+     * Tell the other nodes to drop their copies of many keys, in one pipeline.
+     *
+     * @param cacheName the cache name
+     * @param keys      the keys as stored in the local tier
+     */
+    public void publishEvictAll(String cacheName, Collection<String> keys) {
+        StringRedisTemplate redisTemplate = enabled ? redisTemplateProvider.getIfAvailable() : null;
+        if (redisTemplate == null || keys.isEmpty()) {
+            return;
+        }
+        byte[] channel = INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.publish(channel, message(OP_EVICT, cacheName, key).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.error("Failed to broadcast near cache {} of {}", OP_EVICT, cacheName, e);
+        }
+    }
+
+    /**
+     * Tell the other nodes to drop their whole local copy of a cache.
+     *
+     * @param cacheName the cache name
+     */
+    public void publishClear(String cacheName) {
+        publish(OP_CLEAR, cacheName, "");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // nodeId|op|cacheName|key - the key goes last as it may contain the separator
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length != 4) {
+            logger.warn("Ignoring malformed near cache invalidation message");
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+
+        Cache<String, Object> cache = localCaches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (OP_CLEAR.equals(parts[1])) {
+            cache.invalidateAll();
+        } else if (OP_EVICT.equals(parts[1])) {
+            cache.invalidate(parts[3]);
+        }
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        StringRedisTemplate redisTemplate = enabled ? redisTemplateProvider.getIfAvailable() : null;
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message(op, cacheName, key));
+        } catch (Exception e) {
+            // Other nodes serve their copy until the local TTL expires it
+            logger.error("Failed to broadcast near cache {} of {}", op, cacheName, e);
+        }
+    }
+
+    private String message(String op, String cacheName, String key) {
+        return nodeId + "|" + op + "|" + cacheName + "|" + key;
+    }
+}
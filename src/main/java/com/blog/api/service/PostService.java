@@ -1,28 +1,51 @@
 package com.blog.api.service;
 
+import com.blog.api.config.BatchCaches;
 import com.blog.api.dto.CreatePostDTO;
+import com.blog.api.dto.CurrentUser;
+import com.blog.api.dto.CursorPage;
+import com.blog.api.dto.PostCursor;
 import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
 import com.blog.api.entity.Category;
 import com.blog.api.entity.Post;
 import com.blog.api.entity.User;
+import com.blog.api.exception.BadRequestException;
 import com.blog.api.exception.ResourceNotFoundException;
 import com.blog.api.repository.CategoryRepository;
 import com.blog.api.repository.PostRepository;
 import com.blog.api.repository.UserRepository;
+import com.blog.api.util.CacheTags;
+import com.blog.api.util.ContentSummarizer;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 @Service
 public class PostService {
 
+    public static final int MAX_CURSOR_LIMIT = 100;
+
+    public static final int MAX_BATCH_IDS = 100;
+
     @Autowired
     private PostRepository postRepository;
 
@@ -32,49 +55,134 @@ public class PostService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CacheTagService cacheTagService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private Counter postCreationCounter;
 
     @Autowired
     private Timer databaseQueryTimer;
 
-    @Cacheable(value = "posts", key = "'all:' + #pageable.pageNumber + ':' + #pageable.pageSize")
+    @Cacheable(value = "posts", key = "'all:' + #pageable.pageNumber + ':' + #pageable.pageSize", sync = true)
     @Timed(value = "blog_api_posts_get_all", description = "Time taken to get all published posts")
-    public Page<PostDTO> getAllPublishedPosts(Pageable pageable) {
-        return postRepository.findByPublishedTrue(pageable)
-                .map(PostDTO::fromEntity);
+    public Page<PostSummaryDTO> getAllPublishedPosts(Pageable pageable) {
+        return postRepository.findByPublishedTrue(pageable);
     }
 
-    @Cacheable(value = "posts", key = "'category:' + #categoryId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize")
-    public Page<PostDTO> getPostsByCategory(Long categoryId, Pageable pageable) {
-        return postRepository.findByCategoryId(categoryId, pageable)
-                .map(PostDTO::fromEntity);
+    @Cacheable(value = "posts", key = "'category:' + #categoryId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize", sync = true)
+    public Page<PostSummaryDTO> getPostsByCategory(Long categoryId, Pageable pageable) {
+        return postRepository.findByCategoryId(categoryId, pageable);
     }
 
-    @Cacheable(value = "posts", key = "'user:' + #userId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize")
-    public Page<PostDTO> getPostsByUser(Long userId, Pageable pageable) {
-        return postRepository.findByUserId(userId, pageable)
-                .map(PostDTO::fromEntity);
+    @Cacheable(value = "posts", key = "'user:' + #userId + ':' + #pageable.pageNumber + ':' + #pageable.pageSize", sync = true)
+    public Page<PostSummaryDTO> getPostsByUser(Long userId, Pageable pageable) {
+        return postRepository.findByUserId(userId, pageable);
     }
 
-    public Page<PostDTO> searchPosts(String keyword, Pageable pageable) {
-        return postRepository.findPublishedPostsByKeyword(keyword, pageable)
-                .map(PostDTO::fromEntity);
+    // Keyed on the decoded position, never on the client's string
+    @Cacheable(value = "posts", sync = true, key = "'feed:' + "
+            + "(#after == null ? 'first' : T(com.blog.api.dto.PostCursor).normalize(#after)) + ':' + #limit")
+    @Timed(value = "blog_api_posts_get_feed", description = "Time taken to get a slice of the published feed")
+    public CursorPage<PostSummaryDTO> getPublishedPostsAfter(String after, int limit) {
+        Pageable slice = slice(limit);
+        if (after == null) {
+            return toCursorPage(postRepository.findPublishedFirstSlice(slice));
+        }
+        PostCursor cursor = PostCursor.decode(after);
+        return toCursorPage(postRepository.findPublishedSliceAfter(cursor.createdAt(), cursor.id(), slice));
+    }
+
+    public CursorPage<PostSummaryDTO> getPostsByCategoryAfter(Long categoryId, String after, int limit) {
+        Pageable slice = slice(limit);
+        if (after == null) {
+            return toCursorPage(postRepository.findByCategoryFirstSlice(categoryId, slice));
+        }
+        PostCursor cursor = PostCursor.decode(after);
+        return toCursorPage(postRepository.findByCategorySliceAfter(categoryId, cursor.createdAt(), cursor.id(), slice));
+    }
+
+    public CursorPage<PostSummaryDTO> getPostsByUserAfter(Long userId, String after, int limit) {
+        Pageable slice = slice(limit);
+        if (after == null) {
+            return toCursorPage(postRepository.findByUserFirstSlice(userId, slice));
+        }
+        PostCursor cursor = PostCursor.decode(after);
+        return toCursorPage(postRepository.findByUserSliceAfter(userId, cursor.createdAt(), cursor.id(), slice));
     }
 
-    @Cacheable(value = "posts", key = "'single:' + #id")
+    /**
+     * Full-text search over published posts, most relevant first. Each result carries a
+     * highlighted snippet of the matching content in place of the stored excerpt.
+     */
+    @Timed(value = "blog_api_posts_search", description = "Time taken to search published posts")
+    public Page<PostSummaryDTO> searchPosts(String keyword, Pageable pageable) {
+        if (keyword == null || keyword.isBlank()) {
+            return Page.empty(pageable);
+        }
+        // Results are ordered by rank; a client-supplied sort has no column to apply to
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return postRepository.searchPublished(keyword.trim(), page).map(PostSummaryDTO::fromSearchHit);
+    }
+
+    @Cacheable(value = "posts", key = "'single:' + #id", sync = true)
     public PostDTO getPostById(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
         return PostDTO.fromEntity(post);
     }
 
-    @CacheEvict(value = "posts", allEntries = true)
+    /**
+     * Several posts by ID, sharing the cache entries of {@link #getPostById(Long)}: hits come
+     * from one batch read, misses from one query, and are written back in one batch. Unknown IDs are left out; the order of the request is kept.
+     */
+    @Timed(value = "blog_api_posts_get_by_ids", description = "Time taken to get several posts by ID")
+    public List<PostDTO> getPostsByIds(List<Long> ids) {
+        List<Long> uniqueIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (uniqueIds.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " posts can be requested at once");
+        }
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PostDTO> posts = new HashMap<>();
+        Cache cache = cacheManager.getCache(CacheTags.POSTS_CACHE);
+        if (cache != null) {
+            BatchCaches.getAll(cache, uniqueIds.stream().map(PostService::singleKey).toList())
+                    .forEach((key, wrapper) -> {
+                        if (wrapper.get() instanceof PostDTO post) {
+                            posts.put(post.id(), post);
+                        }
+                    });
+        }
+
+        List<Long> missing = uniqueIds.stream().filter(id -> !posts.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            List<Post> loaded = postRepository.findAllWithAuthorAndCategoryByIdIn(missing);
+            Map<Object, Object> writeBack = new HashMap<>();
+            for (Post post : loaded) {
+                PostDTO dto = PostDTO.fromEntity(post);
+                posts.put(post.getId(), dto);
+                writeBack.put(singleKey(post.getId()), dto);
+            }
+            if (cache != null) {
+                BatchCaches.putAll(cache, writeBack);
+            }
+        }
+
+        return uniqueIds.stream().map(posts::get).filter(Objects::nonNull).toList();
+    }
+
+    // Written through, so the first read of a new post is already a hit
+    @CachePut(value = "posts", key = "'single:' + #result.id")
     @Timed(value = "blog_api_posts_create", description = "Time taken to create a post")
-    public PostDTO createPost(CreatePostDTO createPostDTO, String username) {
+    public PostDTO createPost(CreatePostDTO createPostDTO, CurrentUser currentUser) {
         postCreationCounter.increment();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        User user = getUserReference(currentUser);
 
         Category category = null;
         if (createPostDTO.categoryId() != null) {
@@ -86,23 +194,23 @@ public class PostService {
                 .published(createPostDTO.published())
                 .category(category)
                 .build();
+        summarize(post);
 
         Post savedPost = postRepository.save(post);
+        // A new post shifts every page of the listings it joins
+        cacheTagService.evict(CacheTags.POSTS_CACHE, listingTags(savedPost));
         return PostDTO.fromEntity(savedPost);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "posts", key = "'single:' + #id"),
-            @CacheEvict(value = "posts", allEntries = true)
-    })
-    public PostDTO updatePost(Long id, CreatePostDTO createPostDTO, String username) {
+    // Replaces the cached post instead of evicting it, so the next read is a hit
+    @CachePut(value = "posts", key = "'single:' + #id")
+    public PostDTO updatePost(Long id, CreatePostDTO createPostDTO, CurrentUser currentUser) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        CurrentUser user = resolve(currentUser);
 
-        if (!post.getUser().getId().equals(user.getId())) {
+        if (!post.getUser().getId().equals(user.id())) {
             throw new RuntimeException("You can only update your own posts");
         }
 
@@ -120,27 +228,116 @@ public class PostService {
                 .build();
         updatedPost.setId(post.getId());
         updatedPost.setCreatedAt(post.getCreatedAt());
+        summarize(updatedPost);
+        Set<String> previousListings = listingTags(post);
+        // The rebuilt entity does not carry the counter column; the cached DTO needs the real count
+        int commentCount = post.getCommentCount();
         post = updatedPost;
 
         Post savedPost = postRepository.save(post);
-        return PostDTO.fromEntity(savedPost);
+
+        // An edit in place only touches the pages holding the post; moving it in or out
+        // of a listing (publishing, changing category) shifts the pages of both sides
+        Set<String> tags = new HashSet<>(List.of(CacheTags.post(id)));
+        Set<String> currentListings = listingTags(savedPost);
+        if (!previousListings.equals(currentListings)) {
+            tags.addAll(previousListings);
+            tags.addAll(currentListings);
+        }
+        // The single entry is tagged post:{id} too; keep the one @CachePut stores for this call
+        cacheTagService.evict(CacheTags.POSTS_CACHE, tags, Set.of(singleKey(id)));
+        return PostDTO.fromEntity(savedPost, commentCount);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "posts", key = "'single:' + #id"),
-            @CacheEvict(value = "posts", allEntries = true)
-    })
-    public void deletePost(Long id, String username) {
+    @CacheEvict(value = "posts", key = "'single:' + #id")
+    public void deletePost(Long id, CurrentUser currentUser) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        CurrentUser user = resolve(currentUser);
 
-        if (!post.getUser().getId().equals(user.getId()) && !user.getRole().equals(User.Role.ADMIN)) {
+        if (!post.getUser().getId().equals(user.id()) && !user.isAdmin()) {
             throw new RuntimeException("You can only delete your own posts");
         }
 
         postRepository.delete(post);
+        cacheTagService.evict(CacheTags.POSTS_CACHE, listingTags(post));
+    }
+
+    // Same key as @Cacheable on getPostById
+    private static String singleKey(Long id) {
+        return "single:" + id;
+    }
+
+    /**
+     * Keyset queries always read from the start of the range, so the page number stays 0.
+     */
+    private Pageable slice(int limit) {
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_CURSOR_LIMIT);
+        }
+        return PageRequest.of(0, limit);
+    }
+
+    private CursorPage<PostSummaryDTO> toCursorPage(Slice<PostSummaryDTO> posts) {
+        List<PostSummaryDTO> content = posts.getContent();
+        String nextCursor = posts.hasNext() && !content.isEmpty()
+                ? PostCursor.of(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(content, content.size(), nextCursor != null, nextCursor);
+    }
+
+    /**
+     * Tags of every listing the post appears in, plus the post itself.
+     */
+    private Set<String> listingTags(Post post) {
+        Set<String> tags = new HashSet<>();
+        tags.add(CacheTags.post(post.getId()));
+        tags.add(CacheTags.author(post.getUser().getId()));
+        if (post.getCategory() != null) {
+            tags.add(CacheTags.category(post.getCategory().getId()));
+        }
+        if (post.isPublished()) {
+            tags.add(CacheTags.PUBLISHED_POSTS);
+        }
+        return tags;
+    }
+
+    /**
+     * Store the listing fields derived from the content, so list queries never read it.
+     */
+    private void summarize(Post post) {
+        post.setExcerpt(ContentSummarizer.excerpt(post.getContent()));
+        post.setReadingTimeMinutes(ContentSummarizer.readingTimeMinutes(post.getContent()));
+    }
+
+    /**
+     * Ownership checks only need the ID and role, which a resolved principal already has.
+     */
+    private CurrentUser resolve(CurrentUser currentUser) {
+        if (currentUser.isResolved()) {
+            return currentUser;
+        }
+        return CurrentUser.fromEntity(findUserByUsername(currentUser.username()));
+    }
+
+    /**
+     * Reference to link as author; for a resolved principal this is a proxy, so only an
+     * existence check runs instead of loading the user. A token can outlive its user,
+     * which must be a 404 rather than a foreign key violation on insert.
+     */
+    private User getUserReference(CurrentUser currentUser) {
+        if (currentUser.isResolved()) {
+            if (!userRepository.existsById(currentUser.id())) {
+                throw new ResourceNotFoundException("User", "id", currentUser.id());
+            }
+            return userRepository.getReferenceById(currentUser.id());
+        }
+        return findUserByUsername(currentUser.username());
+    }
+
+    private User findUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
 }
\ No newline at end of file
@@ -131,7 +131,7 @@ public class RefreshTokenService {
             UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
 
             // Generate new access token
-            String newAccessToken = jwtUtil.generateToken(userDetails);
+            String newAccessToken = jwtUtil.generateToken(userDetails, user);
 
             // Mark current refresh token as used
             refreshToken.markAsUsed();
@@ -0,0 +1,453 @@
+package com.blog.api.service;
+
+import com.blog.api.util.CacheTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores the encoded bodies of anonymous GET responses, so a hit is written straight to the
+ * socket without touching the data caches or Jackson. Each body is stored as-is and gzipped.
+ * Entries are grouped in namespaces by resource; a write invalidates the namespaces whose
+ * responses embed the data it changed by advancing their generation, one INCR each.
+ *
+ * Every stored body also gets validators in a small side entry: a strong ETag (a digest of
+ * the body) and the time it was stored, so a conditional request is answered from a few
+ * bytes of Redis. Validators come from the response rather than from entity timestamps
+ * because a post response also embeds its comment count, author and category names. The
+ * generation in the key plays the part of an entity version: a write that changes the
+ * response moves it, and the validators with it.
+ *
+ * Comment responses are further scoped by post, each scope with its own generation, so a
+ * comment on one post leaves the cached comments of every other post in place. The response
+ * of a single post is scoped the same way, so a new comment count drops that response only.
+ */
+@Service
+public class ResponseCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheService.class);
+
+    public static final String KEY_PREFIX = "blog-api:http-cache:";
+
+    public static final String POSTS = "posts";
+    public static final String CATEGORIES = "categories";
+    public static final String COMMENTS = "comments";
+
+    private static final String VALIDATORS_VARIANT = "validators";
+    private static final String GZIP_VARIANT = "gzip";
+    private static final String IDENTITY_VARIANT = "identity";
+
+    private static final String COMMENTS_OF_POST_PATH = "/api/v1/comments/post/";
+    private static final String POST_PATH = "/api/v1/posts/";
+    // Comment responses not tied to one post in their path: single comments and their replies
+    private static final String SHARED_COMMENTS_SCOPE = "shared";
+
+    // Response namespace by path prefix
+    private static final Map<String, String> NAMESPACES = Map.of(
+            "/api/v1/posts", POSTS,
+            "/api/v1/categories", CATEGORIES,
+            "/api/v1/comments", COMMENTS
+    );
+
+    // Data cache -> response namespaces that embed its data
+    private static final Map<String, List<String>> DEPENDENT_NAMESPACES = Map.of(
+            "posts", List.of(POSTS),
+            // Post listings show comment counts
+            "comments", List.of(COMMENTS, POSTS),
+            // Post listings show category names
+            "categories", List.of(CATEGORIES, POSTS)
+    );
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final CacheGenerationService cacheGenerationService;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${blog.http-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${blog.http-cache.ttl:5m}")
+    private Duration ttl;
+
+    // How long validators of scoped responses outlive their bodies; see validatorsTtl
+    @Value("${blog.http-cache.validators-ttl:1h}")
+    private Duration validatorsTtl;
+
+    @Value("${blog.http-cache.gzip:true}")
+    private boolean gzip;
+
+    @Value("${blog.http-cache.max-body-size:524288}")
+    private int maxBodySize;
+
+    public ResponseCacheService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                CacheGenerationService cacheGenerationService,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.cacheGenerationService = cacheGenerationService;
+        this.hitCounter = meterRegistry.counter("blog_api_http_cache_lookups_total", "result", "hit");
+        this.missCounter = meterRegistry.counter("blog_api_http_cache_lookups_total", "result", "miss");
+    }
+
+    public boolean isEnabled() {
+        return enabled && redisTemplateProvider.getIfAvailable() != null;
+    }
+
+    public boolean isGzipEnabled() {
+        return gzip;
+    }
+
+    /**
+     * @param path the request URI
+     * @return the namespace caching responses for this path, or null if it is not cached
+     */
+    public String namespaceFor(String path) {
+        for (Map.Entry<String, String> entry : NAMESPACES.entrySet()) {
+            String prefix = entry.getKey();
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Look up the validators of a cached response, without its body.
+     *
+     * @param namespace the response namespace
+     * @param request the normalized path and query
+     * @return the validators, or null if no response is cached
+     */
+    public Validators getValidators(String namespace, String request) {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (!enabled || redisTemplate == null) {
+            return null;
+        }
+        byte[] key = key(namespace, request, VALIDATORS_VARIANT);
+        try {
+            return Validators.parse(redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key)));
+        } catch (Exception e) {
+            logger.warn("Failed to read cached validators for {}", request, e);
+            return null;
+        }
+    }
+
+    /**
+     * Look up a cached body together with its validators, in one round trip.
+     *
+     * @param namespace the response namespace
+     * @param request the normalized path and query
+     * @param gzipped whether to fetch the gzipped variant
+     * @return the stored response, or null on a miss
+     */
+    public CachedResponse get(String namespace, String request, boolean gzipped) {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (!enabled || redisTemplate == null || (gzipped && !gzip)) {
+            return null;
+        }
+        byte[] validatorsKey = key(namespace, request, VALIDATORS_VARIANT);
+        byte[] bodyKey = key(namespace, request, gzipped ? GZIP_VARIANT : IDENTITY_VARIANT);
+        try {
+            List<byte[]> stored = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.stringCommands().mGet(validatorsKey, bodyKey));
+            Validators validators = stored != null ? Validators.parse(stored.get(0)) : null;
+            byte[] body = stored != null ? stored.get(1) : null;
+            if (validators == null || body == null) {
+                missCounter.increment();
+                return null;
+            }
+            hitCounter.increment();
+            return new CachedResponse(body, gzipped, validators);
+        } catch (Exception e) {
+            logger.warn("Failed to read cached response for {}", request, e);
+            return null;
+        }
+    }
+
+    /**
+     * Store a body, its validators and, if enabled, its gzipped variant in one round trip.
+     * A body equal to the one the stored validators describe keeps their Last-Modified.
+     *
+     * @return the validators of the stored response, or null if it was not stored
+     */
+    public Validators put(String namespace, String request, byte[] body) {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (!enabled || redisTemplate == null || body.length > maxBodySize) {
+            return null;
+        }
+        Validators validators = validatorsFor(namespace, request, body);
+        byte[] validatorsKey = key(namespace, request, VALIDATORS_VARIANT);
+        byte[] identityKey = key(namespace, request, IDENTITY_VARIANT);
+        byte[] gzipKey = gzip ? key(namespace, request, GZIP_VARIANT) : null;
+        byte[] gzipped = gzip ? gzip(body) : null;
+        try {
+            Expiration expiration = Expiration.from(ttl);
+            Expiration validatorsExpiration = Expiration.from(validatorsTtl(namespace, request));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(identityKey, body, expiration,
+                        RedisStringCommands.SetOption.upsert());
+                if (gzipKey != null) {
+                    connection.stringCommands().set(gzipKey, gzipped, expiration,
+                            RedisStringCommands.SetOption.upsert());
+                }
+                // Written last, so validators never point at a body that is not there yet
+                connection.stringCommands().set(validatorsKey, validators.encode(), validatorsExpiration,
+                        RedisStringCommands.SetOption.upsert());
+                return null;
+            });
+            return validators;
+        } catch (Exception e) {
+            logger.warn("Failed to cache response for {}", request, e);
+            return null;
+        }
+    }
+
+    /**
+     * Validators for a body without storing it, for a response the cache does not keep,
+     * such as one rendered for a caller with credentials: the stored validators if they
+     * describe the same body, a fresh pair otherwise. Equal bodies get equal tags, so a
+     * client revalidates the same way whichever of the two it was sent.
+     *
+     * @param namespace the response namespace
+     * @param request the normalized path and query
+     * @param body the rendered body
+     * @return the validators of the body
+     */
+    public Validators validatorsFor(String namespace, String request, byte[] body) {
+        String etag = etag(body);
+        Validators stored = getValidators(namespace, request);
+        return stored != null && stored.etag().equals(etag)
+                ? stored
+                : new Validators(etag, System.currentTimeMillis() / 1000 * 1000);
+    }
+
+    /**
+     * Drop every cached response that embeds data of the given cache.
+     * Runs after the surrounding transaction commits, like tag eviction.
+     *
+     * @param cacheName the data cache that changed
+     */
+    public void invalidateFor(String cacheName) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> generations = new LinkedHashSet<>();
+        DEPENDENT_NAMESPACES.getOrDefault(cacheName, List.of())
+                .forEach(namespace -> generations.add(generationName(namespace)));
+        advanceAfterCommit(generations);
+    }
+
+    /**
+     * Drop the cached responses that depend on the given tags of a data cache. Comment thread
+     * tags drop the comment responses of those posts only, plus the shared comment scope;
+     * any other tag drops every dependent namespace, as {@link #invalidateFor(String)} does.
+     * Post responses embed comment counts, so a write that changes a count invalidates them
+     * separately, through {@link #invalidatePatched(String, String)}.
+     *
+     * @param cacheName the data cache that changed
+     * @param tags the tags changed by the write
+     */
+    public void invalidateFor(String cacheName, Collection<String> tags) {
+        if (!enabled) {
+            return;
+        }
+        if (!CacheTags.COMMENTS_CACHE.equals(cacheName) || tags.isEmpty()) {
+            invalidateFor(cacheName);
+            return;
+        }
+        Set<String> generations = new LinkedHashSet<>();
+        for (String tag : tags) {
+            Long postId = CacheTags.threadPostId(tag);
+            if (postId == null) {
+                invalidateFor(cacheName);
+                return;
+            }
+            generations.add(generationName(COMMENTS, "post:" + postId));
+        }
+        generations.add(generationName(COMMENTS, SHARED_COMMENTS_SCOPE));
+        advanceAfterCommit(generations);
+    }
+
+    /**
+     * Drop the cached responses showing entries of a data cache that were rewritten in place
+     * rather than evicted, as {@link CacheTagService#update} does for comment counts. For a
+     * {@code post:{id}} tag of the posts cache that is the response of that post alone:
+     * listings that include it keep showing the previous count until they expire, at most
+     * blog.http-cache.ttl later. Any other tag drops every dependent namespace.
+     *
+     * @param cacheName the data cache that was rewritten
+     * @param tag the tag of the rewritten entries
+     */
+    public void invalidatePatched(String cacheName, String tag) {
+        if (!enabled) {
+            return;
+        }
+        Long postId = CacheTags.POSTS_CACHE.equals(cacheName) ? CacheTags.postId(tag) : null;
+        if (postId == null) {
+            invalidateFor(cacheName);
+            return;
+        }
+        advanceAfterCommit(Set.of(generationName(POSTS, "post:" + postId)));
+    }
+
+    private void advanceAfterCommit(Set<String> generations) {
+        if (generations.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generations.forEach(cacheGenerationService::advance);
+                }
+            });
+        } else {
+            generations.forEach(cacheGenerationService::advance);
+        }
+    }
+
+    private byte[] key(String namespace, String request, String variant) {
+        StringBuilder key = new StringBuilder(KEY_PREFIX).append(namespace)
+                .append(":g").append(cacheGenerationService.current(generationName(namespace)));
+        String scope = scopeFor(namespace, request);
+        if (scope != null) {
+            key.append(':').append(scope)
+                    .append(":g").append(cacheGenerationService.current(generationName(namespace, scope)));
+        }
+        return key.append(':').append(variant).append(':').append(request).toString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return {@code post:{postId}} for the comments of one post, the shared scope for any
+     *         other comment response; {@code post:{id}} for a single post, null for any other
+     *         post response and for namespaces that are not scoped
+     */
+    static String scopeFor(String namespace, String request) {
+        if (POSTS.equals(namespace)) {
+            String postId = leadingId(request, POST_PATH);
+            // Not /api/v1/posts/{id}/..., should a sub-resource ever be added
+            boolean singlePost = postId != null
+                    && !request.startsWith("/", POST_PATH.length() + postId.length());
+            return singlePost ? "post:" + postId : null;
+        }
+        if (!COMMENTS.equals(namespace)) {
+            return null;
+        }
+        String postId = leadingId(request, COMMENTS_OF_POST_PATH);
+        return postId != null ? "post:" + postId : SHARED_COMMENTS_SCOPE;
+    }
+
+    // The numeric path segment right after the prefix, or null if there is none
+    private static String leadingId(String request, String prefix) {
+        if (!request.startsWith(prefix)) {
+            return null;
+        }
+        int start = prefix.length();
+        int end = start;
+        while (end < request.length() && Character.isDigit(request.charAt(end))) {
+            end++;
+        }
+        boolean endOfId = end == request.length() || request.charAt(end) == '/' || request.charAt(end) == '?';
+        return end > start && endOfId ? request.substring(start, end) : null;
+    }
+
+    /**
+     * A scoped response (one post, the comments of one post, the shared comment scope)
+     * changes only through writes that advance its scope, so its validators can outlive the
+     * body: once the body expires, a conditional request is still answered with 304 from
+     * them instead of re-rendering. Unscoped listings also embed values refreshed without
+     * invalidation, such as comment and post counts, so their validators go with the body.
+     */
+    private Duration validatorsTtl(String namespace, String request) {
+        return scopeFor(namespace, request) != null && validatorsTtl.compareTo(ttl) > 0 ? validatorsTtl : ttl;
+    }
+
+    private static String generationName(String namespace) {
+        return "http-" + namespace;
+    }
+
+    private static String generationName(String namespace, String scope) {
+        return generationName(namespace) + ":" + scope;
+    }
+
+    // Strong validator: equal bodies get equal tags on every node and across generations
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Validators of a cached response.
+     *
+     * @param etag the quoted strong entity tag
+     * @param lastModified when the response was stored, in epoch milliseconds rounded to seconds
+     */
+    public record Validators(String etag, long lastModified) {
+
+        byte[] encode() {
+            return (lastModified + " " + etag).getBytes(StandardCharsets.UTF_8);
+        }
+
+        static Validators parse(byte[] stored) {
+            if (stored == null) {
+                return null;
+            }
+            String value = new String(stored, StandardCharsets.UTF_8);
+            int separator = value.indexOf(' ');
+            if (separator <= 0) {
+                return null;
+            }
+            try {
+                return new Validators(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A cached body as stored, gzipped or not, with its validators.
+     */
+    public record CachedResponse(byte[] body, boolean gzipped, Validators validators) {
+    }
+}
@@ -0,0 +1,288 @@
+package com.blog.api.service;
+
+import com.blog.api.repository.RevokedTokenRepository;
+import com.blog.api.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory membership filter of revoked JWT IDs, kept on every node.
+ * A negative answer proves a token was never revoked, so the blacklist can skip
+ * Redis and the database entirely; only possible hits fall through to the real lookup.
+ *
+ * <p>Nodes tell each other about new revocations on a Redis channel, but a lost message
+ * must not leave a revoked token valid elsewhere, so every node also reads the rows
+ * revoked since its last pass from revoked_tokens every few seconds. Negative answers
+ * are only given while that read is recent; otherwise every lookup falls through.
+ * JTIs revoked within the last rebuild interval are also kept in a small map that is
+ * checked before the filter and replayed into each rebuilt filter, which covers
+ * revocations not yet committed when a rebuild read the table.
+ */
+@Component
+public class RevokedTokenRegistry implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokenRegistry.class);
+
+    public static final String REVOCATION_CHANNEL = "blog-api:jwt:revoked";
+
+    // Rows revoked_at within this much before the previous catch-up are read again, to
+    // cover commits that landed after it ran and clock differences between nodes
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    @Value("${jwt.blacklist.bloom-filter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.blacklist.bloom-filter.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${jwt.blacklist.bloom-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${jwt.blacklist.bloom-filter.rebuild-interval-ms:600000}")
+    private long rebuildIntervalMs;
+
+    @Value("${jwt.blacklist.bloom-filter.catch-up-interval-ms:5000}")
+    private long catchUpIntervalMs;
+
+    private final Counter negativeCounter;
+    private final Counter possibleHitCounter;
+
+    // Guards writes to the filter against a rebuild swapping it out
+    private final Object filterLock = new Object();
+    // JTI -> when it was added here, for the last rebuild interval
+    private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready = false;
+    private volatile LocalDateTime caughtUpTo;
+    private volatile long syncedAtMillis;
+
+    public RevokedTokenRegistry(RevokedTokenRepository revokedTokenRepository,
+                                ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                                MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.listenerContainerProvider = listenerContainerProvider;
+        this.negativeCounter = meterRegistry.counter("jwt_blacklist_filter_lookups_total", "result", "negative");
+        this.possibleHitCounter = meterRegistry.counter("jwt_blacklist_filter_lookups_total", "result", "possible_hit");
+    }
+
+    /**
+     * Subscribe to cross-node revocations before the initial load so none are missed.
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (!enabled) {
+            return;
+        }
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        } else {
+            logger.warn("No Redis listener container available; revoked token filter will not sync across nodes");
+        }
+    }
+
+    /**
+     * Fill the filter from revoked_tokens once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the filter from the active (non-expired) revoked tokens.
+     * Bloom filters cannot forget entries, so this is also how expired JTIs are dropped;
+     * it also repairs any revocation broadcast this node missed.
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.bloom-filter.rebuild-interval-ms:600000}",
+               initialDelayString = "${jwt.blacklist.bloom-filter.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedAtMillis = System.currentTimeMillis();
+        try {
+            BloomFilter fresh = new BloomFilter(expectedInsertions, falsePositiveRate);
+            List<String> activeJtis = revokedTokenRepository.findActiveTokenJtis(startedAt);
+            activeJtis.forEach(fresh::put);
+
+            synchronized (filterLock) {
+                // Revocations added while the query ran, or not yet committed when it did
+                recentRevocations.values().removeIf(addedAt -> addedAt < startedAtMillis - rebuildIntervalMs);
+                recentRevocations.keySet().forEach(fresh::put);
+                filter = fresh;
+            }
+            markSynced(startedAt, startedAtMillis);
+            ready = true;
+
+            if (activeJtis.size() > expectedInsertions) {
+                logger.warn("Revoked token filter holds {} JTIs, above the configured {}; false positive rate will rise",
+                           activeJtis.size(), expectedInsertions);
+            }
+            logger.info("Revoked token filter loaded with {} active JTIs", activeJtis.size());
+
+        } catch (Exception e) {
+            // Keep the previous filter, or stay not-ready so every lookup falls through
+            logger.error("Failed to rebuild revoked token filter", e);
+        }
+    }
+
+    /**
+     * Add the JTIs revoked since the previous pass, whether or not their broadcast arrived.
+     * Bounds how long another node's revocation can go unseen to about one interval.
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.bloom-filter.catch-up-interval-ms:5000}",
+               initialDelayString = "${jwt.blacklist.bloom-filter.catch-up-interval-ms:5000}")
+    public void catchUp() {
+        LocalDateTime since = caughtUpTo;
+        if (!enabled || !ready || since == null) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedAtMillis = System.currentTimeMillis();
+        try {
+            revokedTokenRepository.findJtisRevokedSince(since.minus(CATCH_UP_OVERLAP)).forEach(this::add);
+            markSynced(startedAt, startedAtMillis);
+        } catch (Exception e) {
+            // Negative answers stop once the last successful pass is too old
+            logger.error("Failed to read recent revocations; revoked token filter may fall through", e);
+        }
+    }
+
+    /**
+     * Check whether a JTI might be revoked, recording the answer in
+     * {@code jwt_blacklist_filter_lookups_total}.
+     * Returns true whenever the filter cannot give a definite answer (disabled, not loaded
+     * yet, or not caught up with revoked_tokens recently).
+     *
+     * @param jti the JWT ID
+     * @return false only if the JTI is definitely not revoked
+     */
+    public boolean mightBeRevoked(String jti) {
+        BloomFilter current = answeringFilter(jti);
+        if (current == null) {
+            return true;
+        }
+
+        boolean possible = recentRevocations.containsKey(jti) || current.mightContain(jti);
+        (possible ? possibleHitCounter : negativeCounter).increment();
+        return possible;
+    }
+
+    /**
+     * Same answer as {@code !mightBeRevoked(jti)} without recording a lookup, for callers
+     * whose lookup was already counted.
+     *
+     * @param jti the JWT ID
+     * @return true only if the JTI is definitely not revoked
+     */
+    public boolean isDefinitelyNotRevoked(String jti) {
+        BloomFilter current = answeringFilter(jti);
+        return current != null && !recentRevocations.containsKey(jti) && !current.mightContain(jti);
+    }
+
+    /**
+     * Record a local revocation and broadcast it to the other nodes once the transaction commits.
+     *
+     * @param jti the revoked JWT ID
+     */
+    public void registerRevocation(String jti) {
+        if (!enabled) {
+            return;
+        }
+
+        add(jti);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(jti);
+                }
+            });
+        } else {
+            publish(jti);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String jti = new String(message.getBody(), StandardCharsets.UTF_8);
+        add(jti);
+        logger.trace("Received remote revocation for JTI: {}", jti);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    private BloomFilter answeringFilter(String jti) {
+        BloomFilter current = filter;
+        if (!enabled || !ready || current == null || jti == null
+                || System.currentTimeMillis() - syncedAtMillis > 3 * catchUpIntervalMs) {
+            return null;
+        }
+        return current;
+    }
+
+    private void add(String jti) {
+        synchronized (filterLock) {
+            recentRevocations.putIfAbsent(jti, System.currentTimeMillis());
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(jti);
+            }
+        }
+    }
+
+    private void markSynced(LocalDateTime startedAt, long startedAtMillis) {
+        caughtUpTo = startedAt;
+        syncedAtMillis = startedAtMillis;
+    }
+
+    private void publish(String jti) {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, jti);
+        } catch (Exception e) {
+            // Other nodes still find the JTI on their next catch-up from revoked_tokens
+            logger.error("Failed to publish revocation for JTI: {}", jti, e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.blog.api.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user "tokens issued before T are invalid" watermark.
+ * Revoking every session of a user is a single write, regardless of how many tokens are live.
+ * Epochs are stored in a Redis hash and mirrored in a local map on every node, so the
+ * per-request check is a map lookup compared against the token's iat.
+ */
+@Service
+public class TokenEpochService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenEpochService.class);
+
+    public static final String EPOCHS_KEY = "blog-api:jwt:user-epochs";
+    public static final String EPOCH_CHANNEL = "blog-api:jwt:user-epoch";
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    @Value("${jwt.blacklist.user-epoch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.expiration:86400000}")
+    private long tokenExpirationMs;
+
+    // username -> epoch in seconds (JWT iat has second precision)
+    private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+
+    public TokenEpochService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                             ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.listenerContainerProvider = listenerContainerProvider;
+    }
+
+    /**
+     * Subscribe to epoch changes made on other nodes.
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (!enabled) {
+            return;
+        }
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new ChannelTopic(EPOCH_CHANNEL));
+        }
+    }
+
+    /**
+     * Load all epochs from Redis once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Resynchronize the local mirror with Redis and prune epochs no live token can predate.
+     * Repairs any epoch broadcast this node missed.
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.user-epoch.resync-interval-ms:300000}",
+               initialDelayString = "${jwt.blacklist.user-epoch.resync-interval-ms:300000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+
+        try {
+            long pruneBefore = (System.currentTimeMillis() - tokenExpirationMs) / 1000;
+            Map<Object, Object> stored = redisTemplate.opsForHash().entries(EPOCHS_KEY);
+            Map<String, Long> fresh = new HashMap<>();
+
+            for (Map.Entry<Object, Object> entry : stored.entrySet()) {
+                String username = entry.getKey().toString();
+                long epoch = Long.parseLong(entry.getValue().toString());
+                if (epoch < pruneBefore) {
+                    // Every token issued before this epoch has already expired
+                    redisTemplate.opsForHash().delete(EPOCHS_KEY, username);
+                } else {
+                    fresh.put(username, epoch);
+                }
+            }
+
+            fresh.forEach(this::applyEpoch);
+            epochs.values().removeIf(epoch -> epoch < pruneBefore);
+            logger.debug("Loaded {} user token epochs", fresh.size());
+
+        } catch (Exception e) {
+            // Keep the current mirror; it is still correct for every epoch already received
+            logger.error("Failed to load user token epochs from Redis", e);
+        }
+    }
+
+    /**
+     * Invalidate every token of the user issued up to now.
+     * iat has second precision, so a token minted in the same second as the epoch stays valid;
+     * callers that hold the presenting token should still revoke its JTI.
+     *
+     * @param username the token subject
+     * @return the new epoch in epoch seconds
+     */
+    public long revokeTokensIssuedBefore(String username) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new IllegalArgumentException("Username cannot be null or empty");
+        }
+
+        long epoch = System.currentTimeMillis() / 1000;
+        applyEpoch(username, epoch);
+
+        if (!enabled) {
+            return epoch;
+        }
+
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            logger.warn("Redis unavailable; token epoch for user {} is local to this node", username);
+            return epoch;
+        }
+
+        try {
+            redisTemplate.opsForHash().put(EPOCHS_KEY, username, Long.toString(epoch));
+            redisTemplate.convertAndSend(EPOCH_CHANNEL, epoch + ":" + username);
+        } catch (Exception e) {
+            logger.error("Failed to store token epoch for user: {}", username, e);
+            throw new RuntimeException("Failed to revoke user tokens", e);
+        }
+        return epoch;
+    }
+
+    /**
+     * Check whether a token was issued before the user's current epoch.
+     *
+     * @param username the token subject
+     * @param issuedAt the token iat claim
+     * @return true if the token has been invalidated by the epoch
+     */
+    public boolean isIssuedBeforeEpoch(String username, Date issuedAt) {
+        if (username == null) {
+            return false;
+        }
+        Long epoch = epochs.get(username);
+        if (epoch == null) {
+            return false;
+        }
+        // A token without iat cannot prove it is newer than the epoch
+        return issuedAt == null || issuedAt.getTime() / 1000 < epoch;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator <= 0) {
+            logger.warn("Ignoring malformed token epoch message");
+            return;
+        }
+        try {
+            applyEpoch(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed token epoch message");
+        }
+    }
+
+    private void applyEpoch(String username, long epoch) {
+        // Epochs only move forward, whatever order updates arrive in
+        epochs.merge(username, epoch, Math::max);
+    }
+}
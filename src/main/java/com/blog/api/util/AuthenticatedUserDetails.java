@@ -0,0 +1,36 @@
+package com.blog.api.util;
+
+import com.blog.api.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * User details loaded from the database that keep the user ID, role and accepted terms
+ * version alongside the credentials, so code later in the request does not query the user again.
+ */
+public class AuthenticatedUserDetails extends org.springframework.security.core.userdetails.User {
+
+    private final Long userId;
+    private final User.Role role;
+    private final String termsAcceptedVersion;
+
+    public AuthenticatedUserDetails(User user) {
+        super(user.getUsername(), user.getPassword(), authoritiesOf(user.getRole()));
+        this.userId = user.getId();
+        this.role = user.getRole();
+        this.termsAcceptedVersion = user.getTermsAcceptedVersion();
+    }
+
+    public Long getUserId() { return userId; }
+    public User.Role getRole() { return role; }
+    public String getTermsAcceptedVersion() { return termsAcceptedVersion; }
+
+    private static List<GrantedAuthority> authoritiesOf(User.Role role) {
+        Objects.requireNonNull(role, "Role cannot be null");
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.blog.api.util;
+
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CursorPage;
+import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Names of the dependencies a cached entry can have, and how the dependencies of an entry
+ * are derived from its cache key and value. A write evicts only the entries tagged with
+ * what it changed, instead of clearing the whole cache.
+ *
+ * <ul>
+ *   <li>{@code post:{id}} - single post, and every listing page that contains it</li>
+ *   <li>{@code category:{id}} / {@code author:{id}} - listing pages of that category or author</li>
+ *   <li>{@code published} - pages of the published feed</li>
+ *   <li>{@code thread:{postId}} - every cached comment of that post</li>
+ * </ul>
+ *
+ * A comment count is the one value patched in place rather than evicted, see
+ * {@link #withCommentCount(Object, Long, int)}.
+ */
+public final class CacheTags {
+
+    public static final String POSTS_CACHE = "posts";
+    public static final String COMMENTS_CACHE = "comments";
+
+    public static final String PUBLISHED_POSTS = "published";
+
+    private CacheTags() {
+    }
+
+    public static String post(Long id) {
+        return "post:" + id;
+    }
+
+    public static String category(Long id) {
+        return "category:" + id;
+    }
+
+    public static String author(Long id) {
+        return "author:" + id;
+    }
+
+    public static String thread(Long postId) {
+        return "thread:" + postId;
+    }
+
+    /**
+     * @return the post ID of a {@code post:{id}} tag, or null for any other tag
+     */
+    public static Long postId(String tag) {
+        return idOf(tag, "post:");
+    }
+
+    /**
+     * @return the post ID of a {@code thread:{postId}} tag, or null for any other tag
+     */
+    public static Long threadPostId(String tag) {
+        return idOf(tag, "thread:");
+    }
+
+    /**
+     * Dependencies of an entry in the posts cache: the listing it belongs to (from the key)
+     * and every post it holds (from the value).
+     */
+    public static Set<String> forPosts(Object key, Object value) {
+        Set<String> tags = new HashSet<>();
+        String[] parts = String.valueOf(key).split(":");
+        switch (parts[0]) {
+            case "all", "feed" -> tags.add(PUBLISHED_POSTS);
+            case "category" -> addIfPresent(tags, "category:", parts);
+            case "user" -> addIfPresent(tags, "author:", parts);
+            default -> { }
+        }
+        for (Object item : items(value)) {
+            if (item instanceof PostSummaryDTO summary) {
+                tags.add(post(summary.id()));
+            } else if (item instanceof PostDTO post) {
+                tags.add(post(post.id()));
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Dependencies of an entry in the comments cache: the thread of the post it belongs to.
+     */
+    public static Set<String> forComments(Object key, Object value) {
+        Set<String> tags = new HashSet<>();
+        String[] parts = String.valueOf(key).split(":");
+        if ("post".equals(parts[0]) || "simple".equals(parts[0])) {
+            addIfPresent(tags, "thread:", parts);
+        }
+        for (Object item : items(value)) {
+            if (item instanceof CommentDTO comment && comment.postId() != null) {
+                tags.add(thread(comment.postId()));
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * A posts cache entry with the comment count of one post replaced, so adding or removing
+     * a comment does not evict every listing that shows the post.
+     *
+     * @return a patched copy, or the value itself if it holds no stale count of that post
+     */
+    public static Object withCommentCount(Object value, Long postId, int commentCount) {
+        if (value instanceof Page<?> page) {
+            List<Object> content = withCommentCount(page.getContent(), postId, commentCount);
+            return content != null ? new PageImpl<>(content, page.getPageable(), page.getTotalElements()) : value;
+        }
+        if (value instanceof CursorPage<?> cursorPage) {
+            List<Object> content = withCommentCount(cursorPage.content(), postId, commentCount);
+            return content != null
+                    ? new CursorPage<>(content, cursorPage.size(), cursorPage.hasNext(), cursorPage.nextCursor())
+                    : value;
+        }
+        List<Object> single = withCommentCount(items(value), postId, commentCount);
+        return single != null && single.size() == 1 ? single.get(0) : value;
+    }
+
+    private static List<Object> withCommentCount(List<?> items, Long postId, int commentCount) {
+        List<Object> patched = new ArrayList<>(items.size());
+        boolean changed = false;
+        for (Object item : items) {
+            if (item instanceof PostSummaryDTO summary && summary.id().equals(postId)
+                    && summary.commentCount() != commentCount) {
+                patched.add(summary.withCommentCount(commentCount));
+                changed = true;
+            } else if (item instanceof PostDTO post && post.id().equals(postId)
+                    && post.commentCount() != commentCount) {
+                patched.add(post.withCommentCount(commentCount));
+                changed = true;
+            } else {
+                patched.add(item);
+            }
+        }
+        return changed ? patched : null;
+    }
+
+    private static Long idOf(String tag, String prefix) {
+        if (!tag.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void addIfPresent(Set<String> tags, String prefix, String[] keyParts) {
+        if (keyParts.length > 1 && !keyParts[1].isEmpty()) {
+            tags.add(prefix + keyParts[1]);
+        }
+    }
+
+    private static List<?> items(Object value) {
+        if (value instanceof Page<?> page) {
+            return page.getContent();
+        }
+        if (value instanceof CursorPage<?> cursorPage) {
+            return cursorPage.content();
+        }
+        if (value instanceof Collection<?> collection) {
+            return new ArrayList<>(collection);
+        }
+        return value == null ? List.of() : List.of(value);
+    }
+}
@@ -0,0 +1,155 @@
+package com.blog.api.util;
+
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CommentThreadDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds comment trees from the flat list of a post's comments. Two passes over the list,
+ * no recursion: index every comment by ID, then append each reply to its parent's reply list.
+ * Replies keep the order of the input, so a chronological query gives chronological replies.
+ */
+public final class CommentThreads {
+
+    private CommentThreads() {
+    }
+
+    /**
+     * Link a flat list of comments into trees. The DTOs must have mutable reply lists, as
+     * the projection constructor gives them; they are filled in place.
+     *
+     * @param comments every comment of a post, in the order replies should appear
+     * @return every comment by ID, each with its whole subtree attached
+     */
+    public static Map<Long, CommentDTO> link(List<CommentDTO> comments) {
+        Map<Long, CommentDTO> byId = new LinkedHashMap<>(comments.size() * 2);
+        for (CommentDTO comment : comments) {
+            byId.put(comment.id(), comment);
+        }
+        for (CommentDTO comment : comments) {
+            if (comment.parentId() == null) {
+                continue;
+            }
+            CommentDTO parent = byId.get(comment.parentId());
+            if (parent != null) {
+                parent.replies().add(comment);
+            }
+        }
+        return byId;
+    }
+
+    /**
+     * @param thread      comments linked by {@link #link(List)}, oldest first
+     * @param newestFirst whether to order top-level comments newest first
+     * @return the top-level comments with their replies
+     */
+    public static List<CommentDTO> topLevel(Map<Long, CommentDTO> thread, boolean newestFirst) {
+        List<CommentDTO> roots = new ArrayList<>();
+        for (CommentDTO comment : thread.values()) {
+            if (comment.parentId() == null) {
+                roots.add(comment);
+            }
+        }
+        if (newestFirst) {
+            Collections.reverse(roots);
+        }
+        return roots;
+    }
+
+    /**
+     * Add comments that are not in the thread yet, such as an author's pending comments, to
+     * top-level comments that may be cached. The thread is copied rather than changed; replies
+     * whose parent is not in it, and comments already in it, are left out.
+     *
+     * @param roots          top-level comments with their replies, as returned to readers
+     * @param extra          comments to add, oldest first
+     * @param addTopLevel    whether top-level comments among {@code extra} belong in this list
+     * @param newestFirst    whether top-level comments are ordered newest first
+     * @return a copy of the roots with the extra comments linked in, or the roots themselves
+     *         when there is nothing to add
+     */
+    public static List<CommentDTO> merge(List<CommentDTO> roots, List<CommentDTO> extra,
+                                         boolean addTopLevel, boolean newestFirst) {
+        if (extra.isEmpty()) {
+            return roots;
+        }
+        Map<Long, CommentDTO> byId = new HashMap<>();
+        List<CommentDTO> merged = new ArrayList<>(roots.size() + extra.size());
+        for (CommentDTO root : roots) {
+            merged.add(copy(root, byId));
+        }
+
+        List<CommentDTO> added = new ArrayList<>();
+        for (CommentDTO comment : extra) {
+            if (byId.containsKey(comment.id())) {
+                continue;
+            }
+            CommentDTO parent = comment.parentId() != null ? byId.get(comment.parentId()) : null;
+            if (comment.parentId() == null ? !addTopLevel : parent == null) {
+                continue;
+            }
+            CommentDTO linked = withReplies(comment, new ArrayList<>());
+            byId.put(linked.id(), linked);
+            if (parent != null) {
+                parent.replies().add(linked);
+            } else {
+                added.add(linked);
+            }
+        }
+
+        if (newestFirst) {
+            Collections.reverse(added);
+            added.addAll(merged);
+            return added;
+        }
+        merged.addAll(added);
+        return merged;
+    }
+
+    // Recursive, but bounded by Comment.MAX_DEPTH
+    private static CommentDTO copy(CommentDTO comment, Map<Long, CommentDTO> byId) {
+        List<CommentDTO> replies = new ArrayList<>(comment.replies() != null ? comment.replies().size() : 0);
+        CommentDTO copied = withReplies(comment, replies);
+        byId.put(copied.id(), copied);
+        if (comment.replies() != null) {
+            for (CommentDTO reply : comment.replies()) {
+                replies.add(copy(reply, byId));
+            }
+        }
+        return copied;
+    }
+
+    private static CommentDTO withReplies(CommentDTO comment, List<CommentDTO> replies) {
+        return new CommentDTO(comment.id(), comment.content(), comment.createdAt(), comment.authorUsername(),
+                comment.postId(), comment.parentId(), replies);
+    }
+
+    /**
+     * Nest a depth-first slice of a thread. Comments whose parent is not in the slice (the
+     * top-level comments, or the first comments of a continued subtree) become the roots;
+     * clients attach those to what they already have by {@code parentId}.
+     *
+     * @param slice comments in path order, with mutable reply lists
+     * @return the roots of the slice, in path order
+     */
+    public static List<CommentThreadDTO> nest(List<CommentThreadDTO> slice) {
+        Map<Long, CommentThreadDTO> byId = new HashMap<>(slice.size() * 2);
+        List<CommentThreadDTO> roots = new ArrayList<>();
+        for (CommentThreadDTO comment : slice) {
+            CommentThreadDTO parent = comment.parentId() != null ? byId.get(comment.parentId()) : null;
+            if (parent != null) {
+                parent.replies().add(comment);
+            } else {
+                roots.add(comment);
+            }
+            byId.put(comment.id(), comment);
+        }
+        return roots;
+    }
+}
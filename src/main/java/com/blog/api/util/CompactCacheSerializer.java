@@ -0,0 +1,249 @@
+package com.blog.api.util;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis value serializer writing Smile (binary JSON) instead of JDK serialization or text JSON.
+ * Property names repeated across the items of a page are written once and back-referenced,
+ * and payloads above a threshold are LZ4-compressed when that makes them smaller.
+ *
+ * Every payload starts with a format byte. Entries written by the JDK serializer (which start
+ * with the 0xAC stream magic) are still readable, so switching a cache over needs no flush.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_SMILE = 0x00;
+    static final byte FORMAT_SMILE_LZ4 = 0x01;
+    private static final byte JDK_STREAM_MAGIC = (byte) 0xAC;
+
+    // Format byte plus the uncompressed length
+    private static final int LZ4_HEADER_LENGTH = 1 + Integer.BYTES;
+
+    private final ObjectMapper mapper;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+    private final JdkSerializationRedisSerializer legacySerializer = new JdkSerializationRedisSerializer();
+
+    /**
+     * @param compressionEnabled   whether to try LZ4 on large payloads
+     * @param compressionThreshold smallest Smile payload, in bytes, worth compressing
+     */
+    public CompactCacheSerializer(boolean compressionEnabled, int compressionThreshold) {
+        this.mapper = createMapper();
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] smile;
+        try {
+            smile = mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+
+        if (compressionEnabled && smile.length >= compressionThreshold) {
+            byte[] compressed = compress(smile);
+            if (compressed.length < smile.length + 1) {
+                return compressed;
+            }
+        }
+
+        byte[] payload = new byte[smile.length + 1];
+        payload[0] = FORMAT_SMILE;
+        System.arraycopy(smile, 0, payload, 1, smile.length);
+        return payload;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            return switch (bytes[0]) {
+                case FORMAT_SMILE -> mapper.readValue(bytes, 1, bytes.length - 1, Object.class);
+                case FORMAT_SMILE_LZ4 -> mapper.readValue(decompress(bytes), Object.class);
+                case JDK_STREAM_MAGIC -> legacySerializer.deserialize(bytes);
+                default -> throw new SerializationException("Unknown cache payload format " + bytes[0]);
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] compress(byte[] smile) {
+        int maxLength = compressor.maxCompressedLength(smile.length);
+        byte[] buffer = new byte[LZ4_HEADER_LENGTH + maxLength];
+        buffer[0] = FORMAT_SMILE_LZ4;
+        ByteBuffer.wrap(buffer, 1, Integer.BYTES).putInt(smile.length);
+        int compressedLength = compressor.compress(smile, 0, smile.length, buffer, LZ4_HEADER_LENGTH, maxLength);
+
+        byte[] payload = new byte[LZ4_HEADER_LENGTH + compressedLength];
+        System.arraycopy(buffer, 0, payload, 0, payload.length);
+        return payload;
+    }
+
+    private byte[] decompress(byte[] payload) {
+        int originalLength = ByteBuffer.wrap(payload, 1, Integer.BYTES).getInt();
+        byte[] smile = new byte[originalLength];
+        decompressor.decompress(payload, LZ4_HEADER_LENGTH, smile, 0, originalLength);
+        return smile;
+    }
+
+    private static ObjectMapper createMapper() {
+        SmileFactory smileFactory = new SmileFactory();
+        // Page items repeat the same author and category names
+        smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+
+        SimpleModule pageModule = new SimpleModule("CachedPage");
+        pageModule.addSerializer(new PageSerializer());
+        pageModule.addDeserializer(PageImpl.class, new PageDeserializer());
+
+        ObjectMapper mapper = new ObjectMapper(smileFactory);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(pageModule);
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // Cached values are read back as Object, so every value carries its type
+        mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.blog.api.")
+                        .allowIfSubType("java.lang.")
+                        .allowIfSubType("java.util.")
+                        .allowIfSubType("java.time.")
+                        .allowIfSubType("org.springframework.data.domain.")
+                        .build(),
+                ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+
+    /**
+     * PageImpl has no creator Jackson can use, so pages are written as their content,
+     * page request and total, and rebuilt from those.
+     */
+    static class PageSerializer extends StdSerializer<PageImpl<?>> {
+
+        PageSerializer() {
+            super(PageImpl.class, false);
+        }
+
+        @Override
+        public void serialize(PageImpl<?> page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(page);
+            writeFields(page, gen, provider);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void serializeWithType(PageImpl<?> page, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+            WritableTypeId typeId = typeSerializer.writeTypePrefix(gen,
+                    typeSerializer.typeId(page, JsonToken.START_OBJECT));
+            writeFields(page, gen, provider);
+            typeSerializer.writeTypeSuffix(gen, typeId);
+        }
+
+        private void writeFields(PageImpl<?> page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeFieldName("content");
+            provider.findTypedValueSerializer(ArrayList.class, true, null)
+                    .serialize(new ArrayList<>(page.getContent()), gen, provider);
+            gen.writeBooleanField("paged", page.getPageable().isPaged());
+            gen.writeNumberField("number", page.getNumber());
+            gen.writeNumberField("size", page.getSize());
+            gen.writeNumberField("total", page.getTotalElements());
+            gen.writeArrayFieldStart("sort");
+            for (Sort.Order order : page.getSort()) {
+                gen.writeString(order.getDirection().name() + ":" + order.getProperty());
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    static class PageDeserializer extends StdDeserializer<PageImpl<?>> {
+
+        PageDeserializer() {
+            super(PageImpl.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public PageImpl<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            List<Object> content = List.of();
+            boolean paged = true;
+            int number = 0;
+            int size = 0;
+            long total = 0;
+            List<Sort.Order> orders = new ArrayList<>();
+
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            }
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "content" -> content = (List<Object>) ctxt.readValue(p, Object.class);
+                    case "paged" -> paged = p.getBooleanValue();
+                    case "number" -> number = p.getIntValue();
+                    case "size" -> size = p.getIntValue();
+                    case "total" -> total = p.getLongValue();
+                    case "sort" -> {
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            String[] order = p.getText().split(":", 2);
+                            orders.add(new Sort.Order(Sort.Direction.valueOf(order[0]), order[1]));
+                        }
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+
+            if (!paged) {
+                return new PageImpl<>(content);
+            }
+            return new PageImpl<>(content, PageRequest.of(number, size, Sort.by(orders)), total);
+        }
+    }
+}
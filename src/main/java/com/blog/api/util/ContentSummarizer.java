@@ -0,0 +1,67 @@
+package com.blog.api.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Derives the listing fields of a post from its body: a plain-text excerpt and an estimated
+ * reading time. Both are computed once when a post is written and stored next to the content,
+ * so list queries never have to read the TEXT column.
+ */
+public final class ContentSummarizer {
+
+    public static final int EXCERPT_LENGTH = 280;
+    public static final int WORDS_PER_MINUTE = 200;
+
+    private static final String ELLIPSIS = "...";
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ContentSummarizer() {
+    }
+
+    /**
+     * Plain-text excerpt of the content, cut at a word boundary.
+     *
+     * @param content the post body
+     * @return at most {@link #EXCERPT_LENGTH} characters plus an ellipsis, or null for null content
+     */
+    public static String excerpt(String content) {
+        if (content == null) {
+            return null;
+        }
+        String text = plainText(content);
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        if (cut <= 0) {
+            // A single very long word; cut it without splitting a surrogate pair
+            cut = Character.isHighSurrogate(text.charAt(EXCERPT_LENGTH - 1)) ? EXCERPT_LENGTH - 1 : EXCERPT_LENGTH;
+        }
+        return text.substring(0, cut).stripTrailing() + ELLIPSIS;
+    }
+
+    /**
+     * Estimated reading time at {@link #WORDS_PER_MINUTE}, rounded up.
+     *
+     * @param content the post body
+     * @return minutes to read, at least 1 for any non-blank content
+     */
+    public static int readingTimeMinutes(String content) {
+        if (content == null || content.isBlank()) {
+            return 0;
+        }
+        String text = plainText(content);
+        if (text.isEmpty()) {
+            return 0;
+        }
+        int words = WHITESPACE.split(text).length;
+        return (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE;
+    }
+
+    private static String plainText(String content) {
+        String withoutTags = HTML_TAG.matcher(content).replaceAll(" ");
+        return WHITESPACE.matcher(withoutTags).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,83 @@
+package com.blog.api.util;
+
+import com.blog.api.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * Principal rebuilt from the claims of a verified access token, without a database lookup.
+ * The values are a snapshot taken when the token was issued; changes made afterwards
+ * (role, terms acceptance) reach the principal on the next refresh, and a token that must
+ * stop working immediately is revoked through the blacklist.
+ */
+public final class JwtPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String username;
+    private final User.Role role;
+    private final String termsAcceptedVersion;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public JwtPrincipal(Long userId, String username, User.Role role, String termsAcceptedVersion) {
+        this.userId = Objects.requireNonNull(userId, "User ID cannot be null");
+        this.username = Objects.requireNonNull(username, "Username cannot be null");
+        this.role = Objects.requireNonNull(role, "Role cannot be null");
+        this.termsAcceptedVersion = termsAcceptedVersion;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public Long getUserId() { return userId; }
+    public User.Role getRole() { return role; }
+    public String getTermsAcceptedVersion() { return termsAcceptedVersion; }
+
+    public boolean hasAcceptedTermsVersion(String version) {
+        return Objects.equals(termsAcceptedVersion, version);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public String getPassword() { return null; }
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JwtPrincipal that)) return false;
+        return Objects.equals(userId, that.userId) && Objects.equals(username, that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, username);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{" +
+                "userId=" + userId +
+                ", username='" + username + '\'' +
+                ", role=" + role +
+                '}';
+    }
+}
@@ -1,8 +1,10 @@
 package com.blog.api.util;
 
+import com.blog.api.entity.User;
 import com.blog.api.service.JwtBlacklistService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,19 +25,57 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    // Claims carried by tokens issued in stateless principal mode
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TERMS_VERSION = "terms_version";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipalEnabled;
+
     // Lazy injection to avoid circular dependency
     @Autowired
     @Lazy
     private JwtBlacklistService jwtBlacklistService;
 
+    // Optional; absent when JwtUtil is built by hand (e.g. unit tests)
+    @Autowired(required = false)
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // Signing key and parser are immutable and thread-safe, so they are built once and reused
+    private volatile Key signingKey;
+    private volatile JwtParser jwtParser;
+
+    /**
+     * Build the signing key and parser at startup so requests never rebuild them.
+     */
+    @PostConstruct
+    public void init() {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.signingKey = key;
+    }
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        if (signingKey == null) {
+            init();
+        }
+        return signingKey;
+    }
+
+    private JwtParser getJwtParser() {
+        if (jwtParser == null) {
+            init();
+        }
+        return jwtParser;
     }
 
     /**
@@ -49,6 +89,27 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Generate JWT token for a user entity.
+     * In stateless principal mode the token also carries the user ID, role and accepted
+     * terms version, so requests presenting it can be authenticated without loading the user.
+     * 
+     * @param userDetails the user details
+     * @param user the user the token is issued to
+     * @return the generated JWT token
+     */
+    public String generateToken(UserDetails userDetails, User user) {
+        Map<String, Object> claims = new HashMap<>();
+        if (statelessPrincipalEnabled && user != null && user.getId() != null && user.getRole() != null) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            if (user.getTermsAcceptedVersion() != null) {
+                claims.put(CLAIM_TERMS_VERSION, user.getTermsAcceptedVersion());
+            }
+        }
+        return createToken(claims, userDetails.getUsername());
+    }
+
     /**
      * Generate JWT token with custom claims and unique JTI.
      * 
@@ -90,23 +151,18 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = getUsernameFromToken(token);
-            final String jti = getJtiFromToken(token);
+            final ParsedToken parsedToken = parseToken(token);
+            final String jti = parsedToken.jti();
             
             // First check if token is revoked (fast cache lookup)
-            if (jwtBlacklistService != null && jwtBlacklistService.isTokenRevoked(jti)) {
+            if (jwtBlacklistService != null
+                    && (jwtBlacklistService.isRevokedByUserEpoch(parsedToken) || jwtBlacklistService.isTokenRevoked(jti))) {
                 logger.debug("Token validation failed: token is revoked (JTI: {})", jti);
                 return false;
             }
             
             // Then check standard validations
-            boolean isValid = username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-            
-            if (!isValid) {
-                logger.debug("Token validation failed: username mismatch or token expired");
-            }
-            
-            return isValid;
+            return isTokenValidFor(parsedToken, userDetails);
             
         } catch (Exception e) {
             logger.error("Error validating token", e);
@@ -114,6 +170,77 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Validate an already parsed token against the user details.
+     * Does not consult the blacklist; callers holding a parsed token check revocation themselves.
+     * 
+     * @param parsedToken the verified token
+     * @param userDetails the user details
+     * @return true if the token belongs to the user and is not expired
+     */
+    public boolean isTokenValidFor(ParsedToken parsedToken, UserDetails userDetails) {
+        boolean isValid = parsedToken.subject() != null
+                && parsedToken.subject().equals(userDetails.getUsername())
+                && !parsedToken.isExpired();
+        
+        if (!isValid) {
+            logger.debug("Token validation failed: username mismatch or token expired");
+        }
+        
+        return isValid;
+    }
+
+    /**
+     * Rebuild the principal from the token claims when stateless principal mode is on.
+     * 
+     * @param parsedToken the verified token
+     * @return the principal, or null if the mode is off or the token lacks the claims
+     */
+    public JwtPrincipal getStatelessPrincipal(ParsedToken parsedToken) {
+        if (!statelessPrincipalEnabled || parsedToken == null || parsedToken.subject() == null) {
+            return null;
+        }
+
+        // Small numbers come back from JJWT as Integer, larger ones as Long
+        Number userId = parsedToken.getClaim(CLAIM_USER_ID, Number.class);
+        String role = parsedToken.getClaim(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+
+        try {
+            return new JwtPrincipal(userId.longValue(), parsedToken.subject(), User.Role.valueOf(role),
+                                    parsedToken.getClaim(CLAIM_TERMS_VERSION, String.class));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring unknown role claim in token (JTI: {})", parsedToken.jti());
+            return null;
+        }
+    }
+
+    /**
+     * Verify the token signature once and expose all its claims.
+     * This is the single HMAC verification a request should pay for; with the verified
+     * token cache enabled, repeat requests with the same token skip it entirely.
+     * 
+     * @param token the JWT token
+     * @return the verified, immutable token view
+     */
+    public ParsedToken parseToken(String token) {
+        if (verifiedTokenCache != null) {
+            ParsedToken cached = verifiedTokenCache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        ParsedToken parsedToken = ParsedToken.fromClaims(token, getAllClaimsFromToken(token));
+
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.put(parsedToken);
+        }
+        return parsedToken;
+    }
+
     /**
      * Extract username from JWT token.
      * 
@@ -173,24 +300,11 @@ public class JwtUtil {
      * @return all claims
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return getJwtParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    /**
-     * Check if JWT token is expired.
-     * 
-     * @param token the JWT token
-     * @return true if token is expired
-     */
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
     /**
      * Check if token can be refreshed (not expired by more than refresh grace period).
      * 
@@ -0,0 +1,83 @@
+package com.blog.api.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified.
+ * Produced once per request by {@link JwtUtil#parseToken(String)} and shared by
+ * the authentication filter, the blacklist check and any later consumer.
+ */
+public record ParsedToken(
+    String token,
+    String subject,
+    String jti,
+    Date issuedAt,
+    Date expiration,
+    Map<String, Object> claims
+) {
+
+    /**
+     * Request attribute under which the authentication filter publishes the parsed token.
+     */
+    public static final String REQUEST_ATTRIBUTE = ParsedToken.class.getName();
+
+    public ParsedToken {
+        issuedAt = issuedAt != null ? new Date(issuedAt.getTime()) : null;
+        expiration = expiration != null ? new Date(expiration.getTime()) : null;
+        claims = claims != null ? Collections.unmodifiableMap(new HashMap<>(claims)) : Collections.emptyMap();
+    }
+
+    /**
+     * Build a parsed token from verified JJWT claims.
+     *
+     * @param token the raw compact token
+     * @param claims the verified claims
+     * @return the parsed token
+     */
+    public static ParsedToken fromClaims(String token, Claims claims) {
+        return new ParsedToken(
+            token,
+            claims.getSubject(),
+            claims.getId(),
+            claims.getIssuedAt(),
+            claims.getExpiration(),
+            claims
+        );
+    }
+
+    @Override
+    public Date issuedAt() {
+        return issuedAt != null ? new Date(issuedAt.getTime()) : null;
+    }
+
+    @Override
+    public Date expiration() {
+        return expiration != null ? new Date(expiration.getTime()) : null;
+    }
+
+    /**
+     * Read a custom claim with the requested type.
+     *
+     * @param name the claim name
+     * @param type the expected type
+     * @return the claim value, or null if absent or of another type
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    /**
+     * Check whether the token is past its expiration date.
+     *
+     * @return true if the token is expired
+     */
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,86 @@
+package com.blog.api.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-K sketch (Metwally et al.). Tracks at most {@code capacity} keys; when a
+ * new key arrives and the sketch is full it takes over the slot of the least counted key and
+ * inherits that count as its error bound. Any key seen more than N / capacity times is
+ * guaranteed to be tracked, and its count is over-estimated by at most its error.
+ *
+ * Replacing a key scans the slots, which is fine at the capacities and sampled rates used for
+ * cache keys; all methods are synchronized.
+ */
+public class SpaceSavingSketch {
+
+    /**
+     * @param key   the tracked key
+     * @param count estimated number of occurrences, never below the true count
+     * @param error how much of {@code count} may have been inherited from evicted keys
+     */
+    public record Estimate(String key, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<String, Slot> slots;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.slots = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(String key) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            slot.count++;
+            return;
+        }
+        if (slots.size() < capacity) {
+            slots.put(key, new Slot(1, 0));
+            return;
+        }
+
+        Map.Entry<String, Slot> min = null;
+        for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+            if (min == null || entry.getValue().count < min.getValue().count) {
+                min = entry;
+            }
+        }
+        long floor = min.getValue().count;
+        slots.remove(min.getKey());
+        slots.put(key, new Slot(floor + 1, floor));
+    }
+
+    /**
+     * @param limit how many keys to return
+     * @return the most frequent keys, highest count first
+     */
+    public synchronized List<Estimate> top(int limit) {
+        List<Estimate> estimates = new ArrayList<>(slots.size());
+        slots.forEach((key, slot) -> estimates.add(new Estimate(key, slot.count, slot.error)));
+        estimates.sort(Comparator.comparingLong(Estimate::count).reversed());
+        return estimates.size() > limit ? List.copyOf(estimates.subList(0, limit)) : estimates;
+    }
+
+    public synchronized void clear() {
+        slots.clear();
+    }
+
+    private static final class Slot {
+
+        long count;
+        final long error;
+
+        Slot(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
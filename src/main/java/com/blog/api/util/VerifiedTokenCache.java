@@ -0,0 +1,107 @@
+package com.blog.api.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already-verified tokens, keyed by a SHA-256 digest of the compact token.
+ * A repeat request with the same access token skips HMAC verification and claim decoding.
+ * Entries expire at the token's own exp. Revoked tokens are not dropped here: the filter
+ * checks the blacklist and the user's epoch on every request, cached or not, on every node,
+ * so a revoked entry just waits for its exp or a size eviction.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final Cache<String, ParsedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.verified-cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        if (enabled && meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt_verified_tokens");
+        }
+    }
+
+    /**
+     * Look up a previously verified token.
+     *
+     * @param token the compact JWT
+     * @return the verified token, or null if absent, expired or the cache is disabled
+     */
+    public ParsedToken get(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        String key = digest(token);
+        ParsedToken cached = cache.getIfPresent(key);
+        if (cached != null && cached.isExpired()) {
+            // Let the parser raise the usual ExpiredJwtException
+            cache.invalidate(key);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Remember a token whose signature was just verified.
+     *
+     * @param parsedToken the verified token
+     */
+    public void put(ParsedToken parsedToken) {
+        if (!enabled || parsedToken.token() == null || parsedToken.expiration() == null) {
+            return;
+        }
+        cache.put(digest(parsedToken.token()), parsedToken);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class ExpireAtTokenExpiration implements Expiry<String, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, ParsedToken value, long currentTime) {
+            long remainingMs = value.expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
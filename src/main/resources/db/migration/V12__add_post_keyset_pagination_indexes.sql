@@ -0,0 +1,40 @@
+-- =====================================================================
+-- V12__add_post_keyset_pagination_indexes.sql
+-- 
+-- Composite indexes backing keyset (cursor) pagination of post listings.
+-- Each listing is ordered by (created_at DESC, id DESC); with the filter
+-- column leading the index, a slice is a single index range scan that
+-- starts at the cursor, so page 500 costs the same as page 1 and no
+-- COUNT(*) is needed.
+-- =====================================================================
+
+-- Published feed
+-- Used by: findPublishedFirstSlice(), findPublishedSliceAfter()
+CREATE INDEX IF NOT EXISTS idx_posts_published_created_id
+    ON posts (published, created_at DESC, id DESC);
+
+-- Posts by category
+-- Used by: findByCategoryFirstSlice(), findByCategorySliceAfter()
+CREATE INDEX IF NOT EXISTS idx_posts_category_created_id
+    ON posts (category_id, created_at DESC, id DESC);
+
+-- Posts by author
+-- Used by: findByUserFirstSlice(), findByUserSliceAfter()
+CREATE INDEX IF NOT EXISTS idx_posts_user_created_id
+    ON posts (user_id, created_at DESC, id DESC);
+
+-- Refresh planner statistics so the new indexes are considered immediately
+ANALYZE posts;
+
+-- =====================================================================
+-- Index Comments and Documentation
+-- =====================================================================
+
+COMMENT ON INDEX idx_posts_published_created_id IS 
+'Keyset pagination of the published feed: WHERE published ORDER BY created_at DESC, id DESC';
+
+COMMENT ON INDEX idx_posts_category_created_id IS 
+'Keyset pagination of posts by category';
+
+COMMENT ON INDEX idx_posts_user_created_id IS 
+'Keyset pagination of posts by author';
@@ -0,0 +1,50 @@
+-- =====================================================================
+-- V13__add_post_summary_columns.sql
+--
+-- Listing fields stored next to the post body. List endpoints return
+-- an excerpt and an estimated reading time instead of the full TEXT
+-- content, so their queries (and the cached pages in Redis) never carry
+-- the body. The application fills both columns on every create/update;
+-- this migration backfills existing rows.
+-- =====================================================================
+
+-- Hibernate's ddl-auto update runs first and may already have added both
+-- columns (earlier mappings left reading_time_minutes nullable and without a
+-- default), so the default and NOT NULL are set after the backfill either way.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS excerpt VARCHAR(300);
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS reading_time_minutes INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill with the same rules as ContentSummarizer: tags stripped,
+-- whitespace collapsed, cut at a word boundary within 280 characters,
+-- 200 words per minute rounded up
+WITH plain AS (
+    SELECT id,
+           btrim(regexp_replace(regexp_replace(content, '<[^>]*>', ' ', 'g'), '\s+', ' ', 'g')) AS text
+    FROM posts
+)
+UPDATE posts p
+SET excerpt = CASE
+        WHEN length(plain.text) <= 280 THEN plain.text
+        WHEN position(' ' IN left(plain.text, 281)) = 0 THEN left(plain.text, 280) || '...'
+        ELSE rtrim(substring(left(plain.text, 281) FROM '^(.*) ')) || '...'
+    END,
+    reading_time_minutes = CASE
+        WHEN plain.text = '' THEN 0
+        ELSE CEIL(array_length(regexp_split_to_array(plain.text, ' '), 1) / 200.0)
+    END
+FROM plain
+WHERE p.id = plain.id;
+
+ALTER TABLE posts
+    ALTER COLUMN reading_time_minutes SET DEFAULT 0,
+    ALTER COLUMN reading_time_minutes SET NOT NULL;
+
+-- =====================================================================
+-- Column Comments and Documentation
+-- =====================================================================
+
+COMMENT ON COLUMN posts.excerpt IS
+'Plain-text excerpt of content shown in post listings; derived on write';
+
+COMMENT ON COLUMN posts.reading_time_minutes IS
+'Estimated reading time of content at 200 words per minute; derived on write';
@@ -0,0 +1,70 @@
+-- =====================================================================
+-- V14__add_post_full_text_search.sql
+--
+-- Full-text search for posts, replacing the LIKE '%keyword%' scan over
+-- title and content. A weighted tsvector column (title = A, content = B)
+-- is kept current by a trigger and indexed with GIN, so matching a query
+-- is an index lookup whatever the size of the corpus.
+--
+-- Content is pt-BR, so the text search configuration is Portuguese with
+-- accents removed before stemming: "informação" and "informacao" match.
+-- =====================================================================
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- Portuguese stemming on unaccented words
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'pt_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION pt_unaccent (COPY = portuguese);
+        ALTER TEXT SEARCH CONFIGURATION pt_unaccent
+            ALTER MAPPING FOR hword, hword_part, word
+            WITH unaccent, portuguese_stem;
+    END IF;
+END
+$$;
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- Recompute the vector whenever title or content is written
+CREATE OR REPLACE FUNCTION posts_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('pt_unaccent', coalesce(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('pt_unaccent', coalesce(NEW.content, '')), 'B');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_posts_search_vector ON posts;
+
+CREATE TRIGGER trg_posts_search_vector
+    BEFORE INSERT OR UPDATE OF title, content ON posts
+    FOR EACH ROW
+    EXECUTE FUNCTION posts_search_vector_update();
+
+-- Backfill existing posts
+UPDATE posts
+SET search_vector =
+    setweight(to_tsvector('pt_unaccent', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('pt_unaccent', coalesce(content, '')), 'B');
+
+-- Used by: searchPublished()
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector
+    ON posts USING GIN (search_vector);
+
+-- Refresh planner statistics so the new index is considered immediately
+ANALYZE posts;
+
+-- =====================================================================
+-- Column, Index and Function Comments and Documentation
+-- =====================================================================
+
+COMMENT ON COLUMN posts.search_vector IS
+'Weighted full-text vector of title (A) and content (B) in the pt_unaccent configuration; maintained by trg_posts_search_vector';
+
+COMMENT ON INDEX idx_posts_search_vector IS
+'Full-text search of posts: WHERE search_vector @@ websearch_to_tsquery(''pt_unaccent'', ...)';
+
+COMMENT ON FUNCTION posts_search_vector_update() IS
+'Trigger function that recomputes posts.search_vector from title and content';
@@ -0,0 +1,105 @@
+-- =====================================================================
+-- V15__add_comment_materialized_path.sql
+--
+-- Materialized path for comment threads. Every comment stores the IDs of
+-- its ancestors and itself as fixed-width hex segments (12 characters per
+-- level), plus its depth. Ordering by path is a depth-first walk of the
+-- thread in creation order, and a subtree is one contiguous path range:
+--
+--     path > parent.path AND path < parent.path || 'g'
+--
+-- ('g' sorts after every hex digit), so any slice of any subtree is a
+-- single index range scan bounded by LIMIT, however large the thread.
+--
+-- The path needs the row's own ID, so a trigger fills it in on insert.
+-- Paths never change: comments are not moved between parents.
+-- =====================================================================
+
+-- Hibernate's ddl-auto update runs first and may already have added both
+-- columns, with the default collation and without a default, so they are
+-- brought to their final definition whether they were just created or not.
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS path VARCHAR(780);
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS depth INTEGER;
+
+-- "C" collation: byte order, so the index serves both the range and ORDER BY path
+ALTER TABLE comments ALTER COLUMN path TYPE VARCHAR(780) COLLATE "C";
+ALTER TABLE comments ALTER COLUMN depth SET DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION comments_path_insert() RETURNS trigger AS $$
+DECLARE
+    parent_path  VARCHAR;
+    parent_depth INTEGER;
+BEGIN
+    IF NEW.parent_id IS NULL THEN
+        NEW.path := lpad(to_hex(NEW.id), 12, '0');
+        NEW.depth := 0;
+    ELSE
+        SELECT path, depth INTO parent_path, parent_depth FROM comments WHERE id = NEW.parent_id;
+        NEW.path := parent_path || lpad(to_hex(NEW.id), 12, '0');
+        NEW.depth := parent_depth + 1;
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_comments_path ON comments;
+
+CREATE TRIGGER trg_comments_path
+    BEFORE INSERT ON comments
+    FOR EACH ROW
+    EXECUTE FUNCTION comments_path_insert();
+
+-- Backfill existing comments, top-level first
+WITH RECURSIVE tree (id, path, depth) AS (
+    SELECT id, CAST(lpad(to_hex(id), 12, '0') AS VARCHAR), 0
+    FROM comments
+    WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, CAST(t.path || lpad(to_hex(c.id), 12, '0') AS VARCHAR), t.depth + 1
+    FROM comments c
+    JOIN tree t ON c.parent_id = t.id
+)
+UPDATE comments c
+SET path = tree.path, depth = tree.depth
+FROM tree
+WHERE c.id = tree.id;
+
+ALTER TABLE comments
+    ALTER COLUMN path SET NOT NULL,
+    ALTER COLUMN depth SET NOT NULL;
+
+-- Subtree slices: WHERE path > :after AND path < :prefix || 'g' AND depth <= :maxDepth ORDER BY path
+-- Used by: findSubtreeSlices(), findSubtreeAfter()
+CREATE UNIQUE INDEX IF NOT EXISTS idx_comments_path
+    ON comments (path) INCLUDE (depth);
+
+-- Top-level comments of a post, keyset-paginated by path
+-- Used by: findTopLevelThreadSlice()
+CREATE INDEX IF NOT EXISTS idx_comments_post_depth_path
+    ON comments (post_id, depth, path);
+
+-- "Has replies" probes on the nodes at the depth limit
+CREATE INDEX IF NOT EXISTS idx_comments_parent_id
+    ON comments (parent_id);
+
+-- Refresh planner statistics so the new indexes are considered immediately
+ANALYZE comments;
+
+-- =====================================================================
+-- Column, Index and Function Comments and Documentation
+-- =====================================================================
+
+COMMENT ON COLUMN comments.path IS
+'IDs of the ancestors and the comment itself, 12 hex characters each; maintained by trg_comments_path';
+
+COMMENT ON COLUMN comments.depth IS
+'Nesting level: 0 for top-level comments';
+
+COMMENT ON INDEX idx_comments_path IS
+'Depth-first slices of a comment subtree by path range';
+
+COMMENT ON INDEX idx_comments_post_depth_path IS
+'Keyset pagination of the top-level comments of a post';
+
+COMMENT ON FUNCTION comments_path_insert() IS
+'Trigger function that derives comments.path and comments.depth from the parent on insert';
@@ -0,0 +1,140 @@
+-- =====================================================================
+-- V16__add_denormalized_counters.sql
+--
+-- Denormalized counters, so showing how many comments a post has or how
+-- many posts a category or author holds reads one column instead of
+-- counting rows:
+--
+--     posts.comment_count, categories.post_count, users.post_count
+--
+-- Triggers keep them current with an atomic "n = n +/- 1" in the same
+-- transaction as the insert, delete or move that changes them. That
+-- includes cascaded deletes and category changes, which never pass through
+-- the services. CounterReconciliationScheduler repairs any drift
+-- (manual SQL, restored backups) by recounting in small ID ranges.
+-- =====================================================================
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS post_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS post_count INTEGER NOT NULL DEFAULT 0;
+
+-- Hibernate's ddl-auto update runs first and may already have added the
+-- columns, possibly nullable and without a default, so they are brought to
+-- their final definition whether they were just created or not
+ALTER TABLE posts ALTER COLUMN comment_count SET DEFAULT 0;
+ALTER TABLE categories ALTER COLUMN post_count SET DEFAULT 0;
+ALTER TABLE users ALTER COLUMN post_count SET DEFAULT 0;
+
+UPDATE posts SET comment_count = 0 WHERE comment_count IS NULL;
+UPDATE categories SET post_count = 0 WHERE post_count IS NULL;
+UPDATE users SET post_count = 0 WHERE post_count IS NULL;
+
+ALTER TABLE posts ALTER COLUMN comment_count SET NOT NULL;
+ALTER TABLE categories ALTER COLUMN post_count SET NOT NULL;
+ALTER TABLE users ALTER COLUMN post_count SET NOT NULL;
+
+-- Comment added to, removed from or moved between posts
+CREATE OR REPLACE FUNCTION comments_count_update() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE posts SET comment_count = comment_count - 1 WHERE id = OLD.post_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE posts SET comment_count = comment_count + 1 WHERE id = NEW.post_id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_comments_count ON comments;
+
+CREATE TRIGGER trg_comments_count
+    AFTER INSERT OR DELETE ON comments
+    FOR EACH ROW
+    EXECUTE FUNCTION comments_count_update();
+
+DROP TRIGGER IF EXISTS trg_comments_count_move ON comments;
+
+CREATE TRIGGER trg_comments_count_move
+    AFTER UPDATE OF post_id ON comments
+    FOR EACH ROW
+    WHEN (OLD.post_id IS DISTINCT FROM NEW.post_id)
+    EXECUTE FUNCTION comments_count_update();
+
+-- Post added, removed, reassigned to another author or moved between categories
+CREATE OR REPLACE FUNCTION posts_count_update() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE users SET post_count = post_count - 1 WHERE id = OLD.user_id;
+        IF OLD.category_id IS NOT NULL THEN
+            UPDATE categories SET post_count = post_count - 1 WHERE id = OLD.category_id;
+        END IF;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE users SET post_count = post_count + 1 WHERE id = NEW.user_id;
+        IF NEW.category_id IS NOT NULL THEN
+            UPDATE categories SET post_count = post_count + 1 WHERE id = NEW.category_id;
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_posts_count ON posts;
+
+CREATE TRIGGER trg_posts_count
+    AFTER INSERT OR DELETE ON posts
+    FOR EACH ROW
+    EXECUTE FUNCTION posts_count_update();
+
+DROP TRIGGER IF EXISTS trg_posts_count_move ON posts;
+
+CREATE TRIGGER trg_posts_count_move
+    AFTER UPDATE OF user_id, category_id ON posts
+    FOR EACH ROW
+    WHEN (OLD.user_id IS DISTINCT FROM NEW.user_id OR OLD.category_id IS DISTINCT FROM NEW.category_id)
+    EXECUTE FUNCTION posts_count_update();
+
+-- Backfill existing rows
+UPDATE posts p
+SET comment_count = counted.n
+FROM (SELECT post_id, COUNT(*) AS n FROM comments GROUP BY post_id) counted
+WHERE p.id = counted.post_id;
+
+UPDATE categories c
+SET post_count = counted.n
+FROM (SELECT category_id, COUNT(*) AS n FROM posts WHERE category_id IS NOT NULL GROUP BY category_id) counted
+WHERE c.id = counted.category_id;
+
+UPDATE users u
+SET post_count = counted.n
+FROM (SELECT user_id, COUNT(*) AS n FROM posts GROUP BY user_id) counted
+WHERE u.id = counted.user_id;
+
+-- Recounts by the reconciler need no new index: comments.post_id leads
+-- idx_comments_post_depth_path (V15), posts.user_id and posts.category_id lead
+-- the keyset indexes of V12
+
+-- Refresh planner statistics after the backfill
+ANALYZE posts;
+ANALYZE categories;
+ANALYZE users;
+
+-- =====================================================================
+-- Column, Index and Function Comments and Documentation
+-- =====================================================================
+
+COMMENT ON COLUMN posts.comment_count IS
+'Number of comments on the post; maintained by trg_comments_count';
+
+COMMENT ON COLUMN categories.post_count IS
+'Number of posts in the category; maintained by trg_posts_count';
+
+COMMENT ON COLUMN users.post_count IS
+'Number of posts by the user; maintained by trg_posts_count';
+
+COMMENT ON FUNCTION comments_count_update() IS
+'Trigger function that moves posts.comment_count by one as comments are inserted, deleted or moved';
+
+COMMENT ON FUNCTION posts_count_update() IS
+'Trigger function that moves users.post_count and categories.post_count by one as posts are inserted, deleted or moved';
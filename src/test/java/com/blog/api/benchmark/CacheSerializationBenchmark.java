@@ -0,0 +1,111 @@
+package com.blog.api.benchmark;
+
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
+import com.blog.api.util.CompactCacheSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH comparison of Redis cache value serializers on the shapes the blog actually caches:
+ * a full post, a 20-item listing page and a comment thread with replies.
+ * Payload sizes are printed once per trial; ns/op covers serialize and deserialize separately.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.blog.api.benchmark.CacheSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializationBenchmark {
+
+    @Param({"jdk", "json", "smile", "smile-lz4"})
+    public String format;
+
+    @Param({"post", "listing", "thread"})
+    public String shape;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        serializer = switch (format) {
+            case "jdk" -> (RedisSerializer<Object>) RedisSerializer.java();
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "smile" -> new CompactCacheSerializer(false, Integer.MAX_VALUE);
+            case "smile-lz4" -> new CompactCacheSerializer(true, 1024);
+            default -> throw new IllegalArgumentException(format);
+        };
+        value = switch (shape) {
+            case "post" -> post();
+            case "listing" -> listing();
+            case "thread" -> thread();
+            default -> throw new IllegalArgumentException(shape);
+        };
+        bytes = serializer.serialize(value);
+        System.out.printf("%n[%s/%s] payload: %d bytes%n", format, shape, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    private static PostDTO post() {
+        String content = "<p>" + "Spring Boot caching with Redis keeps the hot paths of the blog fast. ".repeat(40) + "</p>";
+        return new PostDTO(1L, "Caching posts with Redis", content, true,
+                LocalDateTime.now(), LocalDateTime.now(), "author", "Technology", 12);
+    }
+
+    private static PageImpl<PostSummaryDTO> listing() {
+        List<PostSummaryDTO> summaries = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> new PostSummaryDTO((long) i, "Post title number " + i,
+                        "Spring Boot caching with Redis keeps the hot paths of the blog fast, as long as...",
+                        4, true, LocalDateTime.now(), LocalDateTime.now(),
+                        "author" + (i % 3), "Technology", i % 7))
+                .toList();
+        return new PageImpl<>(summaries, PageRequest.of(0, 20), 500);
+    }
+
+    private static List<CommentDTO> thread() {
+        return IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> new CommentDTO((long) i, "Top-level comment " + i + " with a sentence or two of text.",
+                        LocalDateTime.now(), "reader" + (i % 4), 1L, null,
+                        IntStream.rangeClosed(1, 3)
+                                .mapToObj(j -> new CommentDTO(i * 100L + j, "Reply " + j, LocalDateTime.now(),
+                                        "reader" + (j % 4), 1L, (long) i, List.of()))
+                                .toList()))
+                .toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CacheSerializationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.blog.api.benchmark;
+
+import com.blog.api.config.JwtAuthenticationFilter;
+import com.blog.api.service.CustomUserDetailsService;
+import com.blog.api.service.JwtBlacklistService;
+import com.blog.api.util.JwtUtil;
+import com.blog.api.util.ParsedToken;
+import com.blog.api.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the JWT authentication filter with and without the verified token cache.
+ * Collaborators are in-memory stubs, so the numbers isolate token handling cost.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.blog.api.benchmark.JwtAuthenticationFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+    private final FilterChain noOpChain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmarkSecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache",
+                new VerifiedTokenCache(cacheEnabled, 10000, new SimpleMeterRegistry()));
+        jwtUtil.init();
+
+        UserDetails userDetails = User.withUsername("benchuser")
+                .password("BenchPass123!")
+                .authorities("ROLE_USER")
+                .build();
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return userDetails;
+            }
+        };
+
+        JwtBlacklistService blacklistService = new JwtBlacklistService(new SimpleMeterRegistry()) {
+            @Override
+            public boolean isTokenRevoked(String jti) {
+                return false;
+            }
+
+            @Override
+            public boolean isRevokedByUserEpoch(ParsedToken parsedToken) {
+                return false;
+            }
+        };
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "jwtBlacklistService", blacklistService);
+
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public int authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, noOpChain);
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
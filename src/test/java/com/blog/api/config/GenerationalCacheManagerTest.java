@@ -0,0 +1,137 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheGenerationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Generational Cache Manager Tests")
+class GenerationalCacheManagerTest {
+
+    private ConcurrentMapCacheManager delegate;
+    private Cache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Disabled service: generations are kept locally, which is enough to exercise the key rewriting
+        CacheGenerationService cacheGenerationService = new CacheGenerationService(
+                mock(ObjectProvider.class), mock(ObjectProvider.class));
+        delegate = new ConcurrentMapCacheManager("posts", "terms_status");
+        cache = new GenerationalCacheManager(delegate, cacheGenerationService, Set.of("posts")).getCache("posts");
+    }
+
+    @Test
+    @DisplayName("Deve gravar chaves com o número da geração")
+    void put_ShouldPrefixKeysWithGeneration() {
+        // When
+        cache.put("all:0:20", "page");
+
+        // Then
+        assertEquals("page", cache.get("all:0:20", String.class));
+        assertEquals("page", delegate.getCache("posts").get("g0:all:0:20", String.class));
+    }
+
+    @Test
+    @DisplayName("Deve invalidar todas as entradas ao avançar a geração, sem apagá-las")
+    void clear_ShouldAdvanceGenerationWithoutDeleting() {
+        // Given
+        cache.put("all:0:20", "page");
+
+        // When
+        cache.clear();
+
+        // Then
+        assertNull(cache.get("all:0:20"));
+        assertNotNull(delegate.getCache("posts").get("g0:all:0:20"));
+        cache.put("all:0:20", "fresh");
+        assertEquals("fresh", delegate.getCache("posts").get("g1:all:0:20", String.class));
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache de fato quando a geração não puder avançar")
+    void clear_ShouldClearDelegate_WhenGenerationCannotAdvance() {
+        // Given
+        CacheGenerationService failing = mock(CacheGenerationService.class);
+        when(failing.advance("posts")).thenReturn(false);
+        Cache failingCache = new GenerationalCacheManager(delegate, failing, Set.of("posts")).getCache("posts");
+        delegate.getCache("posts").put("g0:all:0:20", "page");
+
+        // When
+        failingCache.clear();
+
+        // Then
+        assertNull(delegate.getCache("posts").get("g0:all:0:20"));
+    }
+
+    @Test
+    @DisplayName("Não deve decorar caches fora da lista de gerações")
+    void getCache_ShouldNotDecorateUnlistedCaches() {
+        // Given
+        CacheGenerationService cacheGenerationService = mock(CacheGenerationService.class);
+        GenerationalCacheManager manager = new GenerationalCacheManager(delegate, cacheGenerationService, Set.of("posts"));
+
+        // When
+        Cache termsStatus = manager.getCache("terms_status");
+        termsStatus.put("user:1", "accepted");
+        termsStatus.clear();
+
+        // Then
+        assertSame(delegate.getCache("terms_status"), termsStatus);
+        assertNull(termsStatus.get("user:1"));
+        verifyNoInteractions(cacheGenerationService);
+    }
+
+    @Test
+    @DisplayName("Deve evictar a chave da geração atual")
+    void evict_ShouldTargetCurrentGeneration() {
+        // Given
+        cache.put("single:1", "post");
+
+        // When
+        cache.evict("single:1");
+
+        // Then
+        assertNull(delegate.getCache("posts").get("g0:single:1"));
+    }
+
+    @Test
+    @DisplayName("Deve ler e gravar em lote com as chaves da geração atual")
+    void batch_ShouldTranslateKeysBothWays() {
+        // Given
+        BatchCaches.putAll(cache, java.util.Map.of("single:1", "one", "single:2", "two"));
+
+        // When
+        java.util.Map<Object, Cache.ValueWrapper> hits =
+                BatchCaches.getAll(cache, java.util.List.of("single:1", "single:2", "single:3"));
+
+        // Then
+        assertEquals(java.util.Set.of("single:1", "single:2"), hits.keySet());
+        assertEquals("two", hits.get("single:2").get());
+        assertEquals("one", delegate.getCache("posts").get("g0:single:1", String.class));
+    }
+
+    @Test
+    @DisplayName("Deve reescrever a chave da geração atual")
+    void update_ShouldTargetCurrentGeneration() {
+        // Given
+        cache.put("single:1", "post");
+
+        // When: the map cache cannot rewrite atomically, so the entry is dropped
+        boolean updated = BatchCaches.update(cache, "single:1", value -> "patched");
+
+        // Then
+        assertTrue(updated);
+        assertNull(delegate.getCache("posts").get("g0:single:1"));
+    }
+}
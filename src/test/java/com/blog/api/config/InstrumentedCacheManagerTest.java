@@ -0,0 +1,141 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheHotKeyService;
+import com.blog.api.util.SpaceSavingSketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Instrumented Cache Manager Tests")
+class InstrumentedCacheManagerTest {
+
+    private ConcurrentMapCacheManager delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheHotKeyService hotKeyService;
+    private InstrumentedCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hotKeyService = new CacheHotKeyService();
+        ReflectionTestUtils.setField(hotKeyService, "capacity", 10);
+        ReflectionTestUtils.setField(hotKeyService, "sampleRate", 1.0);
+        delegate = new ConcurrentMapCacheManager("posts", "terms_status");
+        cacheManager = new InstrumentedCacheManager(delegate, meterRegistry, hotKeyService);
+    }
+
+    @Test
+    @DisplayName("Deve contar acertos e falhas por cache e no total")
+    void get_ShouldCountHitsAndMissesPerCache() {
+        // Given
+        delegate.getCache("posts").put("single:1", "post");
+        Cache cache = cacheManager.getCache("posts");
+
+        // When
+        cache.get("single:1");
+        cache.get("single:2");
+        cacheManager.getCache("terms_status").get("user:1");
+
+        // Then
+        assertEquals(1.0, lookups("posts", "hit"));
+        assertEquals(1.0, lookups("posts", "miss"));
+        assertEquals(1.0, lookups("terms_status", "miss"));
+        assertEquals(1.0, meterRegistry.counter("blog_api_cache_hits_total").count());
+        assertEquals(2.0, meterRegistry.counter("blog_api_cache_misses_total").count());
+    }
+
+    @Test
+    @DisplayName("Deve contar falha e medir o carregamento quando o loader executar")
+    void getWithLoader_ShouldCountMissAndTimeLoad() {
+        // Given
+        Cache cache = cacheManager.getCache("posts");
+
+        // When
+        cache.get("single:1", () -> "post");
+        cache.get("single:1", () -> "other");
+
+        // Then
+        assertEquals(1.0, lookups("posts", "miss"));
+        assertEquals(1.0, lookups("posts", "hit"));
+        assertEquals(1L, meterRegistry.get("blog_api_cache_load_duration").tag("cache", "posts").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve medir o tempo na pilha de cache sem alimentar o tempo do Redis")
+    void get_ShouldTimeCacheStackOnly() {
+        // Given
+        delegate.getCache("posts").put("single:1", "post");
+
+        // When
+        cacheManager.getCache("posts").get("single:1");
+
+        // Then
+        assertEquals(1L, meterRegistry.get("blog_api_cache_operation_duration").tag("cache", "posts").timer().count());
+        assertNull(meterRegistry.find("blog_api_redis_operation_duration").timer());
+    }
+
+    @Test
+    @DisplayName("Deve contar acertos e falhas de leituras em lote")
+    void getAll_ShouldCountEachKey() {
+        // Given
+        delegate.getCache("posts").put("single:1", "post");
+        BatchCache cache = (BatchCache) cacheManager.getCache("posts");
+
+        // When
+        Map<Object, Cache.ValueWrapper> found = cache.getAll(List.of("single:1", "single:2", "single:3"));
+
+        // Then
+        assertEquals(1, found.size());
+        assertEquals(1.0, lookups("posts", "hit"));
+        assertEquals(2.0, lookups("posts", "miss"));
+    }
+
+    @Test
+    @DisplayName("Deve contar evicções por chave e limpezas do cache")
+    void evict_ShouldCountEvictions() {
+        // Given
+        Cache cache = cacheManager.getCache("posts");
+
+        // When
+        cache.evict("single:1");
+        cache.clear();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("blog_api_cache_evictions_total")
+                .tags("cache", "posts", "scope", "key").counter().count());
+        assertEquals(1.0, meterRegistry.get("blog_api_cache_evictions_total")
+                .tags("cache", "posts", "scope", "all").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve reportar as chaves mais lidas")
+    void get_ShouldFeedHotKeys() {
+        // Given
+        Cache cache = cacheManager.getCache("posts");
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            cache.get("single:1");
+        }
+        cache.get("single:2");
+
+        // Then
+        assertEquals(List.of(new SpaceSavingSketch.Estimate("single:1", 3, 0),
+                        new SpaceSavingSketch.Estimate("single:2", 1, 0)),
+                hotKeyService.top("posts", 10));
+    }
+
+    private double lookups(String cacheName, String result) {
+        return meterRegistry.get("blog_api_cache_lookups_total")
+                .tags("cache", cacheName, "result", result).counter().count();
+    }
+}
@@ -0,0 +1,147 @@
+package com.blog.api.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Redis Batch Cache Manager Tests")
+class RedisBatchCacheManagerTest {
+
+    private static final byte[] KEY = "posts::single:1".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RedisCache redisCache;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private RedisCacheConfiguration configuration;
+    private Timer redisTimer;
+    private BatchCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        configuration = RedisCacheConfiguration.defaultCacheConfig();
+        when(redisCache.getCacheConfiguration()).thenReturn(configuration);
+        when(redisCache.getName()).thenReturn("posts");
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        redisTimer = new SimpleMeterRegistry().timer("blog_api_redis_operation_duration");
+        cache = new RedisBatchCacheManager.RedisBatchCache(redisCache, redisTemplate, redisTimer);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o valor reescrito numa transação sobre a chave observada, mantendo o TTL")
+    void update_ShouldSetPatchedValueUnderWatch_KeepingTtl() {
+        // Given
+        when(stringCommands.get(KEY)).thenReturn(serialize("stale"));
+        when(connection.exec()).thenReturn(List.of(true));
+
+        // When
+        boolean updated = cache.update("single:1", value -> "stale".equals(value) ? "patched" : value);
+
+        // Then
+        assertTrue(updated);
+        InOrder inOrder = inOrder(connection, stringCommands);
+        inOrder.verify(connection).watch(KEY);
+        inOrder.verify(stringCommands).get(KEY);
+        inOrder.verify(connection).multi();
+        inOrder.verify(stringCommands).set(eq(KEY), eq(serialize("patched")), argThat(Expiration::isKeepTtl),
+                eq(RedisStringCommands.SetOption.upsert()));
+        inOrder.verify(connection).exec();
+    }
+
+    @Test
+    @DisplayName("Deve informar a falha quando a chave for gravada entre a leitura e a reescrita")
+    void update_ShouldReturnFalse_WhenWatchedKeyChanged() {
+        // Given: EXEC is discarded because a put or an eviction touched the key after WATCH
+        when(stringCommands.get(KEY)).thenReturn(serialize("stale"));
+        when(connection.exec()).thenReturn(null);
+
+        // When
+        boolean updated = cache.update("single:1", value -> "patched");
+
+        // Then
+        assertFalse(updated);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nada para entradas ausentes ou que não mudaram")
+    void update_ShouldNotWrite_WhenEntryIsMissingOrUnchanged() {
+        // Given
+        when(stringCommands.get(KEY)).thenReturn(null, serialize("current"));
+
+        // When
+        boolean missing = cache.update("single:1", value -> "patched");
+        boolean unchanged = cache.update("single:1", value -> value);
+
+        // Then
+        assertTrue(missing);
+        assertTrue(unchanged);
+        verify(connection, times(2)).unwatch();
+        verify(connection, never()).multi();
+        verify(stringCommands, never()).set(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve medir o tempo de cada chamada ao Redis, sem o carregamento do valor")
+    void operations_ShouldRecordRedisTime_ExcludingLoads() {
+        // Given
+        lenient().when(redisCache.get(eq("single:1"), any(Callable.class))).thenAnswer(invocation -> {
+            Thread.sleep(10);
+            return invocation.<Callable<?>>getArgument(1).call();
+        });
+
+        // When
+        cache.get("single:2");
+        cache.put("single:2", "post");
+        cache.evict("single:2");
+        cache.update("single:1", value -> "patched");
+        cache.get("single:1", () -> {
+            Thread.sleep(100);
+            return "post";
+        });
+
+        // Then
+        assertEquals(5L, redisTimer.count());
+        assertTrue(redisTimer.max(TimeUnit.MILLISECONDS) < 100);
+    }
+
+    private byte[] serialize(Object value) {
+        return ByteUtils.getBytes(configuration.getValueSerializationPair().write(value));
+    }
+}
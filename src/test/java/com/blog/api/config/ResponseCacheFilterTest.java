@@ -0,0 +1,217 @@
+package com.blog.api.config;
+
+import com.blog.api.service.ResponseCacheService;
+import com.blog.api.service.ResponseCacheService.CachedResponse;
+import com.blog.api.service.ResponseCacheService.Validators;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do filtro de cache de respostas")
+class ResponseCacheFilterTest {
+
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    private static final Validators VALIDATORS = new Validators("\"abc\"", 1_700_000_000_000L);
+
+    @Mock
+    private ResponseCacheService responseCacheService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private ResponseCacheFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(responseCacheService);
+        request = new MockHttpServletRequest("GET", "/api/v1/posts/1");
+        response = new MockHttpServletResponse();
+        lenient().when(responseCacheService.isEnabled()).thenReturn(true);
+        lenient().when(responseCacheService.namespaceFor("/api/v1/posts/1")).thenReturn(ResponseCacheService.POSTS);
+    }
+
+    @Test
+    @DisplayName("Deve servir o corpo armazenado sem chamar o controller")
+    void doFilter_ShouldServeCachedBody_OnHit() throws Exception {
+        // Given
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        when(responseCacheService.get("posts", "/api/v1/posts/1", true))
+                .thenReturn(new CachedResponse(BODY, true, VALIDATORS));
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verifyNoInteractions(filterChain);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc-gzip\"");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o ETag do cliente ainda é válido")
+    void doFilter_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        // Given
+        request.addHeader("If-None-Match", "\"abc\"");
+        when(responseCacheService.getValidators("posts", "/api/v1/posts/1")).thenReturn(VALIDATORS);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verifyNoInteractions(filterChain);
+        verify(responseCacheService, never()).get(anyString(), anyString(), anyBoolean());
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc\"");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando não houve modificação desde a data informada")
+    void doFilter_ShouldReturnNotModified_WhenNotModifiedSince() throws Exception {
+        // Given
+        request.addHeader("If-Modified-Since", VALIDATORS.lastModified() + 1000);
+        when(responseCacheService.getValidators("posts", "/api/v1/posts/1")).thenReturn(VALIDATORS);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verifyNoInteractions(filterChain);
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("Deve entregar o corpo quando o ETag do cliente está desatualizado")
+    void doFilter_ShouldServeBody_WhenETagIsStale() throws Exception {
+        // Given
+        request.addHeader("If-None-Match", "\"old\"");
+        when(responseCacheService.getValidators("posts", "/api/v1/posts/1")).thenReturn(VALIDATORS);
+        when(responseCacheService.get("posts", "/api/v1/posts/1", false))
+                .thenReturn(new CachedResponse(BODY, false, VALIDATORS));
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc\"");
+    }
+
+    @Test
+    @DisplayName("Deve armazenar a resposta JSON de sucesso em caso de miss")
+    void doFilter_ShouldStoreJsonResponse_OnMiss() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            HttpServletResponse out = invocation.getArgument(1);
+            out.setStatus(200);
+            out.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            out.getOutputStream().write(BODY);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(responseCacheService).put("posts", "/api/v1/posts/1", BODY);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(response.getHeader("X-Cache")).isEqualTo("MISS");
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar respostas de erro")
+    void doFilter_ShouldNotStoreErrorResponse() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            HttpServletResponse out = invocation.getArgument(1);
+            out.setStatus(404);
+            out.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            out.getOutputStream().write(BODY);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(responseCacheService, never()).put(anyString(), anyString(), any());
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Não deve servir nem armazenar corpos para requisições autenticadas")
+    void doFilter_ShouldNotServeOrStoreBodies_WhenAuthorized() throws Exception {
+        // Given
+        request.addHeader("Authorization", "Bearer token");
+        when(responseCacheService.validatorsFor("posts", "/api/v1/posts/1", BODY)).thenReturn(VALIDATORS);
+        doAnswer(invocation -> {
+            HttpServletResponse out = invocation.getArgument(1);
+            out.setStatus(200);
+            out.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            out.getOutputStream().write(BODY);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(responseCacheService, never()).get(anyString(), anyString(), anyBoolean());
+        verify(responseCacheService, never()).put(anyString(), anyString(), any());
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc\"");
+        assertThat(response.getHeader("X-Cache")).isEqualTo("BYPASS");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 a requisições autenticadas sem chamar o controller")
+    void doFilter_ShouldReturnNotModified_WhenAuthorizedAndETagMatches() throws Exception {
+        // Given
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("If-None-Match", "\"abc\"");
+        when(responseCacheService.getValidators("posts", "/api/v1/posts/1")).thenReturn(VALIDATORS);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar os parâmetros da query na chave")
+    void cacheKey_ShouldSortQueryParameters() {
+        // Given
+        MockHttpServletRequest listing = new MockHttpServletRequest("GET", "/api/v1/posts");
+        listing.addParameter("size", "10");
+        listing.addParameter("page", "1");
+
+        // When & Then
+        assertThat(ResponseCacheFilter.cacheKey(listing)).isEqualTo("/api/v1/posts?page=1&size=10");
+    }
+}
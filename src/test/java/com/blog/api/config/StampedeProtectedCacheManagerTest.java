@@ -0,0 +1,169 @@
+package com.blog.api.config;
+
+import com.blog.api.service.CacheStampedeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stampede Protected Cache Manager Tests")
+class StampedeProtectedCacheManagerTest {
+
+    @Mock
+    private CacheStampedeService cacheStampedeService;
+
+    private ConcurrentMapCacheManager delegate;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCacheManager("posts");
+        cache = new StampedeProtectedCacheManager(delegate, Set.of("posts"), cacheStampedeService,
+                name -> Duration.ofMinutes(15)).getCache("posts");
+    }
+
+    @Test
+    @DisplayName("Deve carregar a chave uma única vez com acessos concorrentes")
+    void get_ShouldLoadOnceForConcurrentMisses() throws Exception {
+        // Given
+        when(cacheStampedeService.tryLock(eq("posts"), any())).thenReturn(CacheStampedeService.LOCAL_LOCK);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            Thread.sleep(100);
+            return "page";
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("all:0:20", loader);
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("page", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deve guardar o valor com o tempo de cálculo e a expiração")
+    void get_ShouldStoreEnvelopeAndReturnPlainValue() {
+        // Given
+        when(cacheStampedeService.tryLock(eq("posts"), any())).thenReturn(CacheStampedeService.LOCAL_LOCK);
+
+        // When
+        String value = cache.get("single:1", () -> "post");
+
+        // Then
+        assertEquals("post", value);
+        assertEquals("post", cache.get("single:1", String.class));
+        Object stored = delegate.getCache("posts").get("single:1").get();
+        assertInstanceOf(StampedeProtectedCacheManager.Envelope.class, stored);
+        assertTrue(((StampedeProtectedCacheManager.Envelope) stored).expiresAt() > System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Deve esperar o resultado de outro nó que detém o lock")
+    void get_ShouldWaitForOtherNodeHoldingLock() {
+        // Given
+        when(cacheStampedeService.tryLock(eq("posts"), any())).thenReturn(null);
+        when(cacheStampedeService.getLockWait()).thenReturn(Duration.ofSeconds(2));
+        when(cacheStampedeService.getPollInterval()).thenReturn(Duration.ofMillis(10));
+        Thread otherNode = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.getCache("posts").put("single:2", "from other node");
+        });
+        otherNode.start();
+
+        // When
+        String value = cache.get("single:2", () -> fail("should not load"));
+
+        // Then
+        assertEquals("from other node", value);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar em segundo plano quando a expiração antecipada disparar")
+    @SuppressWarnings("unchecked")
+    void get_ShouldRefreshInBackground_WhenEarlyRefreshTriggers() throws Exception {
+        // Given
+        when(cacheStampedeService.tryLock(eq("posts"), any())).thenReturn(CacheStampedeService.LOCAL_LOCK);
+        cache.get("feed:first:20", () -> "old");
+        when(cacheStampedeService.shouldRefreshEarly(anyLong(), anyLong())).thenReturn(true);
+        when(cacheStampedeService.refreshInBackground(any())).thenReturn(true);
+
+        // When
+        String served = cache.get("feed:first:20", () -> "new");
+
+        // Then
+        assertEquals("old", served);
+        ArgumentCaptor<Callable<?>> refresh = ArgumentCaptor.forClass(Callable.class);
+        verify(cacheStampedeService).refreshInBackground(refresh.capture());
+        refresh.getValue().call();
+        assertEquals("new", cache.get("feed:first:20", String.class));
+    }
+
+    @Test
+    @DisplayName("Deve reescrever o valor dentro do envelope mantendo o tempo de cálculo e a expiração")
+    @SuppressWarnings("unchecked")
+    void update_ShouldPatchInsideEnvelope() {
+        // Given
+        BatchCache batchDelegate = mock(BatchCache.class);
+        when(batchDelegate.update(eq("single:1"), any())).thenReturn(true);
+        BatchCache protectedCache = new StampedeProtectedCacheManager.StampedeProtectedCache(
+                batchDelegate, cacheStampedeService, Duration.ofMinutes(15));
+        StampedeProtectedCacheManager.Envelope stored = new StampedeProtectedCacheManager.Envelope("post", 40, 1000);
+
+        // When
+        boolean updated = protectedCache.update("single:1", value -> "post".equals(value) ? "patched" : value);
+
+        // Then
+        assertTrue(updated);
+        ArgumentCaptor<java.util.function.UnaryOperator<Object>> patch =
+                ArgumentCaptor.forClass(java.util.function.UnaryOperator.class);
+        verify(batchDelegate).update(eq("single:1"), patch.capture());
+        assertEquals(new StampedeProtectedCacheManager.Envelope("patched", 40, 1000), patch.getValue().apply(stored));
+        StampedeProtectedCacheManager.Envelope unchanged = new StampedeProtectedCacheManager.Envelope("other", 40, 1000);
+        assertSame(unchanged, patch.getValue().apply(unchanged));
+    }
+}
@@ -5,6 +5,7 @@ import com.blog.api.dto.UserDTO;
 import com.blog.api.entity.User;
 import com.blog.api.service.TermsService;
 import com.blog.api.service.UserService;
+import com.blog.api.util.JwtPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -78,7 +79,8 @@ class TermsComplianceFilterTest {
             LocalDateTime.now(),
             null,
             "v1.0",
-            true
+            true,
+            0
         );
 
         responseWriter = new StringWriter();
@@ -402,4 +404,46 @@ class TermsComplianceFilterTest {
         
         assertThat(result).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve liberar sem consultar o banco quando o token indicar termos atuais aceitos")
+    void doFilterInternal_WhenJwtPrincipalAcceptedCurrentTerms_ShouldSkipUserLookup() throws Exception {
+        // Given
+        when(request.getRequestURI()).thenReturn("/api/v1/posts");
+        when(request.getMethod()).thenReturn("GET");
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new JwtPrincipal(1L, "testuser", User.Role.USER, "v1.0"));
+        when(termsService.getCurrentTermsVersion()).thenReturn("v1.0");
+
+        // When
+        termsComplianceFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        verify(userService, never()).getUserByUsername(anyString());
+        verify(termsService, never()).userNeedsToAcceptTerms(any(Long.class));
+    }
+
+    @Test
+    @DisplayName("Deve verificar termos pelo ID do token quando a versão do token estiver desatualizada")
+    void doFilterInternal_WhenJwtPrincipalHasOldTermsVersion_ShouldCheckByTokenUserId() throws Exception {
+        // Given
+        when(request.getRequestURI()).thenReturn("/api/v1/posts");
+        when(request.getMethod()).thenReturn("GET");
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new JwtPrincipal(1L, "testuser", User.Role.USER, "v0.9"));
+        when(termsService.getCurrentTermsVersion()).thenReturn("v1.0");
+        when(termsService.userNeedsToAcceptTerms(1L)).thenReturn(false);
+
+        // When
+        termsComplianceFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        verify(userService, never()).getUserByUsername(anyString());
+    }
+}
@@ -112,7 +112,8 @@ public class TestSecurityConfig {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
         
         // Mock common user service calls
@@ -140,6 +141,18 @@ public class TestSecurityConfig {
         return Mockito.mock(com.blog.api.repository.RevokedTokenRepository.class);
     }
     
+    @Bean
+    @Primary
+    public com.blog.api.service.RevokedTokenRegistry revokedTokenRegistry() {
+        return Mockito.mock(com.blog.api.service.RevokedTokenRegistry.class);
+    }
+    
+    @Bean
+    @Primary
+    public com.blog.api.service.TokenEpochService tokenEpochService() {
+        return Mockito.mock(com.blog.api.service.TokenEpochService.class);
+    }
+    
     @Bean 
     @Primary
     public com.blog.api.service.VerificationTokenService verificationTokenService() {
@@ -182,6 +195,18 @@ public class TestSecurityConfig {
         return Mockito.mock(com.blog.api.service.CategoryService.class);
     }
     
+    @Bean
+    @Primary
+    public com.blog.api.service.CacheTagService cacheTagService() {
+        return Mockito.mock(com.blog.api.service.CacheTagService.class);
+    }
+    
+    @Bean
+    @Primary
+    public org.springframework.cache.CacheManager cacheManager() {
+        return Mockito.mock(org.springframework.cache.CacheManager.class);
+    }
+    
     // ===== MISSING REPOSITORIES IDENTIFIED BY AGENT =====
     
     @Bean
@@ -0,0 +1,117 @@
+package com.blog.api.config;
+
+import com.blog.api.service.NearCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Two Tier Cache Manager Tests")
+class TwoTierCacheManagerTest {
+
+    private ConcurrentMapCacheManager delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Disabled service: local tiers work, broadcasts are skipped
+        meterRegistry = new SimpleMeterRegistry();
+        NearCacheService nearCacheService = new NearCacheService(
+                mock(ObjectProvider.class), mock(ObjectProvider.class), meterRegistry);
+        ReflectionTestUtils.setField(nearCacheService, "maxSize", 100L);
+        ReflectionTestUtils.setField(nearCacheService, "ttl", Duration.ofMinutes(1));
+        delegate = new ConcurrentMapCacheManager("posts", "users");
+        cacheManager = new TwoTierCacheManager(delegate, Set.of("posts"), nearCacheService, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve servir leituras repetidas pela camada local")
+    void get_ShouldServeRepeatedReadsLocally() {
+        // Given
+        delegate.getCache("posts").put("single:1", "post");
+        Cache cache = cacheManager.getCache("posts");
+
+        // When
+        cache.get("single:1");
+        delegate.getCache("posts").evict("single:1");
+        Cache.ValueWrapper second = cache.get("single:1");
+
+        // Then
+        assertNotNull(second);
+        assertEquals("post", second.get());
+        assertEquals(1.0, lookups("local", "hit"));
+        assertEquals(1.0, lookups("local", "miss"));
+        assertEquals(1.0, lookups("redis", "hit"));
+    }
+
+    @Test
+    @DisplayName("Deve remover a cópia local ao evictar")
+    void evict_ShouldDropLocalCopy() {
+        // Given
+        Cache cache = cacheManager.getCache("posts");
+        cache.put("single:1", "post");
+
+        // When
+        cache.evict("single:1");
+
+        // Then
+        assertNull(cache.get("single:1"));
+        assertEquals(1.0, lookups("redis", "miss"));
+    }
+
+    @Test
+    @DisplayName("Deve remover a cópia local ao reescrever uma entrada")
+    void update_ShouldDropLocalCopy() {
+        // Given
+        Cache cache = cacheManager.getCache("posts");
+        cache.put("single:1", "post");
+
+        // When
+        boolean updated = BatchCaches.update(cache, "single:1", value -> "patched");
+
+        // Then: the next read goes to the shared tier instead of the old local copy
+        assertTrue(updated);
+        assertNull(cache.get("single:1"));
+        assertEquals(1.0, lookups("redis", "miss"));
+    }
+
+    @Test
+    @DisplayName("Deve guardar valores nulos na camada local")
+    void get_ShouldCacheNullValuesLocally() {
+        // Given
+        Cache cache = cacheManager.getCache("posts");
+        cache.put("single:2", null);
+
+        // When
+        Cache.ValueWrapper wrapper = cache.get("single:2");
+
+        // Then
+        assertNotNull(wrapper);
+        assertNull(wrapper.get());
+        assertEquals(1.0, lookups("local", "hit"));
+    }
+
+    @Test
+    @DisplayName("Deve manter caches não configurados sem camada local")
+    void getCache_ShouldNotDecorateOtherCaches() {
+        assertSame(delegate.getCache("users"), cacheManager.getCache("users"));
+    }
+
+    private double lookups(String tier, String result) {
+        return meterRegistry.get("blog_api_cache_tier_lookups_total")
+                .tags("cache", "posts", "tier", tier, "result", result)
+                .counter().count();
+    }
+}
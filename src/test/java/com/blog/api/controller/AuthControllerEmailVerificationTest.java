@@ -60,7 +60,8 @@ class AuthControllerEmailVerificationTest {
             LocalDateTime.now(),
             LocalDateTime.now(),
             "v1.0",
-            true
+            true,
+            0
         );
     }
 
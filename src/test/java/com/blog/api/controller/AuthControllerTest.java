@@ -84,7 +84,8 @@ class AuthControllerTest {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
 
         createUserDTO = new CreateUserDTO("testuser", "test@example.com", "ValidPassword123!", User.Role.USER);
@@ -1,6 +1,7 @@
 package com.blog.api.controller;
 
 import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CurrentUser;
 import com.blog.api.exception.ResourceNotFoundException;
 import com.blog.api.service.CommentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -193,7 +194,7 @@ class CommentControllerTest {
     @DisplayName("Deve criar e retornar comentário quando dados são válidos")
     void createComment_ShouldCreateAndReturnComment() throws Exception {
         // Arrange
-        when(commentService.createComment(any(CommentDTO.class), eq("testuser"))).thenReturn(sampleCommentDTO);
+        when(commentService.createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(sampleCommentDTO);
 
         // Act & Assert
         mockMvc.perform(post("/api/v1/comments")
@@ -206,14 +207,14 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.content").value("Test comment content"))
                 .andExpect(jsonPath("$.authorUsername").value("testuser"));
 
-        verify(commentService).createComment(any(CommentDTO.class), eq("testuser"));
+        verify(commentService).createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     @Test
     @DisplayName("Deve criar comentário com usuário anonymous quando não está autenticado")
     void createComment_ShouldCreateWithAnonymousUser_WhenNotAuthenticated() throws Exception {
         // Arrange
-        when(commentService.createComment(any(CommentDTO.class), eq("anonymous"))).thenReturn(sampleCommentDTO);
+        when(commentService.createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("anonymous")))).thenReturn(sampleCommentDTO);
         
         // Act & Assert
         mockMvc.perform(post("/api/v1/comments")
@@ -222,7 +223,7 @@ class CommentControllerTest {
                 .content(objectMapper.writeValueAsString(createCommentDTO)))
                 .andExpect(status().isCreated());
 
-        verify(commentService).createComment(any(CommentDTO.class), eq("anonymous"));
+        verify(commentService).createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("anonymous")));
     }
 
     @Test
@@ -267,7 +268,7 @@ class CommentControllerTest {
         // Arrange
         CommentDTO updatedComment = new CommentDTO(1L, "Updated comment content", LocalDateTime.now(), 
                 "testuser", 1L, null, new java.util.ArrayList<>());
-        when(commentService.updateComment(eq(1L), any(CommentDTO.class), eq("testuser"))).thenReturn(updatedComment);
+        when(commentService.updateComment(eq(1L), any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(updatedComment);
 
         // Act & Assert
         mockMvc.perform(put("/api/v1/comments/1")
@@ -278,7 +279,7 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.content").value("Updated comment content"));
 
-        verify(commentService).updateComment(eq(1L), any(CommentDTO.class), eq("testuser"));
+        verify(commentService).updateComment(eq(1L), any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     @Test
@@ -286,7 +287,7 @@ class CommentControllerTest {
     @DisplayName("Deve retornar NotFound quando comentário para atualizar não existe")
     void updateComment_ShouldReturnNotFound_WhenCommentNotExists() throws Exception {
         // Arrange
-        when(commentService.updateComment(eq(999L), any(CommentDTO.class), eq("testuser")))
+        when(commentService.updateComment(eq(999L), any(CommentDTO.class), eq(CurrentUser.unresolved("testuser"))))
                 .thenThrow(new ResourceNotFoundException("Comment", "id", 999L));
 
         // Act & Assert
@@ -296,7 +297,7 @@ class CommentControllerTest {
                 .content(objectMapper.writeValueAsString(createCommentDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(commentService).updateComment(eq(999L), any(CommentDTO.class), eq("testuser"));
+        verify(commentService).updateComment(eq(999L), any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     @Test
@@ -304,7 +305,7 @@ class CommentControllerTest {
     @DisplayName("Deve retornar Forbidden quando usuário não é dono do comentário")
     void updateComment_ShouldReturnForbidden_WhenNotOwner() throws Exception {
         // Arrange
-        when(commentService.updateComment(eq(1L), any(CommentDTO.class), eq("otheruser")))
+        when(commentService.updateComment(eq(1L), any(CommentDTO.class), eq(CurrentUser.unresolved("otheruser"))))
                 .thenThrow(new RuntimeException("You can only update your own comments"));
 
         // Act & Assert
@@ -314,14 +315,14 @@ class CommentControllerTest {
                 .content(objectMapper.writeValueAsString(createCommentDTO)))
                 .andExpect(status().isInternalServerError());
 
-        verify(commentService).updateComment(eq(1L), any(CommentDTO.class), eq("otheruser"));
+        verify(commentService).updateComment(eq(1L), any(CommentDTO.class), eq(CurrentUser.unresolved("otheruser")));
     }
 
     @Test
     @DisplayName("Deve atualizar comentário com usuário anonymous quando não está autenticado")
     void updateComment_ShouldUpdateWithAnonymousUser_WhenNotAuthenticated() throws Exception {
         // Arrange
-        when(commentService.updateComment(eq(1L), any(CommentDTO.class), eq("anonymous"))).thenReturn(sampleCommentDTO);
+        when(commentService.updateComment(eq(1L), any(CommentDTO.class), eq(CurrentUser.unresolved("anonymous")))).thenReturn(sampleCommentDTO);
         
         // Act & Assert
         mockMvc.perform(put("/api/v1/comments/1")
@@ -330,7 +331,7 @@ class CommentControllerTest {
                 .content(objectMapper.writeValueAsString(createCommentDTO)))
                 .andExpect(status().isOk());
 
-        verify(commentService).updateComment(eq(1L), any(CommentDTO.class), eq("anonymous"));
+        verify(commentService).updateComment(eq(1L), any(CommentDTO.class), eq(CurrentUser.unresolved("anonymous")));
     }
 
     @Test
@@ -338,14 +339,14 @@ class CommentControllerTest {
     @DisplayName("Deve deletar comentário quando usuário é dono")
     void deleteComment_ShouldDeleteComment_WhenOwner() throws Exception {
         // Arrange
-        doNothing().when(commentService).deleteComment(1L, "testuser");
+        doNothing().when(commentService).deleteComment(1L, CurrentUser.unresolved("testuser"));
 
         // Act & Assert
         mockMvc.perform(delete("/api/v1/comments/1")
                 .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(commentService).deleteComment(1L, "testuser");
+        verify(commentService).deleteComment(1L, CurrentUser.unresolved("testuser"));
     }
 
     @Test
@@ -354,14 +355,14 @@ class CommentControllerTest {
     void deleteComment_ShouldReturnForbidden_WhenNotOwner() throws Exception {
         // Arrange
         doThrow(new RuntimeException("You can only delete your own comments"))
-                .when(commentService).deleteComment(1L, "otheruser");
+                .when(commentService).deleteComment(1L, CurrentUser.unresolved("otheruser"));
 
         // Act & Assert
         mockMvc.perform(delete("/api/v1/comments/1")
                 .with(csrf()))
                 .andExpect(status().isInternalServerError());
 
-        verify(commentService).deleteComment(1L, "otheruser");
+        verify(commentService).deleteComment(1L, CurrentUser.unresolved("otheruser"));
     }
 
     @Test
@@ -370,14 +371,14 @@ class CommentControllerTest {
     void deleteComment_ShouldReturnNotFound_WhenCommentNotExists() throws Exception {
         // Arrange
         doThrow(new ResourceNotFoundException("Comment", "id", 999L))
-                .when(commentService).deleteComment(999L, "testuser");
+                .when(commentService).deleteComment(999L, CurrentUser.unresolved("testuser"));
 
         // Act & Assert
         mockMvc.perform(delete("/api/v1/comments/999")
                 .with(csrf()))
                 .andExpect(status().isNotFound());
 
-        verify(commentService).deleteComment(999L, "testuser");
+        verify(commentService).deleteComment(999L, CurrentUser.unresolved("testuser"));
     }
 
     @Test
@@ -424,7 +425,7 @@ class CommentControllerTest {
         CommentDTO replyComment = new CommentDTO(null, "This is a reply", null, null, 1L, 1L, null);
         CommentDTO createdReply = new CommentDTO(2L, "This is a reply", LocalDateTime.now(), 
                 "testuser", 1L, 1L, new java.util.ArrayList<>());
-        when(commentService.createComment(any(CommentDTO.class), eq("testuser"))).thenReturn(createdReply);
+        when(commentService.createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(createdReply);
 
         // Act & Assert
         mockMvc.perform(post("/api/v1/comments")
@@ -436,7 +437,7 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.content").value("This is a reply"))
                 .andExpect(jsonPath("$.parentId").value(1));
 
-        verify(commentService).createComment(any(CommentDTO.class), eq("testuser"));
+        verify(commentService).createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     @Test
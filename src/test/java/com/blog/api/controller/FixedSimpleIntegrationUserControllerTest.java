@@ -50,7 +50,8 @@ class FixedSimpleIntegrationUserControllerTest {
                 LocalDateTime.of(2025, 8, 2, 10, 0),  // Fixed timestamp
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
     }
 
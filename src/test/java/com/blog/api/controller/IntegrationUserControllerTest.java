@@ -58,7 +58,8 @@ class IntegrationUserControllerTest {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
     }
 
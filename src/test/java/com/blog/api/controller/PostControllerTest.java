@@ -2,7 +2,10 @@ package com.blog.api.controller;
 
 // Importações de DTOs - Data Transfer Objects para transferência de dados via HTTP
 import com.blog.api.dto.CreatePostDTO;    // DTO para criação/atualização de posts via API
+import com.blog.api.dto.CurrentUser;      // Usuário autenticado repassado aos serviços
+import com.blog.api.dto.CursorPage;       // Fatia de posts paginada por cursor
 import com.blog.api.dto.PostDTO;          // DTO de resposta com dados completos do post
+import com.blog.api.dto.PostSummaryDTO;   // DTO de listagem com resumo, sem o conteúdo completo
 
 // Importações de exceções customizadas
 import com.blog.api.exception.ResourceNotFoundException;  // Exceção para recursos não encontrados (HTTP 404)
@@ -106,6 +109,7 @@ class PostControllerTest {
     // ===== OBJETOS DE TESTE - Dados reutilizados em múltiplos testes =====
     
     private PostDTO samplePostDTO;       // DTO de resposta - representa um post completo retornado pela API
+    private PostSummaryDTO samplePostSummary; // DTO de listagem - representa o post nas páginas de listagem
     private CreatePostDTO createPostDTO; // DTO de entrada - representa dados para criar/atualizar post
 
     /**
@@ -132,6 +136,22 @@ class PostControllerTest {
                 5                      // Número de comentários
         );
 
+        // ===== CRIAÇÃO DO DTO DE LISTAGEM (PostSummaryDTO) =====
+        
+        // Mesmo post como aparece nas listagens: resumo e tempo de leitura no lugar do conteúdo
+        samplePostSummary = new PostSummaryDTO(
+                1L,                    // ID do post
+                "Test Post",           // Título do post
+                "Test content",        // Resumo do conteúdo
+                1,                     // Tempo de leitura em minutos
+                true,                  // Status de publicação
+                LocalDateTime.now(),   // Data de criação
+                LocalDateTime.now(),   // Data de última atualização
+                "testuser",            // Username do autor
+                "Technology",          // Nome da categoria
+                5                      // Número de comentários
+        );
+
         // ===== CRIAÇÃO DO DTO DE ENTRADA (CreatePostDTO) =====
         
         // Cria um CreatePostDTO que simula dados enviados pelo cliente para criar/atualizar posts
@@ -155,9 +175,9 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Cria página simulada com um post para retorno do serviço
-        java.util.List<PostDTO> content = new java.util.ArrayList<>();
-        content.add(samplePostDTO);
-        Page<PostDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
+        java.util.List<PostSummaryDTO> content = new java.util.ArrayList<>();
+        content.add(samplePostSummary);
+        Page<PostSummaryDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
         
         // Configura mock: quando serviço for chamado, retorna a página criada
         when(postService.getAllPublishedPosts(any())).thenReturn(page);
@@ -170,12 +190,43 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.content").isArray())            // Verifica que "content" é um array
                 .andExpect(jsonPath("$.content[0].id").value(1))       // Verifica ID do primeiro post
                 .andExpect(jsonPath("$.content[0].title").value("Test Post"))  // Verifica título
-                .andExpect(jsonPath("$.content[0].published").value(true));     // Verifica status publicado
+                .andExpect(jsonPath("$.content[0].published").value(true))      // Verifica status publicado
+                .andExpect(jsonPath("$.content[0].excerpt").value("Test content"))  // Listagem traz o resumo
+                .andExpect(jsonPath("$.content[0].content").doesNotExist());   // e não o conteúdo completo
 
         // Verifica que o serviço foi chamado corretamente
         verify(postService).getAllPublishedPosts(any());
     }
 
+    /**
+     * TESTE HTTP: GET /api/v1/posts?limit=&after= - Paginação por cursor
+     * 
+     * Cenário: Cliente pede uma fatia do feed informando o cursor da fatia anterior
+     * Expectativa:
+     * - Requisição com "limit" é roteada para o endpoint de cursor
+     * - Resposta traz "content", "hasNext" e o cursor opaco "nextCursor"
+     */
+    @Test
+    @DisplayName("Deve retornar fatia de posts com cursor quando informar limit")
+    void getPublishedPostsAfter_ShouldReturnCursorPage() throws Exception {
+        
+        // ===== ARRANGE (Preparação) =====
+        CursorPage<PostSummaryDTO> cursorPage = new CursorPage<>(java.util.List.of(samplePostSummary), 1, true, "next-cursor");
+        when(postService.getPublishedPostsAfter("prev-cursor", 1)).thenReturn(cursorPage);
+
+        // ===== ACT & ASSERT (Ação e Verificação juntas) =====
+        mockMvc.perform(get("/api/v1/posts")                          // GET /api/v1/posts?after=prev-cursor&limit=1
+                .param("after", "prev-cursor")
+                .param("limit", "1"))
+                .andExpect(status().isOk())                           // Verifica status HTTP 200
+                .andExpect(jsonPath("$.content[0].id").value(1))      // Verifica ID do post
+                .andExpect(jsonPath("$.hasNext").value(true))         // Há próxima fatia
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));  // Cursor opaco da próxima fatia
+
+        // Verifica que a listagem paginada por offset não foi usada
+        verify(postService, never()).getAllPublishedPosts(any());
+    }
+
     /**
      * TESTE HTTP: GET /api/v1/posts/{id} - Buscar post por ID (caso de sucesso)
      * 
@@ -251,7 +302,7 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Configura mock: quando criar post, retorna o post criado
-        when(postService.createPost(any(CreatePostDTO.class), eq("testuser"))).thenReturn(samplePostDTO);
+        when(postService.createPost(any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(samplePostDTO);
 
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
         // Executa requisição HTTP POST com corpo JSON
@@ -266,7 +317,7 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.content").value("Test content"));  // Verifica conteúdo
 
         // Verifica que o serviço foi chamado com DTO e username corretos
-        verify(postService).createPost(any(CreatePostDTO.class), eq("testuser"));
+        verify(postService).createPost(any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     /**
@@ -286,7 +337,7 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Configura mock para usuário anonymous
-        when(postService.createPost(any(CreatePostDTO.class), eq("anonymous"))).thenReturn(samplePostDTO);
+        when(postService.createPost(any(CreatePostDTO.class), eq(CurrentUser.unresolved("anonymous")))).thenReturn(samplePostDTO);
         
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
         // Executa requisição sem autenticação
@@ -297,7 +348,7 @@ class PostControllerTest {
                 .andExpect(status().isCreated());                         // Verifica status HTTP 201
 
         // Verifica que o serviço foi chamado com "anonymous"
-        verify(postService).createPost(any(CreatePostDTO.class), eq("anonymous"));
+        verify(postService).createPost(any(CreatePostDTO.class), eq(CurrentUser.unresolved("anonymous")));
     }
 
     /**
@@ -353,7 +404,7 @@ class PostControllerTest {
                 LocalDateTime.now(), LocalDateTime.now(), "testuser", "Technology", 5);
         
         // Configura mock: atualização bem-sucedida retorna post atualizado
-        when(postService.updatePost(eq(1L), any(CreatePostDTO.class), eq("testuser"))).thenReturn(updatedPost);
+        when(postService.updatePost(eq(1L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(updatedPost);
 
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
         // Executa requisição HTTP PUT com corpo JSON
@@ -366,7 +417,7 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.title").value("Updated Post"));    // Verifica título atualizado
 
         // Verifica que serviço foi chamado com parâmetros corretos
-        verify(postService).updatePost(eq(1L), any(CreatePostDTO.class), eq("testuser"));
+        verify(postService).updatePost(eq(1L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     /**
@@ -386,7 +437,7 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Configura mock: tentativa de atualizar post inexistente lança exceção
-        when(postService.updatePost(eq(999L), any(CreatePostDTO.class), eq("testuser")))
+        when(postService.updatePost(eq(999L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser"))))
                 .thenThrow(new ResourceNotFoundException("Post", "id", 999L));
 
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
@@ -399,7 +450,7 @@ class PostControllerTest {
                 .andExpect(status().isNotFound());                        // Verifica status HTTP 404
 
         // Verifica que serviço foi chamado (mesmo com post inexistente)
-        verify(postService).updatePost(eq(999L), any(CreatePostDTO.class), eq("testuser"));
+        verify(postService).updatePost(eq(999L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     /**
@@ -420,7 +471,7 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Configura mock: tentativa de atualizar post de outro usuário lança exceção
-        when(postService.updatePost(eq(1L), any(CreatePostDTO.class), eq("otheruser")))
+        when(postService.updatePost(eq(1L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("otheruser"))))
                 .thenThrow(new RuntimeException("You can only update your own posts"));
 
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
@@ -433,7 +484,7 @@ class PostControllerTest {
                 .andExpect(status().isInternalServerError());             // Verifica status HTTP 500
 
         // Verifica que serviço foi chamado e verificou propriedade
-        verify(postService).updatePost(eq(1L), any(CreatePostDTO.class), eq("otheruser"));
+        verify(postService).updatePost(eq(1L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("otheruser")));
     }
 
     /**
@@ -454,7 +505,7 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Configura mock: deleção bem-sucedida não retorna nada (método void)
-        doNothing().when(postService).deletePost(1L, "testuser");
+        doNothing().when(postService).deletePost(1L, CurrentUser.unresolved("testuser"));
 
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
         // Executa requisição HTTP DELETE
@@ -464,7 +515,7 @@ class PostControllerTest {
                 .andExpect(status().isNoContent());                      // Verifica status HTTP 204
 
         // Verifica que serviço foi chamado para executar deleção
-        verify(postService).deletePost(1L, "testuser");
+        verify(postService).deletePost(1L, CurrentUser.unresolved("testuser"));
     }
 
     /**
@@ -486,7 +537,7 @@ class PostControllerTest {
         // ===== ARRANGE (Preparação) =====
         // Configura mock: tentativa de deletar post de outro usuário lança exceção
         doThrow(new RuntimeException("You can only delete your own posts"))
-                .when(postService).deletePost(1L, "otheruser");
+                .when(postService).deletePost(1L, CurrentUser.unresolved("otheruser"));
 
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
         // Executa requisição de usuário não autorizado
@@ -496,7 +547,7 @@ class PostControllerTest {
                 .andExpect(status().isInternalServerError());            // Verifica status HTTP 500
 
         // Verifica que serviço foi chamado e verificou propriedade
-        verify(postService).deletePost(1L, "otheruser");
+        verify(postService).deletePost(1L, CurrentUser.unresolved("otheruser"));
     }
 
     /**
@@ -517,7 +568,7 @@ class PostControllerTest {
         // ===== ARRANGE (Preparação) =====
         // Configura mock: tentativa de deletar post inexistente lança exceção
         doThrow(new ResourceNotFoundException("Post", "id", 999L))
-                .when(postService).deletePost(999L, "testuser");
+                .when(postService).deletePost(999L, CurrentUser.unresolved("testuser"));
 
         // ===== ACT & ASSERT (Ação e Verificação juntas) =====
         // Executa requisição para deletar post inexistente
@@ -527,7 +578,7 @@ class PostControllerTest {
                 .andExpect(status().isNotFound());                       // Verifica status HTTP 404
 
         // Verifica que serviço foi chamado (mesmo com post inexistente)
-        verify(postService).deletePost(999L, "testuser");
+        verify(postService).deletePost(999L, CurrentUser.unresolved("testuser"));
     }
 
     /**
@@ -547,9 +598,9 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Cria página simulada com posts da categoria
-        java.util.List<PostDTO> content = new java.util.ArrayList<>();
-        content.add(samplePostDTO);
-        Page<PostDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
+        java.util.List<PostSummaryDTO> content = new java.util.ArrayList<>();
+        content.add(samplePostSummary);
+        Page<PostSummaryDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
         
         // Configura mock: busca por categoria retorna página filtrada
         when(postService.getPostsByCategory(eq(1L), any())).thenReturn(page);
@@ -583,9 +634,9 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Cria página simulada com posts do autor
-        java.util.List<PostDTO> content = new java.util.ArrayList<>();
-        content.add(samplePostDTO);
-        Page<PostDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
+        java.util.List<PostSummaryDTO> content = new java.util.ArrayList<>();
+        content.add(samplePostSummary);
+        Page<PostSummaryDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
         
         // Configura mock: busca por usuário retorna página filtrada
         when(postService.getPostsByUser(eq(1L), any())).thenReturn(page);
@@ -619,9 +670,9 @@ class PostControllerTest {
         
         // ===== ARRANGE (Preparação) =====
         // Cria página simulada com posts que contêm a palavra-chave
-        java.util.List<PostDTO> content = new java.util.ArrayList<>();
-        content.add(samplePostDTO);
-        Page<PostDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
+        java.util.List<PostSummaryDTO> content = new java.util.ArrayList<>();
+        content.add(samplePostSummary);
+        Page<PostSummaryDTO> page = new PageImpl<>(content, PageRequest.of(0, 10), 1);
         
         // Configura mock: busca por palavra-chave retorna posts relevantes
         when(postService.searchPosts(eq("test"), any())).thenReturn(page);
@@ -88,7 +88,8 @@ class SimpleControllerSuiteTest {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
 
         sampleCommentDTO = new CommentDTO(
@@ -241,7 +242,7 @@ class SimpleControllerSuiteTest {
         SecurityContext securityContext = mock(SecurityContext.class);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
-        when(commentService.createComment(any(CommentDTO.class), eq("testuser"))).thenReturn(sampleCommentDTO);
+        when(commentService.createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(sampleCommentDTO);
 
         // Act
         ResponseEntity<CommentDTO> response = commentController.createComment(sampleCommentDTO);
@@ -251,7 +252,7 @@ class SimpleControllerSuiteTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().content()).isEqualTo("Test comment");
         
-        verify(commentService).createComment(any(CommentDTO.class), eq("testuser"));
+        verify(commentService).createComment(any(CommentDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     @Test
@@ -262,7 +263,7 @@ class SimpleControllerSuiteTest {
         SecurityContext securityContext = mock(SecurityContext.class);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
-        doNothing().when(commentService).deleteComment(1L, "testuser");
+        doNothing().when(commentService).deleteComment(1L, CurrentUser.unresolved("testuser"));
 
         // Act
         ResponseEntity<Void> response = commentController.deleteComment(1L);
@@ -270,7 +271,7 @@ class SimpleControllerSuiteTest {
         // Assert
         assertThat(response.getStatusCodeValue()).isEqualTo(204);
         
-        verify(commentService).deleteComment(1L, "testuser");
+        verify(commentService).deleteComment(1L, CurrentUser.unresolved("testuser"));
     }
 
     // CategoryController Tests
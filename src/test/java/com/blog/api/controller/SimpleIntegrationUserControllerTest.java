@@ -55,7 +55,8 @@ class SimpleIntegrationUserControllerTest {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
     }
 
@@ -1,6 +1,7 @@
 package com.blog.api.controller;
 
 import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
 import com.blog.api.service.PostService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -36,6 +37,7 @@ class SimplePostControllerTest {
     private PostController postController;
 
     private PostDTO samplePostDTO;
+    private PostSummaryDTO samplePostSummary;
 
     @BeforeEach
     void setUp() {
@@ -50,17 +52,29 @@ class SimplePostControllerTest {
                 "Technology",
                 5
         );
+        samplePostSummary = new PostSummaryDTO(
+                1L,
+                "Test Post",
+                "Test content",
+                1,
+                true,
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                "testuser",
+                "Technology",
+                5
+        );
     }
 
     @Test
     @DisplayName("Deve retornar página de posts quando solicitar todos os posts publicados")
     void getAllPublishedPosts_ShouldReturnPageOfPosts() {
         // Arrange
-        Page<PostDTO> page = new PageImpl<>(Arrays.asList(samplePostDTO), PageRequest.of(0, 10), 1);
+        Page<PostSummaryDTO> page = new PageImpl<>(Arrays.asList(samplePostSummary), PageRequest.of(0, 10), 1);
         when(postService.getAllPublishedPosts(any())).thenReturn(page);
 
         // Act
-        ResponseEntity<Page<PostDTO>> response = postController.getAllPublishedPosts(PageRequest.of(0, 10));
+        ResponseEntity<Page<PostSummaryDTO>> response = postController.getAllPublishedPosts(PageRequest.of(0, 10));
 
         // Assert
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -93,11 +107,11 @@ class SimplePostControllerTest {
     @DisplayName("Deve retornar posts filtrados quando pesquisar posts")
     void searchPosts_ShouldReturnFilteredPosts() {
         // Arrange
-        Page<PostDTO> page = new PageImpl<>(Arrays.asList(samplePostDTO), PageRequest.of(0, 10), 1);
+        Page<PostSummaryDTO> page = new PageImpl<>(Arrays.asList(samplePostSummary), PageRequest.of(0, 10), 1);
         when(postService.searchPosts(eq("test"), any())).thenReturn(page);
 
         // Act
-        ResponseEntity<Page<PostDTO>> response = postController.searchPosts("test", PageRequest.of(0, 10));
+        ResponseEntity<Page<PostSummaryDTO>> response = postController.searchPosts("test", PageRequest.of(0, 10));
 
         // Assert
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -111,11 +125,11 @@ class SimplePostControllerTest {
     @DisplayName("Deve retornar posts da categoria quando buscar posts por categoria")
     void getPostsByCategory_ShouldReturnPostsFromCategory() {
         // Arrange
-        Page<PostDTO> page = new PageImpl<>(Arrays.asList(samplePostDTO), PageRequest.of(0, 10), 1);
+        Page<PostSummaryDTO> page = new PageImpl<>(Arrays.asList(samplePostSummary), PageRequest.of(0, 10), 1);
         when(postService.getPostsByCategory(eq(1L), any())).thenReturn(page);
 
         // Act
-        ResponseEntity<Page<PostDTO>> response = postController.getPostsByCategory(1L, PageRequest.of(0, 10));
+        ResponseEntity<Page<PostSummaryDTO>> response = postController.getPostsByCategory(1L, PageRequest.of(0, 10));
 
         // Assert
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -129,11 +143,11 @@ class SimplePostControllerTest {
     @DisplayName("Deve retornar posts do usuário quando buscar posts por usuário")
     void getPostsByUser_ShouldReturnUserPosts() {
         // Arrange
-        Page<PostDTO> page = new PageImpl<>(Arrays.asList(samplePostDTO), PageRequest.of(0, 10), 1);
+        Page<PostSummaryDTO> page = new PageImpl<>(Arrays.asList(samplePostSummary), PageRequest.of(0, 10), 1);
         when(postService.getPostsByUser(eq(1L), any())).thenReturn(page);
 
         // Act
-        ResponseEntity<Page<PostDTO>> response = postController.getPostsByUser(1L, PageRequest.of(0, 10));
+        ResponseEntity<Page<PostSummaryDTO>> response = postController.getPostsByUser(1L, PageRequest.of(0, 10));
 
         // Assert
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -71,7 +71,8 @@ class TermsControllerTest {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
 
         User testUser = User.of("testuser", "test@example.com", "TestPass123!")
@@ -76,7 +76,8 @@ class UserControllerTest {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
     }
 
@@ -328,7 +329,7 @@ class UserControllerTest {
         // Arrange
         String specialUsername = "test.user-123";
         UserDTO userWithSpecialName = new UserDTO(2L, specialUsername, "special@example.com", 
-                User.Role.USER, LocalDateTime.now(), true, LocalDateTime.now(), null, "1.0", true);
+                User.Role.USER, LocalDateTime.now(), true, LocalDateTime.now(), null, "1.0", true, 0);
         when(userService.getUserByUsername(specialUsername)).thenReturn(userWithSpecialName);
 
         // Act & Assert
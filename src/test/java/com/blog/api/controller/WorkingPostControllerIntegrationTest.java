@@ -1,7 +1,9 @@
 package com.blog.api.controller;
 
 import com.blog.api.dto.CreatePostDTO;
+import com.blog.api.dto.CurrentUser;
 import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
 import com.blog.api.service.PostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +47,7 @@ class WorkingPostControllerIntegrationTest {
     private ObjectMapper objectMapper;
 
     private PostDTO samplePostDTO;
+    private PostSummaryDTO samplePostSummary;
     private CreatePostDTO createPostDTO;
 
     @BeforeEach
@@ -61,6 +64,19 @@ class WorkingPostControllerIntegrationTest {
                 0
         );
 
+        samplePostSummary = new PostSummaryDTO(
+                1L,
+                "Test Post Title",
+                "Test post content goes here...",
+                1,
+                true,
+                LocalDateTime.of(2025, 8, 2, 10, 0),
+                LocalDateTime.of(2025, 8, 2, 10, 0),
+                "testuser",
+                "Technology",
+                0
+        );
+
         createPostDTO = new CreatePostDTO(
                 "New Post Title",
                 "New post content goes here with more than 10 characters",
@@ -74,8 +90,8 @@ class WorkingPostControllerIntegrationTest {
     void getAllPosts_ShouldReturnPageOfPosts() throws Exception {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<PostDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostDTO));
-        Page<PostDTO> page = new PageImpl<>(content, pageable, 1);
+        List<PostSummaryDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostSummary));
+        Page<PostSummaryDTO> page = new PageImpl<>(content, pageable, 1);
         
         when(postService.getAllPublishedPosts(any(Pageable.class))).thenReturn(page);
 
@@ -112,7 +128,7 @@ class WorkingPostControllerIntegrationTest {
     @DisplayName("Deve criar e retornar post quando criar post")
     void createPost_ShouldCreateAndReturnPost() throws Exception {
         // Arrange
-        when(postService.createPost(any(CreatePostDTO.class), eq("testuser"))).thenReturn(samplePostDTO);
+        when(postService.createPost(any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(samplePostDTO);
 
         // Act & Assert
         mockMvc.perform(post("/api/v1/posts")
@@ -122,14 +138,14 @@ class WorkingPostControllerIntegrationTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.title").value("Test Post Title"));
 
-        verify(postService).createPost(any(CreatePostDTO.class), eq("testuser"));
+        verify(postService).createPost(any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     @Test
     @DisplayName("Deve atualizar e retornar post quando atualizar post")
     void updatePost_ShouldUpdateAndReturnPost() throws Exception {
         // Arrange
-        when(postService.updatePost(eq(1L), any(CreatePostDTO.class), eq("testuser"))).thenReturn(samplePostDTO);
+        when(postService.updatePost(eq(1L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")))).thenReturn(samplePostDTO);
 
         // Act & Assert
         mockMvc.perform(put("/api/v1/posts/1")
@@ -140,7 +156,7 @@ class WorkingPostControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Post Title"));
 
-        verify(postService).updatePost(eq(1L), any(CreatePostDTO.class), eq("testuser"));
+        verify(postService).updatePost(eq(1L), any(CreatePostDTO.class), eq(CurrentUser.unresolved("testuser")));
     }
 
     @Test
@@ -152,7 +168,7 @@ class WorkingPostControllerIntegrationTest {
                 .header("X-User-Username", "testuser"))
                 .andExpect(status().isNoContent());
 
-        verify(postService).deletePost(1L, "anonymous");
+        verify(postService).deletePost(1L, CurrentUser.unresolved("anonymous"));
     }
 
     @Test
@@ -160,8 +176,8 @@ class WorkingPostControllerIntegrationTest {
     void searchPosts_ShouldReturnPageOfPosts() throws Exception {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<PostDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostDTO));
-        Page<PostDTO> page = new PageImpl<>(content, pageable, 1);
+        List<PostSummaryDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostSummary));
+        Page<PostSummaryDTO> page = new PageImpl<>(content, pageable, 1);
         
         when(postService.searchPosts(eq("test"), any(Pageable.class))).thenReturn(page);
 
@@ -181,8 +197,8 @@ class WorkingPostControllerIntegrationTest {
     void getPostsByCategory_ShouldReturnPageOfPosts() throws Exception {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<PostDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostDTO));
-        Page<PostDTO> page = new PageImpl<>(content, pageable, 1);
+        List<PostSummaryDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostSummary));
+        Page<PostSummaryDTO> page = new PageImpl<>(content, pageable, 1);
         
         when(postService.getPostsByCategory(eq(1L), any(Pageable.class))).thenReturn(page);
 
@@ -201,8 +217,8 @@ class WorkingPostControllerIntegrationTest {
     void getPostsByUser_ShouldReturnPageOfPosts() throws Exception {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<PostDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostDTO));
-        Page<PostDTO> page = new PageImpl<>(content, pageable, 1);
+        List<PostSummaryDTO> content = new java.util.ArrayList<>(Arrays.asList(samplePostSummary));
+        Page<PostSummaryDTO> page = new PageImpl<>(content, pageable, 1);
         
         when(postService.getPostsByUser(eq(1L), any(Pageable.class))).thenReturn(page);
 
@@ -29,7 +29,8 @@ class JsonSerializationTest {
                 LocalDateTime.now(),
                 null,
                 "1.0",
-                true
+                true,
+                0
         );
         
         String json = objectMapper.writeValueAsString(userDTO);
@@ -58,7 +59,8 @@ class JsonSerializationTest {
                     LocalDateTime.now(),
                     null,
                     "1.0",
-                    true
+                    true,
+                    0
             );
             
             String json = springMapper.writeValueAsString(userDTO);
@@ -0,0 +1,126 @@
+package com.blog.api.repository;
+
+import com.blog.api.config.FlywayConfig;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every script in db/migration is safe on top of Hibernate's ddl-auto update,
+ * which runs first and may already have created the columns a script adds, with
+ * definitions of its own. Runs outside a test transaction, since the scripts take table
+ * locks from their own connections. Skipped without Docker.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(FlywayConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Testes de integração das migrações com PostgreSQL")
+class MigrationIntegrationTest {
+
+    private static final String REAPPLY_HISTORY_TABLE = "flyway_reapply_history";
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + REAPPLY_HISTORY_TABLE);
+    }
+
+    @Test
+    @DisplayName("Colunas criadas pelo Hibernate devem terminar com a definição das migrações")
+    void migratedColumns_ShouldHaveTheirFinalDefinitions() {
+        assertFinalDefinitions();
+    }
+
+    @Test
+    @DisplayName("Migrações devem reaplicar sobre colunas que o Hibernate criou de outra forma")
+    void migrations_ShouldReapplyOverColumnsHibernateCreatedDifferently() {
+        // Given: the columns as older mappings had ddl-auto create them
+        jdbcTemplate.execute("ALTER TABLE posts ALTER COLUMN reading_time_minutes DROP DEFAULT, "
+                + "ALTER COLUMN reading_time_minutes DROP NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE posts ALTER COLUMN comment_count DROP DEFAULT, "
+                + "ALTER COLUMN comment_count DROP NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN post_count DROP DEFAULT, "
+                + "ALTER COLUMN post_count DROP NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE categories ALTER COLUMN post_count DROP DEFAULT, "
+                + "ALTER COLUMN post_count DROP NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE comments ALTER COLUMN path TYPE VARCHAR(780) COLLATE \"default\", "
+                + "ALTER COLUMN path DROP NOT NULL, ALTER COLUMN depth DROP DEFAULT, ALTER COLUMN depth DROP NOT NULL");
+
+        // When: every script after the baseline runs again, against its own result
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .table(REAPPLY_HISTORY_TABLE)
+                .baselineOnMigrate(true)
+                .baselineVersion("11")
+                .load()
+                .migrate();
+
+        // Then
+        assertThat(result.success).isTrue();
+        assertThat(result.migrationsExecuted).isPositive();
+        assertFinalDefinitions();
+    }
+
+    private void assertFinalDefinitions() {
+        assertColumn("posts", "reading_time_minutes", "NO", "0", null);
+        assertColumn("posts", "excerpt", "YES", null, null);
+        assertColumn("posts", "comment_count", "NO", "0", null);
+        assertColumn("users", "post_count", "NO", "0", null);
+        assertColumn("categories", "post_count", "NO", "0", null);
+        assertColumn("comments", "path", "NO", null, "C");
+        assertColumn("comments", "depth", "NO", "0", null);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = 'posts' "
+                        + "AND column_name = 'search_vector'", String.class)).isEqualTo("tsvector");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT tgname FROM pg_trigger WHERE NOT tgisinternal", String.class))
+                .contains("trg_posts_search_vector", "trg_comments_path", "trg_comments_count", "trg_posts_count");
+    }
+
+    private void assertColumn(String table, String column, String nullable, String defaultValue, String collation) {
+        Map<String, Object> definition = jdbcTemplate.queryForMap(
+                "SELECT is_nullable, column_default, collation_name FROM information_schema.columns "
+                        + "WHERE table_name = ? AND column_name = ?", table, column);
+        assertThat(definition.get("is_nullable")).as(table + "." + column + " nullable").isEqualTo(nullable);
+        assertThat(definition.get("column_default")).as(table + "." + column + " default").isEqualTo(defaultValue);
+        assertThat(definition.get("collation_name")).as(table + "." + column + " collation").isEqualTo(collation);
+    }
+}
@@ -0,0 +1,141 @@
+package com.blog.api.repository;
+
+import com.blog.api.dto.CursorPage;
+import com.blog.api.dto.PostSummaryDTO;
+import com.blog.api.entity.Category;
+import com.blog.api.entity.Comment;
+import com.blog.api.entity.Post;
+import com.blog.api.entity.User;
+import com.blog.api.service.CacheTagService;
+import com.blog.api.service.PostService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PostService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Testes de quantidade de consultas na listagem de posts")
+class PostListingQueryCountTest {
+
+    private static final int POSTS = 6;
+    private static final int COMMENTS_PER_POST = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @MockBean
+    private Counter postCreationCounter;
+
+    @MockBean
+    private Timer databaseQueryTimer;
+
+    @MockBean
+    private CacheTagService cacheTagService;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setUsername("author");
+        author.setEmail("author@example.com");
+        author.setPassword("TestPass123!");
+        author.setRole(User.Role.AUTHOR);
+        author = entityManager.persist(author);
+
+        category = entityManager.persist(Category.of("Technology", "Tech posts").build());
+
+        for (int i = 0; i < POSTS; i++) {
+            Post post = entityManager.persist(Post.of("Post title " + i, "Post content number " + i, author)
+                    .published(true)
+                    .category(category)
+                    .build());
+            for (int j = 0; j < COMMENTS_PER_POST; j++) {
+                entityManager.persist(Comment.comment("Comment " + j, post, author).build());
+            }
+        }
+        entityManager.flush();
+        // H2 has no counter triggers; the reconciler's recount fills comment_count instead
+        postRepository.reconcileCommentCounts(1, Long.MAX_VALUE);
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Deve listar página de posts com número fixo de consultas")
+    void getAllPublishedPosts_ShouldRunFixedNumberOfStatements() {
+        // Page smaller than the total, so the COUNT query runs too
+        Page<PostSummaryDTO> page = postService.getAllPublishedPosts(PageRequest.of(0, POSTS - 1));
+
+        assertThat(page.getContent()).hasSize(POSTS - 1);
+        assertThat(page.getContent()).allSatisfy(post -> {
+            assertThat(post.authorUsername()).isEqualTo("author");
+            assertThat(post.categoryName()).isEqualTo("Technology");
+            assertThat(post.commentCount()).isEqualTo(COMMENTS_PER_POST);
+        });
+
+        // post summaries with author, category and comment count + COUNT
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Número de consultas não deve crescer com o tamanho da página")
+    void getPostsByCategory_ShouldNotGrowWithPageSize() {
+        postService.getPostsByCategory(category.getId(), PageRequest.of(0, 2));
+        long smallPage = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        entityManager.clear();
+        postService.getPostsByCategory(category.getId(), PageRequest.of(0, POSTS - 1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(smallPage);
+    }
+
+    @Test
+    @DisplayName("Deve listar fatia por cursor com uma consulta e sem COUNT")
+    void getPublishedPostsAfter_ShouldRunOneStatement() {
+        CursorPage<PostSummaryDTO> slice = postService.getPublishedPostsAfter(null, 4);
+
+        assertThat(slice.content()).hasSize(4);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.content()).allSatisfy(post -> assertThat(post.commentCount()).isEqualTo(COMMENTS_PER_POST));
+
+        // post summaries with author, category and comment count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
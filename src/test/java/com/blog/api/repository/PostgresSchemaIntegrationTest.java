@@ -0,0 +1,231 @@
+package com.blog.api.repository;
+
+import com.blog.api.config.FlywayConfig;
+import com.blog.api.dto.CommentThreadRow;
+import com.blog.api.dto.PostSearchHit;
+import com.blog.api.entity.Category;
+import com.blog.api.entity.Comment;
+import com.blog.api.entity.Post;
+import com.blog.api.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a real PostgreSQL with the schema built the way the application builds it:
+ * Hibernate's ddl-auto update first, then the Flyway scripts. Covers what H2 cannot, the
+ * columns, triggers and indexes that only exist in db/migration. Skipped without Docker.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(FlywayConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Testes de integração do esquema com PostgreSQL")
+class PostgresSchemaIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User author;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        author = new User();
+        author.setUsername("author");
+        author.setEmail("author@example.com");
+        author.setPassword("TestPass123!");
+        author.setRole(User.Role.AUTHOR);
+        author = entityManager.persist(author);
+
+        category = entityManager.persist(Category.of("Tecnologia", "Posts de tecnologia").build());
+    }
+
+    private Post persistPost(String title, String content, boolean published) {
+        return entityManager.persist(Post.of(title, content, author)
+                .published(published)
+                .category(category)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Busca deve ignorar acentos e trazer apenas posts publicados")
+    void searchPublished_ShouldMatchWithoutAccents_AndSkipDrafts() {
+        Post published = persistPost("Informação sobre bancos de dados", "Índices e consultas rápidas", true);
+        persistPost("Informação em rascunho", "Ainda não publicado", false);
+        persistPost("Receitas de bolo", "Farinha, ovos e açúcar", true);
+        entityManager.flush();
+
+        Page<PostSearchHit> hits = postRepository.searchPublished("informacao", PageRequest.of(0, 10));
+
+        assertThat(hits.getTotalElements()).isEqualTo(1);
+        assertThat(hits.getContent()).extracting(PostSearchHit::getId).containsExactly(published.getId());
+        assertThat(hits.getContent().get(0).getAuthorUsername()).isEqualTo("author");
+        assertThat(hits.getContent().get(0).getCategoryName()).isEqualTo("Tecnologia");
+    }
+
+    @Test
+    @DisplayName("Busca deve ranquear acerto no título acima de acerto no conteúdo")
+    void searchPublished_ShouldRankTitleMatchesFirst() {
+        Post inContent = persistPost("Notas da semana", "Um pouco sobre desempenho de consultas", true);
+        Post inTitle = persistPost("Desempenho de consultas", "Notas soltas", true);
+        entityManager.flush();
+
+        Page<PostSearchHit> hits = postRepository.searchPublished("desempenho", PageRequest.of(0, 10));
+
+        assertThat(hits.getContent()).extracting(PostSearchHit::getId)
+                .containsExactly(inTitle.getId(), inContent.getId());
+    }
+
+    @Test
+    @DisplayName("Busca deve refletir a edição do título")
+    void searchPublished_ShouldFollowTitleUpdates() {
+        Post post = persistPost("Título antigo", "Conteúdo do post", true);
+        entityManager.flush();
+
+        post.setTitle("Kubernetes na prática");
+        entityManager.flush();
+
+        assertThat(postRepository.searchPublished("kubernetes", PageRequest.of(0, 10)).getContent())
+                .extracting(PostSearchHit::getId).containsExactly(post.getId());
+        assertThat(postRepository.searchPublished("antigo", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Trigger deve preencher caminho e profundidade dos comentários")
+    void commentPath_ShouldBeFilledByTrigger() {
+        Post post = persistPost("Post com comentários", "Conteúdo do post", true);
+        Comment root = entityManager.persist(Comment.comment("Raiz", post, author).build());
+        Comment reply = entityManager.persist(Comment.reply("Resposta", root, author).build());
+        Comment nested = entityManager.persist(Comment.reply("Resposta aninhada", reply, author).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Comment loadedRoot = entityManager.find(Comment.class, root.getId());
+        Comment loadedReply = entityManager.find(Comment.class, reply.getId());
+        Comment loadedNested = entityManager.find(Comment.class, nested.getId());
+
+        assertThat(loadedRoot.getDepth()).isZero();
+        assertThat(loadedRoot.getPath()).hasSize(Comment.PATH_SEGMENT_LENGTH);
+        assertThat(loadedReply.getDepth()).isEqualTo(1);
+        assertThat(loadedReply.getPath()).startsWith(loadedRoot.getPath());
+        assertThat(loadedNested.getDepth()).isEqualTo(2);
+        assertThat(loadedNested.getPath()).startsWith(loadedReply.getPath())
+                .hasSize(3 * Comment.PATH_SEGMENT_LENGTH);
+    }
+
+    @Test
+    @DisplayName("Subárvore deve vir em ordem de profundidade a partir do índice de caminho")
+    void findSubtreeSlices_ShouldWalkThreadDepthFirst() {
+        Post post = persistPost("Post com comentários", "Conteúdo do post", true);
+        Comment root = entityManager.persist(Comment.comment("Raiz", post, author).build());
+        Comment first = entityManager.persist(Comment.reply("Primeira", root, author).build());
+        Comment second = entityManager.persist(Comment.reply("Segunda", root, author).build());
+        Comment firstReply = entityManager.persist(Comment.reply("Resposta da primeira", first, author).build());
+        Comment otherRoot = entityManager.persist(Comment.comment("Outra raiz", post, author).build());
+        entityManager.flush();
+
+        List<CommentThreadRow> subtree = commentRepository.findSubtreeSlices(List.of(root.getId()), 2, 10);
+        List<CommentThreadRow> topLevel = commentRepository.findTopLevelThreadSlice(post.getId(), "", 10);
+
+        assertThat(subtree).extracting(CommentThreadRow::getId)
+                .containsExactly(first.getId(), firstReply.getId(), second.getId());
+        assertThat(topLevel).extracting(CommentThreadRow::getId).containsExactly(root.getId(), otherRoot.getId());
+        assertThat(entityManager.getEntityManager().createNativeQuery(
+                "SELECT collation_name FROM information_schema.columns " +
+                "WHERE table_name = 'comments' AND column_name = 'path'").getSingleResult()).isEqualTo("C");
+    }
+
+    @Test
+    @DisplayName("Subárvore deve pular os ramos abaixo da profundidade máxima")
+    void subtreeQueries_ShouldSkipBranchesBelowMaxDepth() {
+        Post post = persistPost("Post com comentários", "Conteúdo do post", true);
+        Comment root = entityManager.persist(Comment.comment("Raiz", post, author).build());
+        Comment first = entityManager.persist(Comment.reply("Primeira", root, author).build());
+        Comment firstReply = entityManager.persist(Comment.reply("Resposta da primeira", first, author).build());
+        Comment parent = firstReply;
+        for (int i = 0; i < 30; i++) {
+            parent = entityManager.persist(Comment.reply("Nível " + (i + 3), parent, author).build());
+        }
+        Comment second = entityManager.persist(Comment.reply("Segunda", root, author).build());
+        entityManager.flush();
+        entityManager.clear();
+        String rootPath = entityManager.find(Comment.class, root.getId()).getPath();
+        String firstReplyPath = entityManager.find(Comment.class, firstReply.getId()).getPath();
+
+        List<CommentThreadRow> slices = commentRepository.findSubtreeSlices(List.of(root.getId()), 2, 10);
+        List<CommentThreadRow> fromRoot = commentRepository.findSubtreeAfter(rootPath, rootPath + "g", 2, 10);
+        List<CommentThreadRow> fromDeepest = commentRepository.findSubtreeAfter(firstReplyPath, rootPath + "g", 2, 10);
+        List<CommentThreadRow> limited = commentRepository.findSubtreeSlices(List.of(root.getId()), 2, 2);
+
+        assertThat(slices).extracting(CommentThreadRow::getId)
+                .containsExactly(first.getId(), firstReply.getId(), second.getId());
+        assertThat(fromRoot).extracting(CommentThreadRow::getId)
+                .containsExactly(first.getId(), firstReply.getId(), second.getId());
+        assertThat(fromDeepest).extracting(CommentThreadRow::getId).containsExactly(second.getId());
+        assertThat(limited).extracting(CommentThreadRow::getId).containsExactly(first.getId(), firstReply.getId());
+        assertThat(slices).filteredOn(row -> row.getId().equals(firstReply.getId()))
+                .extracting(CommentThreadRow::getHasReplies).containsExactly(true);
+    }
+
+    @Test
+    @DisplayName("Triggers devem manter os contadores de comentários e posts")
+    void counters_ShouldFollowInsertsDeletesAndMoves() {
+        Category other = entityManager.persist(Category.of("Culinária", "Receitas").build());
+        Post post = persistPost("Post com comentários", "Conteúdo do post", true);
+        Comment first = entityManager.persist(Comment.comment("Primeiro", post, author).build());
+        Comment reply = entityManager.persist(Comment.reply("Resposta", first, author).build());
+        entityManager.persist(Comment.comment("Segundo", post, author).build());
+        entityManager.flush();
+
+        assertThat(count("SELECT comment_count FROM posts WHERE id = ?1", post.getId())).isEqualTo(3);
+        assertThat(count("SELECT post_count FROM users WHERE id = ?1", author.getId())).isEqualTo(1);
+        assertThat(count("SELECT post_count FROM categories WHERE id = ?1", category.getId())).isEqualTo(1);
+
+        post.setCategory(other);
+        entityManager.remove(reply);
+        entityManager.flush();
+
+        assertThat(count("SELECT comment_count FROM posts WHERE id = ?1", post.getId())).isEqualTo(2);
+        assertThat(count("SELECT post_count FROM categories WHERE id = ?1", category.getId())).isZero();
+        assertThat(count("SELECT post_count FROM categories WHERE id = ?1", other.getId())).isEqualTo(1);
+    }
+
+    private int count(String sql, Long id) {
+        return ((Number) entityManager.getEntityManager().createNativeQuery(sql)
+                .setParameter(1, id).getSingleResult()).intValue();
+    }
+}
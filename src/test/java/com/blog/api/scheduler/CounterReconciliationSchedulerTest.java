@@ -0,0 +1,73 @@
+package com.blog.api.scheduler;
+
+import com.blog.api.service.CounterReconciliationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes da reconciliação de contadores")
+class CounterReconciliationSchedulerTest {
+
+    @Mock
+    private CounterReconciliationService reconciliationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CounterReconciliationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new CounterReconciliationScheduler(reconciliationService, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 1000);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer os IDs em faixas e contar as correções")
+    void reconcile_ShouldWalkIdRangesAndCountRepairs() {
+        // Given
+        when(reconciliationService.maxPostId()).thenReturn(2500L);
+        when(reconciliationService.reconcileCommentCounts(1L, 1000L)).thenReturn(0);
+        when(reconciliationService.reconcileCommentCounts(1001L, 2000L)).thenReturn(2);
+        when(reconciliationService.reconcileCommentCounts(2001L, 3000L)).thenReturn(1);
+
+        // When
+        scheduler.reconcile();
+
+        // Then
+        verify(reconciliationService, times(3)).reconcileCommentCounts(anyLong(), anyLong());
+        verify(reconciliationService, never()).reconcileCategoryPostCounts(anyLong(), anyLong());
+        verify(reconciliationService, never()).reconcileUserPostCounts(anyLong(), anyLong());
+        assertThat(meterRegistry.get("blog_api_counter_repairs_total")
+                .tag("counter", "posts.comment_count").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Falha numa tabela não deve impedir a reconciliação das outras")
+    void reconcile_ShouldContinueWithOtherCounters_WhenOneFails() {
+        // Given
+        when(reconciliationService.maxPostId()).thenReturn(10L);
+        when(reconciliationService.reconcileCommentCounts(1L, 1000L))
+                .thenThrow(new CannotAcquireLockException("deadlock detected"));
+        when(reconciliationService.maxCategoryId()).thenReturn(5L);
+        when(reconciliationService.maxUserId()).thenReturn(5L);
+
+        // When
+        scheduler.reconcile();
+
+        // Then
+        verify(reconciliationService).reconcileCategoryPostCounts(1L, 1000L);
+        verify(reconciliationService).reconcileUserPostCounts(1L, 1000L);
+    }
+}
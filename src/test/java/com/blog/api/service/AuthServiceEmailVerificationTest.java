@@ -187,7 +187,7 @@ class AuthServiceEmailVerificationTest {
             new org.springframework.security.core.userdetails.User("testuser", "hashedpassword", 
                 java.util.Collections.emptyList());
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(mockUserDetails);
-        when(jwtUtil.generateToken(any())).thenReturn("jwt-token");
+        when(jwtUtil.generateToken(any(org.springframework.security.core.userdetails.UserDetails.class), any(User.class))).thenReturn("jwt-token");
         
         com.blog.api.entity.RefreshToken mockRefreshToken = new com.blog.api.entity.RefreshToken();
         mockRefreshToken.setToken("refresh-token");
@@ -155,7 +155,7 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtUtil.generateToken(userDetails)).thenReturn("jwt-token");
+        when(jwtUtil.generateToken(userDetails, testUser)).thenReturn("jwt-token");
         when(refreshTokenService.createRefreshToken(eq(testUser.getId()), any(), any())).thenReturn(refreshToken);
 
         // Act
@@ -168,7 +168,7 @@ class AuthServiceTest {
         assertThat(result.refreshToken()).isEqualTo("refresh-token-123");
         verify(userRepository).findByUsername("testuser");
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil).generateToken(userDetails);
+        verify(jwtUtil).generateToken(userDetails, testUser);
         verify(refreshTokenService).createRefreshToken(eq(testUser.getId()), any(), any());
     }
 
@@ -253,7 +253,7 @@ class AuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtUtil.generateToken(userDetails)).thenReturn("jwt-token");
+        when(jwtUtil.generateToken(eq(userDetails), any(User.class))).thenReturn("jwt-token");
         com.blog.api.entity.RefreshToken refreshToken = new com.blog.api.entity.RefreshToken();
         refreshToken.setToken("refresh-token-123");
         when(refreshTokenService.createRefreshToken(any(), any(), any())).thenReturn(refreshToken);
@@ -273,7 +273,7 @@ class AuthServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtUtil.generateToken(userDetails)).thenReturn("jwt-token");
+        when(jwtUtil.generateToken(userDetails, testUser)).thenReturn("jwt-token");
         com.blog.api.entity.RefreshToken refreshToken = new com.blog.api.entity.RefreshToken();
         refreshToken.setToken("refresh-token-123");
         when(refreshTokenService.createRefreshToken(any(), any(), any())).thenReturn(refreshToken);
@@ -0,0 +1,181 @@
+package com.blog.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Generation Service Tests")
+class CacheGenerationServiceTest {
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private CacheGenerationService cacheGenerationService;
+
+    @BeforeEach
+    void setUp() {
+        cacheGenerationService = new CacheGenerationService(redisTemplateProvider, listenerContainerProvider);
+        ReflectionTestUtils.setField(cacheGenerationService, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("Deve carregar a geração do Redis apenas no primeiro uso")
+    void current_ShouldLoadGenerationOnce() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(CacheGenerationService.GENERATION_KEY_PREFIX + "posts")).thenReturn("41");
+
+        // When
+        long first = cacheGenerationService.current("posts");
+        long second = cacheGenerationService.current("posts");
+
+        // Then
+        assertEquals(41L, first);
+        assertEquals(41L, second);
+        verify(valueOperations, times(1)).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve avançar a geração com um único INCR e notificar os outros nós")
+    void advance_ShouldIncrementAndPublish() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(CacheGenerationService.GENERATION_KEY_PREFIX + "posts")).thenReturn(42L);
+
+        // When
+        boolean advanced = cacheGenerationService.advance("posts");
+
+        // Then
+        assertTrue(advanced);
+        assertEquals(42L, cacheGenerationService.current("posts"));
+        verify(redisTemplate).convertAndSend(CacheGenerationService.GENERATION_CHANNEL, "42:posts");
+    }
+
+    @Test
+    @DisplayName("Não deve avançar só a geração local quando o INCR falhar")
+    void advance_ShouldNotMoveLocalGeneration_WhenRedisFails() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cacheGenerationService.onMessage(message("3:posts"), null);
+        when(valueOperations.increment(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        boolean advanced = cacheGenerationService.advance("posts");
+
+        // Then
+        assertFalse(advanced);
+        assertEquals(3L, cacheGenerationService.current("posts"));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar geração recebida de outro nó sem retroceder")
+    void onMessage_ShouldOnlyMoveGenerationForward() {
+        // When
+        cacheGenerationService.onMessage(message("7:comments"), null);
+        cacheGenerationService.onMessage(message("5:comments"), null);
+
+        // Then
+        assertEquals(7L, cacheGenerationService.current("comments"));
+        verifyNoInteractions(redisTemplateProvider);
+    }
+
+    @Test
+    @DisplayName("Deve ressincronizar gerações conhecidas com o Redis")
+    void resync_ShouldApplyStoredGenerations() {
+        // Given
+        cacheGenerationService.onMessage(message("3:posts"), null);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(CacheGenerationService.GENERATION_KEY_PREFIX + "posts")))
+                .thenReturn(List.of("9"));
+
+        // When
+        cacheGenerationService.resync();
+
+        // Then
+        assertEquals(9L, cacheGenerationService.current("posts"));
+    }
+
+    @Test
+    @DisplayName("Deve continuar invalidando depois que o Redis perdeu a chave da geração")
+    void advance_ShouldReseedLostKey_SoInvalidationKeepsWorking() {
+        // Given
+        String key = CacheGenerationService.GENERATION_KEY_PREFIX + "posts";
+        cacheGenerationService.onMessage(message("42:posts"), null);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // Flushed Redis: the key is seeded back from this node before the INCR
+        when(valueOperations.setIfAbsent(key, "42")).thenReturn(true);
+        when(valueOperations.increment(key)).thenReturn(43L);
+
+        // When
+        boolean advanced = cacheGenerationService.advance("posts");
+
+        // Then
+        assertTrue(advanced);
+        assertEquals(43L, cacheGenerationService.current("posts"));
+        verify(valueOperations).setIfAbsent(key, "42");
+        verify(redisTemplate).convertAndSend(CacheGenerationService.GENERATION_CHANNEL, "43:posts");
+    }
+
+    @Test
+    @DisplayName("Deve seguir o Redis mesmo quando a geração armazenada é menor")
+    void resync_ShouldFollowRedisDown_AndReseedMissingKeys() {
+        // Given
+        cacheGenerationService.onMessage(message("42:posts"), null);
+        cacheGenerationService.onMessage(message("7:comments"), null);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            return keys.stream()
+                    .map(key -> key.endsWith("posts") ? "2" : null)
+                    .toList();
+        });
+
+        // When
+        cacheGenerationService.resync();
+
+        // Then
+        assertEquals(2L, cacheGenerationService.current("posts"));
+        assertEquals(7L, cacheGenerationService.current("comments"));
+        verify(valueOperations).setIfAbsent(CacheGenerationService.GENERATION_KEY_PREFIX + "comments", "7");
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CacheGenerationService.GENERATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
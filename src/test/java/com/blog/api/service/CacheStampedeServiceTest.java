@@ -0,0 +1,111 @@
+package com.blog.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Stampede Service Tests")
+class CacheStampedeServiceTest {
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private CacheStampedeService cacheStampedeService;
+
+    @BeforeEach
+    void setUp() {
+        cacheStampedeService = new CacheStampedeService(redisTemplateProvider, transactionManagerProvider, Runnable::run);
+        ReflectionTestUtils.setField(cacheStampedeService, "lockTtl", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(cacheStampedeService, "earlyRefreshEnabled", true);
+        ReflectionTestUtils.setField(cacheStampedeService, "beta", 1.0);
+    }
+
+    @Test
+    @DisplayName("Deve retornar null quando outro nó detém o lock de carga")
+    void tryLock_ShouldReturnNull_WhenHeldElsewhere() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(CacheStampedeService.LOCK_KEY_PREFIX + "posts:single:1"), anyString(),
+                eq(Duration.ofSeconds(10)))).thenReturn(false);
+
+        // When / Then
+        assertNull(cacheStampedeService.tryLock("posts", "single:1"));
+    }
+
+    @Test
+    @DisplayName("Deve liberar apenas o próprio lock")
+    @SuppressWarnings("unchecked")
+    void unlock_ShouldReleaseWithOwnToken() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        String token = cacheStampedeService.tryLock("posts", "single:1");
+
+        // When
+        cacheStampedeService.unlock("posts", "single:1", token);
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of(CacheStampedeService.LOCK_KEY_PREFIX + "posts:single:1")), eq(token));
+    }
+
+    @Test
+    @DisplayName("Deve carregar localmente quando não houver Redis")
+    void tryLock_ShouldFallBackToLocalLock_WithoutRedis() {
+        assertEquals(CacheStampedeService.LOCAL_LOCK, cacheStampedeService.tryLock("posts", "single:1"));
+    }
+
+    @Test
+    @DisplayName("Deve antecipar a atualização apenas perto da expiração")
+    void shouldRefreshEarly_ShouldTriggerNearExpiry() {
+        long now = System.currentTimeMillis();
+
+        assertTrue(cacheStampedeService.shouldRefreshEarly(500, now - 1));
+        assertFalse(cacheStampedeService.shouldRefreshEarly(1, now + Duration.ofHours(1).toMillis()));
+        assertFalse(cacheStampedeService.shouldRefreshEarly(0, now - 1));
+    }
+
+    @Test
+    @DisplayName("Deve informar quando a atualização em segundo plano for rejeitada")
+    void refreshInBackground_ShouldReportRejection() {
+        // Given
+        CacheStampedeService saturated = new CacheStampedeService(redisTemplateProvider, transactionManagerProvider,
+                command -> {
+                    throw new RejectedExecutionException("full");
+                });
+
+        // When / Then
+        assertFalse(saturated.refreshInBackground(() -> "value"));
+    }
+}
@@ -0,0 +1,248 @@
+package com.blog.api.service;
+
+import com.blog.api.config.BatchCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Tag Service Tests")
+class CacheTagServiceTest {
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private ObjectProvider<CacheManager> cacheManagerProvider;
+
+    @Mock
+    private ObjectProvider<ResponseCacheService> responseCacheServiceProvider;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private CacheTagService cacheTagService;
+
+    @BeforeEach
+    void setUp() {
+        cacheTagService = new CacheTagService(redisTemplateProvider, cacheManagerProvider, responseCacheServiceProvider);
+        ReflectionTestUtils.setField(cacheTagService, "enabled", true);
+        ReflectionTestUtils.setField(cacheTagService, "ttl", Duration.ofMinutes(30));
+        when(cacheManagerProvider.getIfAvailable()).thenReturn(cacheManager);
+        when(cacheManager.getCache("posts")).thenReturn(cache);
+    }
+
+    @Test
+    @DisplayName("Deve evictar apenas as chaves registradas na tag")
+    @SuppressWarnings("unchecked")
+    void evict_ShouldEvictOnlyTaggedKeys() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(CacheTagService.TAG_KEY_PREFIX + "posts:post:1"))))
+                .thenReturn(List.of("single:1", "all:0:10"));
+
+        // When
+        cacheTagService.evict("posts", "post:1");
+
+        // Then
+        verify(cache).evict("single:1");
+        verify(cache).evict("all:0:10");
+        verify(cache, never()).clear();
+    }
+
+    @Test
+    @DisplayName("Deve manter a entrada gravada por @CachePut quando a evicção roda após o commit")
+    @SuppressWarnings("unchecked")
+    void evict_ShouldKeepFreshlyPutEntry_WhenEvictionRunsAfterCommit() {
+        // Given
+        Cache posts = new ConcurrentMapCache("posts");
+        posts.put("all:0:10", "stale page");
+        when(cacheManager.getCache("posts")).thenReturn(posts);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(CacheTagService.TAG_KEY_PREFIX + "posts:post:1"))))
+                .thenReturn(List.of("single:1", "all:0:10"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When: updatePost evicts its tags, then @CachePut stores the result before the commit
+            cacheTagService.evict("posts", List.of("post:1"), Set.of("single:1"));
+            posts.put("single:1", "updated post");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(posts.get("single:1")).isNotNull();
+        assertThat(posts.get("single:1").get()).isEqualTo("updated post");
+        assertThat(posts.get("all:0:10")).isNull();
+        // Popping the tag set dropped the kept key as well, so it is tagged again
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache inteiro quando as tags estiverem desabilitadas")
+    void evict_ShouldClearCache_WhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(cacheTagService, "enabled", false);
+
+        // When
+        cacheTagService.evict("posts", "post:1");
+
+        // Then
+        verify(cache).clear();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache inteiro quando o índice de tags falhar")
+    @SuppressWarnings("unchecked")
+    void evict_ShouldClearCache_WhenRedisFails() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        cacheTagService.evict("posts", "post:1");
+
+        // Then
+        verify(cache).clear();
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("Deve reescrever no lugar as entradas da tag que mudaram")
+    @SuppressWarnings("unchecked")
+    void update_ShouldRewriteTaggedEntries() {
+        // Given
+        BatchCache posts = mock(BatchCache.class);
+        when(cacheManager.getCache("posts")).thenReturn(posts);
+        stubTagMembers(Set.of("single:1", "all:0:10"));
+        when(posts.update(any(), any())).thenReturn(true);
+
+        // When
+        cacheTagService.update("posts", "post:1", value -> "stale".equals(value) ? "patched" : value);
+
+        // Then
+        ArgumentCaptor<UnaryOperator<Object>> patch = ArgumentCaptor.forClass(UnaryOperator.class);
+        verify(posts).update(eq("single:1"), patch.capture());
+        verify(posts).update(eq("all:0:10"), any());
+        assertThat(patch.getValue().apply("stale")).isEqualTo("patched");
+        assertThat(patch.getValue().apply(null)).isNull();
+        verify(posts, never()).put(any(), any());
+        verify(posts, never()).evict(any());
+        verify(posts, never()).clear();
+    }
+
+    @Test
+    @DisplayName("Deve evictar a entrada regravada entre a leitura e a reescrita")
+    void update_ShouldEvictEntry_WrittenDuringTheRewrite() {
+        // Given: a @CachePut or a tag eviction lands on single:1 while it is being patched
+        BatchCache posts = mock(BatchCache.class);
+        when(cacheManager.getCache("posts")).thenReturn(posts);
+        stubTagMembers(Set.of("single:1", "single:2"));
+        when(posts.update(eq("single:1"), any())).thenReturn(false);
+        when(posts.update(eq("single:2"), any())).thenReturn(true);
+
+        // When
+        cacheTagService.update("posts", "post:1", value -> "patched");
+
+        // Then
+        verify(posts).evict("single:1");
+        verify(posts, never()).evict("single:2");
+        verify(posts, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve evictar em vez de reescrever em caches sem escrita atômica")
+    void update_ShouldEvictEntries_WhenCacheCannotRewriteAtomically() {
+        // Given
+        stubTagMembers(Set.of("single:1", "all:0:10"));
+
+        // When
+        cacheTagService.update("posts", "post:1", value -> "patched");
+
+        // Then
+        verify(cache).evict("single:1");
+        verify(cache).evict("all:0:10");
+        verify(cache, never()).get(any());
+        verify(cache, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas as respostas HTTP do post reescrito, depois da reescrita")
+    void update_ShouldInvalidatePatchedPostResponses_AfterTheRewrite() {
+        // Given
+        ResponseCacheService responseCacheService = mock(ResponseCacheService.class);
+        when(responseCacheServiceProvider.getIfAvailable()).thenReturn(responseCacheService);
+        BatchCache posts = mock(BatchCache.class);
+        when(cacheManager.getCache("posts")).thenReturn(posts);
+        stubTagMembers(Set.of("single:1"));
+        when(posts.update(any(), any())).thenReturn(true);
+
+        // When
+        cacheTagService.update("posts", "post:1", value -> "patched");
+
+        // Then
+        InOrder inOrder = inOrder(posts, responseCacheService);
+        inOrder.verify(posts).update(eq("single:1"), any());
+        inOrder.verify(responseCacheService).invalidatePatched("posts", "post:1");
+        verify(responseCacheService, never()).invalidateFor(any());
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache em vez de reescrever quando as tags estiverem desabilitadas")
+    void update_ShouldClearCache_WhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(cacheTagService, "enabled", false);
+
+        // When
+        cacheTagService.update("posts", "post:1", value -> value);
+
+        // Then
+        verify(cache).clear();
+        verify(cache, never()).put(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubTagMembers(Set<String> keys) {
+        SetOperations<String, String> setOperations = mock(SetOperations.class);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(CacheTagService.TAG_KEY_PREFIX + "posts:post:1")).thenReturn(keys);
+    }
+}
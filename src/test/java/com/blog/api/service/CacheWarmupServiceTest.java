@@ -0,0 +1,105 @@
+package com.blog.api.service;
+
+import com.blog.api.dto.CategoryDTO;
+import com.blog.api.dto.PostSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do aquecimento de cache")
+class CacheWarmupServiceTest {
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    private CacheWarmupService cacheWarmupService;
+
+    @BeforeEach
+    void setUp() {
+        cacheWarmupService = new CacheWarmupService(postService, categoryService, commentService, redisTemplateProvider);
+        ReflectionTestUtils.setField(cacheWarmupService, "enabled", true);
+        ReflectionTestUtils.setField(cacheWarmupService, "feedPages", 3);
+        ReflectionTestUtils.setField(cacheWarmupService, "pageSize", 2);
+        ReflectionTestUtils.setField(cacheWarmupService, "topPosts", 10);
+        ReflectionTestUtils.setField(cacheWarmupService, "window", Duration.ofHours(24));
+        ReflectionTestUtils.setField(cacheWarmupService, "timeout", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Deve aquecer as páginas do feed até a última existente")
+    void warmUp_ShouldLoadFeedPagesUntilLastPage() {
+        // Given
+        when(postService.getAllPublishedPosts(PageRequest.of(0, 2)))
+                .thenReturn(new PageImpl<>(List.of(summary(), summary()), PageRequest.of(0, 2), 3));
+        when(postService.getAllPublishedPosts(PageRequest.of(1, 2)))
+                .thenReturn(new PageImpl<>(List.of(summary()), PageRequest.of(1, 2), 3));
+        when(categoryService.getAllCategoriesList(PageRequest.of(0, 2)))
+                .thenReturn(List.of(new CategoryDTO(1L, "Technology", "Tech", 0)));
+
+        // When
+        cacheWarmupService.warmUp();
+
+        // Then
+        verify(postService, never()).getAllPublishedPosts(PageRequest.of(2, 2));
+        verify(postService).getPublishedPostsAfter(null, 2);
+        verify(categoryService, times(1)).getAllCategoriesList(any());
+    }
+
+    @Test
+    @DisplayName("Deve continuar o aquecimento quando uma etapa falhar")
+    void warmUp_ShouldContinue_WhenStepFails() {
+        // Given
+        when(postService.getAllPublishedPosts(any())).thenThrow(new RuntimeException("database down"));
+        when(categoryService.getAllCategoriesList(any())).thenReturn(Collections.emptyList());
+
+        // When
+        cacheWarmupService.warmUp();
+
+        // Then
+        verify(categoryService).getAllCategoriesList(PageRequest.of(0, 2));
+    }
+
+    @Test
+    @DisplayName("Não deve fazer nada quando desabilitado")
+    void warmUp_ShouldDoNothing_WhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(cacheWarmupService, "enabled", false);
+
+        // When
+        cacheWarmupService.warmUp();
+        cacheWarmupService.recordPostRead(1L);
+        cacheWarmupService.flushPostReads();
+
+        // Then
+        verifyNoInteractions(postService, categoryService, commentService, redisTemplateProvider);
+    }
+
+    private PostSummaryDTO summary() {
+        return new PostSummaryDTO(1L, "Title", "Excerpt", 1, true, null, null, "author", "Technology", 0);
+    }
+}
@@ -33,6 +33,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ResponseCacheService responseCacheService;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -267,6 +270,7 @@ class CategoryServiceTest {
         // Assert
         verify(categoryRepository).findById(categoryId);
         verify(categoryRepository).delete(testCategory);
+        verify(responseCacheService).invalidateFor("categories");
     }
 
     @Test
@@ -285,5 +289,6 @@ class CategoryServiceTest {
         
         verify(categoryRepository).findById(categoryId);
         verify(categoryRepository, never()).delete(any(Category.class));
+        verifyNoInteractions(responseCacheService);
     }
 }
\ No newline at end of file
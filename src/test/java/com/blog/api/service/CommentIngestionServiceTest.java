@@ -0,0 +1,265 @@
+package com.blog.api.service;
+
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CurrentUser;
+import com.blog.api.dto.PendingComment;
+import com.blog.api.entity.Comment;
+import com.blog.api.entity.Post;
+import com.blog.api.entity.User;
+import com.blog.api.exception.BadRequestException;
+import com.blog.api.exception.ServiceUnavailableException;
+import com.blog.api.repository.CommentBatchRepository;
+import com.blog.api.repository.CommentRepository;
+import com.blog.api.repository.PostRepository;
+import com.blog.api.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes da ingestão assíncrona de comentários")
+class CommentIngestionServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CommentBatchRepository commentBatchRepository;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private Counter commentCreationCounter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CommentIngestionService ingestionService;
+
+    private final CurrentUser author = new CurrentUser(1L, "author", User.Role.USER, null);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = newService(10);
+    }
+
+    private CommentIngestionService newService(int capacity) {
+        CommentIngestionService service = new CommentIngestionService(commentRepository, postRepository,
+                userRepository, commentBatchRepository, commentService, commentCreationCounter, meterRegistry,
+                capacity, 200, 2, Duration.ZERO, Duration.ofSeconds(1));
+        // Accept without starting the writer thread; tests drain the queue themselves
+        ReflectionTestUtils.setField(service, "running", true);
+        return service;
+    }
+
+    private static CommentDTO newComment(Long postId, Long parentId, String content) {
+        return new CommentDTO(null, content, null, null, postId, parentId, List.of());
+    }
+
+    @Test
+    @DisplayName("Deve enfileirar o comentário e mostrá-lo apenas ao autor")
+    void accept_ShouldQueueCommentAndShowItOnlyToAuthor() {
+        // Given
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentBatchRepository.nextIds(2)).thenReturn(List.of(100L, 101L));
+
+        // When
+        CommentDTO accepted = ingestionService.accept(newComment(1L, null, "  First!  "), author);
+
+        // Then
+        assertThat(accepted.id()).isEqualTo(100L);
+        assertThat(accepted.content()).isEqualTo("First!");
+        assertThat(accepted.authorUsername()).isEqualTo("author");
+        assertThat(ingestionService.findPending(100L, "author")).contains(accepted);
+        assertThat(ingestionService.findPending(100L, "someone-else")).isEmpty();
+        assertThat(ingestionService.findPendingByPost(1L, "author")).containsExactly(accepted);
+        verify(commentBatchRepository, never()).insertAll(any());
+        verifyNoInteractions(commentService);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 503 quando a fila está cheia")
+    void accept_ShouldReject_WhenQueueIsFull() {
+        // Given
+        ingestionService = newService(1);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentBatchRepository.nextIds(2)).thenReturn(List.of(100L, 101L));
+        ingestionService.accept(newComment(1L, null, "queued"), author);
+
+        // When / Then
+        assertThatThrownBy(() -> ingestionService.accept(newComment(1L, null, "rejected"), author))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(ingestionService.findPending(101L, "author")).isEmpty();
+        assertThat(meterRegistry.get("blog_api_comment_ingestion_total")
+                .tag("result", "rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Resposta a um comentário pendente deve herdar o post e a profundidade do pai")
+    void accept_ShouldTakePostAndDepthFromPendingParent() {
+        // Given
+        when(postRepository.existsById(anyLong())).thenReturn(true);
+        when(commentBatchRepository.nextIds(2)).thenReturn(List.of(100L, 101L));
+        CommentDTO parent = ingestionService.accept(newComment(1L, null, "parent"), author);
+
+        // When
+        CommentDTO reply = ingestionService.accept(newComment(2L, parent.id(), "reply"), author);
+
+        // Then
+        assertThat(reply.postId()).isEqualTo(1L);
+        assertThat(reply.parentId()).isEqualTo(100L);
+        verify(commentRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar resposta além da profundidade máxima")
+    void accept_ShouldReject_WhenParentIsAtMaxDepth() {
+        // Given
+        Comment parent = writtenComment();
+        parent.setDepth(Comment.MAX_DEPTH);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(parent));
+
+        // When / Then
+        assertThatThrownBy(() -> ingestionService.accept(newComment(1L, 10L, "too deep"), author))
+                .isInstanceOf(BadRequestException.class);
+        verify(commentBatchRepository, never()).nextIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando o pai não tem profundidade gravada")
+    void accept_ShouldFail_WhenParentDepthIsMissing() {
+        // Given
+        Comment parent = writtenComment();
+        parent.setDepth(null);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(parent));
+
+        // When / Then
+        assertThatThrownBy(() -> ingestionService.accept(newComment(1L, 10L, "reply"), author))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("V15");
+        verify(commentBatchRepository, never()).nextIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote de uma vez e invalidar o cache uma única vez")
+    void writeNextBatch_ShouldInsertBatchAndEvictThreadsOnce() throws InterruptedException {
+        // Given
+        when(postRepository.existsById(anyLong())).thenReturn(true);
+        when(commentBatchRepository.nextIds(2)).thenReturn(List.of(100L, 101L), List.of(102L, 103L));
+        ingestionService.accept(newComment(1L, null, "one"), author);
+        ingestionService.accept(newComment(1L, null, "two"), author);
+        ingestionService.accept(newComment(2L, null, "three"), author);
+
+        // When
+        int taken = ingestionService.writeNextBatch(0);
+
+        // Then
+        assertThat(taken).isEqualTo(3);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PendingComment>> batch = ArgumentCaptor.forClass(List.class);
+        verify(commentBatchRepository).insertAll(batch.capture());
+        assertThat(batch.getValue()).extracting(PendingComment::id).containsExactly(100L, 101L, 102L);
+        verify(commentService).evictThreads(Set.of(1L, 2L));
+        verify(commentCreationCounter).increment(3);
+        assertThat(ingestionService.findPendingByPost(1L, "author")).isEmpty();
+        assertThat(ingestionService.writeNextBatch(0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Violação de restrição deve descartar apenas os comentários inválidos")
+    void writeNextBatch_ShouldDropOnlyFailingRows_WhenConstraintIsViolated() throws InterruptedException {
+        // Given
+        when(postRepository.existsById(anyLong())).thenReturn(true);
+        when(commentBatchRepository.nextIds(2)).thenReturn(List.of(100L, 101L));
+        ingestionService.accept(newComment(1L, null, "post deleted meanwhile"), author);
+        ingestionService.accept(newComment(2L, null, "fine"), author);
+        doThrow(new DataIntegrityViolationException("fk_comments_post")).when(commentBatchRepository).insertAll(any());
+        doAnswer(invocation -> {
+            PendingComment comment = invocation.getArgument(0);
+            if (comment.id().equals(100L)) {
+                throw new DataIntegrityViolationException("fk_comments_post");
+            }
+            return null;
+        }).when(commentBatchRepository).insert(any());
+
+        // When
+        ingestionService.writeNextBatch(0);
+
+        // Then
+        verify(commentBatchRepository, times(2)).insert(any());
+        verify(commentService).evictThreads(Set.of(2L));
+        verify(commentCreationCounter).increment(1);
+        assertThat(meterRegistry.get("blog_api_comment_ingestion_total")
+                .tag("result", "dropped").counter().count()).isEqualTo(1.0);
+        assertThat(ingestionService.findPending(100L, "author")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve incluir a resposta pendente do autor sem alterar a página em cache")
+    void withPending_ShouldAddPendingReplyWithoutChangingCachedPage() {
+        // Given
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(writtenComment()));
+        when(commentBatchRepository.nextIds(anyInt())).thenReturn(List.of(100L, 101L));
+        CommentDTO reply = ingestionService.accept(newComment(1L, 10L, "pending reply"), author);
+
+        CommentDTO cached = new CommentDTO(10L, "written", LocalDateTime.now(), "other", 1L, null, new ArrayList<>());
+        Page<CommentDTO> page = new PageImpl<>(List.of(cached), PageRequest.of(0, 20), 1);
+
+        // When
+        Page<CommentDTO> forAuthor = ingestionService.withPending(1L, "author", page);
+        Page<CommentDTO> forOthers = ingestionService.withPending(1L, "other", page);
+
+        // Then
+        assertThat(forAuthor.getContent()).hasSize(1);
+        assertThat(forAuthor.getContent().get(0).replies()).containsExactly(reply);
+        assertThat(forAuthor.getTotalElements()).isEqualTo(1);
+        assertThat(cached.replies()).isEmpty();
+        assertThat(forOthers).isSameAs(page);
+    }
+
+    private static Comment writtenComment() {
+        Post post = new Post();
+        post.setId(1L);
+        Comment comment = new Comment();
+        comment.setId(10L);
+        comment.setPost(post);
+        comment.setDepth(0);
+        return comment;
+    }
+}
@@ -1,18 +1,27 @@
 package com.blog.api.service;
 
+import com.blog.api.dto.CommentCursor;
 import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CommentThreadDTO;
+import com.blog.api.dto.CommentThreadRow;
+import com.blog.api.dto.CurrentUser;
+import com.blog.api.dto.CursorPage;
+import com.blog.api.dto.PostDTO;
 import com.blog.api.entity.Comment;
 import com.blog.api.entity.Post;
 import com.blog.api.entity.User;
+import com.blog.api.exception.BadRequestException;
 import com.blog.api.exception.ResourceNotFoundException;
 import com.blog.api.repository.CommentRepository;
 import com.blog.api.repository.PostRepository;
 import com.blog.api.repository.UserRepository;
+import com.blog.api.util.CacheTags;
 import io.micrometer.core.instrument.Counter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -22,13 +31,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +60,9 @@ class CommentServiceTest {
     @Mock
     private Counter commentCreationCounter;
 
+    @Mock
+    private CacheTagService cacheTagService;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -93,8 +109,10 @@ class CommentServiceTest {
     void getCommentsByPost_ShouldReturnPageOfComments() {
         // Arrange
         Long postId = 1L;
-        Page<Comment> commentPage = new PageImpl<>(Arrays.asList(testComment), pageable, 1);
-        when(commentRepository.findByPostIdAndParentIsNull(postId, pageable)).thenReturn(commentPage);
+        Page<CommentDTO> topLevel = new PageImpl<>(List.of(row(1L, null, "Test comment")), pageable, 1);
+        when(commentRepository.findTopLevelByPostId(postId, pageable)).thenReturn(topLevel);
+        when(commentRepository.findThreadByPostId(postId))
+                .thenReturn(List.of(row(1L, null, "Test comment"), row(2L, 1L, "Test reply")));
 
         // Act
         Page<CommentDTO> result = commentService.getCommentsByPost(postId, pageable);
@@ -103,7 +121,51 @@ class CommentServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).content()).isEqualTo("Test comment");
-        verify(commentRepository).findByPostIdAndParentIsNull(postId, pageable);
+        assertThat(result.getContent().get(0).replies()).extracting(CommentDTO::content).containsExactly("Test reply");
+        verify(commentRepository).findTopLevelByPostId(postId, pageable);
+    }
+
+    @Test
+    @DisplayName("Deve carregar thread profunda com uma única consulta")
+    void getCommentsByPost_ShouldLoadDeepThreadInOneQuery() {
+        // Arrange
+        Long postId = 1L;
+        List<CommentDTO> thread = new ArrayList<>();
+        thread.add(row(1L, null, "Root"));
+        for (long id = 2; id <= 200; id++) {
+            thread.add(row(id, id - 1, "Reply " + id));
+        }
+        when(commentRepository.findTopLevelByPostId(postId, pageable))
+                .thenReturn(new PageImpl<>(List.of(row(1L, null, "Root")), pageable, 1));
+        when(commentRepository.findThreadByPostId(postId)).thenReturn(thread);
+
+        // Act
+        Page<CommentDTO> result = commentService.getCommentsByPost(postId, pageable);
+
+        // Assert
+        CommentDTO node = result.getContent().get(0);
+        int depth = 0;
+        while (!node.replies().isEmpty()) {
+            node = node.replies().get(0);
+            depth++;
+        }
+        assertThat(depth).isEqualTo(199);
+        verify(commentRepository, times(1)).findThreadByPostId(postId);
+        verifyNoMoreInteractions(commentRepository);
+    }
+
+    @Test
+    @DisplayName("Não deve carregar a thread quando a página estiver vazia")
+    void getCommentsByPost_ShouldSkipThread_WhenPageEmpty() {
+        // Arrange
+        when(commentRepository.findTopLevelByPostId(1L, pageable)).thenReturn(Page.empty(pageable));
+
+        // Act
+        Page<CommentDTO> result = commentService.getCommentsByPost(1L, pageable);
+
+        // Assert
+        assertThat(result.getContent()).isEmpty();
+        verify(commentRepository, never()).findThreadByPostId(any());
     }
 
     @Test
@@ -111,16 +173,17 @@ class CommentServiceTest {
     void getCommentsByPostSimple_ShouldReturnListOfComments() {
         // Arrange
         Long postId = 1L;
-        when(commentRepository.findByPostIdAndParentIsNullOrderByCreatedAtDesc(postId)).thenReturn(Arrays.asList(testComment));
+        when(commentRepository.findThreadByPostId(postId)).thenReturn(List.of(
+                row(1L, null, "Test comment"), row(2L, 1L, "Test reply"), row(3L, null, "Newer comment")));
 
         // Act
         List<CommentDTO> result = commentService.getCommentsByPostSimple(postId);
 
         // Assert
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).content()).isEqualTo("Test comment");
-        verify(commentRepository).findByPostIdAndParentIsNullOrderByCreatedAtDesc(postId);
+        assertThat(result).extracting(CommentDTO::content).containsExactly("Newer comment", "Test comment");
+        assertThat(result.get(1).replies()).hasSize(1);
+        verify(commentRepository).findThreadByPostId(postId);
     }
 
     @Test
@@ -129,6 +192,8 @@ class CommentServiceTest {
         // Arrange
         Long commentId = 1L;
         when(commentRepository.findById(commentId)).thenReturn(Optional.of(testComment));
+        when(commentRepository.findThreadByPostId(1L))
+                .thenReturn(List.of(row(1L, null, "Test comment"), row(2L, 1L, "Test reply")));
 
         // Act
         CommentDTO result = commentService.getCommentById(commentId);
@@ -137,6 +202,7 @@ class CommentServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo(commentId);
         assertThat(result.content()).isEqualTo("Test comment");
+        assertThat(result.replies()).extracting(CommentDTO::id).containsExactly(2L);
         verify(commentRepository).findById(commentId);
     }
 
@@ -167,7 +233,7 @@ class CommentServiceTest {
         when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
 
         // Act
-        CommentDTO result = commentService.createComment(commentDTO, username);
+        CommentDTO result = commentService.createComment(commentDTO, CurrentUser.unresolved(username));
 
         // Assert
         assertThat(result).isNotNull();
@@ -188,7 +254,7 @@ class CommentServiceTest {
         when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
 
         // Act
-        CommentDTO result = commentService.updateComment(1L, commentDTO, username);
+        CommentDTO result = commentService.updateComment(1L, commentDTO, CurrentUser.unresolved(username));
 
         // Assert
         assertThat(result).isNotNull();
@@ -208,7 +274,7 @@ class CommentServiceTest {
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
 
         // Act
-        commentService.deleteComment(commentId, username);
+        commentService.deleteComment(commentId, CurrentUser.unresolved(username));
 
         // Assert
         verify(commentRepository).findById(commentId);
@@ -233,7 +299,7 @@ class CommentServiceTest {
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(anotherUser));
 
         // Act & Assert
-        assertThatThrownBy(() -> commentService.deleteComment(commentId, username))
+        assertThatThrownBy(() -> commentService.deleteComment(commentId, CurrentUser.unresolved(username)))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Acesso negado");
 
@@ -242,6 +308,212 @@ class CommentServiceTest {
         verify(commentRepository, never()).delete(any(Comment.class));
     }
 
+    @Test
+    @DisplayName("Deve criar comentário sem buscar usuário quando principal já estiver resolvido")
+    void createComment_ShouldUseUserReference_WhenCurrentUserResolved() {
+        // Arrange
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
+
+        // Act
+        CommentDTO result = commentService.createComment(commentDTO, CurrentUser.fromEntity(testUser));
+
+        // Assert
+        assertThat(result).isNotNull();
+        verify(userRepository).getReferenceById(1L);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando usuário resolvido não existe mais")
+    void createComment_ShouldThrowException_WhenResolvedUserWasDeleted() {
+        // Arrange
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.createComment(commentDTO, CurrentUser.fromEntity(testUser)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User");
+
+        verify(userRepository, never()).getReferenceById(any());
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    @DisplayName("Deve permitir que admin resolvido delete comentário alheio sem consultar usuário")
+    void deleteComment_ShouldAllowResolvedAdmin_WithoutUserLookup() {
+        // Arrange
+        CurrentUser admin = new CurrentUser(99L, "admin", User.Role.ADMIN, null);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+
+        // Act
+        commentService.deleteComment(1L, admin);
+
+        // Assert
+        verify(commentRepository).delete(testComment);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas os comentários do post e atualizar sua contagem no cache")
+    @SuppressWarnings("unchecked")
+    void createComment_ShouldEvictThreadAndUpdatePostCount() {
+        // Arrange
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
+        when(postRepository.findCommentCountById(1L)).thenReturn(Optional.of(3));
+
+        // Act
+        commentService.createComment(commentDTO, CurrentUser.fromEntity(testUser));
+
+        // Assert
+        verify(cacheTagService).evict(CacheTags.COMMENTS_CACHE, CacheTags.thread(1L));
+        verify(cacheTagService, never()).evict(eq(CacheTags.POSTS_CACHE), any(String[].class));
+        ArgumentCaptor<UnaryOperator<Object>> patch = ArgumentCaptor.forClass(UnaryOperator.class);
+        verify(cacheTagService).update(eq(CacheTags.POSTS_CACHE), eq(CacheTags.post(1L)), patch.capture());
+
+        PostDTO cached = new PostDTO(1L, "Test Post", "Test content", true, null, null, "testuser", null, 2);
+        PostDTO other = new PostDTO(2L, "Other", "Other content", true, null, null, "testuser", null, 7);
+        assertThat(((PostDTO) patch.getValue().apply(cached)).commentCount()).isEqualTo(3);
+        assertThat(patch.getValue().apply(other)).isSameAs(other);
+    }
+
+    @Test
+    @DisplayName("Não deve invalidar contagem de posts ao editar comentário")
+    void updateComment_ShouldEvictThreadButNotPostCount() {
+        // Arrange
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+        when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
+
+        // Act
+        commentService.updateComment(1L, commentDTO, CurrentUser.fromEntity(testUser));
+
+        // Assert
+        verify(cacheTagService).evict(CacheTags.COMMENTS_CACHE, CacheTags.thread(1L));
+        verify(cacheTagService, never()).evict(eq(CacheTags.POSTS_CACHE), any(String[].class));
+        verify(cacheTagService, never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve cortar subárvore grande e devolver cursor para continuar")
+    void getThread_ShouldCutLargeSubtreeWithCursor() {
+        // Arrange
+        String root = path(1L);
+        when(commentRepository.findTopLevelThreadSlice(1L, "", 2))
+                .thenReturn(List.of(threadRow(1L, null, root, true), threadRow(2L, null, path(2L), false)));
+        when(commentRepository.findSubtreeSlices(List.of(1L), 2, 2)).thenReturn(List.of(
+                threadRow(3L, 1L, root + path(3L), true),
+                threadRow(4L, 3L, root + path(3L) + path(4L), false)));
+
+        // Act
+        CursorPage<CommentThreadDTO> result = commentService.getThread(1L, null, 1, 2, 1);
+
+        // Assert
+        assertThat(result.content()).hasSize(1);
+        CommentThreadDTO top = result.content().get(0);
+        assertThat(top.replies()).extracting(CommentThreadDTO::id).containsExactly(3L);
+        assertThat(top.moreReplies()).isEqualTo(CommentCursor.encode(root + path(3L)));
+        assertThat(top.replies().get(0).moreReplies()).isNull();
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isEqualTo(CommentCursor.encode(root));
+    }
+
+    @Test
+    @DisplayName("Deve marcar respostas no limite de profundidade com cursor próprio")
+    void getThread_ShouldGiveCursorToRepliesAtDepthLimit() {
+        // Arrange
+        String root = path(1L);
+        when(commentRepository.findTopLevelThreadSlice(1L, "", 21)).thenReturn(List.of(threadRow(1L, null, root, true)));
+        when(commentRepository.findSubtreeSlices(List.of(1L), 1, 6))
+                .thenReturn(List.of(threadRow(3L, 1L, root + path(3L), true)));
+
+        // Act
+        CursorPage<CommentThreadDTO> result = commentService.getThread(1L, null, 20, 1, 5);
+
+        // Assert
+        CommentThreadDTO top = result.content().get(0);
+        assertThat(top.moreReplies()).isNull();
+        assertThat(top.replies().get(0).moreReplies()).isEqualTo(CommentCursor.encode(root + path(3L)));
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve continuar subárvore a partir do cursor")
+    void getReplies_ShouldContinueFromCursor() {
+        // Arrange
+        String root = path(1L);
+        testComment.setPath(root);
+        testComment.setDepth(0);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+        when(commentRepository.findSubtreeAfter(root + path(3L), root + "g", 2, 3)).thenReturn(List.of(
+                threadRow(4L, 3L, root + path(3L) + path(4L), false),
+                threadRow(5L, 1L, root + path(5L), false)));
+
+        // Act
+        CursorPage<CommentThreadDTO> result = commentService.getReplies(1L, CommentCursor.encode(root + path(3L)), 2, 2);
+
+        // Assert
+        assertThat(result.content()).extracting(CommentThreadDTO::id).containsExactly(4L, 5L);
+        assertThat(result.content().get(0).parentId()).isEqualTo(3L);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor de outra subárvore")
+    void getReplies_ShouldRejectCursorOfOtherSubtree() {
+        // Arrange
+        testComment.setPath(path(1L));
+        testComment.setDepth(0);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.getReplies(1L, CommentCursor.encode(path(2L)), 20, 2))
+                .isInstanceOf(BadRequestException.class);
+        verify(commentRepository, never()).findSubtreeAfter(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar resposta além da profundidade máxima")
+    void createComment_ShouldRejectReply_WhenParentAtMaxDepth() {
+        // Arrange
+        testComment.setDepth(Comment.MAX_DEPTH);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.createComment(replyDTO, CurrentUser.fromEntity(testUser)))
+                .isInstanceOf(BadRequestException.class);
+        verify(commentRepository, never()).save(any());
+    }
+
     // Método getCommentsWithReplies removido pois não existe no CommentService real
     // O CommentService usa getCommentsByPost() e getCommentsByPostSimple()
-}
\ No newline at end of file
+
+    private String path(Long id) {
+        return String.format("%012x", id);
+    }
+
+    private CommentThreadRow threadRow(Long id, Long parentId, String path, boolean hasReplies) {
+        return new CommentThreadRow() {
+            public Long getId() { return id; }
+            public String getContent() { return "Comment " + id; }
+            public LocalDateTime getCreatedAt() { return LocalDateTime.now(); }
+            public String getAuthorUsername() { return "testuser"; }
+            public Long getPostId() { return 1L; }
+            public Long getParentId() { return parentId; }
+            public String getPath() { return path; }
+            public int getDepth() { return path.length() / Comment.PATH_SEGMENT_LENGTH - 1; }
+            public boolean getHasReplies() { return hasReplies; }
+        };
+    }
+
+    private CommentDTO row(Long id, Long parentId, String content) {
+        return new CommentDTO(id, content, LocalDateTime.now(), "testuser", 1L, parentId);
+    }
+}
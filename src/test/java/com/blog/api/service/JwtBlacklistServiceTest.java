@@ -105,6 +105,40 @@ class JwtBlacklistServiceTest {
         verify(revokedTokenRepository).existsByTokenJti(jti);
     }
 
+    @Test
+    @DisplayName("Não deve consultar a base quando o filtro em memória descarta o JTI")
+    void isTokenRevoked_WhenRegistryRulesOutJti_ShouldSkipRepository() {
+        // Given
+        RevokedTokenRegistry registry = mock(RevokedTokenRegistry.class);
+        ReflectionTestUtils.setField(jwtBlacklistService, "revokedTokenRegistry", registry);
+        when(registry.isDefinitelyNotRevoked("clean-jti")).thenReturn(true);
+
+        // When
+        boolean result = jwtBlacklistService.isTokenRevoked("clean-jti");
+
+        // Then
+        assertFalse(result);
+        verify(revokedTokenRepository, never()).existsByTokenJti(any());
+        verify(registry, never()).mightBeRevoked(any());
+    }
+
+    @Test
+    @DisplayName("Deve consultar a base quando o filtro em memória indica possível revogação")
+    void isTokenRevoked_WhenRegistryReportsPossibleHit_ShouldQueryRepository() {
+        // Given
+        RevokedTokenRegistry registry = mock(RevokedTokenRegistry.class);
+        ReflectionTestUtils.setField(jwtBlacklistService, "revokedTokenRegistry", registry);
+        when(registry.isDefinitelyNotRevoked("suspect-jti")).thenReturn(false);
+        when(revokedTokenRepository.existsByTokenJti("suspect-jti")).thenReturn(true);
+
+        // When
+        boolean result = jwtBlacklistService.isTokenRevoked("suspect-jti");
+
+        // Then
+        assertTrue(result);
+        verify(revokedTokenRepository).existsByTokenJti("suspect-jti");
+    }
+
     // =====================================================================
     // Token Revocation Tests
     // =====================================================================
@@ -313,6 +347,36 @@ class JwtBlacklistServiceTest {
         assertEquals("User ID cannot be null", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Deve revogar todos os access tokens do usuário com uma única escrita de epoch")
+    void revokeAllUserAccessTokens_ShouldWriteUserEpoch() {
+        // Given
+        TokenEpochService tokenEpochService = mock(TokenEpochService.class);
+        ReflectionTestUtils.setField(jwtBlacklistService, "tokenEpochService", tokenEpochService);
+
+        // When
+        jwtBlacklistService.revokeAllUserAccessTokens("testuser", 1L, RevokedToken.RevokeReason.LOGOUT);
+
+        // Then
+        verify(tokenEpochService).revokeTokensIssuedBefore("testuser");
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Deve considerar revogado token emitido antes do epoch do usuário")
+    void isRevokedByUserEpoch_ShouldDelegateToEpochService() {
+        // Given
+        TokenEpochService tokenEpochService = mock(TokenEpochService.class);
+        ReflectionTestUtils.setField(jwtBlacklistService, "tokenEpochService", tokenEpochService);
+        Date issuedAt = new Date();
+        com.blog.api.util.ParsedToken parsedToken = new com.blog.api.util.ParsedToken(
+            "token", "testuser", "jti", issuedAt, new Date(issuedAt.getTime() + 60000), null);
+        when(tokenEpochService.isIssuedBeforeEpoch(eq("testuser"), any(Date.class))).thenReturn(true);
+
+        // When & Then
+        assertTrue(jwtBlacklistService.isRevokedByUserEpoch(parsedToken));
+    }
+
     // =====================================================================
     // Token Information Tests
     // =====================================================================
@@ -0,0 +1,101 @@
+package com.blog.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Near Cache Service Tests")
+class NearCacheServiceTest {
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private NearCacheService nearCacheService;
+
+    @BeforeEach
+    void setUp() {
+        nearCacheService = new NearCacheService(redisTemplateProvider, listenerContainerProvider,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(nearCacheService, "enabled", true);
+        ReflectionTestUtils.setField(nearCacheService, "maxSize", 100L);
+        ReflectionTestUtils.setField(nearCacheService, "ttl", Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Deve remover a chave local ao receber invalidação de outro nó")
+    void onMessage_ShouldEvictKeyFromOtherNode() {
+        // Given
+        Cache<String, Object> cache = nearCacheService.localCache("posts");
+        cache.put("g3:feed:a|b:20", "page");
+        cache.put("g3:single:1", "post");
+
+        // When
+        nearCacheService.onMessage(message("other-node|evict|posts|g3:feed:a|b:20"), null);
+
+        // Then
+        assertNull(cache.getIfPresent("g3:feed:a|b:20"));
+        assertNotNull(cache.getIfPresent("g3:single:1"));
+    }
+
+    @Test
+    @DisplayName("Deve limpar a camada local ao receber clear de outro nó")
+    void onMessage_ShouldClearLocalCache() {
+        // Given
+        Cache<String, Object> cache = nearCacheService.localCache("categories");
+        cache.put("all", "categories");
+
+        // When
+        nearCacheService.onMessage(message("other-node|clear|categories|"), null);
+
+        // Then
+        assertNull(cache.getIfPresent("all"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar as próprias mensagens")
+    void onMessage_ShouldIgnoreOwnBroadcasts() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        Cache<String, Object> cache = nearCacheService.localCache("posts");
+        nearCacheService.publishEvict("posts", "single:1");
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(NearCacheService.INVALIDATION_CHANNEL), sent.capture());
+        cache.put("single:1", "post");
+
+        // When
+        nearCacheService.onMessage(message(sent.getValue()), null);
+
+        // Then
+        assertNotNull(cache.getIfPresent("single:1"));
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(NearCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
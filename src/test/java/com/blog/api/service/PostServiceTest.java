@@ -2,7 +2,12 @@ package com.blog.api.service;
 
 // Importações de DTOs - Data Transfer Objects utilizados para transferir dados entre camadas
 import com.blog.api.dto.CreatePostDTO;    // DTO para criação de posts - contém title, content, categoryId, published
+import com.blog.api.dto.CurrentUser;      // Usuário autenticado resolvido uma vez por requisição
+import com.blog.api.dto.CursorPage;       // Fatia de listagem paginada por cursor (keyset)
+import com.blog.api.dto.PostCursor;       // Cursor opaco (createdAt, id) da paginação keyset
 import com.blog.api.dto.PostDTO;          // DTO de resposta para posts - versão read-only com todos os dados
+import com.blog.api.dto.PostSearchHit;    // Linha da busca textual - trecho destacado e relevância
+import com.blog.api.dto.PostSummaryDTO;   // DTO de listagem - resumo e tempo de leitura, sem o conteúdo
 
 // Importações de entidades JPA - representam as tabelas do banco de dados
 import com.blog.api.entity.Category;     // Entidade categoria - agrupa posts por temas
@@ -10,6 +15,7 @@ import com.blog.api.entity.Post;         // Entidade principal - representa um p
 import com.blog.api.entity.User;         // Entidade usuário - autor dos posts
 
 // Importações de exceções customizadas
+import com.blog.api.exception.BadRequestException;        // Exceção para parâmetros inválidos
 import com.blog.api.exception.ResourceNotFoundException;  // Exceção lançada quando recurso não é encontrado
 
 // Importações de repositórios - interfaces que fazem a ponte com o banco de dados
@@ -17,6 +23,13 @@ import com.blog.api.repository.CategoryRepository;  // Acesso aos dados de categ
 import com.blog.api.repository.PostRepository;      // Acesso aos dados de posts  
 import com.blog.api.repository.UserRepository;      // Acesso aos dados de usuários
 
+// Tags de dependência das entradas de cache
+import com.blog.api.util.CacheTags;
+
+// Importações do cache do Spring - cache em memória real para os testes de busca em lote
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
 // Importações do Micrometer - biblioteca para métricas e observabilidade
 import io.micrometer.core.instrument.Counter;  // Contador de métricas - conta eventos como posts criados
 import io.micrometer.core.instrument.Timer;    // Timer de métricas - mede tempo de operações
@@ -37,10 +50,19 @@ import org.springframework.data.domain.Page;        // Interface para resultados
 import org.springframework.data.domain.PageImpl;    // Implementação concreta de Page para testes
 import org.springframework.data.domain.PageRequest; // Criador de objetos Pageable
 import org.springframework.data.domain.Pageable;    // Interface para parâmetros de paginação
+import org.springframework.data.domain.Slice;       // Fatia sem contagem total (paginação keyset)
+import org.springframework.data.domain.SliceImpl;   // Implementação concreta de Slice para testes
 
 // Importações padrão do Java
+import org.springframework.cache.annotation.Cacheable;               // Anotação lida para avaliar a chave de cache
+import org.springframework.expression.Expression;                   // Expressão SpEL da chave de cache
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import java.nio.charset.StandardCharsets;  // Codificação do cursor reescrito
 import java.time.LocalDateTime;  // Classe para trabalhar com data e hora
 import java.util.Arrays;         // Utilitários para arrays - usado para criar listas de teste
+import java.util.Base64;         // Codificação do cursor opaco
+import java.util.List;           // Listas de IDs da busca em lote
 import java.util.Optional;       // Container que pode ou não conter um valor - usado pelo JPA
 
 // Importações estáticas do AssertJ - biblioteca para assertions mais legíveis
@@ -49,7 +71,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;   // Assertion
 
 // Importações estáticas do Mockito - métodos para configurar comportamento dos mocks
 import static org.mockito.ArgumentMatchers.any;  // Matcher para qualquer argumento
+import static org.mockito.ArgumentMatchers.anyString;  // Matcher para qualquer string
+import static org.mockito.ArgumentMatchers.argThat;    // Matcher com condição sobre o argumento
+import static org.mockito.ArgumentMatchers.anyCollection;  // Matcher para qualquer coleção
+import static org.mockito.Mockito.never;         // Verifica que um método nunca foi chamado
 import static org.mockito.Mockito.verify;        // Verifica se um método foi chamado no mock
+import static org.mockito.Mockito.verifyNoInteractions;  // Verifica que o mock não foi usado
 import static org.mockito.Mockito.when;          // Define comportamento do mock quando método é chamado
 
 /**
@@ -76,6 +103,12 @@ class PostServiceTest {
     @Mock
     private CategoryRepository categoryRepository;  // Mock do repositório de categorias - simula busca de categorias
     
+    @Mock
+    private CacheTagService cacheTagService;        // Mock do índice de tags de cache - simula invalidação seletiva
+    
+    @Mock
+    private CacheManager cacheManager;              // Mock do gerenciador de cache - fornece o cache "posts" da busca em lote
+
     @Mock
     private Counter postCreationCounter;        // Mock do contador de métricas - simula contagem de posts criados
     
@@ -92,6 +125,7 @@ class PostServiceTest {
     private User testUser;          // Usuário de teste - representa o autor dos posts
     private Category testCategory;  // Categoria de teste - representa a categoria dos posts  
     private Post testPost;          // Post de teste - representa um post completo no sistema
+    private PostSummaryDTO testSummary;   // Resumo do post de teste - como as consultas de listagem o retornam
     private CreatePostDTO createPostDTO;  // DTO de teste - representa dados para criar/atualizar posts
     private Pageable pageable;      // Objeto de paginação - define página e tamanho para consultas paginadas
 
@@ -132,6 +166,11 @@ class PostServiceTest {
         testPost.setId(1L);                     // Define ID do post (simulando que já foi salvo)
         testPost.setCreatedAt(LocalDateTime.now());   // Define data de criação
         testPost.setUpdatedAt(LocalDateTime.now());   // Define data de última atualização
+        testPost.setExcerpt("Test content");          // Resumo gravado junto ao post
+        testPost.setReadingTimeMinutes(1);            // Tempo de leitura gravado junto ao post
+
+        // Projeção de listagem do post de teste (sem conteúdo)
+        testSummary = PostSummaryDTO.fromEntity(testPost, 0);
 
         // ===== CRIAÇÃO DO DTO DE TESTE =====
         
@@ -152,25 +191,26 @@ class PostServiceTest {
      * Expectativa: Retorna página com posts convertidos para DTO
      */
     @Test
-    @DisplayName("Deve retornar uma página de PostDTOs quando buscar todos os posts")
-    void getAllPosts_ShouldReturnPageOfPostDTOs() {
+    @DisplayName("Deve retornar uma página de resumos quando buscar todos os posts")
+    void getAllPosts_ShouldReturnPageOfPostSummaries() {
         
         // ===== ARRANGE (Preparação) =====
         // Cria uma página simulada contendo um post para retorno do repositório
-        Page<Post> postPage = new PageImpl<>(Arrays.asList(testPost), pageable, 1);
+        Page<PostSummaryDTO> postPage = new PageImpl<>(Arrays.asList(testSummary), pageable, 1);
         
         // Configura o mock: quando o repositório for chamado, retorna a página criada
         when(postRepository.findByPublishedTrue(pageable)).thenReturn(postPage);
 
         // ===== ACT (Ação) =====
         // Executa o método sendo testado - busca posts publicados
-        Page<PostDTO> result = postService.getAllPublishedPosts(pageable);
+        Page<PostSummaryDTO> result = postService.getAllPublishedPosts(pageable);
 
         // ===== ASSERT (Verificação) =====
         assertThat(result).isNotNull();                                    // Verifica que o resultado não é nulo
         assertThat(result.getContent()).hasSize(1);                        // Verifica que retornou 1 post
         assertThat(result.getContent().get(0).title()).isEqualTo("Test Post");      // Verifica título do post
-        assertThat(result.getContent().get(0).content()).isEqualTo("Test content"); // Verifica conteúdo do post
+        assertThat(result.getContent().get(0).excerpt()).isEqualTo("Test content"); // Verifica resumo do post
+        assertThat(result.getContent().get(0).readingTimeMinutes()).isEqualTo(1);   // Verifica tempo de leitura
         
         // Verifica que o repositório foi chamado exatamente com os parâmetros esperados
         verify(postRepository).findByPublishedTrue(pageable);
@@ -253,7 +293,7 @@ class PostServiceTest {
 
         // ===== ACT (Ação) =====
         // Executa criação do post através do serviço
-        PostDTO result = postService.createPost(createPostDTO, username);
+        PostDTO result = postService.createPost(createPostDTO, CurrentUser.unresolved(username));
 
         // ===== ASSERT (Verificação) =====
         assertThat(result).isNotNull();                             // Resultado não é nulo
@@ -291,7 +331,7 @@ class PostServiceTest {
 
         // ===== ACT (Ação) =====
         // Executa atualização do post
-        PostDTO result = postService.updatePost(postId, createPostDTO, username);
+        PostDTO result = postService.updatePost(postId, createPostDTO, CurrentUser.unresolved(username));
 
         // ===== ASSERT (Verificação) =====
         assertThat(result).isNotNull();                             // Resultado não é nulo
@@ -325,7 +365,7 @@ class PostServiceTest {
 
         // ===== ACT (Ação) =====
         // Executa deleção do post (método void - não retorna nada)
-        postService.deletePost(postId, username);
+        postService.deletePost(postId, CurrentUser.unresolved(username));
 
         // ===== ASSERT (Verificação) =====
         // Como é método void, verificamos que as operações necessárias foram chamadas
@@ -348,14 +388,14 @@ class PostServiceTest {
         Long categoryId = 1L;  // ID da categoria para filtrar
         
         // Cria página simulada com posts da categoria
-        Page<Post> postPage = new PageImpl<>(Arrays.asList(testPost), pageable, 1);
+        Page<PostSummaryDTO> postPage = new PageImpl<>(Arrays.asList(testSummary), pageable, 1);
         
         // Configura mock: busca por categoria retorna página criada
         when(postRepository.findByCategoryId(categoryId, pageable)).thenReturn(postPage);
 
         // ===== ACT (Ação) =====
         // Executa busca por categoria
-        Page<PostDTO> result = postService.getPostsByCategory(categoryId, pageable);
+        Page<PostSummaryDTO> result = postService.getPostsByCategory(categoryId, pageable);
 
         // ===== ASSERT (Verificação) =====
         assertThat(result).isNotNull();                                    // Resultado não é nulo
@@ -366,4 +406,452 @@ class PostServiceTest {
         verify(postRepository).findByCategoryId(categoryId, pageable);
     }
 
-}
\ No newline at end of file
+    /**
+     * TESTE: Criar post com usuário já resolvido pelo filtro de autenticação
+     * 
+     * Cenário: Principal da requisição já contém ID e role do autor
+     * Expectativa: Autor é vinculado por referência, sem nova busca por username
+     */
+    @Test
+    @DisplayName("Deve criar post sem buscar usuário quando principal já estiver resolvido")
+    void createPost_ShouldUseUserReference_WhenCurrentUserResolved() {
+        
+        // ===== ARRANGE (Preparação) =====
+        CurrentUser currentUser = CurrentUser.fromEntity(testUser);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);               // Referência sem SELECT
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(postRepository.save(any(Post.class))).thenReturn(testPost);
+
+        // ===== ACT (Ação) =====
+        PostDTO result = postService.createPost(createPostDTO, currentUser);
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result.authorUsername()).isEqualTo("testuser");
+        verify(userRepository).getReferenceById(1L);
+        verify(userRepository, never()).findByUsername(anyString());             // Nenhuma busca repetida
+    }
+
+    /**
+     * TESTE: Criar post com token de usuário já removido
+     * 
+     * Cenário: Principal resolvido aponta para um usuário que não existe mais
+     * Expectativa: ResourceNotFoundException (404) em vez de violação de chave estrangeira
+     */
+    @Test
+    @DisplayName("Deve lançar exceção quando usuário resolvido não existe mais")
+    void createPost_ShouldThrowException_WhenResolvedUserWasDeleted() {
+        
+        // ===== ARRANGE (Preparação) =====
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        // ===== ACT & ASSERT (Ação e Verificação) =====
+        assertThatThrownBy(() -> postService.createPost(createPostDTO, CurrentUser.fromEntity(testUser)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User");
+
+        verify(userRepository, never()).getReferenceById(any());
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    /**
+     * TESTE: Deletar post com usuário já resolvido
+     * 
+     * Cenário: Autor resolvido na requisição deleta seu próprio post
+     * Expectativa: Verificação de autoria usa o ID do principal, sem consultar usuários
+     */
+    @Test
+    @DisplayName("Deve deletar post sem consultar usuário quando principal já estiver resolvido")
+    void deletePost_ShouldCheckOwnershipById_WhenCurrentUserResolved() {
+        
+        // ===== ARRANGE (Preparação) =====
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+
+        // ===== ACT (Ação) =====
+        postService.deletePost(1L, CurrentUser.fromEntity(testUser));
+
+        // ===== ASSERT (Verificação) =====
+        verify(postRepository).delete(testPost);
+        verifyNoInteractions(userRepository);                                    // Nenhuma consulta de usuário
+    }
+
+    /**
+     * TESTE: Usuário resolvido que não é autor nem admin
+     * 
+     * Cenário: Outro usuário tenta deletar post alheio
+     * Expectativa: Exceção de autorização, sem deletar o post
+     */
+    @Test
+    @DisplayName("Deve impedir que outro usuário delete post alheio")
+    void deletePost_ShouldThrow_WhenResolvedUserIsNotOwner() {
+        
+        // ===== ARRANGE (Preparação) =====
+        CurrentUser otherUser = new CurrentUser(2L, "otheruser", User.Role.USER, null);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+
+        // ===== ACT & ASSERT =====
+        assertThatThrownBy(() -> postService.deletePost(1L, otherUser))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("You can only delete your own posts");
+        verify(postRepository, never()).delete(any(Post.class));
+    }
+
+    /**
+     * TESTE: Primeira fatia da paginação por cursor
+     * 
+     * Cenário: Cliente pede a primeira fatia do feed sem cursor
+     * Expectativa: Retorna os posts e um cursor opaco apontando para o último item
+     */
+    @Test
+    @DisplayName("Deve retornar primeira fatia com cursor para a próxima")
+    void getPublishedPostsAfter_ShouldReturnFirstSliceWithNextCursor() {
+        
+        // ===== ARRANGE (Preparação) =====
+        Slice<PostSummaryDTO> slice = new SliceImpl<>(Arrays.asList(testSummary), PageRequest.of(0, 1), true);
+        when(postRepository.findPublishedFirstSlice(PageRequest.of(0, 1))).thenReturn(slice);
+
+        // ===== ACT (Ação) =====
+        CursorPage<PostSummaryDTO> result = postService.getPublishedPostsAfter(null, 1);
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isTrue();
+        PostCursor next = PostCursor.decode(result.nextCursor());                 // Cursor opaco decodificável
+        assertThat(next.id()).isEqualTo(testPost.getId());
+        assertThat(next.createdAt()).isEqualTo(testPost.getCreatedAt());
+    }
+
+    /**
+     * TESTE: Fatia seguinte a partir de um cursor
+     * 
+     * Cenário: Cliente envia o cursor recebido na fatia anterior
+     * Expectativa: Consulta por keyset usa createdAt e id do cursor; última fatia não tem cursor
+     */
+    @Test
+    @DisplayName("Deve buscar fatia seguinte pelo keyset do cursor")
+    void getPublishedPostsAfter_ShouldQueryByKeyset_WhenCursorGiven() {
+        
+        // ===== ARRANGE (Preparação) =====
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        String after = new PostCursor(createdAt, 42L).encode();
+        Slice<PostSummaryDTO> lastSlice = new SliceImpl<>(Arrays.asList(testSummary), PageRequest.of(0, 10), false);
+        when(postRepository.findPublishedSliceAfter(createdAt, 42L, PageRequest.of(0, 10))).thenReturn(lastSlice);
+
+        // ===== ACT (Ação) =====
+        CursorPage<PostSummaryDTO> result = postService.getPublishedPostsAfter(after, 10);
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+        verify(postRepository, never()).findPublishedFirstSlice(any());
+    }
+
+    /**
+     * TESTE: Parâmetros inválidos de paginação por cursor
+     * 
+     * Cenário: Limite fora da faixa ou cursor adulterado
+     * Expectativa: BadRequestException, sem consultar o banco
+     */
+    @Test
+    @DisplayName("Deve rejeitar limite fora da faixa e cursor inválido")
+    void getPublishedPostsAfter_ShouldRejectInvalidLimitAndCursor() {
+        assertThatThrownBy(() -> postService.getPublishedPostsAfter(null, 0))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> postService.getPublishedPostsAfter(null, PostService.MAX_CURSOR_LIMIT + 1))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> postService.getPublishedPostsAfter("not-a-cursor", 10))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(postRepository);
+    }
+
+    /**
+     * TESTE: Chave de cache do feed por cursor
+     * 
+     * Cenário: O mesmo cursor escrito de formas diferentes, ou um cursor adulterado
+     * Expectativa: Uma única chave por posição; cursor inválido rejeitado antes de virar chave
+     */
+    @Test
+    @DisplayName("Deve montar a chave do feed pela posição do cursor, não pelo texto enviado")
+    void getPublishedPostsAfter_ShouldKeyCacheOnNormalizedCursor() throws Exception {
+
+        // ===== ARRANGE (Preparação) =====
+        Expression key = new SpelExpressionParser().parseExpression(PostService.class
+                .getMethod("getPublishedPostsAfter", String.class, int.class)
+                .getAnnotation(Cacheable.class).key());
+        String canonical = new PostCursor(LocalDateTime.of(2024, 1, 15, 10, 30), 42L).encode();
+        String respelled = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-01-15T10:30:00,0042".getBytes(StandardCharsets.UTF_8));
+
+        // ===== ACT & ASSERT (Ação e Verificação) =====
+        assertThat(feedKey(key, respelled, 10)).isEqualTo("feed:" + canonical + ":10");
+        assertThat(feedKey(key, canonical, 10)).isEqualTo("feed:" + canonical + ":10");
+        assertThat(feedKey(key, null, 10)).isEqualTo("feed:first:10");
+        assertThatThrownBy(() -> feedKey(key, "not-a-cursor", 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static Object feedKey(Expression key, String after, int limit) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("after", after);
+        context.setVariable("limit", limit);
+        return key.getValue(context);
+    }
+
+    /**
+     * TESTE: Contagem de comentários vinda da coluna contadora
+     * 
+     * Cenário: Listagem de posts publicados
+     * Expectativa: Contagem vem da própria projeção da listagem, sem consultar comentários
+     */
+    @Test
+    @DisplayName("Deve usar a coluna contadora de comentários na listagem")
+    void getAllPublishedPosts_ShouldTakeCommentCountsFromCounterColumn() {
+        
+        // ===== ARRANGE (Preparação) =====
+        Page<PostSummaryDTO> postPage = new PageImpl<>(Arrays.asList(testSummary.withCommentCount(7)), pageable, 1);
+        when(postRepository.findByPublishedTrue(pageable)).thenReturn(postPage);
+
+        // ===== ACT (Ação) =====
+        Page<PostSummaryDTO> result = postService.getAllPublishedPosts(pageable);
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result.getContent().get(0).commentCount()).isEqualTo(7);
+    }
+
+    /**
+     * TESTE: Campos de listagem calculados na escrita
+     * 
+     * Cenário: Autor cria post com conteúdo longo
+     * Expectativa: Post é salvo já com resumo limitado e tempo de leitura, usados pelas listagens
+     */
+    @Test
+    @DisplayName("Deve gravar resumo e tempo de leitura ao criar post")
+    void createPost_ShouldStoreExcerptAndReadingTime() {
+        
+        // ===== ARRANGE (Preparação) =====
+        String longContent = "palavra ".repeat(450).trim();                       // 450 palavras
+        CreatePostDTO longPost = new CreatePostDTO("Long Post", longContent, null, true);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(postRepository.save(any(Post.class))).thenReturn(testPost);
+
+        // ===== ACT (Ação) =====
+        postService.createPost(longPost, CurrentUser.fromEntity(testUser));
+
+        // ===== ASSERT (Verificação) =====
+        verify(postRepository).save(argThat(post ->
+                post.getExcerpt().length() <= 300                                  // Cabe na coluna do resumo
+                && post.getExcerpt().endsWith("...")                               // Resumo truncado
+                && post.getReadingTimeMinutes() == 3));                            // 450 palavras / 200 por minuto
+    }
+
+    /**
+     * TESTE: Busca textual com trechos destacados
+     * 
+     * Cenário: Usuário busca posts por palavra-chave
+     * Expectativa: Resultados vêm da busca full-text, com o trecho destacado no lugar do resumo
+     */
+    @Test
+    @DisplayName("Deve retornar resultados da busca com trecho destacado")
+    void searchPosts_ShouldReturnHighlightedSnippets() {
+        
+        // ===== ARRANGE (Preparação) =====
+        Page<PostSearchHit> hits = new PageImpl<>(Arrays.asList(searchHit(1L, "Sobre <mark>informação</mark>")), pageable, 1);
+        when(postRepository.searchPublished("informacao", pageable)).thenReturn(hits);
+
+        // ===== ACT (Ação) =====
+        Page<PostSummaryDTO> result = postService.searchPosts("  informacao ", pageable);
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).excerpt()).isEqualTo("Sobre <mark>informação</mark>");
+        assertThat(result.getContent().get(0).authorUsername()).isEqualTo("testuser");
+        assertThat(result.getContent().get(0).commentCount()).isEqualTo(2);      // Coluna contadora também na busca
+    }
+
+    /**
+     * TESTE: Busca ignora ordenação enviada pelo cliente e palavra-chave vazia
+     * 
+     * Cenário: Cliente envia sort junto da busca, ou busca sem termo
+     * Expectativa: Ordem é sempre por relevância; termo vazio não consulta o banco
+     */
+    @Test
+    @DisplayName("Deve ordenar busca por relevância e ignorar palavra-chave vazia")
+    void searchPosts_ShouldDropClientSortAndSkipBlankKeyword() {
+        
+        // ===== ARRANGE (Preparação) =====
+        Pageable sorted = PageRequest.of(1, 5, org.springframework.data.domain.Sort.by("title"));
+        when(postRepository.searchPublished("java", PageRequest.of(1, 5))).thenReturn(Page.empty());
+
+        // ===== ACT (Ação) =====
+        postService.searchPosts("java", sorted);
+        Page<PostSummaryDTO> blank = postService.searchPosts("   ", pageable);
+
+        // ===== ASSERT (Verificação) =====
+        verify(postRepository).searchPublished("java", PageRequest.of(1, 5));      // Sem a ordenação do cliente
+        assertThat(blank.getContent()).isEmpty();
+        verify(postRepository, never()).searchPublished(org.mockito.ArgumentMatchers.eq("   "), any());
+    }
+
+    private PostSearchHit searchHit(Long id, String snippet) {
+        return new PostSearchHit() {
+            @Override public Long getId() { return id; }
+            @Override public String getTitle() { return "Test Post"; }
+            @Override public String getSnippet() { return snippet; }
+            @Override public int getReadingTimeMinutes() { return 1; }
+            @Override public boolean isPublished() { return true; }
+            @Override public LocalDateTime getCreatedAt() { return testPost.getCreatedAt(); }
+            @Override public LocalDateTime getUpdatedAt() { return testPost.getUpdatedAt(); }
+            @Override public String getAuthorUsername() { return "testuser"; }
+            @Override public String getCategoryName() { return "Technology"; }
+            @Override public int getCommentCount() { return 2; }
+            @Override public float getRank() { return 0.6f; }
+        };
+    }
+
+    /**
+     * TESTE: Invalidação seletiva ao editar post
+     * 
+     * Cenário: Autor edita título e conteúdo sem mudar categoria nem publicação
+     * Expectativa: Só as entradas que contêm o post são invalidadas, não o cache inteiro
+     */
+    @Test
+    @DisplayName("Deve invalidar apenas entradas do post ao editá-lo no lugar")
+    void updatePost_ShouldEvictOnlyPostTag_WhenListingsUnchanged() {
+        
+        // ===== ARRANGE (Preparação) =====
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // ===== ACT (Ação) =====
+        postService.updatePost(1L, new CreatePostDTO("Edited title", "Edited content", 1L, true),
+                CurrentUser.fromEntity(testUser));
+
+        // ===== ASSERT (Verificação) =====
+        verify(cacheTagService).evict(CacheTags.POSTS_CACHE, java.util.Set.of("post:1"), java.util.Set.of("single:1"));
+    }
+
+    /**
+     * TESTE: Invalidação ao mover post de categoria
+     * 
+     * Cenário: Autor muda a categoria do post
+     * Expectativa: Listagens da categoria antiga e da nova são invalidadas
+     */
+    @Test
+    @DisplayName("Deve invalidar listagens das duas categorias ao mover post")
+    void updatePost_ShouldEvictBothCategories_WhenCategoryChanges() {
+        
+        // ===== ARRANGE (Preparação) =====
+        Category otherCategory = Category.of("Science", "Science posts").build();
+        otherCategory.setId(2L);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(otherCategory));
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // ===== ACT (Ação) =====
+        postService.updatePost(1L, new CreatePostDTO("Test Post", "Test content", 2L, true),
+                CurrentUser.fromEntity(testUser));
+
+        // ===== ASSERT (Verificação) =====
+        verify(cacheTagService).evict(CacheTags.POSTS_CACHE, java.util.Set.of(
+                "post:1", "author:1", "category:1", "category:2", CacheTags.PUBLISHED_POSTS), java.util.Set.of("single:1"));
+    }
+
+    /**
+     * TESTE: Busca em lote com entradas já em cache
+     * 
+     * Cenário: Widget pede posts cujas entradas "single:{id}" já estão em cache
+     * Expectativa: Nenhuma consulta ao banco; a ordem pedida é mantida
+     */
+    @Test
+    @DisplayName("Deve servir posts em cache sem consultar o banco na busca em lote")
+    void getPostsByIds_ShouldServeCachedPostsWithoutQuerying() {
+        
+        // ===== ARRANGE (Preparação) =====
+        ConcurrentMapCache cache = new ConcurrentMapCache("posts");
+        PostDTO first = PostDTO.fromEntity(testPost, 2);
+        PostDTO second = new PostDTO(2L, "Other", "Content", true, LocalDateTime.now(), LocalDateTime.now(),
+                "testuser", "Technology", 0);
+        cache.put("single:1", first);
+        cache.put("single:2", second);
+        when(cacheManager.getCache("posts")).thenReturn(cache);
+
+        // ===== ACT (Ação) =====
+        List<PostDTO> result = postService.getPostsByIds(List.of(2L, 1L, 2L));
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result).containsExactly(second, first);   // Duplicados removidos, ordem do pedido
+        verifyNoInteractions(postRepository);
+    }
+
+    /**
+     * TESTE: Busca em lote com entradas ausentes do cache
+     * 
+     * Cenário: Parte dos posts não está em cache e um ID não existe
+     * Expectativa: Uma única consulta para os ausentes, resultado gravado no cache, ID inexistente omitido
+     */
+    @Test
+    @DisplayName("Deve carregar ausentes numa única consulta e gravá-los no cache")
+    void getPostsByIds_ShouldLoadMissesInOneQueryAndCacheThem() {
+        
+        // ===== ARRANGE (Preparação) =====
+        ConcurrentMapCache cache = new ConcurrentMapCache("posts");
+        when(cacheManager.getCache("posts")).thenReturn(cache);
+        when(postRepository.findAllWithAuthorAndCategoryByIdIn(List.of(1L, 99L))).thenReturn(List.of(testPost));
+        testPost.setCommentCount(3);
+
+        // ===== ACT (Ação) =====
+        List<PostDTO> result = postService.getPostsByIds(List.of(1L, 99L));
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).commentCount()).isEqualTo(3);
+        assertThat(cache.get("single:1", PostDTO.class)).isEqualTo(result.get(0));   // Mesma entrada de getPostById
+        assertThat(cache.get("single:99")).isNull();
+    }
+
+    /**
+     * TESTE: Limite de IDs por requisição
+     * 
+     * Cenário: Cliente pede mais IDs do que o permitido
+     * Expectativa: BadRequestException sem acessar cache nem banco
+     */
+    @Test
+    @DisplayName("Deve rejeitar busca em lote acima do limite de IDs")
+    void getPostsByIds_ShouldRejectTooManyIds() {
+        
+        // ===== ARRANGE (Preparação) =====
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, PostService.MAX_BATCH_IDS + 1).boxed().toList();
+
+        // ===== ACT & ASSERT =====
+        assertThatThrownBy(() -> postService.getPostsByIds(ids))
+                .isInstanceOf(BadRequestException.class);
+        verify(postRepository, never()).findAllWithAuthorAndCategoryByIdIn(anyCollection());
+        verifyNoInteractions(cacheManager);
+    }
+
+    /**
+     * TESTE: Post atualizado gravado no cache
+     * 
+     * Cenário: Autor edita um post que já tem comentários
+     * Expectativa: O DTO retornado (e gravado no cache) traz a contagem real de comentários
+     */
+    @Test
+    @DisplayName("Deve retornar a contagem real de comentários ao atualizar post")
+    void updatePost_ShouldReturnActualCommentCount() {
+        
+        // ===== ARRANGE (Preparação) =====
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        testPost.setCommentCount(4);                                              // Rebuilt entity carries no counter
+
+        // ===== ACT (Ação) =====
+        PostDTO result = postService.updatePost(1L, createPostDTO, CurrentUser.fromEntity(testUser));
+
+        // ===== ASSERT (Verificação) =====
+        assertThat(result.commentCount()).isEqualTo(4);
+    }
+}
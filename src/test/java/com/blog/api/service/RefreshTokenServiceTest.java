@@ -143,7 +143,7 @@ class RefreshTokenServiceTest {
         when(refreshTokenRepository.findActiveByToken("test-refresh-token")).thenReturn(Optional.of(testRefreshToken));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtUtil.generateToken(userDetails)).thenReturn(newAccessToken);
+        when(jwtUtil.generateToken(userDetails, testUser)).thenReturn(newAccessToken);
         when(userRepository.existsById(1L)).thenReturn(true);
         when(refreshTokenRepository.hasUserExceededTokenCreationRate(any(), anyInt(), any())).thenReturn(false);
         when(refreshTokenRepository.countActiveByUserId(1L)).thenReturn(1L);
@@ -0,0 +1,252 @@
+package com.blog.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do cache de respostas HTTP")
+class ResponseCacheServiceTest {
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private CacheGenerationService cacheGenerationService;
+
+    private ResponseCacheService responseCacheService;
+
+    @BeforeEach
+    void setUp() {
+        responseCacheService = new ResponseCacheService(redisTemplateProvider, cacheGenerationService,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(responseCacheService, "enabled", true);
+        ReflectionTestUtils.setField(responseCacheService, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(responseCacheService, "validatorsTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(responseCacheService, "gzip", true);
+        ReflectionTestUtils.setField(responseCacheService, "maxBodySize", 16);
+    }
+
+    @Test
+    @DisplayName("Deve mapear caminhos públicos para seus namespaces")
+    void namespaceFor_ShouldMapPublicPaths() {
+        assertThat(responseCacheService.namespaceFor("/api/v1/posts")).isEqualTo("posts");
+        assertThat(responseCacheService.namespaceFor("/api/v1/posts/category/3")).isEqualTo("posts");
+        assertThat(responseCacheService.namespaceFor("/api/v1/comments/post/3")).isEqualTo("comments");
+        assertThat(responseCacheService.namespaceFor("/api/v1/categories/7")).isEqualTo("categories");
+        assertThat(responseCacheService.namespaceFor("/api/v1/postsx")).isNull();
+        assertThat(responseCacheService.namespaceFor("/api/v1/users/1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar também as listagens de posts quando comentários mudam")
+    void invalidateFor_ShouldAdvanceDependentNamespaces() {
+        // When
+        responseCacheService.invalidateFor("comments");
+
+        // Then
+        verify(cacheGenerationService).advance("http-comments");
+        verify(cacheGenerationService).advance("http-posts");
+        verify(cacheGenerationService, never()).advance("http-categories");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas as respostas de comentários do post alterado")
+    void invalidateFor_ShouldAdvanceOnlyThreadScope_ForCommentThreadTags() {
+        // When
+        responseCacheService.invalidateFor("comments", List.of("thread:3"));
+
+        // Then
+        verify(cacheGenerationService).advance("http-comments:post:3");
+        verify(cacheGenerationService).advance("http-comments:shared");
+        verify(cacheGenerationService, never()).advance("http-comments");
+        verify(cacheGenerationService, never()).advance("http-posts");
+    }
+
+    @Test
+    @DisplayName("Deve separar as respostas de comentários por post")
+    void scopeFor_ShouldScopeCommentResponsesByPost() {
+        assertThat(ResponseCacheService.scopeFor("comments", "/api/v1/comments/post/3")).isEqualTo("post:3");
+        assertThat(ResponseCacheService.scopeFor("comments", "/api/v1/comments/post/3/thread?limit=20"))
+                .isEqualTo("post:3");
+        assertThat(ResponseCacheService.scopeFor("comments", "/api/v1/comments/post/3?page=1")).isEqualTo("post:3");
+        assertThat(ResponseCacheService.scopeFor("comments", "/api/v1/comments/post/3x")).isEqualTo("shared");
+        assertThat(ResponseCacheService.scopeFor("comments", "/api/v1/comments/7/replies")).isEqualTo("shared");
+        assertThat(ResponseCacheService.scopeFor("categories", "/api/v1/categories/3")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve separar a resposta de cada post das listagens")
+    void scopeFor_ShouldScopeSinglePostResponses() {
+        assertThat(ResponseCacheService.scopeFor("posts", "/api/v1/posts/3")).isEqualTo("post:3");
+        assertThat(ResponseCacheService.scopeFor("posts", "/api/v1/posts/3?fields=title")).isEqualTo("post:3");
+        assertThat(ResponseCacheService.scopeFor("posts", "/api/v1/posts")).isNull();
+        assertThat(ResponseCacheService.scopeFor("posts", "/api/v1/posts?limit=20")).isNull();
+        assertThat(ResponseCacheService.scopeFor("posts", "/api/v1/posts/category/3")).isNull();
+        assertThat(ResponseCacheService.scopeFor("posts", "/api/v1/posts/search?q=java")).isNull();
+        assertThat(ResponseCacheService.scopeFor("posts", "/api/v1/posts/3/x")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas a resposta do post cuja contagem de comentários mudou")
+    void invalidatePatched_ShouldAdvanceOnlyThePostScope() {
+        // When
+        responseCacheService.invalidatePatched("posts", "post:3");
+
+        // Then
+        verify(cacheGenerationService).advance("http-posts:post:3");
+        verify(cacheGenerationService, never()).advance("http-posts");
+        verify(cacheGenerationService, never()).advance("http-comments");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o namespace inteiro para reescritas de outras tags")
+    void invalidatePatched_ShouldAdvanceDependentNamespaces_ForOtherTags() {
+        // When
+        responseCacheService.invalidatePatched("posts", "published");
+
+        // Then
+        verify(cacheGenerationService).advance("http-posts");
+        verify(cacheGenerationService, never()).advance("http-posts:post:3");
+    }
+
+    @Test
+    @DisplayName("Não deve invalidar nada para caches sem respostas dependentes")
+    void invalidateFor_ShouldIgnoreUnrelatedCaches() {
+        // When
+        responseCacheService.invalidateFor("users");
+
+        // Then
+        verifyNoInteractions(cacheGenerationService);
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar corpos acima do limite")
+    void put_ShouldSkipOversizedBodies() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+
+        // When
+        responseCacheService.put("posts", "/api/v1/posts", new byte[17]);
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve gerar o mesmo ETag forte para corpos iguais")
+    void put_ShouldDeriveStrongETagFromBody() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+
+        // When
+        ResponseCacheService.Validators first = responseCacheService.put("posts", "/api/v1/posts/1", "{\"id\":1}".getBytes());
+        ResponseCacheService.Validators second = responseCacheService.put("posts", "/api/v1/posts/1", "{\"id\":1}".getBytes());
+        ResponseCacheService.Validators other = responseCacheService.put("posts", "/api/v1/posts/1", "{\"id\":2}".getBytes());
+
+        // Then
+        assertThat(first.etag()).startsWith("\"").endsWith("\"").doesNotStartWith("W/");
+        assertThat(second.etag()).isEqualTo(first.etag());
+        assertThat(other.etag()).isNotEqualTo(first.etag());
+        assertThat(first.lastModified() % 1000).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter o Last-Modified ao regravar um corpo igual")
+    @SuppressWarnings("unchecked")
+    void put_ShouldKeepLastModified_WhenBodyIsUnchanged() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        byte[] body = "{\"id\":1}".getBytes();
+        ResponseCacheService.Validators first = responseCacheService.put("posts", "/api/v1/posts/1", body);
+        ResponseCacheService.Validators stored = new ResponseCacheService.Validators(first.etag(), 1_000L);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(stored.encode());
+
+        // When
+        ResponseCacheService.Validators same = responseCacheService.put("posts", "/api/v1/posts/1", body);
+        ResponseCacheService.Validators changed = responseCacheService.put("posts", "/api/v1/posts/1", "{\"id\":2}".getBytes());
+
+        // Then
+        assertThat(same).isEqualTo(stored);
+        assertThat(changed.lastModified()).isNotEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("Deve manter os validadores de respostas com escopo além do corpo")
+    @SuppressWarnings("unchecked")
+    void put_ShouldKeepScopedValidatorsLongerThanBody() {
+        // Given
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation ->
+                invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+
+        // When
+        responseCacheService.put("posts", "/api/v1/posts/1", "{}".getBytes());
+        responseCacheService.put("posts", "/api/v1/posts", "[]".getBytes());
+
+        // Then
+        verify(stringCommands).set(argThat(key -> new String(key).endsWith(":validators:/api/v1/posts/1")), any(),
+                eq(Expiration.from(Duration.ofHours(1))), any());
+        verify(stringCommands).set(argThat(key -> new String(key).endsWith(":identity:/api/v1/posts/1")), any(),
+                eq(Expiration.from(Duration.ofMinutes(5))), any());
+        verify(stringCommands).set(argThat(key -> new String(key).endsWith(":validators:/api/v1/posts")), any(),
+                eq(Expiration.from(Duration.ofMinutes(5))), any());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar os validadores armazenados sem gravar o corpo")
+    @SuppressWarnings("unchecked")
+    void validatorsFor_ShouldReuseStoredValidators_WithoutStoring() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        byte[] body = "{\"id\":1}".getBytes();
+        ResponseCacheService.Validators fresh = responseCacheService.validatorsFor("posts", "/api/v1/posts/1", body);
+        ResponseCacheService.Validators stored = new ResponseCacheService.Validators(fresh.etag(), 1_000L);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(stored.encode());
+
+        // When
+        ResponseCacheService.Validators validators = responseCacheService.validatorsFor("posts", "/api/v1/posts/1", body);
+
+        // Then
+        assertThat(validators).isEqualTo(stored);
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o Redis quando desabilitado")
+    void get_ShouldReturnNull_WhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(responseCacheService, "enabled", false);
+
+        // When & Then
+        assertThat(responseCacheService.get("posts", "/api/v1/posts", false)).isNull();
+        responseCacheService.invalidateFor("posts");
+        verifyNoInteractions(redisTemplate, cacheGenerationService);
+    }
+}
@@ -0,0 +1,213 @@
+package com.blog.api.service;
+
+import com.blog.api.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Revoked Token Registry Tests")
+class RevokedTokenRegistryTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RevokedTokenRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RevokedTokenRegistry(revokedTokenRepository, redisTemplateProvider,
+                listenerContainerProvider, meterRegistry);
+        ReflectionTestUtils.setField(registry, "enabled", true);
+        ReflectionTestUtils.setField(registry, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(registry, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(registry, "rebuildIntervalMs", 600000L);
+        ReflectionTestUtils.setField(registry, "catchUpIntervalMs", 5000L);
+    }
+
+    @Test
+    @DisplayName("Deve tratar todo JTI como possível revogação antes da carga inicial")
+    void mightBeRevoked_BeforeLoad_ShouldReturnTrue() {
+        assertFalse(registry.isReady());
+        assertTrue(registry.mightBeRevoked("any-jti"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar JTIs ausentes após a carga inicial")
+    void mightBeRevoked_AfterLoad_ShouldRuleOutUnknownJtis() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class)))
+                .thenReturn(List.of("revoked-1", "revoked-2"));
+
+        // When
+        registry.rebuild();
+
+        // Then
+        assertTrue(registry.isReady());
+        assertTrue(registry.mightBeRevoked("revoked-1"));
+        assertTrue(registry.mightBeRevoked("revoked-2"));
+        assertFalse(registry.mightBeRevoked("never-revoked"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar revogação local e publicar para os outros nós")
+    void registerRevocation_ShouldAddLocallyAndPublish() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class))).thenReturn(List.of());
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        registry.rebuild();
+
+        // When
+        registry.registerRevocation("new-jti");
+
+        // Then
+        assertTrue(registry.mightBeRevoked("new-jti"));
+        verify(redisTemplate).convertAndSend(eq(RevokedTokenRegistry.REVOCATION_CHANNEL), eq("new-jti"));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar revogações recebidas de outros nós")
+    void onMessage_ShouldAddRemoteRevocation() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class))).thenReturn(List.of());
+        registry.rebuild();
+
+        // When
+        registry.onMessage(new DefaultMessage(
+                RevokedTokenRegistry.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "remote-jti".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        assertTrue(registry.mightBeRevoked("remote-jti"));
+    }
+
+    @Test
+    @DisplayName("Não deve perder revogação feita durante a reconstrução")
+    void rebuild_ShouldKeepRevocationsAddedWhileLoading() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class))).thenReturn(List.of());
+        registry.rebuild();
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            // Not committed yet, so the query does not return it
+            registry.registerRevocation("during-rebuild");
+            return List.of("old-jti");
+        });
+
+        // When
+        registry.rebuild();
+
+        // Then
+        assertTrue(registry.mightBeRevoked("during-rebuild"));
+        assertTrue(registry.mightBeRevoked("old-jti"));
+    }
+
+    @Test
+    @DisplayName("Deve aprender revogações de outros nós pela base mesmo sem a mensagem")
+    void catchUp_ShouldAddRevocationsWhoseBroadcastWasLost() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class))).thenReturn(List.of());
+        registry.rebuild();
+        when(revokedTokenRepository.findJtisRevokedSince(any(LocalDateTime.class))).thenReturn(List.of("remote-jti"));
+
+        // When
+        registry.catchUp();
+
+        // Then
+        assertTrue(registry.mightBeRevoked("remote-jti"));
+        assertFalse(registry.mightBeRevoked("never-revoked"));
+    }
+
+    @Test
+    @DisplayName("Não deve descartar JTIs quando a última leitura da base é antiga")
+    void mightBeRevoked_WhenCatchUpIsStale_ShouldFallThrough() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class))).thenReturn(List.of());
+        registry.rebuild();
+        when(revokedTokenRepository.findJtisRevokedSince(any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("Database down"));
+        registry.catchUp();
+        ReflectionTestUtils.setField(registry, "syncedAtMillis", System.currentTimeMillis() - 60000L);
+
+        // When / Then
+        assertTrue(registry.mightBeRevoked("never-revoked"));
+        assertFalse(registry.isDefinitelyNotRevoked("never-revoked"));
+    }
+
+    @Test
+    @DisplayName("Deve contar cada consulta ao filtro uma única vez")
+    void isDefinitelyNotRevoked_ShouldNotRecordLookup() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class))).thenReturn(List.of());
+        registry.rebuild();
+
+        // When
+        boolean possible = registry.mightBeRevoked("clean-jti");
+        boolean clean = registry.isDefinitelyNotRevoked("clean-jti");
+
+        // Then
+        assertFalse(possible);
+        assertTrue(clean);
+        assertEquals(1.0, meterRegistry.get("jwt_blacklist_filter_lookups_total")
+                .tag("result", "negative").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve permanecer sem carga quando a base falha na reconstrução")
+    void rebuild_WhenRepositoryFails_ShouldStayNotReady() {
+        // Given
+        when(revokedTokenRepository.findActiveTokenJtis(any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("Database down"));
+
+        // When
+        registry.rebuild();
+
+        // Then
+        assertFalse(registry.isReady());
+        assertTrue(registry.mightBeRevoked("any-jti"));
+    }
+
+    @Test
+    @DisplayName("Não deve fazer nada quando o filtro está desabilitado")
+    void registry_WhenDisabled_ShouldAlwaysFallThrough() {
+        // Given
+        ReflectionTestUtils.setField(registry, "enabled", false);
+
+        // When
+        registry.rebuild();
+        registry.registerRevocation("some-jti");
+
+        // Then
+        assertTrue(registry.mightBeRevoked("other-jti"));
+        verifyNoInteractions(revokedTokenRepository, redisTemplateProvider);
+    }
+}
@@ -0,0 +1,121 @@
+package com.blog.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Epoch Service Tests")
+class TokenEpochServiceTest {
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Mock
+    private ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private TokenEpochService tokenEpochService;
+
+    @BeforeEach
+    void setUp() {
+        tokenEpochService = new TokenEpochService(redisTemplateProvider, listenerContainerProvider);
+        ReflectionTestUtils.setField(tokenEpochService, "enabled", true);
+        ReflectionTestUtils.setField(tokenEpochService, "tokenExpirationMs", 86400000L);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar tokens emitidos antes do epoch e aceitar os posteriores")
+    void revokeTokensIssuedBefore_ShouldInvalidateOlderTokensOnly() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+
+        // When
+        long epoch = tokenEpochService.revokeTokensIssuedBefore("testuser");
+
+        // Then
+        assertTrue(tokenEpochService.isIssuedBeforeEpoch("testuser", new Date((epoch - 60) * 1000)));
+        assertFalse(tokenEpochService.isIssuedBeforeEpoch("testuser", new Date((epoch + 1) * 1000)));
+        assertFalse(tokenEpochService.isIssuedBeforeEpoch("otheruser", new Date((epoch - 60) * 1000)));
+        verify(hashOperations).put(TokenEpochService.EPOCHS_KEY, "testuser", Long.toString(epoch));
+        verify(redisTemplate).convertAndSend(TokenEpochService.EPOCH_CHANNEL, epoch + ":testuser");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar epoch recebido de outro nó")
+    void onMessage_ShouldApplyRemoteEpoch() {
+        // Given
+        long epoch = System.currentTimeMillis() / 1000;
+
+        // When
+        tokenEpochService.onMessage(new DefaultMessage(
+                TokenEpochService.EPOCH_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                (epoch + ":user:with:colons").getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        assertTrue(tokenEpochService.isIssuedBeforeEpoch("user:with:colons", new Date((epoch - 1) * 1000)));
+    }
+
+    @Test
+    @DisplayName("Deve carregar epochs do Redis e remover os que nenhum token vivo pode anteceder")
+    void reload_ShouldLoadEpochsAndPruneExpiredOnes() {
+        // Given
+        long now = System.currentTimeMillis() / 1000;
+        long stale = now - 2 * 86400;
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(TokenEpochService.EPOCHS_KEY)).thenReturn(Map.of(
+                "active", Long.toString(now),
+                "stale", Long.toString(stale)));
+
+        // When
+        tokenEpochService.reload();
+
+        // Then
+        assertTrue(tokenEpochService.isIssuedBeforeEpoch("active", new Date((now - 10) * 1000)));
+        assertFalse(tokenEpochService.isIssuedBeforeEpoch("stale", new Date((stale - 10) * 1000)));
+        verify(hashOperations).delete(TokenEpochService.EPOCHS_KEY, "stale");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o Redis falha ao gravar o epoch")
+    void revokeTokensIssuedBefore_WhenRedisFails_ShouldThrow() {
+        // Given
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        doThrow(new RuntimeException("Redis down")).when(hashOperations).put(eq(TokenEpochService.EPOCHS_KEY), anyString(), anyString());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> tokenEpochService.revokeTokensIssuedBefore("testuser"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar username vazio")
+    void revokeTokensIssuedBefore_WithBlankUsername_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> tokenEpochService.revokeTokensIssuedBefore(" "));
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog.api.util;
+
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CursorPage;
+import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes das tags de dependência do cache")
+class CacheTagsTest {
+
+    @Test
+    @DisplayName("Deve marcar página de categoria com a categoria e cada post contido")
+    void forPosts_ShouldTagCategoryPageWithCategoryAndPosts() {
+        PageImpl<PostSummaryDTO> page = new PageImpl<>(List.of(summary(1L), summary(2L)));
+
+        assertThat(CacheTags.forPosts("category:5:0:10", page))
+                .containsExactlyInAnyOrder("category:5", "post:1", "post:2");
+    }
+
+    @Test
+    @DisplayName("Deve marcar feed publicado e listagem de autor")
+    void forPosts_ShouldTagFeedAndAuthorListings() {
+        CursorPage<PostSummaryDTO> slice = new CursorPage<>(List.of(summary(3L)), 1, false, null);
+
+        assertThat(CacheTags.forPosts("feed:first:20", slice))
+                .containsExactlyInAnyOrder(CacheTags.PUBLISHED_POSTS, "post:3");
+        assertThat(CacheTags.forPosts("user:7:0:10", new PageImpl<>(List.<PostSummaryDTO>of())))
+                .containsExactly("author:7");
+    }
+
+    @Test
+    @DisplayName("Deve marcar post único apenas com o próprio post")
+    void forPosts_ShouldTagSinglePostWithItself() {
+        PostDTO post = new PostDTO(9L, "Title", "Content", true, LocalDateTime.now(), LocalDateTime.now(),
+                "author", null, 0);
+
+        assertThat(CacheTags.forPosts("single:9", post)).containsExactly("post:9");
+    }
+
+    @Test
+    @DisplayName("Deve marcar comentários com a thread do post")
+    void forComments_ShouldTagWithPostThread() {
+        CommentDTO comment = new CommentDTO(4L, "Comment", LocalDateTime.now(), "author", 3L, null, List.of());
+
+        assertThat(CacheTags.forComments("post:3:0:10", new PageImpl<>(List.of(comment))))
+                .containsExactly("thread:3");
+        assertThat(CacheTags.forComments("simple:3", List.of())).containsExactly("thread:3");
+        assertThat(CacheTags.forComments("single:4", comment)).containsExactly("thread:3");
+    }
+
+    private PostSummaryDTO summary(Long id) {
+        return new PostSummaryDTO(id, "Title", "Excerpt", 1, true, LocalDateTime.now(), LocalDateTime.now(),
+                "author", "Technology", 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.api.util;
+
+import com.blog.api.dto.CommentDTO;
+import com.blog.api.dto.CursorPage;
+import com.blog.api.dto.PostDTO;
+import com.blog.api.dto.PostSummaryDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do serializador compacto de cache")
+class CompactCacheSerializerTest {
+
+    private final CompactCacheSerializer serializer = new CompactCacheSerializer(true, 1024);
+
+    @Test
+    @DisplayName("Deve serializar e desserializar um post completo")
+    void roundTrip_ShouldPreservePostDTO() {
+        PostDTO post = new PostDTO(1L, "Title", "Content", true, LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2024, 1, 3, 3, 4, 5), "author", "Technology", 3);
+
+        assertThat(serializer.deserialize(serializer.serialize(post))).isEqualTo(post);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir página com conteúdo, paginação e ordenação")
+    @SuppressWarnings("unchecked")
+    void roundTrip_ShouldRebuildPage() {
+        Page<PostSummaryDTO> page = new PageImpl<>(summaries(3),
+                PageRequest.of(2, 3, Sort.by(Sort.Direction.DESC, "createdAt")), 42);
+
+        Page<PostSummaryDTO> restored = (Page<PostSummaryDTO>) serializer.deserialize(serializer.serialize(page));
+
+        assertThat(restored.getContent()).isEqualTo(page.getContent());
+        assertThat(restored.getNumber()).isEqualTo(2);
+        assertThat(restored.getSize()).isEqualTo(3);
+        assertThat(restored.getTotalElements()).isEqualTo(42);
+        assertThat(restored.getSort()).isEqualTo(page.getSort());
+    }
+
+    @Test
+    @DisplayName("Deve preservar comentários com respostas aninhadas e fatias do feed")
+    void roundTrip_ShouldPreserveNestedRecords() {
+        CommentDTO reply = new CommentDTO(2L, "Reply", LocalDateTime.now().withNano(0), "bob", 1L, 1L, List.of());
+        CommentDTO comment = new CommentDTO(1L, "Comment", LocalDateTime.now().withNano(0), "alice", 1L, null,
+                List.of(reply));
+        CursorPage<PostSummaryDTO> slice = new CursorPage<>(summaries(2), 2, true, "cursor");
+
+        assertThat(serializer.deserialize(serializer.serialize(List.of(comment)))).isEqualTo(List.of(comment));
+        assertThat(serializer.deserialize(serializer.serialize(slice))).isEqualTo(slice);
+    }
+
+    @Test
+    @DisplayName("Deve comprimir com LZ4 payloads acima do limite e ficar menor que o JDK")
+    void serialize_ShouldCompressLargePayloads() {
+        Page<PostSummaryDTO> page = new PageImpl<>(summaries(50), PageRequest.of(0, 50), 500);
+
+        byte[] compact = serializer.serialize(page);
+        byte[] jdk = RedisSerializer.java().serialize(page);
+
+        assertThat(compact[0]).isEqualTo(CompactCacheSerializer.FORMAT_SMILE_LZ4);
+        assertThat(compact.length).isLessThan(jdk.length);
+        assertThat(((Page<?>) serializer.deserialize(compact)).getContent()).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("Deve manter payloads pequenos sem compressão")
+    void serialize_ShouldNotCompressSmallPayloads() {
+        assertThat(serializer.serialize(summaries(1).get(0))[0]).isEqualTo(CompactCacheSerializer.FORMAT_SMILE);
+    }
+
+    @Test
+    @DisplayName("Deve ler entradas antigas gravadas com serialização JDK")
+    void deserialize_ShouldReadLegacyJdkEntries() {
+        PostDTO post = new PostDTO(1L, "Title", "Content", true, null, null, "author", null, 0);
+
+        assertThat(serializer.deserialize(RedisSerializer.java().serialize(post))).isEqualTo(post);
+    }
+
+    private List<PostSummaryDTO> summaries(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new PostSummaryDTO((long) i, "Post title " + i,
+                        "An excerpt long enough to look like the real thing, cut at a word boundary...",
+                        4, true, LocalDateTime.of(2024, 1, i % 28 + 1, 10, 0), LocalDateTime.of(2024, 1, i % 28 + 1, 10, 0),
+                        "author", "Technology", i % 7))
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do ContentSummarizer")
+class ContentSummarizerTest {
+
+    @Test
+    @DisplayName("Deve manter conteúdo curto inteiro, sem tags e com espaços normalizados")
+    void excerpt_ShouldKeepShortContentAsPlainText() {
+        String excerpt = ContentSummarizer.excerpt("  <p>Olá,\n\n<b>mundo</b>!</p>  ");
+
+        assertThat(excerpt).isEqualTo("Olá, mundo !");
+    }
+
+    @Test
+    @DisplayName("Deve cortar conteúdo longo na fronteira de palavra")
+    void excerpt_ShouldCutLongContentAtWordBoundary() {
+        String content = "palavra ".repeat(100);
+
+        String excerpt = ContentSummarizer.excerpt(content);
+
+        assertThat(excerpt).endsWith("palavra...");
+        assertThat(excerpt.length()).isLessThanOrEqualTo(ContentSummarizer.EXCERPT_LENGTH + 3);
+    }
+
+    @Test
+    @DisplayName("Deve cortar palavra única maior que o limite")
+    void excerpt_ShouldCutSingleLongWord() {
+        String excerpt = ContentSummarizer.excerpt("a".repeat(500));
+
+        assertThat(excerpt).hasSize(ContentSummarizer.EXCERPT_LENGTH + 3);
+    }
+
+    @Test
+    @DisplayName("Deve estimar tempo de leitura arredondando para cima")
+    void readingTimeMinutes_ShouldRoundUp() {
+        assertThat(ContentSummarizer.readingTimeMinutes("uma palavra só")).isEqualTo(1);
+        assertThat(ContentSummarizer.readingTimeMinutes("palavra ".repeat(200))).isEqualTo(1);
+        assertThat(ContentSummarizer.readingTimeMinutes("palavra ".repeat(201))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve retornar zero para conteúdo vazio ou nulo")
+    void readingTimeMinutes_ShouldBeZeroForBlankContent() {
+        assertThat(ContentSummarizer.readingTimeMinutes(null)).isZero();
+        assertThat(ContentSummarizer.readingTimeMinutes("   ")).isZero();
+        assertThat(ContentSummarizer.readingTimeMinutes("<br/>")).isZero();
+        assertThat(ContentSummarizer.excerpt(null)).isNull();
+    }
+}
@@ -333,4 +333,94 @@ class JwtUtilTest {
         Boolean isValid = jwtUtil.validateToken(token, mismatchedUser);
         assertThat(isValid).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve expor subject, jti, iat e exp após uma única verificação")
+    void parseToken_ShouldExposeAllStandardClaims() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        ParsedToken parsedToken = jwtUtil.parseToken(token);
+
+        assertThat(parsedToken.token()).isEqualTo(token);
+        assertThat(parsedToken.subject()).isEqualTo("testuser");
+        assertThat(parsedToken.jti()).isEqualTo(jwtUtil.getJtiFromToken(token));
+        assertThat(parsedToken.issuedAt()).isNotNull();
+        assertThat(parsedToken.expiration()).isAfter(parsedToken.issuedAt());
+        assertThat(parsedToken.isExpired()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve expor claims customizados como mapa imutável")
+    void parseToken_ShouldExposeCustomClaimsAsImmutableMap() {
+        java.util.Map<String, Object> claims = new java.util.HashMap<>();
+        claims.put("role", "ADMIN");
+        String token = jwtUtil.generateToken(claims, userDetails);
+
+        ParsedToken parsedToken = jwtUtil.parseToken(token);
+
+        assertThat(parsedToken.getClaim("role", String.class)).isEqualTo("ADMIN");
+        assertThat(parsedToken.getClaim("role", Long.class)).isNull();
+        assertThrows(UnsupportedOperationException.class, () -> parsedToken.claims().put("role", "USER"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar assinatura incorreta ao fazer parse do token")
+    void parseToken_WhenWrongSignature_ShouldThrowException() {
+        Key wrongKey = Keys.hmacShaKeyFor("differentSecret123456789012345678901234567890".getBytes());
+        String tokenWithWrongSignature = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + testExpiration))
+                .signWith(wrongKey)
+                .compact();
+
+        assertThrows(SignatureException.class, () -> jwtUtil.parseToken(tokenWithWrongSignature));
+    }
+
+    @Test
+    @DisplayName("Deve validar token já verificado sem novo parse")
+    void isTokenValidFor_ShouldCheckSubjectOfParsedToken() {
+        ParsedToken parsedToken = jwtUtil.parseToken(jwtUtil.generateToken(userDetails));
+
+        UserDetails differentUser = User.builder()
+                .username("differentuser")
+                .password("TestPass123!")
+                .authorities(new ArrayList<>())
+                .build();
+
+        assertThat(jwtUtil.isTokenValidFor(parsedToken, userDetails)).isTrue();
+        assertThat(jwtUtil.isTokenValidFor(parsedToken, differentUser)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o principal a partir dos claims no modo stateless")
+    void getStatelessPrincipal_WhenEnabled_ShouldBuildPrincipalFromClaims() {
+        ReflectionTestUtils.setField(jwtUtil, "statelessPrincipalEnabled", true);
+        com.blog.api.entity.User user = com.blog.api.entity.User.of("testuser", "test@example.com", "TestPass123!")
+                .role(com.blog.api.entity.User.Role.AUTHOR)
+                .termsAcceptedVersion("v1.0")
+                .build();
+        user.setId(42L);
+
+        ParsedToken parsedToken = jwtUtil.parseToken(jwtUtil.generateToken(userDetails, user));
+        JwtPrincipal principal = jwtUtil.getStatelessPrincipal(parsedToken);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getUserId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("testuser");
+        assertThat(principal.getRole()).isEqualTo(com.blog.api.entity.User.Role.AUTHOR);
+        assertThat(principal.hasAcceptedTermsVersion("v1.0")).isTrue();
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_AUTHOR");
+    }
+
+    @Test
+    @DisplayName("Não deve incluir claims de principal quando o modo stateless estiver desabilitado")
+    void getStatelessPrincipal_WhenDisabled_ShouldReturnNull() {
+        com.blog.api.entity.User user = com.blog.api.entity.User.of("testuser", "test@example.com", "TestPass123!").build();
+        user.setId(42L);
+
+        ParsedToken parsedToken = jwtUtil.parseToken(jwtUtil.generateToken(userDetails, user));
+
+        assertThat(parsedToken.claims()).doesNotContainKeys(JwtUtil.CLAIM_USER_ID, JwtUtil.CLAIM_ROLE);
+        assertThat(jwtUtil.getStatelessPrincipal(parsedToken)).isNull();
+    }
+}
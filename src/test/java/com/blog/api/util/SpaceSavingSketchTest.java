@@ -0,0 +1,56 @@
+package com.blog.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do sketch Space-Saving de chaves quentes")
+class SpaceSavingSketchTest {
+
+    @Test
+    @DisplayName("Deve contar exatamente enquanto houver espaço")
+    void top_ShouldCountExactly_WhenUnderCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+        offer(sketch, "single:1", 5);
+        offer(sketch, "single:2", 2);
+
+        assertThat(sketch.top(10)).containsExactly(
+                new SpaceSavingSketch.Estimate("single:1", 5, 0),
+                new SpaceSavingSketch.Estimate("single:2", 2, 0));
+    }
+
+    @Test
+    @DisplayName("Deve manter as chaves frequentes ao substituir a menos contada")
+    void offer_ShouldKeepHeavyHitters_WhenFull() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        offer(sketch, "hot", 10);
+        for (int i = 0; i < 5; i++) {
+            sketch.offer("cold:" + i);
+        }
+        offer(sketch, "hot", 10);
+
+        List<SpaceSavingSketch.Estimate> top = sketch.top(1);
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).key()).isEqualTo("hot");
+        assertThat(top.get(0).count()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Deve herdar a contagem da chave substituída como erro")
+    void offer_ShouldInheritEvictedCountAsError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(1);
+        offer(sketch, "a", 3);
+        sketch.offer("b");
+
+        assertThat(sketch.top(1)).containsExactly(new SpaceSavingSketch.Estimate("b", 4, 3));
+    }
+
+    private void offer(SpaceSavingSketch sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.offer(key);
+        }
+    }
+}
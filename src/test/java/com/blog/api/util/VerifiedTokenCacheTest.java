@@ -0,0 +1,88 @@
+package com.blog.api.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Verified Token Cache Tests")
+class VerifiedTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(true, 100, meterRegistry);
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "myTestSecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache", cache);
+
+        userDetails = User.builder()
+                .username("testuser")
+                .password("TestPass123!")
+                .authorities(new ArrayList<>())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar token verificado em requisições repetidas")
+    void parseToken_WhenRepeated_ShouldServeFromCache() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        ParsedToken first = jwtUtil.parseToken(token);
+        ParsedToken second = jwtUtil.parseToken(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt_verified_tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Token em cache deve manter jti e iat usados nas verificações de revogação")
+    void get_ShouldKeepClaimsReadByRevocationChecks() {
+        ParsedToken parsedToken = jwtUtil.parseToken(jwtUtil.generateToken(userDetails));
+
+        ParsedToken cached = cache.get(parsedToken.token());
+
+        assertThat(cached.jti()).isEqualTo(parsedToken.jti()).isNotNull();
+        assertThat(cached.subject()).isEqualTo("testuser");
+        assertThat(cached.issuedAt()).isEqualTo(parsedToken.issuedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Não deve servir token expirado do cache")
+    void get_WhenTokenExpired_ShouldReturnNull() {
+        Date past = new Date(System.currentTimeMillis() - 1000);
+        ParsedToken expired = new ParsedToken("expired.token.value", "testuser", "jti", past, past, null);
+
+        cache.put(expired);
+
+        assertThat(cache.get("expired.token.value")).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar nada quando desabilitado")
+    void cache_WhenDisabled_ShouldNotStoreTokens() {
+        VerifiedTokenCache disabled = new VerifiedTokenCache(false, 100, meterRegistry);
+        ParsedToken parsedToken = jwtUtil.parseToken(jwtUtil.generateToken(userDetails));
+
+        disabled.put(parsedToken);
+
+        assertThat(disabled.get(parsedToken.token())).isNull();
+        assertThat(disabled.size()).isZero();
+    }
+}